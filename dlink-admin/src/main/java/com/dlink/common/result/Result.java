@@ -72,6 +72,10 @@ public class Result<T> implements Serializable {
         return of(null, CodeEnum.NOTLOGIN.getCode(), msg);
     }
 
+    public static <T> Result<T> notAdmin(String msg) {
+        return of(null, CodeEnum.NOTADMIN.getCode(), msg);
+    }
+
     public static <T> Result<T> failed(T model, String msg) {
         return of(model, CodeEnum.ERROR.getCode(), msg);
     }
@@ -35,8 +35,6 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -71,7 +69,7 @@ public class DataBaseController {
     @PutMapping
     public Result saveOrUpdate(@RequestBody DataBase database) {
         if (databaseService.saveOrUpdateDataBase(database)) {
-            DriverPool.remove(database.getName());
+            DriverPool.removeByName(database.getName());
             return Result.succeed("更新成功");
         } else {
             return Result.failed("更新失败");
@@ -97,6 +95,8 @@ public class DataBaseController {
                 Integer id = item.asInt();
                 if (!databaseService.removeById(id)) {
                     error.add(id);
+                } else {
+                    databaseService.invalidateMetadata(id);
                 }
             }
             if (error.size() == 0) {
@@ -127,6 +127,14 @@ public class DataBaseController {
         return Result.succeed(dataBases, "获取成功");
     }
 
+    /**
+     * 获取数据源连接池指标
+     */
+    @GetMapping("/listPoolMetrics")
+    public Result listPoolMetrics() {
+        return Result.succeed(DriverPool.metrics(), "获取成功");
+    }
+
     /**
      * 连接测试
      */
@@ -170,7 +178,6 @@ public class DataBaseController {
     /**
      * 获取元数据的表
      */
-    @Cacheable(cacheNames = "metadata_schema", key = "#id")
     @GetMapping("/getSchemasAndTables")
     public Result getSchemasAndTables(@RequestParam Integer id) {
         return Result.succeed(databaseService.getSchemasAndTables(id), "获取成功");
@@ -179,10 +186,9 @@ public class DataBaseController {
     /**
      * 清除元数据表的缓存
      */
-    @CacheEvict(cacheNames = "metadata_schema", key = "#id")
     @GetMapping("/unCacheSchemasAndTables")
     public Result unCacheSchemasAndTables(@RequestParam Integer id) {
-        return Result.succeed("clear cache", "success");
+        return Result.succeed(databaseService.invalidateMetadata(id), "success");
     }
 
     /**
@@ -220,6 +226,18 @@ public class DataBaseController {
         }
     }
 
+    /**
+     * 取消执行中的查询
+     */
+    @GetMapping("/cancelQuery")
+    public Result cancelQuery(@RequestParam String queryId) {
+        if (databaseService.cancelQuery(queryId)) {
+            return Result.succeed("取消成功");
+        } else {
+            return Result.failed("查询不存在或已结束");
+        }
+    }
+
     /**
      * 获取 SqlGeneration
      */
@@ -24,6 +24,7 @@ import com.dlink.assertion.Asserts;
 import com.dlink.common.result.ProTableResult;
 import com.dlink.common.result.Result;
 import com.dlink.job.BuildConfiguration;
+import com.dlink.job.FlinkJobMonitor;
 import com.dlink.model.JobInstance;
 import com.dlink.model.JobManagerConfiguration;
 import com.dlink.model.TaskManagerConfiguration;
@@ -59,6 +60,7 @@ import lombok.extern.slf4j.Slf4j;
 @RestController
 @RequestMapping("/api/jobInstance")
 public class JobInstanceController {
+
     @Autowired
     private JobInstanceService jobInstanceService;
     @Autowired
@@ -161,8 +163,20 @@ public class JobInstanceController {
         if (Asserts.isNotNullString(address)) {
             FlinkAPI flinkAPI = FlinkAPI.build(address);
             JsonNode taskManagerContainers = flinkAPI.getTaskManagers();
-            BuildConfiguration.buildTaskManagerConfiguration(taskManagerConfigurationList, flinkAPI, taskManagerContainers);
+            BuildConfiguration.buildTaskManagerConfiguration(taskManagerConfigurationList, flinkAPI,
+                    taskManagerContainers);
         }
         return Result.succeed(taskManagerConfigurationList, "获取成功");
     }
+
+    /**
+     * 获取作业监控的集群指标
+     */
+    @GetMapping("/getMonitorMetrics")
+    public Result getMonitorMetrics() {
+        HashMap<String, Object> result = new HashMap<>();
+        result.put("jobCount", FlinkJobMonitor.getInstance().getJobCount());
+        result.put("clusters", FlinkJobMonitor.getInstance().getMetrics());
+        return Result.succeed(result, "获取成功");
+    }
 }
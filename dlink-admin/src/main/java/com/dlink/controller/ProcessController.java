@@ -21,6 +21,7 @@ package com.dlink.controller;
 
 import com.dlink.common.result.ProTableResult;
 import com.dlink.common.result.Result;
+import com.dlink.process.model.ConsoleSlice;
 import com.dlink.process.model.ProcessEntity;
 import com.dlink.service.ProcessService;
 
@@ -57,4 +58,12 @@ public class ProcessController {
     public Result<String> getConsoleByUserId() {
         return Result.data(processService.getConsoleByUserId(StpUtil.getLoginIdAsInt()));
     }
+
+    /**
+     * 按行号增量读取当前用户控制台
+     */
+    @GetMapping("/readConsole")
+    public Result<ConsoleSlice> readConsole(@RequestParam(defaultValue = "0") long offset) {
+        return Result.data(processService.readConsoleByUserId(StpUtil.getLoginIdAsInt(), offset));
+    }
 }
@@ -19,26 +19,35 @@
 
 package com.dlink.controller;
 
+import com.dlink.assertion.Asserts;
 import com.dlink.common.result.Result;
 import com.dlink.dto.SessionDTO;
 import com.dlink.dto.StudioCADTO;
 import com.dlink.dto.StudioDDLDTO;
 import com.dlink.dto.StudioExecuteDTO;
 import com.dlink.dto.StudioMetaStoreDTO;
+import com.dlink.dto.UserDTO;
 import com.dlink.explainer.lineage.LineageResult;
+import com.dlink.job.ExecutorPool;
 import com.dlink.job.JobResult;
 import com.dlink.model.Catalog;
+import com.dlink.model.CodeEnum;
 import com.dlink.model.FlinkColumn;
 import com.dlink.model.Schema;
 import com.dlink.result.IResult;
 import com.dlink.result.SelectResult;
+import com.dlink.result.SelectResultIncrement;
 import com.dlink.result.SqlExplainResult;
 import com.dlink.service.StudioService;
 import com.dlink.session.SessionInfo;
+import com.dlink.utils.MessageResolverUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -47,10 +56,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import cn.dev33.satoken.stp.StpUtil;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -125,6 +136,23 @@ public class StudioController {
         return Result.succeed(studioService.getJobData(jobId), "获取成功");
     }
 
+    /**
+     * 增量获取预览数据，version 为上一次返回的版本，首次传 0
+     */
+    @GetMapping("/getJobDataIncrement")
+    public Result<SelectResultIncrement> getJobDataIncrement(@RequestParam String jobId,
+            @RequestParam(defaultValue = "0") long version) {
+        return Result.succeed(studioService.getJobDataIncrement(jobId, version), "获取成功");
+    }
+
+    /**
+     * 以 SSE 推送预览数据的增量
+     */
+    @GetMapping(value = "/streamJobData", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobData(@RequestParam String jobId, @RequestParam(defaultValue = "0") long version) {
+        return studioService.streamJobData(jobId, version);
+    }
+
     /**
      * 获取单任务实例的血缘分析
      */
@@ -138,7 +166,7 @@ public class StudioController {
      */
     @PutMapping("/createSession")
     public Result<SessionInfo> createSession(@RequestBody SessionDTO sessionDTO) {
-        return Result.succeed(studioService.createSession(sessionDTO, "admin"), "创建成功");
+        return Result.succeed(studioService.createSession(sessionDTO, StpUtil.getLoginIdAsString()), "创建成功");
     }
 
     /**
@@ -170,7 +198,29 @@ public class StudioController {
      */
     @GetMapping("/listSession")
     public Result<List<SessionInfo>> listSession() {
-        return Result.succeed(studioService.listSession("admin"), "获取成功");
+        return Result.succeed(studioService.listSession(StpUtil.getLoginIdAsString()), "获取成功");
+    }
+
+    /**
+     * 获取全部session及其最近使用时间与估算内存，按最近使用排序，仅管理员可用
+     */
+    @GetMapping("/listAllSession")
+    public Result<List<SessionInfo>> listAllSession(HttpServletResponse response) {
+        UserDTO userDTO = (UserDTO) StpUtil.getSession().get("user");
+        if (Asserts.isNull(userDTO) || Asserts.isNull(userDTO.getUser())
+                || !Boolean.TRUE.equals(userDTO.getUser().getIsAdmin())) {
+            response.setStatus(CodeEnum.NOTADMIN.getCode());
+            return Result.notAdmin(MessageResolverUtils.getMessage("login.not.admin"));
+        }
+        return Result.succeed(studioService.listAllSession(), "获取成功");
+    }
+
+    /**
+     * 获取 Executor 池的借用耗时与命中率
+     */
+    @GetMapping("/getExecutorPoolMetrics")
+    public Result<ExecutorPool.Metrics> getExecutorPoolMetrics() {
+        return Result.succeed(ExecutorPool.metrics(), "获取成功");
     }
 
     /**
@@ -194,7 +244,8 @@ public class StudioController {
      * savepoint
      */
     @GetMapping("/savepoint")
-    public Result<Boolean> savepoint(@RequestParam Integer clusterId, @RequestParam String jobId, @RequestParam String savePointType, @RequestParam String name, @RequestParam Integer taskId) {
+    public Result<Boolean> savepoint(@RequestParam Integer clusterId, @RequestParam String jobId,
+            @RequestParam String savePointType, @RequestParam String name, @RequestParam Integer taskId) {
         return Result.succeed(studioService.savepoint(taskId, clusterId, jobId, savePointType, name), "savepoint 成功");
     }
 
@@ -218,7 +269,8 @@ public class StudioController {
      * 获取 Meta Store Flink Column 信息
      */
     @GetMapping("/getMSFlinkColumns")
-    public Result<List<FlinkColumn>> getMSFlinkColumns(@RequestParam Integer envId, @RequestParam String catalog, @RequestParam String database, @RequestParam String table) {
+    public Result<List<FlinkColumn>> getMSFlinkColumns(@RequestParam Integer envId, @RequestParam String catalog,
+            @RequestParam String database, @RequestParam String table) {
         StudioMetaStoreDTO studioMetaStoreDTO = new StudioMetaStoreDTO();
         studioMetaStoreDTO.setEnvId(envId);
         studioMetaStoreDTO.setCatalog(catalog);
@@ -25,6 +25,7 @@ import com.dlink.daemon.task.DaemonFactory;
 import com.dlink.daemon.task.DaemonTaskConfig;
 import com.dlink.function.pool.UdfCodePool;
 import com.dlink.job.FlinkJobTask;
+import com.dlink.job.JobStateWriter;
 import com.dlink.model.JobInstance;
 import com.dlink.model.Tenant;
 import com.dlink.scheduler.client.ProjectClient;
@@ -43,6 +44,7 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -57,7 +59,7 @@ import org.springframework.stereotype.Component;
  **/
 @Component
 @Order(value = 1)
-public class SystemInit implements ApplicationRunner {
+public class SystemInit implements ApplicationRunner, DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(SystemInit.class);
     @Autowired
@@ -86,6 +88,12 @@ public class SystemInit implements ApplicationRunner {
         registerUDF();
     }
 
+    @Override
+    public void destroy() {
+        DaemonFactory.shutdown();
+        JobStateWriter.getInstance().shutdown();
+    }
+
     /**
      * init task monitor
      */
@@ -0,0 +1,105 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+/**
+ * ClusterMonitorMetric 单个集群的作业监控指标
+ */
+public class ClusterMonitorMetric {
+
+    private Integer clusterId;
+    private String clusterName;
+    private String jobManagerHost;
+    private int jobCount;
+    private long pollCount;
+    private long failedPollCount;
+    private long detailRefreshCount;
+    private long lastPollLatency;
+    private long maxPollLatency;
+    private long totalPollLatency;
+    private long lastPollTime;
+
+    public ClusterMonitorMetric(Integer clusterId) {
+        this.clusterId = clusterId;
+    }
+
+    public synchronized void recordPoll(String clusterName, String jobManagerHost, int jobCount, long latency,
+            boolean success) {
+        this.clusterName = clusterName;
+        this.jobManagerHost = jobManagerHost;
+        this.jobCount = jobCount;
+        this.pollCount++;
+        if (!success) {
+            this.failedPollCount++;
+        }
+        this.lastPollLatency = latency;
+        this.maxPollLatency = Math.max(maxPollLatency, latency);
+        this.totalPollLatency += latency;
+        this.lastPollTime = System.currentTimeMillis();
+    }
+
+    public synchronized void recordDetailRefresh(int count) {
+        this.detailRefreshCount += count;
+    }
+
+    public Integer getClusterId() {
+        return clusterId;
+    }
+
+    public synchronized String getClusterName() {
+        return clusterName;
+    }
+
+    public synchronized String getJobManagerHost() {
+        return jobManagerHost;
+    }
+
+    public synchronized int getJobCount() {
+        return jobCount;
+    }
+
+    public synchronized long getPollCount() {
+        return pollCount;
+    }
+
+    public synchronized long getFailedPollCount() {
+        return failedPollCount;
+    }
+
+    public synchronized long getDetailRefreshCount() {
+        return detailRefreshCount;
+    }
+
+    public synchronized long getLastPollLatency() {
+        return lastPollLatency;
+    }
+
+    public synchronized long getMaxPollLatency() {
+        return maxPollLatency;
+    }
+
+    public synchronized long getAvgPollLatency() {
+        return pollCount == 0 ? 0 : totalPollLatency / pollCount;
+    }
+
+    public synchronized long getLastPollTime() {
+        return lastPollTime;
+    }
+}
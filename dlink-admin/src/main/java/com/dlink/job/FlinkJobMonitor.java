@@ -0,0 +1,219 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+import com.dlink.api.FlinkAPI;
+import com.dlink.assertion.Asserts;
+import com.dlink.constant.FlinkRestResultConstant;
+import com.dlink.context.SpringContextUtils;
+import com.dlink.daemon.task.DaemonFactory;
+import com.dlink.daemon.task.DaemonTaskConfig;
+import com.dlink.model.Cluster;
+import com.dlink.model.JobInfoDetail;
+import com.dlink.model.JobInstance;
+import com.dlink.model.JobStatus;
+import com.dlink.service.TaskService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * FlinkJobMonitor
+ * <p>
+ * 按集群聚合监控作业实例：每轮每个集群只请求一次 /jobs/overview，
+ * 仅当作业的状态、最后修改时间或各状态 task 数发生变化时才刷新作业详情，
+ * 未变化的作业每 {@link #DETAIL_REFRESH_TICKS} 轮兜底刷新一次以同步 checkpoint 等信息。
+ * 概览请求失败时同样只按该间隔刷新详情，避免集群不可用时每轮对每个作业发起详情请求。
+ */
+public class FlinkJobMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(FlinkJobMonitor.class);
+
+    /**
+     * 作业概览未变化时，强制刷新详情的间隔轮数
+     */
+    public static final int DETAIL_REFRESH_TICKS = 10;
+
+    private static final FlinkJobMonitor instance = new FlinkJobMonitor();
+
+    private final Set<Integer> jobInstanceIds = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> idleTicks = new ConcurrentHashMap<>();
+    private final Map<Integer, ClusterMonitorMetric> metrics = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private TaskService taskService;
+
+    private FlinkJobMonitor() {
+    }
+
+    public static FlinkJobMonitor getInstance() {
+        return instance;
+    }
+
+    public void register(Integer jobInstanceId) {
+        if (Asserts.isNull(jobInstanceId)) {
+            return;
+        }
+        jobInstanceIds.add(jobInstanceId);
+        if (started.compareAndSet(false, true)) {
+            DaemonFactory.addTask(DaemonTaskConfig.build(FlinkJobMonitorTask.TYPE, 0));
+        }
+    }
+
+    public void unregister(Integer jobInstanceId) {
+        jobInstanceIds.remove(jobInstanceId);
+        fingerprints.remove(jobInstanceId);
+        idleTicks.remove(jobInstanceId);
+    }
+
+    public boolean isMonitored(Integer jobInstanceId) {
+        return jobInstanceIds.contains(jobInstanceId);
+    }
+
+    public int getJobCount() {
+        return jobInstanceIds.size();
+    }
+
+    public List<ClusterMonitorMetric> getMetrics() {
+        return new ArrayList<>(metrics.values());
+    }
+
+    /**
+     * 执行一轮监控
+     */
+    public void poll() {
+        FlinkJobTaskPool pool = FlinkJobTaskPool.getInstance();
+        Map<Integer, List<JobInfoDetail>> clusterJobs = new HashMap<>();
+        for (Integer id : jobInstanceIds) {
+            JobInfoDetail jobInfoDetail = pool.get(id.toString());
+            if (Asserts.isNull(jobInfoDetail) || Asserts.isNull(jobInfoDetail.getCluster())) {
+                // 首次监控，由详情刷新加载作业信息到 FlinkJobTaskPool
+                refreshJob(id);
+                continue;
+            }
+            clusterJobs.computeIfAbsent(jobInfoDetail.getCluster().getId(), k -> new ArrayList<>())
+                    .add(jobInfoDetail);
+        }
+        for (List<JobInfoDetail> jobInfoDetails : clusterJobs.values()) {
+            pollCluster(jobInfoDetails.get(0).getCluster(), jobInfoDetails);
+        }
+        metrics.keySet().retainAll(clusterJobs.keySet());
+    }
+
+    private void pollCluster(Cluster cluster, List<JobInfoDetail> jobInfoDetails) {
+        long start = System.currentTimeMillis();
+        JsonNode overview = FlinkAPI.build(cluster.getJobManagerHost()).getJobsOverview();
+        long latency = System.currentTimeMillis() - start;
+        boolean success = Asserts.isNotNull(overview) && overview.has(FlinkRestResultConstant.JOBS);
+        ClusterMonitorMetric metric = metrics.computeIfAbsent(cluster.getId(), ClusterMonitorMetric::new);
+        metric.recordPoll(cluster.getName(), cluster.getJobManagerHost(), jobInfoDetails.size(), latency, success);
+
+        int refreshCount = 0;
+        if (!success) {
+            // 概览请求失败时集群多半不可用，不逐个请求详情，只按兜底间隔刷新以便及时标记作业状态
+            for (JobInfoDetail jobInfoDetail : jobInfoDetails) {
+                Integer id = jobInfoDetail.getId();
+                int idle = idleTicks.getOrDefault(id, 0) + 1;
+                if (idle >= DETAIL_REFRESH_TICKS) {
+                    refreshJob(id);
+                    refreshCount++;
+                    idle = 0;
+                }
+                if (isMonitored(id)) {
+                    idleTicks.put(id, idle);
+                }
+            }
+            metric.recordDetailRefresh(refreshCount);
+            return;
+        }
+
+        Map<String, JsonNode> jobs = new HashMap<>();
+        for (JsonNode job : overview.get(FlinkRestResultConstant.JOBS)) {
+            jobs.put(job.path(FlinkRestResultConstant.JOB_ID).asText(), job);
+        }
+        for (JobInfoDetail jobInfoDetail : jobInfoDetails) {
+            Integer id = jobInfoDetail.getId();
+            String fingerprint = getFingerprint(jobs.get(jobInfoDetail.getInstance().getJid()));
+            int idle = idleTicks.getOrDefault(id, 0);
+            if (Asserts.isNull(fingerprint) || !fingerprint.equals(fingerprints.get(id))
+                    || idle >= DETAIL_REFRESH_TICKS) {
+                refreshJob(id);
+                refreshCount++;
+                if (isMonitored(id)) {
+                    if (Asserts.isNotNull(fingerprint)) {
+                        fingerprints.put(id, fingerprint);
+                    }
+                    idleTicks.put(id, 0);
+                }
+            } else {
+                idleTicks.put(id, idle + 1);
+            }
+        }
+        metric.recordDetailRefresh(refreshCount);
+    }
+
+    private String getFingerprint(JsonNode job) {
+        if (Asserts.isNull(job)) {
+            return null;
+        }
+        return job.path(FlinkRestResultConstant.JOB_STATE).asText() + "|"
+                + job.path(FlinkRestResultConstant.JOB_LAST_MODIFICATION).asLong() + "|"
+                + job.path(FlinkRestResultConstant.JOB_TASKS).toString();
+    }
+
+    private void refreshJob(Integer id) {
+        try {
+            JobInstance jobInstance = getTaskService().refreshJobInstance(id, false);
+            if (!inRefreshPlan(jobInstance)) {
+                getTaskService().handleJobDone(jobInstance);
+                FlinkJobTaskPool.getInstance().remove(id.toString());
+                JobStateWriter.getInstance().forget(id);
+                unregister(id);
+            }
+        } catch (Exception e) {
+            log.error("Refresh job instance failed, jobInstanceId is {}", id, e);
+        }
+    }
+
+    private boolean inRefreshPlan(JobInstance jobInstance) {
+        return !JobStatus.isDone(jobInstance.getStatus()) || (Asserts.isNotNull(jobInstance.getFinishTime())
+                && Duration.between(jobInstance.getFinishTime(), LocalDateTime.now()).toMinutes() < 1);
+    }
+
+    private TaskService getTaskService() {
+        if (Asserts.isNull(taskService)) {
+            taskService = SpringContextUtils.getBean("taskServiceImpl", TaskService.class);
+        }
+        return taskService;
+    }
+}
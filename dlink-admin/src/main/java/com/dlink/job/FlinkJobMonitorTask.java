@@ -0,0 +1,69 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+import com.dlink.daemon.constant.FlinkTaskConstant;
+import com.dlink.daemon.pool.DelayThreadPool;
+import com.dlink.daemon.task.DaemonTask;
+import com.dlink.daemon.task.DaemonTaskConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FlinkJobMonitorTask 驱动 {@link FlinkJobMonitor} 周期性执行监控
+ */
+public class FlinkJobMonitorTask implements DaemonTask {
+
+    private static final Logger log = LoggerFactory.getLogger(FlinkJobMonitorTask.class);
+
+    public static final String TYPE = "jobMonitor";
+
+    private DaemonTaskConfig config;
+    private long nextDueTime;
+
+    @Override
+    public DaemonTask setConfig(DaemonTaskConfig config) {
+        this.config = config;
+        return this;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public long getNextDueTime() {
+        return nextDueTime;
+    }
+
+    @Override
+    public void dealTask() {
+        long start = System.currentTimeMillis();
+        try {
+            FlinkJobMonitor.getInstance().poll();
+        } catch (Exception e) {
+            log.error("Flink job monitor poll failed", e);
+        }
+        nextDueTime = start + FlinkTaskConstant.TIME_SLEEP;
+        DelayThreadPool.getInstance().execute(this);
+    }
+}
@@ -38,6 +38,7 @@ import com.dlink.service.JobHistoryService;
 import com.dlink.service.JobInstanceService;
 import com.dlink.service.TaskService;
 import com.dlink.utils.JSONUtil;
+import com.dlink.utils.JsonCompressUtil;
 
 import java.time.LocalDateTime;
 
@@ -185,14 +186,15 @@ public class Job2MysqlHandler implements JobHandler {
 
         JobHistory jobHistory = new JobHistory();
         jobHistory.setId(jobInstance.getId());
-        jobHistory.setClusterJson(JSONUtil.toJsonString(cluster));
+        jobHistory.setClusterJson(JsonCompressUtil.compress(JSONUtil.toJsonString(cluster)));
 
         jobHistory.setJarJson(Asserts.isNotNull(job.getJobConfig().getJarId())
-                ? JSONUtil.toJsonString(jarService.getById(job.getJobConfig().getJarId()))
+                ? JsonCompressUtil.compress(JSONUtil.toJsonString(jarService.getById(job.getJobConfig().getJarId())))
                 : null);
 
         jobHistory.setClusterConfigurationJson(Asserts.isNotNull(clusterConfigurationId)
-                ? JSONUtil.toJsonString(clusterConfigurationService.getClusterConfigById(clusterConfigurationId))
+                ? JsonCompressUtil.compress(JSONUtil.toJsonString(
+                        clusterConfigurationService.getClusterConfigById(clusterConfigurationId)))
                 : null);
         jobHistoryService.save(jobHistory);
 
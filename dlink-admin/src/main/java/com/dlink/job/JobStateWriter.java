@@ -0,0 +1,334 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+import com.dlink.assertion.Asserts;
+import com.dlink.context.SpringContextUtils;
+import com.dlink.context.TenantContextHolder;
+import com.dlink.model.JobHistory;
+import com.dlink.model.JobInstance;
+import com.dlink.service.JobHistoryService;
+import com.dlink.service.JobInstanceService;
+import com.dlink.utils.JSONUtil;
+import com.dlink.utils.JsonCompressUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import cn.hutool.crypto.SecureUtil;
+
+/**
+ * JobStateWriter
+ * <p>
+ * 作业实例与作业历史的写回缓冲：提交时与上次写入的状态比对，未变化的行直接跳过，
+ * 大字段压缩后写入，变化的行按 {@link #FLUSH_INTERVAL_SECONDS} 秒的节奏按租户分组批量更新，写入失败的行留待下个周期重试，
+ * 关闭时同步刷盘；作业进入终态时由调用方立即 {@link #flush()}。
+ */
+public class JobStateWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(JobStateWriter.class);
+
+    public static final long FLUSH_INTERVAL_SECONDS = 5;
+    public static final int BATCH_SIZE = 100;
+
+    private static final JobStateWriter instance = new JobStateWriter();
+
+    private final Map<Integer, String> instanceFingerprints = new ConcurrentHashMap<>();
+    private final Map<Integer, String[]> historyFingerprints = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> tenants = new ConcurrentHashMap<>();
+    private final Map<Integer, JobInstance> pendingInstances = new ConcurrentHashMap<>();
+    private final Map<Integer, JobHistory> pendingHistories = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicLong skipCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private JobInstanceService jobInstanceService;
+    private JobHistoryService jobHistoryService;
+
+    private JobStateWriter() {
+    }
+
+    JobStateWriter(JobInstanceService jobInstanceService, JobHistoryService jobHistoryService) {
+        this.jobInstanceService = jobInstanceService;
+        this.jobHistoryService = jobHistoryService;
+    }
+
+    public static JobStateWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * 记录从数据库加载的作业实例状态，作为后续比对的基准
+     */
+    public void track(JobInstance jobInstance) {
+        tenants.put(jobInstance.getId(), jobInstance.getTenantId());
+        instanceFingerprints.put(jobInstance.getId(), getFingerprint(jobInstance, true));
+    }
+
+    /**
+     * 提交作业实例的最新状态，withDuration 为 false 时仅运行时长变化不会触发写入
+     */
+    public void submitInstance(JobInstance jobInstance, boolean withDuration) {
+        Integer id = jobInstance.getId();
+        if (Asserts.isNotNull(jobInstance.getTenantId())) {
+            tenants.put(id, jobInstance.getTenantId());
+        }
+        String fingerprint = getFingerprint(jobInstance, withDuration);
+        String last = instanceFingerprints.get(id);
+        if (Asserts.isNotNull(last) && isSameState(last, fingerprint, withDuration)) {
+            skipCount.incrementAndGet();
+            return;
+        }
+        instanceFingerprints.put(id, getFingerprint(jobInstance, true));
+        JobInstance update = new JobInstance();
+        update.setId(id);
+        update.setStatus(jobInstance.getStatus());
+        update.setDuration(jobInstance.getDuration());
+        update.setFinishTime(jobInstance.getFinishTime());
+        update.setError(jobInstance.getError());
+        update.setFailedRestartCount(jobInstance.getFailedRestartCount());
+        pendingInstances.put(id, update);
+        start();
+    }
+
+    /**
+     * 提交作业历史，仅写入内容发生变化的 JSON 列
+     */
+    public void submitHistory(JobHistory jobHistory) {
+        Integer id = jobHistory.getId();
+        String[] columns = new String[]{
+                toJson(jobHistory.getJobJson(), jobHistory.getJob()),
+                toJson(jobHistory.getExceptionsJson(), jobHistory.getExceptions()),
+                toJson(jobHistory.getCheckpointsJson(), jobHistory.getCheckpoints()),
+                toJson(jobHistory.getCheckpointsConfigJson(), jobHistory.getCheckpointsConfig()),
+                toJson(jobHistory.getConfigJson(), jobHistory.getConfig())};
+        String[] hashes = new String[columns.length];
+        String[] last = historyFingerprints.get(id);
+        boolean changed = false;
+        for (int i = 0; i < columns.length; i++) {
+            hashes[i] = Asserts.isNull(columns[i]) ? null : SecureUtil.md5(columns[i]);
+            if (Asserts.isNotNull(last) && Objects.equals(last[i], hashes[i])) {
+                columns[i] = null;
+            } else if (Asserts.isNotNull(columns[i])) {
+                changed = true;
+            }
+        }
+        if (!changed) {
+            skipCount.incrementAndGet();
+            return;
+        }
+        historyFingerprints.put(id, hashes);
+        JobHistory update = new JobHistory();
+        update.setId(id);
+        update.setJobJson(JsonCompressUtil.compress(columns[0]));
+        update.setExceptionsJson(JsonCompressUtil.compress(columns[1]));
+        update.setCheckpointsJson(JsonCompressUtil.compress(columns[2]));
+        update.setCheckpointsConfigJson(JsonCompressUtil.compress(columns[3]));
+        update.setConfigJson(JsonCompressUtil.compress(columns[4]));
+        pendingHistories.merge(id, update, JobStateWriter::mergeHistory);
+        start();
+    }
+
+    /**
+     * 不再监控的作业清理比对基准
+     */
+    public void forget(Integer id) {
+        instanceFingerprints.remove(id);
+        historyFingerprints.remove(id);
+        if (!pendingInstances.containsKey(id) && !pendingHistories.containsKey(id)) {
+            tenants.remove(id);
+        }
+    }
+
+    public long getSkipCount() {
+        return skipCount.get();
+    }
+
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    public int getPendingCount() {
+        return pendingInstances.size() + pendingHistories.size();
+    }
+
+    /**
+     * 立即写入全部待写数据
+     */
+    public synchronized void flush() {
+        if (pendingInstances.isEmpty() && pendingHistories.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<JobInstance>> instances = drain(pendingInstances);
+        Map<Integer, List<JobHistory>> histories = drain(pendingHistories);
+        Object tenant = TenantContextHolder.get();
+        try {
+            for (Map.Entry<Integer, List<JobInstance>> entry : instances.entrySet()) {
+                TenantContextHolder.set(entry.getKey());
+                try {
+                    getJobInstanceService().updateBatchById(entry.getValue(), BATCH_SIZE);
+                    writeCount.addAndGet(entry.getValue().size());
+                } catch (Exception e) {
+                    log.error("Batch update job instance failed, tenantId is {}", entry.getKey(), e);
+                    // 写入失败的行放回队列，下个周期重试，队列中已有更新的状态时以新状态为准
+                    entry.getValue().forEach(item -> pendingInstances.putIfAbsent(item.getId(), item));
+                }
+            }
+            for (Map.Entry<Integer, List<JobHistory>> entry : histories.entrySet()) {
+                TenantContextHolder.set(entry.getKey());
+                try {
+                    getJobHistoryService().updateBatchById(entry.getValue(), BATCH_SIZE);
+                    writeCount.addAndGet(entry.getValue().size());
+                } catch (Exception e) {
+                    log.error("Batch update job history failed, tenantId is {}", entry.getKey(), e);
+                    entry.getValue().forEach(item -> pendingHistories.merge(item.getId(), item,
+                            (current, failed) -> mergeHistory(failed, current)));
+                }
+            }
+        } finally {
+            TenantContextHolder.set(tenant);
+        }
+    }
+
+    /**
+     * 停止定时刷盘并写入剩余数据，由系统关闭时调用
+     */
+    public void shutdown() {
+        ScheduledExecutorService executor = scheduler;
+        if (Asserts.isNotNull(executor)) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "JobStateWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    flush();
+                } catch (Exception e) {
+                    log.error("Flush job state failed", e);
+                }
+            }, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private <T> Map<Integer, List<T>> drain(Map<Integer, T> pending) {
+        Map<Integer, List<T>> tenantMap = new HashMap<>();
+        Iterator<Map.Entry<Integer, T>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, T> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                tenantMap.computeIfAbsent(getTenantId(entry.getKey()), k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        return tenantMap;
+    }
+
+    private Integer getTenantId(Integer id) {
+        Integer tenantId = tenants.get(id);
+        if (Asserts.isNull(tenantId)) {
+            JobInstance jobInstance = getJobInstanceService().getByIdWithoutTenant(id);
+            if (Asserts.isNotNull(jobInstance)) {
+                tenantId = jobInstance.getTenantId();
+                tenants.put(id, tenantId);
+            }
+        }
+        return tenantId;
+    }
+
+    private static JobHistory mergeHistory(JobHistory older, JobHistory newer) {
+        if (Asserts.isNull(newer.getJobJson())) {
+            newer.setJobJson(older.getJobJson());
+        }
+        if (Asserts.isNull(newer.getExceptionsJson())) {
+            newer.setExceptionsJson(older.getExceptionsJson());
+        }
+        if (Asserts.isNull(newer.getCheckpointsJson())) {
+            newer.setCheckpointsJson(older.getCheckpointsJson());
+        }
+        if (Asserts.isNull(newer.getCheckpointsConfigJson())) {
+            newer.setCheckpointsConfigJson(older.getCheckpointsConfigJson());
+        }
+        if (Asserts.isNull(newer.getConfigJson())) {
+            newer.setConfigJson(older.getConfigJson());
+        }
+        return newer;
+    }
+
+    private static String getFingerprint(JobInstance jobInstance, boolean withDuration) {
+        return jobInstance.getStatus() + "|" + jobInstance.getFinishTime() + "|" + jobInstance.getError() + "|"
+                + jobInstance.getFailedRestartCount() + "|" + (withDuration ? jobInstance.getDuration() : "");
+    }
+
+    private static boolean isSameState(String last, String current, boolean withDuration) {
+        if (withDuration) {
+            return last.equals(current);
+        }
+        return last.substring(0, last.lastIndexOf('|')).equals(current.substring(0, current.lastIndexOf('|')));
+    }
+
+    private static String toJson(String json, JsonNode node) {
+        if (Asserts.isNotNullString(json)) {
+            return JsonCompressUtil.decompress(json);
+        }
+        return Asserts.isNull(node) ? null : JSONUtil.toJsonString(node);
+    }
+
+    private JobInstanceService getJobInstanceService() {
+        if (Asserts.isNull(jobInstanceService)) {
+            jobInstanceService = SpringContextUtils.getBean("jobInstanceServiceImpl", JobInstanceService.class);
+        }
+        return jobInstanceService;
+    }
+
+    private JobHistoryService getJobHistoryService() {
+        if (Asserts.isNull(jobHistoryService)) {
+            jobHistoryService = SpringContextUtils.getBean("jobHistoryServiceImpl", JobHistoryService.class);
+        }
+        return jobHistoryService;
+    }
+}
@@ -30,7 +30,8 @@ public enum CodeEnum {
     ERROR(1),
 
     EXCEPTION(5),
-    NOTLOGIN(401);
+    NOTLOGIN(401),
+    NOTADMIN(403);
 
     private Integer code;
 
@@ -67,6 +67,8 @@ public class DataBase extends SuperEntity {
 
     private String dbVersion;
 
+    private String poolConfig;
+
     private Boolean status;
 
     private LocalDateTime healthTime;
@@ -74,6 +76,6 @@ public class DataBase extends SuperEntity {
     private LocalDateTime heartbeatTime;
 
     public DriverConfig getDriverConfig() {
-        return new DriverConfig(getName(), type, url, username, password);
+        return new DriverConfig(getName(), type, url, username, password, poolConfig);
     }
 }
@@ -19,12 +19,17 @@
 
 package com.dlink.model;
 
+import com.dlink.assertion.Asserts;
+import com.dlink.utils.JSONUtil;
+import com.dlink.utils.JsonCompressUtil;
+
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 import com.baomidou.mybatisplus.annotation.FieldFill;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import lombok.Data;
@@ -32,6 +37,8 @@ import lombok.EqualsAndHashCode;
 
 /**
  * JobHistory
+ * <p>
+ * xxxJson 为数据库中的原始列，可能是压缩后的内容，对应的 JSON 对象在首次访问时才解压解析。
  *
  * @author wenmo
  * @since 2022/3/2 19:48
@@ -50,41 +57,49 @@ public class JobHistory implements Serializable {
     @TableField(exist = false)
     private ObjectNode job;
 
+    @JsonIgnore
     private String jobJson;
 
     @TableField(exist = false)
     private ObjectNode exceptions;
 
+    @JsonIgnore
     private String exceptionsJson;
 
     @TableField(exist = false)
     private ObjectNode checkpoints;
 
+    @JsonIgnore
     private String checkpointsJson;
 
     @TableField(exist = false)
     private ObjectNode checkpointsConfig;
 
+    @JsonIgnore
     private String checkpointsConfigJson;
 
     @TableField(exist = false)
     private ObjectNode config;
 
+    @JsonIgnore
     private String configJson;
 
     @TableField(exist = false)
     private ObjectNode jar;
 
+    @JsonIgnore
     private String jarJson;
 
     @TableField(exist = false)
     private ObjectNode cluster;
 
+    @JsonIgnore
     private String clusterJson;
 
     @TableField(exist = false)
     private ObjectNode clusterConfiguration;
 
+    @JsonIgnore
     private String clusterConfigurationJson;
 
     @TableField(fill = FieldFill.INSERT_UPDATE)
@@ -92,4 +107,72 @@ public class JobHistory implements Serializable {
 
     @TableField(exist = false)
     private boolean error;
+
+    public synchronized ObjectNode getJob() {
+        if (Asserts.isNull(job) && Asserts.isNotNullString(jobJson)) {
+            job = parse(jobJson);
+            jobJson = null;
+        }
+        return job;
+    }
+
+    public synchronized ObjectNode getExceptions() {
+        if (Asserts.isNull(exceptions) && Asserts.isNotNullString(exceptionsJson)) {
+            exceptions = parse(exceptionsJson);
+            exceptionsJson = null;
+        }
+        return exceptions;
+    }
+
+    public synchronized ObjectNode getCheckpoints() {
+        if (Asserts.isNull(checkpoints) && Asserts.isNotNullString(checkpointsJson)) {
+            checkpoints = parse(checkpointsJson);
+            checkpointsJson = null;
+        }
+        return checkpoints;
+    }
+
+    public synchronized ObjectNode getCheckpointsConfig() {
+        if (Asserts.isNull(checkpointsConfig) && Asserts.isNotNullString(checkpointsConfigJson)) {
+            checkpointsConfig = parse(checkpointsConfigJson);
+            checkpointsConfigJson = null;
+        }
+        return checkpointsConfig;
+    }
+
+    public synchronized ObjectNode getConfig() {
+        if (Asserts.isNull(config) && Asserts.isNotNullString(configJson)) {
+            config = parse(configJson);
+            configJson = null;
+        }
+        return config;
+    }
+
+    public synchronized ObjectNode getJar() {
+        if (Asserts.isNull(jar) && Asserts.isNotNullString(jarJson)) {
+            jar = parse(jarJson);
+            jarJson = null;
+        }
+        return jar;
+    }
+
+    public synchronized ObjectNode getCluster() {
+        if (Asserts.isNull(cluster) && Asserts.isNotNullString(clusterJson)) {
+            cluster = parse(clusterJson);
+            clusterJson = null;
+        }
+        return cluster;
+    }
+
+    public synchronized ObjectNode getClusterConfiguration() {
+        if (Asserts.isNull(clusterConfiguration) && Asserts.isNotNullString(clusterConfigurationJson)) {
+            clusterConfiguration = parse(clusterConfigurationJson);
+            clusterConfigurationJson = null;
+        }
+        return clusterConfiguration;
+    }
+
+    private static ObjectNode parse(String json) {
+        return JSONUtil.parseObject(JsonCompressUtil.decompress(json));
+    }
 }
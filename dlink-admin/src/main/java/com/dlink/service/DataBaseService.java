@@ -49,6 +49,8 @@ public interface DataBaseService extends ISuperService<DataBase> {
 
     List<Column> listColumns(Integer id, String schemaName, String tableName);
 
+    long invalidateMetadata(Integer id);
+
     String getFlinkTableSql(Integer id, String schemaName, String tableName);
 
     String getSqlSelect(Integer id, String schemaName, String tableName);
@@ -59,6 +61,8 @@ public interface DataBaseService extends ISuperService<DataBase> {
 
     JdbcSelectResult execSql(QueryData queryData);
 
+    boolean cancelQuery(String queryId);
+
     SqlGeneration getSqlGeneration(Integer id, String schemaName, String tableName);
 
     List<String> listEnabledFlinkWith();
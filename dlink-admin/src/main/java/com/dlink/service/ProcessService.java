@@ -19,6 +19,7 @@
 
 package com.dlink.service;
 
+import com.dlink.process.model.ConsoleSlice;
 import com.dlink.process.model.ProcessEntity;
 
 import java.util.List;
@@ -34,4 +35,6 @@ public interface ProcessService {
     List<ProcessEntity> listAllProcess(boolean active);
 
     String getConsoleByUserId(Integer userId);
+
+    ConsoleSlice readConsoleByUserId(Integer userId, long offset);
 }
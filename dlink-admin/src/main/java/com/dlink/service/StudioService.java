@@ -32,11 +32,14 @@ import com.dlink.model.FlinkColumn;
 import com.dlink.model.Schema;
 import com.dlink.result.IResult;
 import com.dlink.result.SelectResult;
+import com.dlink.result.SelectResultIncrement;
 import com.dlink.result.SqlExplainResult;
 import com.dlink.session.SessionInfo;
 
 import java.util.List;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -62,12 +65,18 @@ public interface StudioService {
 
     SelectResult getJobData(String jobId);
 
+    SelectResultIncrement getJobDataIncrement(String jobId, long version);
+
+    SseEmitter streamJobData(String jobId, long version);
+
     SessionInfo createSession(SessionDTO sessionDTO, String createUser);
 
     boolean clearSession(String session);
 
     List<SessionInfo> listSession(String createUser);
 
+    List<SessionInfo> listAllSession();
+
     LineageResult getLineage(StudioCADTO studioCADTO);
 
     List<JsonNode> listJobs(Integer clusterId);
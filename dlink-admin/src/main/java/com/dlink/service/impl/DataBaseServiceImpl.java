@@ -23,7 +23,9 @@ import com.dlink.assertion.Asserts;
 import com.dlink.constant.CommonConstant;
 import com.dlink.db.service.impl.SuperServiceImpl;
 import com.dlink.mapper.DataBaseMapper;
+import com.dlink.metadata.cache.MetadataCache;
 import com.dlink.metadata.driver.Driver;
+import com.dlink.metadata.driver.RunningStatementPool;
 import com.dlink.metadata.result.JdbcSelectResult;
 import com.dlink.model.Column;
 import com.dlink.model.DataBase;
@@ -55,12 +57,12 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
 
     @Override
     public String testConnect(DataBase dataBase) {
-        return Driver.build(dataBase.getDriverConfig()).test();
+        return Driver.getDriver(dataBase.getDriverConfig()).test();
     }
 
     @Override
     public boolean checkHeartBeat(DataBase dataBase) {
-        boolean isHealthy = Asserts.isEquals(CommonConstant.HEALTHY, Driver.build(dataBase.getDriverConfig()).test());
+        boolean isHealthy = Asserts.isEquals(CommonConstant.HEALTHY, testConnect(dataBase));
         dataBase.setStatus(isHealthy);
         dataBase.setHeartbeatTime(LocalDateTime.now());
         if (isHealthy) {
@@ -89,6 +91,7 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
                 dataBase.setPassword(dataBaseInfo.getPassword());
             }
             checkHeartBeat(dataBase);
+            invalidateMetadata(dataBase.getId());
             return updateById(dataBase);
         }
     }
@@ -102,28 +105,39 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
     public List<Schema> getSchemasAndTables(Integer id) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Schema> schemasAndTables = driver.getSchemasAndTables();
-        driver.close();
-        return schemasAndTables;
+        return MetadataCache.getSchemas(String.valueOf(id), () -> {
+            try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                return driver.getSchemasAndTables();
+            }
+        });
     }
 
     @Override
     public List<Column> listColumns(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
-        driver.close();
-        return columns;
+        return listColumns(dataBase, schemaName, tableName);
+    }
+
+    private List<Column> listColumns(DataBase dataBase, String schemaName, String tableName) {
+        // 首次访问某个 schema 时整库加载字段，后续该库下的表直接命中缓存
+        return MetadataCache.getColumns(String.valueOf(dataBase.getId()), schemaName, tableName, schema -> {
+            try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                return driver.listColumnsBySchema(schema);
+            }
+        });
+    }
+
+    @Override
+    public long invalidateMetadata(Integer id) {
+        return MetadataCache.invalidate(String.valueOf(id));
     }
 
     @Override
     public String getFlinkTableSql(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
         return table.getFlinkTableSql(dataBase.getName(), dataBase.getFlinkTemplate());
     }
@@ -132,56 +146,69 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
     public String getSqlSelect(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
-        return driver.getSqlSelect(table);
+        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+            return driver.getSqlSelect(table);
+        }
     }
 
     @Override
     public String getSqlCreate(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        List<Column> columns = driver.listColumns(schemaName, tableName);
+        List<Column> columns = listColumns(dataBase, schemaName, tableName);
         Table table = Table.build(tableName, schemaName, columns);
-        return driver.getCreateTableSql(table);
+        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+            return driver.getCreateTableSql(table);
+        }
     }
 
     @Override
     public JdbcSelectResult queryData(QueryData queryData) {
         DataBase dataBase = getById(queryData.getId());
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        StringBuilder queryOption = driver.genQueryOption(queryData);
-        return driver.query(queryOption.toString(), null);
+        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+            StringBuilder queryOption = driver.genQueryOption(queryData);
+            return driver.query(queryOption.toString(), null);
+        }
     }
 
     @Override
     public JdbcSelectResult execSql(QueryData queryData) {
         DataBase dataBase = getById(queryData.getId());
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
         long startTime = System.currentTimeMillis();
-        JdbcSelectResult jdbcSelectResult = driver.query(queryData.getSql(), 500);
+        JdbcSelectResult jdbcSelectResult;
+        RunningStatementPool.bindQueryId(queryData.getQueryId());
+        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+            jdbcSelectResult = driver.query(queryData.getSql(), 500);
+        } finally {
+            RunningStatementPool.unbindQueryId();
+        }
         long endTime = System.currentTimeMillis();
         jdbcSelectResult.setTime(endTime - startTime);
         jdbcSelectResult.setTotal(jdbcSelectResult.getRowData().size());
         return jdbcSelectResult;
     }
 
+    @Override
+    public boolean cancelQuery(String queryId) {
+        return RunningStatementPool.cancel(queryId);
+    }
+
     @Override
     public SqlGeneration getSqlGeneration(Integer id, String schemaName, String tableName) {
         DataBase dataBase = getById(id);
         Asserts.checkNotNull(dataBase, "该数据源不存在！");
-        Driver driver = Driver.build(dataBase.getDriverConfig());
-        Table table = driver.getTable(schemaName, tableName);
-        SqlGeneration sqlGeneration = new SqlGeneration();
-        sqlGeneration.setFlinkSqlCreate(table.getFlinkTableSql(dataBase.getName(), dataBase.getFlinkTemplate()));
-        sqlGeneration.setSqlSelect(driver.getSqlSelect(table));
-        sqlGeneration.setSqlCreate(driver.getCreateTableSql(table));
-        driver.close();
-        return sqlGeneration;
+        try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+            Table table = driver.getTable(schemaName, tableName);
+            SqlGeneration sqlGeneration = new SqlGeneration();
+            sqlGeneration.setFlinkSqlCreate(table.getFlinkTableSql(dataBase.getName(), dataBase.getFlinkTemplate()));
+            sqlGeneration.setSqlSelect(driver.getSqlSelect(table));
+            sqlGeneration.setSqlCreate(driver.getCreateTableSql(table));
+            return sqlGeneration;
+        }
     }
 
     @Override
@@ -205,7 +232,8 @@ public class DataBaseServiceImpl extends SuperServiceImpl<DataBaseMapper, DataBa
     public boolean copyDatabase(DataBase database) {
         String name = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 10);
         database.setId(null);
-        database.setName((database.getName().length() > 10 ? database.getName().substring(0, 10) : database.getName()) + "_" + name);
+        database.setName((database.getName().length() > 10 ? database.getName().substring(0, 10) : database.getName())
+                + "_" + name);
         database.setCreateTime(null);
         return this.save(database);
     }
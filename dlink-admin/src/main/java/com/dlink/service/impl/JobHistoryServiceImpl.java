@@ -23,12 +23,14 @@ import com.dlink.api.FlinkAPI;
 import com.dlink.assertion.Asserts;
 import com.dlink.constant.FlinkRestResultConstant;
 import com.dlink.db.service.impl.SuperServiceImpl;
+import com.dlink.job.JobStateWriter;
 import com.dlink.mapper.JobHistoryMapper;
 import com.dlink.model.JobHistory;
 import com.dlink.service.JobHistoryService;
 import com.dlink.utils.JSONUtil;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,42 +59,11 @@ public class JobHistoryServiceImpl extends SuperServiceImpl<JobHistoryMapper, Jo
         return getJobHistoryInfo(baseMapper.getByIdWithoutTenant(id));
     }
 
+    /**
+     * JSON 列在首次访问对应对象时才解压解析，见 {@link JobHistory}
+     */
     @Override
     public JobHistory getJobHistoryInfo(JobHistory jobHistory) {
-        if (Asserts.isNotNull(jobHistory)) {
-            if (Asserts.isNotNullString(jobHistory.getJobJson())) {
-                jobHistory.setJob(JSONUtil.parseObject(jobHistory.getJobJson()));
-                jobHistory.setJobJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getExceptionsJson())) {
-                jobHistory.setExceptions(JSONUtil.parseObject(jobHistory.getExceptionsJson()));
-                jobHistory.setExceptionsJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getCheckpointsJson())) {
-                jobHistory.setCheckpoints(JSONUtil.parseObject(jobHistory.getCheckpointsJson()));
-                jobHistory.setCheckpointsJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getCheckpointsConfigJson())) {
-                jobHistory.setCheckpointsConfig(JSONUtil.parseObject(jobHistory.getCheckpointsConfigJson()));
-                jobHistory.setCheckpointsConfigJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getConfigJson())) {
-                jobHistory.setConfig(JSONUtil.parseObject(jobHistory.getConfigJson()));
-                jobHistory.setConfigJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getJarJson())) {
-                jobHistory.setJar(JSONUtil.parseObject(jobHistory.getJarJson()));
-                jobHistory.setJarJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getClusterJson())) {
-                jobHistory.setCluster(JSONUtil.parseObject(jobHistory.getClusterJson()));
-                jobHistory.setClusterJson(null);
-            }
-            if (Asserts.isNotNullString(jobHistory.getClusterConfigurationJson())) {
-                jobHistory.setClusterConfiguration(JSONUtil.parseObject(jobHistory.getClusterConfigurationJson()));
-                jobHistory.setClusterConfigurationJson(null);
-            }
-        }
         return jobHistory;
     }
 
@@ -101,7 +72,14 @@ public class JobHistoryServiceImpl extends SuperServiceImpl<JobHistoryMapper, Jo
         JobHistory jobHistory = new JobHistory();
         jobHistory.setId(id);
         try {
-            JsonNode jobInfo = FlinkAPI.build(jobManagerHost).getJobInfo(jobId);
+            // 并发获取作业详情，失败时各项为 null
+            FlinkAPI flinkAPI = FlinkAPI.build(jobManagerHost);
+            CompletableFuture<JsonNode> jobInfoFuture = flinkAPI.getJobInfoAsync(jobId);
+            CompletableFuture<JsonNode> exceptionFuture = flinkAPI.getExceptionAsync(jobId);
+            CompletableFuture<JsonNode> checkPointsFuture = flinkAPI.getCheckPointsAsync(jobId);
+            CompletableFuture<JsonNode> checkPointsConfigFuture = flinkAPI.getCheckPointsConfigAsync(jobId);
+            CompletableFuture<JsonNode> jobsConfigFuture = flinkAPI.getJobsConfigAsync(jobId);
+            JsonNode jobInfo = jobInfoFuture.join();
             if (Asserts.isNull(jobInfo) || jobInfo.has(FlinkRestResultConstant.ERRORS)) {
                 final JobHistory dbHistory = getById(id);
                 if (Objects.nonNull(dbHistory)) {
@@ -110,20 +88,17 @@ public class JobHistoryServiceImpl extends SuperServiceImpl<JobHistoryMapper, Jo
                 jobHistory.setError(true);
                 return jobHistory;
             }
-            JsonNode exception = FlinkAPI.build(jobManagerHost).getException(jobId);
-            JsonNode checkPoints = FlinkAPI.build(jobManagerHost).getCheckPoints(jobId);
-            JsonNode checkPointsConfig = FlinkAPI.build(jobManagerHost).getCheckPointsConfig(jobId);
-            JsonNode jobsConfig = FlinkAPI.build(jobManagerHost).getJobsConfig(jobId);
+            JsonNode exception = exceptionFuture.join();
+            JsonNode checkPoints = checkPointsFuture.join();
+            JsonNode checkPointsConfig = checkPointsConfigFuture.join();
+            JsonNode jobsConfig = jobsConfigFuture.join();
             jobHistory.setJobJson(JSONUtil.toJsonString(jobInfo));
             jobHistory.setExceptionsJson(JSONUtil.toJsonString(exception));
             jobHistory.setCheckpointsJson(JSONUtil.toJsonString(checkPoints));
             jobHistory.setCheckpointsConfigJson(JSONUtil.toJsonString(checkPointsConfig));
             jobHistory.setConfigJson(JSONUtil.toJsonString(jobsConfig));
             if (needSave) {
-                updateById(jobHistory);
-                /*
-                 * if (Asserts.isNotNull(getById(id))) { updateById(jobHistory); } else { save(jobHistory); }
-                 */
+                JobStateWriter.getInstance().submitHistory(jobHistory);
             }
         } catch (Exception e) {
             log.error("Get flink job info failed !! historyId is {}, jobManagerHost is :{}, jobId is :{}",
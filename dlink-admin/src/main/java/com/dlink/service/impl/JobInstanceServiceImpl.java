@@ -28,6 +28,7 @@ import com.dlink.db.util.ProTableUtil;
 import com.dlink.explainer.lineage.LineageBuilder;
 import com.dlink.explainer.lineage.LineageResult;
 import com.dlink.job.FlinkJobTaskPool;
+import com.dlink.job.JobStateWriter;
 import com.dlink.mapper.JobInstanceMapper;
 import com.dlink.model.History;
 import com.dlink.model.JobInfoDetail;
@@ -171,6 +172,8 @@ public class JobInstanceServiceImpl extends SuperServiceImpl<JobInstanceMapper,
     @Override
     public JobInfoDetail refreshJobInfoDetailInfo(JobInstance jobInstance) {
         Asserts.checkNull(jobInstance, "该任务实例不存在");
+        // 作业历史由 JobStateWriter 延迟写入，读取前先刷盘，避免用旧数据覆盖缓存
+        JobStateWriter.getInstance().flush();
         JobInfoDetail jobInfoDetail;
         FlinkJobTaskPool pool = FlinkJobTaskPool.getInstance();
         String key = jobInstance.getId().toString();
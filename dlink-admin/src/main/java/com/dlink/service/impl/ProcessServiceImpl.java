@@ -19,6 +19,7 @@
 
 package com.dlink.service.impl;
 
+import com.dlink.process.model.ConsoleSlice;
 import com.dlink.process.model.ProcessEntity;
 import com.dlink.process.pool.ConsolePool;
 import com.dlink.process.pool.ProcessPool;
@@ -60,4 +61,9 @@ public class ProcessServiceImpl implements ProcessService {
             return "";
         }
     }
+
+    @Override
+    public ConsoleSlice readConsoleByUserId(Integer userId, long offset) {
+        return ConsolePool.read(userId, offset);
+    }
 }
@@ -52,6 +52,7 @@ import com.dlink.process.model.ProcessType;
 import com.dlink.result.DDLResult;
 import com.dlink.result.IResult;
 import com.dlink.result.SelectResult;
+import com.dlink.result.SelectResultIncrement;
 import com.dlink.result.SqlExplainResult;
 import com.dlink.service.ClusterConfigurationService;
 import com.dlink.service.ClusterService;
@@ -71,10 +72,24 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -90,9 +105,27 @@ import cn.dev33.satoken.stp.StpUtil;
  * @since 2021/5/30 11:08
  */
 @Service
-public class StudioServiceImpl implements StudioService {
+public class StudioServiceImpl implements StudioService, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(StudioServiceImpl.class);
+    private static final long JOB_DATA_PUSH_INTERVAL = 1000L;
+    private static final long JOB_DATA_STREAM_TIMEOUT = 30 * 60 * 1000L;
+    private static final long JOB_DATA_SEND_TIMEOUT = 30 * 1000L;
+    private static final int JOB_DATA_SENDER_NUM = 8;
+    private static final int JOB_DATA_SENDER_QUEUE_SIZE = 256;
+
+    private final ScheduledExecutorService jobDataPusher = Executors.newScheduledThreadPool(1, r -> {
+        Thread thread = new Thread(r, "JobDataPusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 推送线程只负责检查版本，写出交给发送线程，避免一个慢客户端阻塞其他订阅；线程数与队列有界，满载时关闭新的推送
+    private final ThreadPoolExecutor jobDataSender = new ThreadPoolExecutor(JOB_DATA_SENDER_NUM, JOB_DATA_SENDER_NUM,
+            60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(JOB_DATA_SENDER_QUEUE_SIZE), r -> {
+                Thread thread = new Thread(r, "JobDataSender");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     private final ClusterService clusterService;
     private final ClusterConfigurationService clusterConfigurationService;
@@ -119,8 +152,19 @@ public class StudioServiceImpl implements StudioService {
     }
 
     private void addFlinkSQLEnv(AbstractStatementDTO statementDTO) {
+        String envStatement = buildFlinkSQLEnv(statementDTO);
+        if (Asserts.isNotNullString(envStatement)) {
+            statementDTO.setStatement(envStatement + "\n" + statementDTO.getStatement());
+        }
+    }
+
+    /**
+     * 加载变量并返回需要在作业语句前执行的 FlinkSQLEnv 语句
+     */
+    private String buildFlinkSQLEnv(AbstractStatementDTO statementDTO) {
         ProcessEntity process = ProcessContextHolder.getProcess();
         process.info("Start initialize FlinkSQLEnv:");
+        String envStatement = null;
         if (statementDTO.isFragment()) {
             process.config("Variable opened.");
 
@@ -133,7 +177,7 @@ public class StudioServiceImpl implements StudioService {
             process.info("Initializing database variables...");
             String flinkWithSql = dataBaseService.getEnabledFlinkWithSql();
             if (Asserts.isNotNullString(flinkWithSql)) {
-                statementDTO.setStatement(flinkWithSql + "\n" + statementDTO.getStatement());
+                envStatement = flinkWithSql;
                 process.infoSuccess();
             } else {
                 process.info("No variables are loaded.");
@@ -146,13 +190,16 @@ public class StudioServiceImpl implements StudioService {
             process.info("Initializing FlinkSQLEnv...");
             Task task = taskService.getTaskInfoById(statementDTO.getEnvId());
             if (Asserts.isNotNull(task) && Asserts.isNotNullString(task.getStatement())) {
-                statementDTO.setStatement(task.getStatement() + "\n" + statementDTO.getStatement());
+                envStatement = Asserts.isNullString(envStatement)
+                        ? task.getStatement()
+                        : task.getStatement() + "\n" + envStatement;
                 process.infoSuccess();
             } else {
                 process.info("No FlinkSQLEnv are loaded.");
             }
         }
         process.info("Finish initialize FlinkSQLEnv.");
+        return envStatement;
     }
 
     private void buildSession(JobConfig config) {
@@ -261,18 +308,23 @@ public class StudioServiceImpl implements StudioService {
     private List<SqlExplainResult> explainFlinkSql(StudioExecuteDTO studioExecuteDTO) {
         ProcessEntity process = ProcessContextHolder.registerProcess(
                 ProcessEntity.init(ProcessType.FLINKEXPLAIN, StpUtil.getLoginIdAsInt()));
-        addFlinkSQLEnv(studioExecuteDTO);
+        String envStatement = buildFlinkSQLEnv(studioExecuteDTO);
         process.info("Initializing Flink job config...");
         JobConfig config = studioExecuteDTO.getJobConfig();
         // If you are using explainSql | getStreamGraph | getJobPlan, make the dialect change to local.
         config.buildLocal();
         buildSession(config);
-        JobManager jobManager = JobManager.build(config);
-        process.start();
-        List<SqlExplainResult> sqlExplainResults = jobManager.explainSql(studioExecuteDTO.getStatement())
-                .getSqlExplainResults();
-        process.finish();
-        return sqlExplainResults;
+        JobManager jobManager = JobManager.buildPooled(config, envStatement);
+        jobManager.setIncrementalExplain(true);
+        try {
+            process.start();
+            List<SqlExplainResult> sqlExplainResults = jobManager.explainSql(studioExecuteDTO.getStatement())
+                    .getSqlExplainResults();
+            process.finish();
+            return sqlExplainResults;
+        } finally {
+            jobManager.close();
+        }
     }
 
     private List<SqlExplainResult> explainCommonSql(StudioExecuteDTO studioExecuteDTO) {
@@ -302,26 +354,34 @@ public class StudioServiceImpl implements StudioService {
 
     @Override
     public ObjectNode getStreamGraph(StudioExecuteDTO studioExecuteDTO) {
-        addFlinkSQLEnv(studioExecuteDTO);
+        String envStatement = buildFlinkSQLEnv(studioExecuteDTO);
         JobConfig config = studioExecuteDTO.getJobConfig();
         // If you are using explainSql | getStreamGraph | getJobPlan, make the dialect change to local.
         config.buildLocal();
         buildSession(config);
-        JobManager jobManager = JobManager.buildPlanMode(config);
-        return jobManager.getStreamGraph(studioExecuteDTO.getStatement());
+        JobManager jobManager = JobManager.buildPooledPlanMode(config, envStatement);
+        try {
+            return jobManager.getStreamGraph(studioExecuteDTO.getStatement());
+        } finally {
+            jobManager.close();
+        }
     }
 
     @Override
     public ObjectNode getJobPlan(StudioExecuteDTO studioExecuteDTO) {
-        addFlinkSQLEnv(studioExecuteDTO);
+        String envStatement = buildFlinkSQLEnv(studioExecuteDTO);
         JobConfig config = studioExecuteDTO.getJobConfig();
         // If you are using explainSql | getStreamGraph | getJobPlan, make the dialect change to local.
         config.buildLocal();
         buildSession(config);
 
-        JobManager jobManager = JobManager.build(config);
-
-        String planJson = jobManager.getJobPlanJson(studioExecuteDTO.getStatement());
+        JobManager jobManager = JobManager.buildPooled(config, envStatement);
+        String planJson;
+        try {
+            planJson = jobManager.getJobPlanJson(studioExecuteDTO.getStatement());
+        } finally {
+            jobManager.close();
+        }
         ObjectMapper mapper = new ObjectMapper();
         ObjectNode objectNode = mapper.createObjectNode();
         try {
@@ -338,6 +398,86 @@ public class StudioServiceImpl implements StudioService {
         return JobManager.getJobData(jobId);
     }
 
+    @Override
+    public SelectResultIncrement getJobDataIncrement(String jobId, long version) {
+        return JobManager.getJobDataIncrement(jobId, version);
+    }
+
+    @Override
+    public SseEmitter streamJobData(String jobId, long version) {
+        SseEmitter emitter = new SseEmitter(JOB_DATA_STREAM_TIMEOUT);
+        AtomicLong cursor = new AtomicLong(version);
+        AtomicBoolean sent = new AtomicBoolean(false);
+        // 正在写出的开始时间，0 表示空闲
+        AtomicLong sendingSince = new AtomicLong(0);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
+        AtomicReference<Future<?>> sending = new AtomicReference<>();
+        Runnable stop = () -> {
+            stopped.set(true);
+            ScheduledFuture<?> scheduled = future.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(e -> stop.run());
+        Runnable send = () -> {
+            try {
+                SelectResultIncrement increment = JobManager.getJobDataIncrement(jobId, cursor.get());
+                boolean changed = !sent.get() || increment.getVersion() != cursor.get();
+                boolean done = increment.isDestroyed() || increment.isFinished();
+                if (changed || done) {
+                    emitter.send(SseEmitter.event().name("data").data(increment));
+                    cursor.set(increment.getVersion());
+                    sent.set(true);
+                }
+                if (done) {
+                    stop.run();
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                stop.run();
+                emitter.completeWithError(e);
+            } finally {
+                sendingSince.set(0);
+            }
+        };
+        future.set(jobDataPusher.scheduleWithFixedDelay(() -> {
+            if (stopped.get()) {
+                return;
+            }
+            long since = sendingSince.get();
+            if (since == 0) {
+                sendingSince.set(System.currentTimeMillis());
+                try {
+                    sending.set(jobDataSender.submit(send));
+                } catch (RejectedExecutionException e) {
+                    logger.warn("Too many preview data streams, closing the stream of job [{}]", jobId);
+                    stop.run();
+                    emitter.completeWithError(e);
+                }
+            } else if (System.currentTimeMillis() - since > JOB_DATA_SEND_TIMEOUT) {
+                logger.warn("Pushing preview data of job [{}] timed out, closing the stream", jobId);
+                stop.run();
+                // 关闭响应使阻塞的写出失败，同时中断发送线程，避免其长期占用发送线程池
+                emitter.completeWithError(new TimeoutException("Pushing preview data timed out"));
+                Future<?> blocked = sending.get();
+                if (blocked != null) {
+                    blocked.cancel(true);
+                }
+            }
+        }, 0, JOB_DATA_PUSH_INTERVAL, TimeUnit.MILLISECONDS));
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        jobDataPusher.shutdownNow();
+        jobDataSender.shutdownNow();
+    }
+
     @Override
     public SessionInfo createSession(SessionDTO sessionDTO, String createUser) {
         if (sessionDTO.isUseRemote()) {
@@ -366,6 +506,11 @@ public class StudioServiceImpl implements StudioService {
         return JobManager.listSession(createUser);
     }
 
+    @Override
+    public List<SessionInfo> listAllSession() {
+        return SessionPool.listInfo();
+    }
+
     @Override
     public LineageResult getLineage(StudioCADTO studioCADTO) {
         if (Asserts.isNotNullString(studioCADTO.getDialect())
@@ -469,8 +614,9 @@ public class StudioServiceImpl implements StudioService {
             DataBase dataBase = dataBaseService.getById(studioMetaStoreDTO.getDatabaseId());
             if (!Asserts.isNull(dataBase)) {
                 Catalog defaultCatalog = Catalog.build(FlinkQuery.defaultCatalog());
-                Driver driver = Driver.build(dataBase.getDriverConfig());
-                defaultCatalog.setSchemas(driver.listSchemas());
+                try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                    defaultCatalog.setSchemas(driver.listSchemas());
+                }
                 catalogs.add(defaultCatalog);
             }
         } else {
@@ -512,8 +658,9 @@ public class StudioServiceImpl implements StudioService {
         if (Dialect.notFlinkSql(studioMetaStoreDTO.getDialect())) {
             DataBase dataBase = dataBaseService.getById(studioMetaStoreDTO.getDatabaseId());
             if (Asserts.isNotNull(dataBase)) {
-                Driver driver = Driver.build(dataBase.getDriverConfig());
-                tables.addAll(driver.listTables(studioMetaStoreDTO.getDatabase()));
+                try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                    tables.addAll(driver.listTables(studioMetaStoreDTO.getDatabase()));
+                }
             }
         } else {
             String baseStatement = FlinkQuery.useCatalog(studioMetaStoreDTO.getCatalog())
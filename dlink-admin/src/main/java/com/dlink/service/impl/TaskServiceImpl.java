@@ -56,6 +56,7 @@ import com.dlink.job.Job;
 import com.dlink.job.JobConfig;
 import com.dlink.job.JobManager;
 import com.dlink.job.JobResult;
+import com.dlink.job.JobStateWriter;
 import com.dlink.mapper.TaskMapper;
 import com.dlink.metadata.driver.Driver;
 import com.dlink.metadata.result.JdbcSelectResult;
@@ -337,9 +338,10 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
                 result.setEndTime(LocalDateTime.now());
                 return result;
             }
-            Driver driver = Driver.build(dataBase.getDriverConfig());
-            JdbcSelectResult selectResult = driver.executeSql(sqlDTO.getStatement(), sqlDTO.getMaxRowNum());
-            driver.close();
+            JdbcSelectResult selectResult;
+            try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                selectResult = driver.executeSql(sqlDTO.getStatement(), sqlDTO.getMaxRowNum());
+            }
             result.setResult(selectResult);
             if (selectResult.isSuccess()) {
                 result.setSuccess(true);
@@ -387,10 +389,9 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
                     }
                 };
             }
-            Driver driver = Driver.build(dataBase.getDriverConfig());
-            List<SqlExplainResult> sqlExplainResults = driver.explain(task.getStatement());
-            driver.close();
-            return sqlExplainResults;
+            try (Driver driver = Driver.build(dataBase.getDriverConfig())) {
+                return driver.explain(task.getStatement());
+            }
         }
     }
 
@@ -954,6 +955,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
             Asserts.checkNull(jobInstance, "该任务实例不存在");
             TenantContextHolder.set(jobInstance.getTenantId());
             jobInfoDetail.setInstance(jobInstance);
+            JobStateWriter.getInstance().track(jobInstance);
             Cluster cluster = clusterService.getById(jobInstance.getClusterId());
             jobInfoDetail.setCluster(cluster);
             History history = historyService.getById(jobInstance.getHistoryId());
@@ -980,7 +982,8 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
             checkStatus = checkJobStatus(jobInfoDetail);
             if (checkStatus.isDone()) {
                 jobInfoDetail.getInstance().setStatus(checkStatus.getValue());
-                jobInstanceService.updateById(jobInfoDetail.getInstance());
+                JobStateWriter.getInstance().submitInstance(jobInfoDetail.getInstance(), true);
+                JobStateWriter.getInstance().flush();
                 return jobInfoDetail.getInstance();
             }
         }
@@ -1006,8 +1009,11 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
         if (isCoercive) {
             DaemonFactory.addTask(DaemonTaskConfig.build(FlinkJobTask.TYPE, jobInfoDetail.getInstance().getId()));
         }
-        if (jobStatusChanged || jobInfoDetail.isNeedSave()) {
-            jobInstanceService.updateById(jobInfoDetail.getInstance());
+        JobStateWriter.getInstance().submitInstance(jobInfoDetail.getInstance(), jobInfoDetail.isNeedSave());
+        if (jobStatusChanged) {
+            // 作业结束时立即写入最终状态与作业历史，后续 handleJobDone 会从库中读取
+            JobStateWriter.getInstance().submitHistory(jobInfoDetail.getJobHistory());
+            JobStateWriter.getInstance().flush();
         }
         pool.refresh(jobInfoDetail);
         return jobInfoDetail.getInstance();
@@ -1270,9 +1276,8 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
         }
         Integer jobInstanceId = jobInstance.getId();
         JobHistory jobHistory = jobHistoryService.getJobHistory(jobInstanceId); // 获取任务历史信息
-        String jobJson = jobHistory.getJobJson(); // 获取任务历史信息的jobJson
-        ObjectNode jsonNodes = JSONUtil.parseObject(jobJson);
-        if (jsonNodes.has("errors")) {
+        ObjectNode jsonNodes = jobHistory.getJob(); // 获取任务历史信息的job
+        if (Asserts.isNull(jsonNodes) || jsonNodes.has("errors")) {
             return;
         }
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -1288,8 +1293,7 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
         String duration = getDuration(asLongStartTime, asLongEndTime);
         // 获取任务的 duration 使用的是 start-time 和 end-time 计算
         // 不采用 duration 字段
-        String clusterJson = jobHistory.getClusterJson(); // 获取任务历史信息的clusterJson 主要获取 jobManagerHost
-        ObjectNode clusterJsonNodes = JSONUtil.parseObject(clusterJson);
+        ObjectNode clusterJsonNodes = jobHistory.getCluster(); // 获取任务历史信息的cluster 主要获取 jobManagerHost
         String jobManagerHost = clusterJsonNodes.get("jobManagerHost").asText();
 
         if (Asserts.isNotNull(task.getAlertGroupId())) {
@@ -1431,8 +1435,8 @@ public class TaskServiceImpl extends SuperServiceImpl<TaskMapper, Task> implemen
     private void findTheConditionSavePointToOnline(TaskOperatingResult taskOperatingResult,
             JobInstance jobInstanceByTaskId) {
         final JobHistory jobHistory = jobHistoryService.getJobHistory(jobInstanceByTaskId.getId());
-        if (jobHistory != null && StringUtils.isNotBlank(jobHistory.getCheckpointsJson())) {
-            final ObjectNode jsonNodes = JSONUtil.parseObject(jobHistory.getCheckpointsJson());
+        if (jobHistory != null && jobHistory.getCheckpoints() != null) {
+            final ObjectNode jsonNodes = jobHistory.getCheckpoints();
             final ArrayNode history = jsonNodes.withArray("history");
             if (!history.isEmpty()) {
                 startGoingLiveTask(taskOperatingResult, findTheConditionSavePoint(history));
@@ -0,0 +1,63 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.utils;
+
+import com.dlink.assertion.Asserts;
+
+import java.nio.charset.StandardCharsets;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.ZipUtil;
+
+/**
+ * JsonCompressUtil
+ * <p>
+ * 大于 {@link #COMPRESS_THRESHOLD} 个字符的 JSON 以 gzip + base64 压缩后加前缀存入文本列，
+ * 读取时按前缀识别，未压缩的历史数据原样返回。
+ */
+public class JsonCompressUtil {
+
+    public static final int COMPRESS_THRESHOLD = 4096;
+
+    private static final String PREFIX = "gz:";
+
+    private JsonCompressUtil() {
+    }
+
+    public static boolean isCompressed(String value) {
+        return Asserts.isNotNull(value) && value.startsWith(PREFIX);
+    }
+
+    public static String compress(String json) {
+        if (Asserts.isNull(json) || json.length() < COMPRESS_THRESHOLD || isCompressed(json)) {
+            return json;
+        }
+        String compressed = PREFIX + Base64.encode(ZipUtil.gzip(json.getBytes(StandardCharsets.UTF_8)));
+        return compressed.length() < json.length() ? compressed : json;
+    }
+
+    public static String decompress(String value) {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        byte[] bytes = ZipUtil.unGzip(Base64.decode(value.substring(PREFIX.length())));
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
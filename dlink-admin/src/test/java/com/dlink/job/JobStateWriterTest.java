@@ -0,0 +1,114 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+import com.dlink.model.JobInstance;
+import com.dlink.service.JobHistoryService;
+import com.dlink.service.JobInstanceService;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JobStateWriterTest
+ */
+public class JobStateWriterTest {
+
+    private final List<JobInstance> written = new ArrayList<>();
+    private boolean failing;
+
+    @Test
+    public void skipUnchangedTest() {
+        JobStateWriter writer = newWriter();
+        writer.track(instance("RUNNING", 10L));
+        writer.submitInstance(instance("RUNNING", 10L), true);
+        Assert.assertEquals(1, writer.getSkipCount());
+        Assert.assertEquals(0, writer.getPendingCount());
+        writer.flush();
+        Assert.assertTrue(written.isEmpty());
+    }
+
+    @Test
+    public void durationOnlyChangeTest() {
+        JobStateWriter writer = newWriter();
+        writer.track(instance("RUNNING", 10L));
+        writer.submitInstance(instance("RUNNING", 20L), false);
+        Assert.assertEquals(1, writer.getSkipCount());
+        Assert.assertEquals(0, writer.getPendingCount());
+
+        writer.submitInstance(instance("RUNNING", 20L), true);
+        Assert.assertEquals(1, writer.getPendingCount());
+        writer.flush();
+        Assert.assertEquals(1, writer.getWriteCount());
+        Assert.assertEquals(Long.valueOf(20L), written.get(0).getDuration());
+    }
+
+    @Test
+    public void requeueOnFailureTest() {
+        JobStateWriter writer = newWriter();
+        writer.track(instance("RUNNING", 10L));
+        writer.submitInstance(instance("FINISHED", 10L), true);
+
+        failing = true;
+        writer.flush();
+        Assert.assertEquals(0, writer.getWriteCount());
+        Assert.assertEquals(1, writer.getPendingCount());
+
+        failing = false;
+        writer.flush();
+        Assert.assertEquals(1, writer.getWriteCount());
+        Assert.assertEquals(0, writer.getPendingCount());
+        Assert.assertEquals("FINISHED", written.get(0).getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JobStateWriter newWriter() {
+        JobInstanceService jobInstanceService = (JobInstanceService) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{JobInstanceService.class}, (proxy, method, args) -> {
+                    if (!"updateBatchById".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (failing) {
+                        throw new IllegalStateException("database unavailable");
+                    }
+                    written.addAll((Collection<JobInstance>) args[0]);
+                    return true;
+                });
+        JobHistoryService jobHistoryService = (JobHistoryService) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{JobHistoryService.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return new JobStateWriter(jobInstanceService, jobHistoryService);
+    }
+
+    private static JobInstance instance(String status, Long duration) {
+        JobInstance jobInstance = new JobInstance();
+        jobInstance.setId(1);
+        jobInstance.setTenantId(1);
+        jobInstance.setStatus(status);
+        jobInstance.setDuration(duration);
+        return jobInstance;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.utils;
+
+import com.dlink.model.JobHistory;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+/**
+ * JsonCompressUtilTest
+ */
+public class JsonCompressUtilTest {
+
+    @Test
+    public void testCompress() {
+        StringBuilder sb = new StringBuilder("{\"history\":[");
+        for (int i = 0; i < 200; i++) {
+            sb.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"status\":\"COMPLETED\"}");
+        }
+        String json = sb.append("]}").toString();
+        String compressed = JsonCompressUtil.compress(json);
+        Assertions.assertThat(JsonCompressUtil.isCompressed(compressed)).isTrue();
+        Assertions.assertThat(compressed.length()).isLessThan(json.length() / 4);
+        Assertions.assertThat(JsonCompressUtil.decompress(compressed)).isEqualTo(json);
+        Assertions.assertThat(JsonCompressUtil.compress("{\"a\":1}")).isEqualTo("{\"a\":1}");
+        Assertions.assertThat(JsonCompressUtil.decompress("{\"a\":1}")).isEqualTo("{\"a\":1}");
+
+        JobHistory jobHistory = new JobHistory();
+        jobHistory.setCheckpointsJson(compressed);
+        Assertions.assertThat(jobHistory.getCheckpoints().get("history").size()).isEqualTo(200);
+        Assertions.assertThat(jobHistory.getCheckpointsJson()).isNull();
+    }
+}
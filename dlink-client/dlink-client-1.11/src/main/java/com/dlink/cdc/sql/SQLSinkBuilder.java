@@ -36,7 +36,6 @@ import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
@@ -231,9 +230,7 @@ public class SQLSinkBuilder extends AbstractSinkBuilder implements SinkBuilder,
                 }
             }
             final String schemaFieldName = config.getSchemaFieldName();
-            ObjectMapper objectMapper = new ObjectMapper();
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource
-                    .map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
+            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
 
             SingleOutputStreamOperator<Map> processOperator = mapOperator.process(new ProcessFunction<Map, Map>() {
 
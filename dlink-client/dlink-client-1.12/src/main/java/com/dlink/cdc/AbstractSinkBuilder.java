@@ -27,9 +27,9 @@ import com.dlink.model.Schema;
 import com.dlink.model.Table;
 import com.dlink.utils.JSONUtil;
 
-import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -63,7 +63,7 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -80,6 +80,7 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractSinkBuilder implements SinkBuilder {
 
     protected static final Logger logger = LoggerFactory.getLogger(AbstractSinkBuilder.class);
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     protected FlinkCDCConfig config;
     protected List<ModifyOperation> modifyOperations = new ArrayList();
@@ -103,7 +104,8 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         Properties properties = new Properties();
         Map<String, String> sink = config.getSink();
         for (Map.Entry<String, String> entry : sink.entrySet()) {
-            if (Asserts.isNotNullString(entry.getKey()) && entry.getKey().startsWith("properties") && Asserts.isNotNullString(entry.getValue())) {
+            if (Asserts.isNotNullString(entry.getKey()) && entry.getKey().startsWith("properties")
+                    && Asserts.isNotNullString(entry.getValue())) {
                 properties.setProperty(entry.getKey().replace("properties.", ""), entry.getValue());
             }
         }
@@ -112,123 +114,135 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
 
     protected SingleOutputStreamOperator<Map> deserialize(DataStreamSource<String> dataStreamSource) {
         return dataStreamSource.map(new MapFunction<String, Map>() {
+
             @Override
             public Map map(String value) throws Exception {
-                ObjectMapper objectMapper = new ObjectMapper();
-                return objectMapper.readValue(value, Map.class);
+                return OBJECT_MAPPER.readValue(value, Map.class);
             }
         });
     }
 
     protected SingleOutputStreamOperator<Map> shunt(
-        SingleOutputStreamOperator<Map> mapOperator,
-        Table table,
-        String schemaFieldName) {
-        final String tableName = table.getName();
-        final String schemaName = table.getSchema();
-        return mapOperator.filter(new FilterFunction<Map>() {
-            @Override
-            public boolean filter(Map value) throws Exception {
-                LinkedHashMap source = (LinkedHashMap) value.get("source");
-                return tableName.equals(source.get("table").toString())
-                    && schemaName.equals(source.get(schemaFieldName).toString());
+            SingleOutputStreamOperator<Map> mapOperator,
+            Map<String, OutputTag<Map>> tagMap,
+            String schemaFieldName) {
+        return mapOperator.process(new SchemaTableRouteFunction(schemaFieldName, tagMap)).name("Shunt");
+    }
+
+    protected Map<String, OutputTag<Map>> buildTagMap(List<Schema> schemaList) {
+        Map<String, OutputTag<Map>> tagMap = new HashMap<>();
+        for (Schema schema : schemaList) {
+            for (Table table : schema.getTables()) {
+                tagMap.put(table.getSchemaTableName(),
+                        new OutputTag<>(table.getSchemaTableName(), TypeInformation.of(Map.class)));
             }
-        });
+        }
+        return tagMap;
     }
 
     protected DataStream<Map> shunt(
-        SingleOutputStreamOperator<Map> processOperator,
-        Table table,
-        OutputTag<Map> tag) {
+            SingleOutputStreamOperator<Map> processOperator,
+            Table table,
+            OutputTag<Map> tag) {
 
         return processOperator.getSideOutput(tag);
     }
 
     protected DataStream<RowData> buildRowData(
-        SingleOutputStreamOperator<Map> filterOperator,
-        List<String> columnNameList,
-        List<LogicalType> columnTypeList,
-        String schemaTableName) {
+            DataStream<Map> filterOperator,
+            List<String> columnNameList,
+            List<LogicalType> columnTypeList,
+            String schemaTableName) {
         return filterOperator
-            .flatMap(new FlatMapFunction<Map, RowData>() {
-                @Override
-                public void flatMap(Map value, Collector<RowData> out) throws Exception {
-                    try {
-                        switch (value.get("op").toString()) {
-                            case "r":
-                            case "c":
-                                GenericRowData igenericRowData = new GenericRowData(columnNameList.size());
-                                igenericRowData.setRowKind(RowKind.INSERT);
-                                Map idata = (Map) value.get("after");
-                                for (int i = 0; i < columnNameList.size(); i++) {
-                                    igenericRowData.setField(i, convertValue(idata.get(columnNameList.get(i)), columnTypeList.get(i)));
-                                }
-                                out.collect(igenericRowData);
-                                break;
-                            case "d":
-                                GenericRowData dgenericRowData = new GenericRowData(columnNameList.size());
-                                dgenericRowData.setRowKind(RowKind.DELETE);
-                                Map ddata = (Map) value.get("before");
-                                for (int i = 0; i < columnNameList.size(); i++) {
-                                    dgenericRowData.setField(i, convertValue(ddata.get(columnNameList.get(i)), columnTypeList.get(i)));
-                                }
-                                out.collect(dgenericRowData);
-                                break;
-                            case "u":
-                                GenericRowData ubgenericRowData = new GenericRowData(columnNameList.size());
-                                ubgenericRowData.setRowKind(RowKind.UPDATE_BEFORE);
-                                Map ubdata = (Map) value.get("before");
-                                for (int i = 0; i < columnNameList.size(); i++) {
-                                    ubgenericRowData.setField(i, convertValue(ubdata.get(columnNameList.get(i)), columnTypeList.get(i)));
-                                }
-                                out.collect(ubgenericRowData);
-                                GenericRowData uagenericRowData = new GenericRowData(columnNameList.size());
-                                uagenericRowData.setRowKind(RowKind.UPDATE_AFTER);
-                                Map uadata = (Map) value.get("after");
-                                for (int i = 0; i < columnNameList.size(); i++) {
-                                    uagenericRowData.setField(i, convertValue(uadata.get(columnNameList.get(i)), columnTypeList.get(i)));
-                                }
-                                out.collect(uagenericRowData);
-                                break;
-                            default:
+                .flatMap(new FlatMapFunction<Map, RowData>() {
+
+                    @Override
+                    public void flatMap(Map value, Collector<RowData> out) throws Exception {
+                        try {
+                            switch (value.get("op").toString()) {
+                                case "r":
+                                case "c":
+                                    GenericRowData igenericRowData = new GenericRowData(columnNameList.size());
+                                    igenericRowData.setRowKind(RowKind.INSERT);
+                                    Map idata = (Map) value.get("after");
+                                    for (int i = 0; i < columnNameList.size(); i++) {
+                                        igenericRowData.setField(i,
+                                                convertValue(idata.get(columnNameList.get(i)), columnTypeList.get(i)));
+                                    }
+                                    out.collect(igenericRowData);
+                                    break;
+                                case "d":
+                                    GenericRowData dgenericRowData = new GenericRowData(columnNameList.size());
+                                    dgenericRowData.setRowKind(RowKind.DELETE);
+                                    Map ddata = (Map) value.get("before");
+                                    for (int i = 0; i < columnNameList.size(); i++) {
+                                        dgenericRowData.setField(i,
+                                                convertValue(ddata.get(columnNameList.get(i)), columnTypeList.get(i)));
+                                    }
+                                    out.collect(dgenericRowData);
+                                    break;
+                                case "u":
+                                    GenericRowData ubgenericRowData = new GenericRowData(columnNameList.size());
+                                    ubgenericRowData.setRowKind(RowKind.UPDATE_BEFORE);
+                                    Map ubdata = (Map) value.get("before");
+                                    for (int i = 0; i < columnNameList.size(); i++) {
+                                        ubgenericRowData.setField(i,
+                                                convertValue(ubdata.get(columnNameList.get(i)), columnTypeList.get(i)));
+                                    }
+                                    out.collect(ubgenericRowData);
+                                    GenericRowData uagenericRowData = new GenericRowData(columnNameList.size());
+                                    uagenericRowData.setRowKind(RowKind.UPDATE_AFTER);
+                                    Map uadata = (Map) value.get("after");
+                                    for (int i = 0; i < columnNameList.size(); i++) {
+                                        uagenericRowData.setField(i,
+                                                convertValue(uadata.get(columnNameList.get(i)), columnTypeList.get(i)));
+                                    }
+                                    out.collect(uagenericRowData);
+                                    break;
+                                default:
+                            }
+                        } catch (Exception e) {
+                            logger.error("SchameTable: {} - Row: {} - Exception:", schemaTableName,
+                                    JSONUtil.toJsonString(value), e);
+                            throw e;
                         }
-                    } catch (Exception e) {
-                        logger.error("SchameTable: {} - Row: {} - Exception:", schemaTableName, JSONUtil.toJsonString(value), e);
-                        throw e;
                     }
-                }
-            });
+                });
     }
 
     public abstract void addSink(
-        StreamExecutionEnvironment env,
-        DataStream<RowData> rowDataDataStream,
-        Table table,
-        List<String> columnNameList,
-        List<LogicalType> columnTypeList);
+            StreamExecutionEnvironment env,
+            DataStream<RowData> rowDataDataStream,
+            Table table,
+            List<String> columnNameList,
+            List<LogicalType> columnTypeList);
 
     @Override
     public DataStreamSource build(
-        CDCBuilder cdcBuilder,
-        StreamExecutionEnvironment env,
-        CustomTableEnvironment customTableEnvironment,
-        DataStreamSource<String> dataStreamSource) {
+            CDCBuilder cdcBuilder,
+            StreamExecutionEnvironment env,
+            CustomTableEnvironment customTableEnvironment,
+            DataStreamSource<String> dataStreamSource) {
 
         final List<Schema> schemaList = config.getSchemaList();
         final String schemaFieldName = config.getSchemaFieldName();
 
         if (Asserts.isNotNullCollection(schemaList)) {
-            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
+            Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+            SingleOutputStreamOperator<Map> processOperator = shunt(deserialize(dataStreamSource), tagMap,
+                    schemaFieldName);
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
-                    SingleOutputStreamOperator<Map> filterOperator = shunt(mapOperator, table, schemaFieldName);
+                    DataStream<Map> filterOperator = shunt(processOperator, table,
+                            tagMap.get(table.getSchemaTableName()));
 
                     List<String> columnNameList = new ArrayList<>();
                     List<LogicalType> columnTypeList = new ArrayList<>();
 
                     buildColumn(columnNameList, columnTypeList, table.getColumns());
 
-                    DataStream<RowData> rowDataDataStream = buildRowData(filterOperator, columnNameList, columnTypeList, table.getSchemaTableName());
+                    DataStream<RowData> rowDataDataStream = buildRowData(filterOperator, columnNameList, columnTypeList,
+                            table.getSchemaTableName());
 
                     addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
                 }
@@ -295,7 +309,8 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         if (logicalType instanceof VarCharType) {
             return StringData.fromString((String) value);
         } else if (logicalType instanceof DateType) {
-            return StringData.fromString(Instant.ofEpochMilli((long) value).atZone(ZoneId.systemDefault()).toLocalDate().toString());
+            return StringData.fromString(
+                    Instant.ofEpochMilli((long) value).atZone(ZoneId.systemDefault()).toLocalDate().toString());
         } else if (logicalType instanceof TimestampType) {
             return TimestampData.fromTimestamp(Timestamp.from(Instant.ofEpochMilli((long) value)));
         } else if (logicalType instanceof DecimalType) {
@@ -0,0 +1,67 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.cdc;
+
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+import java.util.Map;
+
+/**
+ * SchemaTableRouteFunction
+ * 按 schema.table 将 Debezium 变更记录一次性分发到对应表的侧输出流，替代逐表 filter 的多次判断。
+ * 未匹配到任何表的记录输出到主流。
+ */
+public class SchemaTableRouteFunction extends ProcessFunction<Map, Map> {
+
+    private static final long serialVersionUID = 6042537911290612716L;
+
+    private final String schemaFieldName;
+    private final Map<String, OutputTag<Map>> tagMap;
+
+    public SchemaTableRouteFunction(String schemaFieldName, Map<String, OutputTag<Map>> tagMap) {
+        this.schemaFieldName = schemaFieldName;
+        this.tagMap = tagMap;
+    }
+
+    @Override
+    public void processElement(Map value, Context ctx, Collector<Map> out) throws Exception {
+        OutputTag<Map> outputTag = tagMap.get(getSchemaTableName(value));
+        if (outputTag != null) {
+            ctx.output(outputTag, value);
+        } else {
+            out.collect(value);
+        }
+    }
+
+    protected String getSchemaTableName(Map value) {
+        Map source = (Map) value.get("source");
+        if (source == null) {
+            return null;
+        }
+        Object schemaName = source.get(schemaFieldName);
+        Object tableName = source.get("table");
+        if (schemaName == null || tableName == null) {
+            return null;
+        }
+        return schemaName + "." + tableName;
+    }
+}
@@ -29,7 +29,6 @@ import com.dlink.model.Schema;
 import com.dlink.model.Table;
 
 import org.apache.flink.api.common.serialization.SimpleStringSchema;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
@@ -94,9 +93,7 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
 
             Map<Table, OutputTag<String>> tagMap = new HashMap<>();
             Map<String, Table> tableMap = new HashMap<>();
-            ObjectMapper objectMapper = new ObjectMapper();
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource
-                    .map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
+            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (Asserts.isNotNullCollection(schemaList)) {
@@ -118,13 +115,13 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
                             throws Exception {
                         LinkedHashMap source = (LinkedHashMap) map.get("source");
                         try {
-                            String result = objectMapper.writeValueAsString(map);
+                            String result = OBJECT_MAPPER.writeValueAsString(map);
                             Table table = tableMap
                                     .get(source.get(schemaFieldName).toString() + "." + source.get("table").toString());
                             OutputTag<String> outputTag = tagMap.get(table);
                             ctx.output(outputTag, result);
                         } catch (Exception e) {
-                            out.collect(objectMapper.writeValueAsString(map));
+                            out.collect(OBJECT_MAPPER.writeValueAsString(map));
                         }
                     }
                 });
@@ -29,8 +29,6 @@ import com.dlink.model.FlinkCDCConfig;
 import com.dlink.model.Schema;
 import com.dlink.model.Table;
 
-import org.apache.flink.api.common.functions.FilterFunction;
-import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -53,6 +51,7 @@ import org.apache.flink.table.types.logical.TinyIntType;
 import org.apache.flink.table.types.logical.VarBinaryType;
 import org.apache.flink.table.types.logical.VarCharType;
 import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -103,14 +102,7 @@ public class KafkaSinkJsonBuilder extends AbstractSinkBuilder implements SinkBui
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
         try {
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource.map(new MapFunction<String, Map>() {
-
-                @Override
-                public Map map(String value) throws Exception {
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    return objectMapper.readValue(value, Map.class);
-                }
-            });
+            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (Asserts.isNotNullString(config.getSink().get("topic"))) {
@@ -120,20 +112,12 @@ public class KafkaSinkJsonBuilder extends AbstractSinkBuilder implements SinkBui
                         new SimpleStringSchema()));
             } else {
                 if (Asserts.isNotNullCollection(schemaList)) {
+                    Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+                    SingleOutputStreamOperator<Map> processOperator = shunt(mapOperator, tagMap, schemaFieldName);
                     for (Schema schema : schemaList) {
                         for (Table table : schema.getTables()) {
-                            final String tableName = table.getName();
-                            final String schemaName = table.getSchema();
-                            SingleOutputStreamOperator<Map> filterOperator = mapOperator
-                                    .filter(new FilterFunction<Map>() {
-
-                                        @Override
-                                        public boolean filter(Map value) throws Exception {
-                                            LinkedHashMap source = (LinkedHashMap) value.get("source");
-                                            return tableName.equals(source.get("table").toString())
-                                                    && schemaName.equals(source.get(schemaFieldName).toString());
-                                        }
-                                    });
+                            DataStream<Map> filterOperator = shunt(processOperator, table,
+                                    tagMap.get(table.getSchemaTableName()));
                             SingleOutputStreamOperator<String> stringOperator = filterOperator
                                     .process(new KafkaProcessFunction(schemaList));
                             stringOperator.addSink(new FlinkKafkaProducer<String>(config.getSink().get("brokers"),
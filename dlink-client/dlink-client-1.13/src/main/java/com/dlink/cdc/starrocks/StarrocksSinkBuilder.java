@@ -49,6 +49,7 @@ import org.apache.flink.table.types.logical.VarBinaryType;
 import org.apache.flink.table.types.utils.TypeConversions;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -112,9 +113,12 @@ public class StarrocksSinkBuilder extends AbstractSinkBuilder implements SinkBui
                 addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
             } else {
                 final String schemaFieldName = config.getSchemaFieldName();
+                Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+                SingleOutputStreamOperator<Map> processOperator = shunt(mapOperator, tagMap, schemaFieldName);
                 for (Schema schema : schemaList) {
                     for (Table table : schema.getTables()) {
-                        SingleOutputStreamOperator<Map> filterOperator = shunt(mapOperator, table, schemaFieldName);
+                        DataStream<Map> filterOperator = shunt(processOperator, table,
+                                tagMap.get(table.getSchemaTableName()));
 
                         List<String> columnNameList = new ArrayList<>();
                         List<LogicalType> columnTypeList = new ArrayList<>();
@@ -229,8 +233,9 @@ public class StarrocksSinkBuilder extends AbstractSinkBuilder implements SinkBui
         }
     }
 
+    @Override
     protected DataStream<RowData> buildRowData(
-            SingleOutputStreamOperator<Map> filterOperator,
+            DataStream<Map> filterOperator,
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
             String schemaTableName) {
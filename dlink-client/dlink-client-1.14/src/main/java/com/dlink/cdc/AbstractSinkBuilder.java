@@ -27,9 +27,10 @@ import com.dlink.model.Schema;
 import com.dlink.model.Table;
 import com.dlink.utils.JSONUtil;
 
-import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -62,7 +63,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -81,6 +82,7 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractSinkBuilder implements SinkBuilder {
 
     protected static final Logger logger = LoggerFactory.getLogger(AbstractSinkBuilder.class);
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     protected FlinkCDCConfig config;
     protected List<ModifyOperation> modifyOperations = new ArrayList();
@@ -118,42 +120,45 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
 
             @Override
             public Map map(String value) throws Exception {
-                ObjectMapper objectMapper = new ObjectMapper();
-                return objectMapper.readValue(value, Map.class);
+                return OBJECT_MAPPER.readValue(value, Map.class);
             }
         });
     }
 
     protected SingleOutputStreamOperator<Map> shunt(
-                                                    SingleOutputStreamOperator<Map> mapOperator,
-                                                    Table table,
-                                                    String schemaFieldName) {
-        final String tableName = table.getName();
-        final String schemaName = table.getSchema();
-        return mapOperator.filter(new FilterFunction<Map>() {
+            SingleOutputStreamOperator<Map> mapOperator,
+            Map<String, OutputTag<Map>> tagMap,
+            String schemaFieldName) {
+        return mapOperator.process(new SchemaTableRouteFunction(schemaFieldName, tagMap)).name("Shunt");
+    }
 
-            @Override
-            public boolean filter(Map value) throws Exception {
-                LinkedHashMap source = (LinkedHashMap) value.get("source");
-                return tableName.equals(source.get("table").toString())
-                        && schemaName.equals(source.get(schemaFieldName).toString());
+    protected Map<String, OutputTag<Map>> buildTagMap(List<Schema> schemaList) {
+        return buildTagMap(schemaList, TypeInformation.of(Map.class));
+    }
+
+    protected <T> Map<String, OutputTag<T>> buildTagMap(List<Schema> schemaList, TypeInformation<T> typeInfo) {
+        Map<String, OutputTag<T>> tagMap = new HashMap<>();
+        for (Schema schema : schemaList) {
+            for (Table table : schema.getTables()) {
+                tagMap.put(table.getSchemaTableName(), new OutputTag<>(table.getSchemaTableName(), typeInfo));
             }
-        });
+        }
+        return tagMap;
     }
 
     protected DataStream<Map> shunt(
-                                    SingleOutputStreamOperator<Map> processOperator,
-                                    Table table,
-                                    OutputTag<Map> tag) {
+            SingleOutputStreamOperator<Map> processOperator,
+            Table table,
+            OutputTag<Map> tag) {
 
         return processOperator.getSideOutput(tag);
     }
 
     protected DataStream<RowData> buildRowData(
-                                               SingleOutputStreamOperator<Map> filterOperator,
-                                               List<String> columnNameList,
-                                               List<LogicalType> columnTypeList,
-                                               String schemaTableName) {
+            DataStream<Map> filterOperator,
+            List<String> columnNameList,
+            List<LogicalType> columnTypeList,
+            String schemaTableName) {
         return filterOperator
                 .flatMap(new FlatMapFunction<Map, RowData>() {
 
@@ -211,18 +216,53 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
                 });
     }
 
+    protected DataStream<RowData> buildRowData(
+            DataStream<String> jsonOperator,
+            DebeziumRowDataConverter converter,
+            String schemaTableName) {
+        return jsonOperator
+                .flatMap(new FlatMapFunction<String, RowData>() {
+
+                    @Override
+                    public void flatMap(String value, Collector<RowData> out) throws Exception {
+                        try {
+                            converter.convert(value, out);
+                        } catch (Exception e) {
+                            logger.error("SchameTable: {} - Row: {} - Exception: {}", schemaTableName, value, e);
+                            throw e;
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 是否支持 sink.deserializer=typed。重写了 Map 版本 buildRowData 的子类需返回 false。
+     */
+    protected boolean supportTypedDeserializer() {
+        return true;
+    }
+
+    /**
+     * 配置了 sink.deserializer=typed 但当前 sink 不支持时给出告警，重写了 build 的子类需自行调用。
+     */
+    protected void warnTypedDeserializerUnsupported() {
+        if (config.isTypedDeserializer()) {
+            logger.warn("Sink {} does not support typed deserializer, fall back to map.", getHandle());
+        }
+    }
+
     public abstract void addSink(
-                                 StreamExecutionEnvironment env,
-                                 DataStream<RowData> rowDataDataStream,
-                                 Table table,
-                                 List<String> columnNameList,
-                                 List<LogicalType> columnTypeList);
+            StreamExecutionEnvironment env,
+            DataStream<RowData> rowDataDataStream,
+            Table table,
+            List<String> columnNameList,
+            List<LogicalType> columnTypeList);
 
     public DataStreamSource build(
-                                  CDCBuilder cdcBuilder,
-                                  StreamExecutionEnvironment env,
-                                  CustomTableEnvironment customTableEnvironment,
-                                  DataStreamSource<String> dataStreamSource) {
+            CDCBuilder cdcBuilder,
+            StreamExecutionEnvironment env,
+            CustomTableEnvironment customTableEnvironment,
+            DataStreamSource<String> dataStreamSource) {
 
         final String timeZone = config.getSink().get("timezone");
         config.getSink().remove("timezone");
@@ -234,18 +274,26 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         final String schemaFieldName = config.getSchemaFieldName();
 
         if (Asserts.isNotNullCollection(schemaList)) {
-            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
+            if (config.isTypedDeserializer() && supportTypedDeserializer()) {
+                buildTyped(env, dataStreamSource, schemaList, schemaFieldName);
+                return dataStreamSource;
+            }
+            warnTypedDeserializerUnsupported();
+            Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+            SingleOutputStreamOperator<Map> processOperator = shunt(deserialize(dataStreamSource), tagMap,
+                    schemaFieldName);
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
-                    SingleOutputStreamOperator<Map> filterOperator = shunt(mapOperator, table, schemaFieldName);
+                    DataStream<Map> filterOperator = shunt(processOperator, table,
+                            tagMap.get(table.getSchemaTableName()));
 
                     List<String> columnNameList = new ArrayList<>();
                     List<LogicalType> columnTypeList = new ArrayList<>();
 
                     buildColumn(columnNameList, columnTypeList, table.getColumns());
 
-                    DataStream<RowData> rowDataDataStream =
-                            buildRowData(filterOperator, columnNameList, columnTypeList, table.getSchemaTableName());
+                    DataStream<RowData> rowDataDataStream = buildRowData(filterOperator, columnNameList, columnTypeList,
+                            table.getSchemaTableName());
 
                     addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
                 }
@@ -254,6 +302,33 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         return dataStreamSource;
     }
 
+    private void buildTyped(
+            StreamExecutionEnvironment env,
+            DataStreamSource<String> dataStreamSource,
+            List<Schema> schemaList,
+            String schemaFieldName) {
+        Map<String, OutputTag<String>> tagMap = buildTagMap(schemaList, Types.STRING);
+        SingleOutputStreamOperator<String> processOperator = dataStreamSource
+                .process(new SchemaTableJsonRouteFunction(schemaFieldName, tagMap)).name("Shunt");
+        for (Schema schema : schemaList) {
+            for (Table table : schema.getTables()) {
+                DataStream<String> jsonOperator = processOperator.getSideOutput(tagMap.get(table.getSchemaTableName()));
+
+                List<String> columnNameList = new ArrayList<>();
+                List<LogicalType> columnTypeList = new ArrayList<>();
+
+                buildColumn(columnNameList, columnTypeList, table.getColumns());
+
+                DebeziumRowDataConverter converter = new DebeziumRowDataConverter(columnNameList, columnTypeList,
+                        sinkTimeZone);
+                DataStream<RowData> rowDataDataStream = buildRowData(jsonOperator, converter,
+                        table.getSchemaTableName());
+
+                addSink(env, rowDataDataStream, table, columnNameList, columnTypeList);
+            }
+        }
+    }
+
     protected void buildColumn(List<String> columnNameList, List<LogicalType> columnTypeList, List<Column> columns) {
         for (Column column : columns) {
             columnNameList.add(column.getName());
@@ -0,0 +1,202 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.cdc;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.BooleanType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.FloatType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.VarBinaryType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DebeziumRowDataConverter
+ * 按表结构预编译字段下标与类型转换器，使用流式解析将 Debezium JSON 直接转换为 RowData，不经过中间 Map。
+ * 转换规则与 {@link AbstractSinkBuilder#convertValue} 保持一致。
+ */
+public class DebeziumRowDataConverter implements Serializable {
+
+    private static final long serialVersionUID = -4383420390587744382L;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int arity;
+    private final Map<String, Integer> fieldIndex;
+    private final FieldConverter[] converters;
+
+    public DebeziumRowDataConverter(List<String> columnNameList, List<LogicalType> columnTypeList,
+            ZoneId sinkTimeZone) {
+        this.arity = columnNameList.size();
+        this.fieldIndex = new HashMap<>(arity * 2);
+        this.converters = new FieldConverter[arity];
+        for (int i = 0; i < arity; i++) {
+            fieldIndex.put(columnNameList.get(i), i);
+            converters[i] = createConverter(columnTypeList.get(i), sinkTimeZone);
+        }
+    }
+
+    public void convert(String value, Collector<RowData> out) throws IOException {
+        GenericRowData before = null;
+        GenericRowData after = null;
+        String op = null;
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case "before":
+                        before = token == JsonToken.START_OBJECT ? readRow(parser) : null;
+                        break;
+                    case "after":
+                        after = token == JsonToken.START_OBJECT ? readRow(parser) : null;
+                        break;
+                    case "op":
+                        op = parser.getText();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        if (op == null) {
+            return;
+        }
+        switch (op) {
+            case "r":
+            case "c":
+                after.setRowKind(RowKind.INSERT);
+                out.collect(after);
+                break;
+            case "d":
+                before.setRowKind(RowKind.DELETE);
+                out.collect(before);
+                break;
+            case "u":
+                before.setRowKind(RowKind.UPDATE_BEFORE);
+                out.collect(before);
+                after.setRowKind(RowKind.UPDATE_AFTER);
+                out.collect(after);
+                break;
+            default:
+        }
+    }
+
+    private GenericRowData readRow(JsonParser parser) throws IOException {
+        GenericRowData rowData = new GenericRowData(arity);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Integer index = fieldIndex.get(parser.getCurrentName());
+            JsonToken token = parser.nextToken();
+            if (index == null) {
+                parser.skipChildren();
+            } else if (token != JsonToken.VALUE_NULL) {
+                rowData.setField(index, converters[index].convert(parser, token));
+            }
+        }
+        return rowData;
+    }
+
+    private static FieldConverter createConverter(LogicalType logicalType, ZoneId sinkTimeZone) {
+        if (logicalType instanceof VarCharType) {
+            return (parser, token) -> StringData.fromString(readText(parser, token));
+        } else if (logicalType instanceof DateType) {
+            return (parser, token) -> parser.getIntValue();
+        } else if (logicalType instanceof TimestampType) {
+            return (parser, token) -> {
+                Instant instant = token == JsonToken.VALUE_NUMBER_INT
+                        ? Instant.ofEpochMilli(parser.getLongValue())
+                        : Instant.parse(parser.getText());
+                return TimestampData.fromLocalDateTime(instant.atZone(sinkTimeZone).toLocalDateTime());
+            };
+        } else if (logicalType instanceof DecimalType) {
+            final int precision = ((DecimalType) logicalType).getPrecision();
+            final int scale = ((DecimalType) logicalType).getScale();
+            return (parser, token) -> DecimalData.fromBigDecimal(new BigDecimal(parser.getText()), precision, scale);
+        } else if (logicalType instanceof FloatType) {
+            return (parser, token) -> token == JsonToken.VALUE_STRING
+                    ? Float.parseFloat(parser.getText())
+                    : parser.getFloatValue();
+        } else if (logicalType instanceof DoubleType) {
+            return (parser, token) -> token == JsonToken.VALUE_STRING
+                    ? Double.parseDouble(parser.getText())
+                    : parser.getDoubleValue();
+        } else if (logicalType instanceof BigIntType) {
+            return (parser, token) -> parser.getLongValue();
+        } else if (logicalType instanceof IntType) {
+            return (parser, token) -> parser.getIntValue();
+        } else if (logicalType instanceof SmallIntType) {
+            return (parser, token) -> parser.getShortValue();
+        } else if (logicalType instanceof TinyIntType) {
+            return (parser, token) -> parser.getByteValue();
+        } else if (logicalType instanceof BooleanType) {
+            return (parser, token) -> token == JsonToken.VALUE_NUMBER_INT
+                    ? parser.getIntValue() != 0
+                    : parser.getBooleanValue();
+        } else if (logicalType instanceof VarBinaryType) {
+            // VARBINARY AND BINARY is converted to String with encoding base64 in FlinkCDC.
+            return (parser, token) -> parser.getBinaryValue();
+        } else {
+            return (parser, token) -> StringData.fromString(readText(parser, token));
+        }
+    }
+
+    /**
+     * 嵌套的对象或数组按 JSON 文本读取，其余按标量文本读取
+     */
+    private static String readText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            return parser.readValueAsTree().toString();
+        }
+        return parser.getText();
+    }
+
+    @FunctionalInterface
+    private interface FieldConverter extends Serializable {
+
+        Object convert(JsonParser parser, JsonToken token) throws IOException;
+    }
+}
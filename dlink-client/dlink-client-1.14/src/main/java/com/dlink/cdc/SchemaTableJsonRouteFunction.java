@@ -0,0 +1,93 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.cdc;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonFactory;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * SchemaTableJsonRouteFunction
+ * 只流式读取 Debezium JSON 中的 source 字段，按 schema.table 将原始 JSON 分发到对应表的侧输出流。
+ * 未匹配到任何表的记录输出到主流。
+ */
+public class SchemaTableJsonRouteFunction extends ProcessFunction<String, String> {
+
+    private static final long serialVersionUID = -1436216744458135473L;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String schemaFieldName;
+    private final Map<String, OutputTag<String>> tagMap;
+
+    public SchemaTableJsonRouteFunction(String schemaFieldName, Map<String, OutputTag<String>> tagMap) {
+        this.schemaFieldName = schemaFieldName;
+        this.tagMap = tagMap;
+    }
+
+    @Override
+    public void processElement(String value, Context ctx, Collector<String> out) throws Exception {
+        OutputTag<String> outputTag = tagMap.get(getSchemaTableName(value));
+        if (outputTag != null) {
+            ctx.output(outputTag, value);
+        } else {
+            out.collect(value);
+        }
+    }
+
+    protected String getSchemaTableName(String value) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (!"source".equals(fieldName) || token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                String schemaName = null;
+                String tableName = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String sourceFieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    if (schemaFieldName.equals(sourceFieldName)) {
+                        schemaName = parser.getText();
+                    } else if ("table".equals(sourceFieldName)) {
+                        tableName = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (schemaName == null || tableName == null) {
+                    return null;
+                }
+                return schemaName + "." + tableName;
+            }
+        }
+        return null;
+    }
+}
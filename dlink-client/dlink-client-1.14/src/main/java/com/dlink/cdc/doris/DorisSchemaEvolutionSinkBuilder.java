@@ -33,7 +33,6 @@ import org.apache.doris.flink.cfg.DorisOptions;
 import org.apache.doris.flink.cfg.DorisReadOptions;
 import org.apache.doris.flink.sink.DorisSink;
 import org.apache.doris.flink.sink.writer.JsonDebeziumSchemaSerializer;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
@@ -95,6 +94,7 @@ public class DorisSchemaEvolutionSinkBuilder extends AbstractSinkBuilder impleme
             StreamExecutionEnvironment env,
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
+        warnTypedDeserializerUnsupported();
 
         Map<String, String> sink = config.getSink();
 
@@ -105,10 +105,7 @@ public class DorisSchemaEvolutionSinkBuilder extends AbstractSinkBuilder impleme
 
         Map<Table, OutputTag<String>> tagMap = new HashMap<>();
         Map<String, Table> tableMap = new HashMap<>();
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        SingleOutputStreamOperator<Map> mapOperator = dataStreamSource.map(x -> objectMapper.readValue(x, Map.class))
-                .returns(Map.class);
+        SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
         final List<Schema> schemaList = config.getSchemaList();
         final String schemaFieldName = config.getSchemaFieldName();
         if (Asserts.isNotNullCollection(schemaList)) {
@@ -127,13 +124,13 @@ public class DorisSchemaEvolutionSinkBuilder extends AbstractSinkBuilder impleme
                 public void processElement(Map map, Context ctx, Collector<String> out) throws Exception {
                     LinkedHashMap source = (LinkedHashMap) map.get("source");
                     try {
-                        String result = objectMapper.writeValueAsString(map);
+                        String result = OBJECT_MAPPER.writeValueAsString(map);
                         Table table = tableMap
                                 .get(source.get(schemaFieldName).toString() + "." + source.get("table").toString());
                         OutputTag<String> outputTag = tagMap.get(table);
                         ctx.output(outputTag, result);
                     } catch (Exception e) {
-                        out.collect(objectMapper.writeValueAsString(map));
+                        out.collect(OBJECT_MAPPER.writeValueAsString(map));
                     }
                 }
             });
@@ -30,6 +30,7 @@ import com.dlink.model.Table;
 import com.dlink.utils.FlinkBaseUtil;
 import com.dlink.utils.JSONUtil;
 import com.dlink.utils.LogUtil;
+import com.dlink.utils.SplitRouter;
 import com.dlink.utils.SplitUtil;
 
 import org.apache.commons.lang3.StringUtils;
@@ -37,7 +38,6 @@ import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
@@ -221,6 +221,7 @@ public class SQLSinkBuilder extends AbstractSinkBuilder implements Serializable
             StreamExecutionEnvironment env,
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
+        warnTypedDeserializerUnsupported();
         final String timeZone = config.getSink().get("timezone");
         config.getSink().remove("timezone");
         if (Asserts.isNotNullString(timeZone)) {
@@ -231,7 +232,7 @@ public class SQLSinkBuilder extends AbstractSinkBuilder implements Serializable
             logger.info("Build deserialize successful...");
             Map<Table, OutputTag<Map>> tagMap = new HashMap<>();
             Map<String, Table> tableMap = new HashMap<>();
-            Map<String, String> splitConfMap = config.getSplit();
+            final SplitRouter splitRouter = SplitUtil.getRouter(config.getSplit());
 
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
@@ -243,9 +244,7 @@ public class SQLSinkBuilder extends AbstractSinkBuilder implements Serializable
                 }
             }
             final String schemaFieldName = config.getSchemaFieldName();
-            ObjectMapper objectMapper = new ObjectMapper();
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource
-                    .map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
+            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
             SingleOutputStreamOperator<Map> processOperator = mapOperator.process(new ProcessFunction<Map, Map>() {
 
                 @Override
@@ -253,8 +252,8 @@ public class SQLSinkBuilder extends AbstractSinkBuilder implements Serializable
                         throws Exception {
                     LinkedHashMap source = (LinkedHashMap) map.get("source");
                     try {
-                        String tableName = SplitUtil.getReValue(source.get(schemaFieldName).toString(), splitConfMap)
-                                + "." + SplitUtil.getReValue(source.get("table").toString(), splitConfMap);
+                        String tableName = splitRouter.route(source.get(schemaFieldName).toString(),
+                                source.get("table").toString());
                         Table table = tableMap.get(tableName);
                         OutputTag<Map> outputTag = tagMap.get(table);
                         Optional.ofNullable(outputTag).orElseThrow(
@@ -0,0 +1,214 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.cdc;
+
+import com.dlink.model.FlinkCDCConfig;
+import com.dlink.model.Table;
+
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DebeziumRowDataConverterTest
+ */
+@Slf4j
+public class DebeziumRowDataConverterTest {
+
+    private static final int RECORD_NUM = 10000;
+    private static final List<String> COLUMN_NAMES = Arrays.asList("id", "name", "price", "amount", "score", "ts");
+    private static final List<LogicalType> COLUMN_TYPES = Arrays.asList(new IntType(), new VarCharType(),
+            new DecimalType(10, 2), new BigIntType(), new DoubleType(), new TimestampType());
+
+    @Test
+    public void testConvert() throws Exception {
+        DebeziumRowDataConverter converter = new DebeziumRowDataConverter(COLUMN_NAMES, COLUMN_TYPES, ZoneId.of("UTC"));
+        MapSinkBuilder builder = new MapSinkBuilder();
+        String json = buildRecord(1, "u");
+        List<RowData> typedRows = new ArrayList<>();
+        converter.convert(json, new ListCollector(typedRows));
+        Assert.assertEquals(2, typedRows.size());
+        Assert.assertEquals(RowKind.UPDATE_BEFORE, typedRows.get(0).getRowKind());
+        Assert.assertEquals(RowKind.UPDATE_AFTER, typedRows.get(1).getRowKind());
+        Assert.assertEquals(builder.convert(json, "after", RowKind.UPDATE_AFTER), typedRows.get(1));
+        Assert.assertEquals(builder.convert(json, "before", RowKind.UPDATE_BEFORE), typedRows.get(0));
+
+        typedRows.clear();
+        converter.convert(buildRecord(2, "d"), new ListCollector(typedRows));
+        Assert.assertEquals(1, typedRows.size());
+        Assert.assertEquals(RowKind.DELETE, typedRows.get(0).getRowKind());
+        Assert.assertEquals(2, typedRows.get(0).getInt(0));
+        Assert.assertTrue(typedRows.get(0).isNullAt(3));
+    }
+
+    @Test
+    public void testConvertNestedToText() throws Exception {
+        DebeziumRowDataConverter converter = new DebeziumRowDataConverter(Arrays.asList("id", "ignored"),
+                Arrays.asList(new IntType(), new VarCharType()), ZoneId.of("UTC"));
+        List<RowData> typedRows = new ArrayList<>();
+        converter.convert(buildRecord(3, "c"), new ListCollector(typedRows));
+        Assert.assertEquals(1, typedRows.size());
+        Assert.assertEquals(3, typedRows.get(0).getInt(0));
+        Assert.assertEquals("{\"nested\":[1,2]}", typedRows.get(0).getString(1).toString());
+    }
+
+    /**
+     * 批量校验预编译直接解析与 Map 中转解析的结果一致
+     */
+    @Test
+    public void testConvertBatch() throws Exception {
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < RECORD_NUM; i++) {
+            records.add(buildRecord(i, "c"));
+        }
+        MapSinkBuilder builder = new MapSinkBuilder();
+        DebeziumRowDataConverter converter = new DebeziumRowDataConverter(COLUMN_NAMES, COLUMN_TYPES, ZoneId.of("UTC"));
+        List<RowData> rows = new ArrayList<>(RECORD_NUM);
+        Collector<RowData> collector = new ListCollector(rows);
+        for (String record : records) {
+            converter.convert(record, collector);
+        }
+
+        Assert.assertEquals(RECORD_NUM, rows.size());
+        for (int i = 0; i < RECORD_NUM; i++) {
+            Assert.assertEquals(builder.convert(records.get(i), "after", RowKind.INSERT), rows.get(i));
+        }
+    }
+
+    /**
+     * 解析基准：Map 中转解析与预编译直接解析的耗时对比，使用 -Dcdc.benchmark=true 运行
+     */
+    @Test
+    public void convertBenchmark() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("cdc.benchmark"));
+        int recordNum = RECORD_NUM * 10;
+        List<String> records = new ArrayList<>(recordNum);
+        for (int i = 0; i < recordNum; i++) {
+            records.add(buildRecord(i, "u"));
+        }
+        MapSinkBuilder builder = new MapSinkBuilder();
+        DebeziumRowDataConverter converter = new DebeziumRowDataConverter(COLUMN_NAMES, COLUMN_TYPES, ZoneId.of("UTC"));
+
+        long start = System.currentTimeMillis();
+        List<RowData> mapRows = new ArrayList<>(recordNum * 2);
+        for (String record : records) {
+            mapRows.add(builder.convert(record, "before", RowKind.UPDATE_BEFORE));
+            mapRows.add(builder.convert(record, "after", RowKind.UPDATE_AFTER));
+        }
+        long mapMillis = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        List<RowData> typedRows = new ArrayList<>(recordNum * 2);
+        Collector<RowData> collector = new ListCollector(typedRows);
+        for (String record : records) {
+            converter.convert(record, collector);
+        }
+        long typedMillis = System.currentTimeMillis() - start;
+
+        Assert.assertEquals(mapRows, typedRows);
+        Assert.assertTrue(typedMillis < mapMillis);
+        log.info("CDC deserialize benchmark ({} update records): map {} ms, typed {} ms",
+                recordNum, mapMillis, typedMillis);
+    }
+
+    private String buildRecord(int id, String op) {
+        String before = "{\"id\":" + id + ",\"name\":\"name_" + id + "\",\"price\":\"10.50\",\"amount\":null,"
+                + "\"score\":1.5,\"ts\":1670000000000,\"ignored\":{\"nested\":[1,2]}}";
+        String after = "{\"id\":" + id + ",\"name\":\"name_" + id + "\",\"price\":\"12.34\",\"amount\":" + id * 10L
+                + ",\"score\":2.5,\"ts\":1670000001000,\"ignored\":{\"nested\":[1,2]}}";
+        return "{\"before\":" + ("c".equals(op) ? "null" : before)
+                + ",\"after\":" + ("d".equals(op) ? "null" : after)
+                + ",\"source\":{\"db\":\"test\",\"table\":\"products\",\"ts_ms\":1670000001000},"
+                + "\"op\":\"" + op + "\",\"ts_ms\":1670000001000}";
+    }
+
+    private static class MapSinkBuilder extends AbstractSinkBuilder {
+
+        MapSinkBuilder() {
+            super(new FlinkCDCConfig());
+        }
+
+        GenericRowData convert(String json, String field, RowKind rowKind) throws Exception {
+            Map value = OBJECT_MAPPER.readValue(json, Map.class);
+            Map data = (Map) value.get(field);
+            GenericRowData rowData = new GenericRowData(rowKind, COLUMN_NAMES.size());
+            for (int i = 0; i < COLUMN_NAMES.size(); i++) {
+                rowData.setField(i, convertValue(data.get(COLUMN_NAMES.get(i)), COLUMN_TYPES.get(i)));
+            }
+            return rowData;
+        }
+
+        @Override
+        public void addSink(StreamExecutionEnvironment env, DataStream<RowData> rowDataDataStream,
+                Table table, List<String> columnNameList,
+                List<LogicalType> columnTypeList) {
+        }
+
+        @Override
+        public String getHandle() {
+            return "map";
+        }
+
+        @Override
+        public SinkBuilder create(FlinkCDCConfig config) {
+            return this;
+        }
+    }
+
+    private static class ListCollector implements Collector<RowData> {
+
+        private final List<RowData> list;
+
+        ListCollector(List<RowData> list) {
+            this.list = list;
+        }
+
+        @Override
+        public void collect(RowData record) {
+            list.add(record);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
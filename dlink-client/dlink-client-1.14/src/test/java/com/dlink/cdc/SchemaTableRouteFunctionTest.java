@@ -0,0 +1,205 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.cdc;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.TimerService;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SchemaTableRouteFunctionTest
+ */
+@Slf4j
+public class SchemaTableRouteFunctionTest {
+
+    private static final String SCHEMA_FIELD_NAME = "db";
+    private static final int RECORD_NUM = 100000;
+
+    @Test
+    public void testRoute() throws Exception {
+        Map<String, OutputTag<Map>> tagMap = buildTagMap(3);
+        SchemaTableRouteFunction function = new SchemaTableRouteFunction(SCHEMA_FIELD_NAME, tagMap);
+        Map<OutputTag<?>, Integer> sideOutputs = new HashMap<>();
+        List<Map> mainOutput = new ArrayList<>();
+        ProcessFunctionContext context = new ProcessFunctionContext(function, sideOutputs);
+        Collector<Map> collector = new ListCollector(mainOutput);
+        function.processElement(buildRecord("test", "table_1"), context, collector);
+        function.processElement(buildRecord("test", "table_1"), context, collector);
+        function.processElement(buildRecord("test", "table_2"), context, collector);
+        function.processElement(buildRecord("test", "unknown"), context, collector);
+        Assert.assertEquals(Integer.valueOf(2), sideOutputs.get(tagMap.get("test.table_1")));
+        Assert.assertEquals(Integer.valueOf(1), sideOutputs.get(tagMap.get("test.table_2")));
+        Assert.assertNull(sideOutputs.get(tagMap.get("test.table_0")));
+        Assert.assertEquals(1, mainOutput.size());
+    }
+
+    /**
+     * 校验 10/100/1000 张表下每条记录都进入对应表的侧输出流
+     */
+    @Test
+    public void testRouteManyTables() throws Exception {
+        for (int tableNum : new int[]{10, 100, 1000}) {
+            List<Map> records = buildRecords(tableNum);
+            Map<String, OutputTag<Map>> tagMap = buildTagMap(tableNum);
+            SchemaTableRouteFunction function = new SchemaTableRouteFunction(SCHEMA_FIELD_NAME, tagMap);
+            Map<OutputTag<?>, Integer> sideOutputs = new HashMap<>();
+            ProcessFunctionContext context = new ProcessFunctionContext(function, sideOutputs);
+            List<Map> mainOutput = new ArrayList<>();
+            Collector<Map> collector = new ListCollector(mainOutput);
+            for (Map record : records) {
+                function.processElement(record, context, collector);
+            }
+
+            Assert.assertEquals(tableNum, sideOutputs.size());
+            Assert.assertTrue(mainOutput.isEmpty());
+            for (int count : sideOutputs.values()) {
+                Assert.assertEquals(RECORD_NUM / tableNum, count);
+            }
+        }
+    }
+
+    /**
+     * 路由基准：逐表 filter 与单次路由在 10/100/1000 张表下的耗时对比，
+     * 使用 -Dcdc.benchmark=true 运行
+     */
+    @Test
+    public void routeBenchmark() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("cdc.benchmark"));
+        for (int tableNum : new int[]{10, 100, 1000}) {
+            List<Map> records = buildRecords(tableNum);
+
+            long start = System.currentTimeMillis();
+            long filterHits = 0;
+            for (int i = 0; i < tableNum; i++) {
+                String tableName = "table_" + i;
+                for (Map record : records) {
+                    Map source = (Map) record.get("source");
+                    if (tableName.equals(source.get("table").toString())
+                            && "test".equals(source.get(SCHEMA_FIELD_NAME).toString())) {
+                        filterHits++;
+                    }
+                }
+            }
+            long filterMillis = System.currentTimeMillis() - start;
+
+            SchemaTableRouteFunction function = new SchemaTableRouteFunction(SCHEMA_FIELD_NAME, buildTagMap(tableNum));
+            Map<OutputTag<?>, Integer> sideOutputs = new HashMap<>();
+            ProcessFunctionContext context = new ProcessFunctionContext(function, sideOutputs);
+            Collector<Map> collector = new ListCollector(new ArrayList<>());
+            start = System.currentTimeMillis();
+            for (Map record : records) {
+                function.processElement(record, context, collector);
+            }
+            long routeMillis = System.currentTimeMillis() - start;
+
+            long routeHits = sideOutputs.values().stream().mapToLong(Integer::longValue).sum();
+            Assert.assertEquals(filterHits, routeHits);
+            Assert.assertTrue(tableNum < 100 || routeMillis < filterMillis);
+            log.info("CDC route benchmark ({} records, {} tables): per-table filter {} ms, single-pass route {} ms",
+                    RECORD_NUM, tableNum, filterMillis, routeMillis);
+        }
+    }
+
+    private List<Map> buildRecords(int tableNum) {
+        List<Map> records = new ArrayList<>();
+        for (int i = 0; i < RECORD_NUM; i++) {
+            records.add(buildRecord("test", "table_" + (i % tableNum)));
+        }
+        return records;
+    }
+
+    private Map<String, OutputTag<Map>> buildTagMap(int tableNum) {
+        Map<String, OutputTag<Map>> tagMap = new HashMap<>();
+        for (int i = 0; i < tableNum; i++) {
+            String schemaTableName = "test.table_" + i;
+            tagMap.put(schemaTableName, new OutputTag<>(schemaTableName, TypeInformation.of(Map.class)));
+        }
+        return tagMap;
+    }
+
+    private Map buildRecord(String schemaName, String tableName) {
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put(SCHEMA_FIELD_NAME, schemaName);
+        source.put("table", tableName);
+        Map<String, Object> after = new LinkedHashMap<>();
+        after.put("id", 1);
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("source", source);
+        record.put("after", after);
+        record.put("op", "c");
+        return record;
+    }
+
+    private static class ProcessFunctionContext extends SchemaTableRouteFunction.Context {
+
+        private final Map<OutputTag<?>, Integer> sideOutputs;
+
+        ProcessFunctionContext(SchemaTableRouteFunction function, Map<OutputTag<?>, Integer> sideOutputs) {
+            function.super();
+            this.sideOutputs = sideOutputs;
+        }
+
+        @Override
+        public Long timestamp() {
+            return null;
+        }
+
+        @Override
+        public TimerService timerService() {
+            return null;
+        }
+
+        @Override
+        public <X> void output(OutputTag<X> outputTag, X value) {
+            sideOutputs.merge(outputTag, 1, Integer::sum);
+        }
+    }
+
+    private static class ListCollector implements Collector<Map> {
+
+        private final List<Map> list;
+
+        ListCollector(List<Map> list) {
+            this.list = list;
+        }
+
+        @Override
+        public void collect(Map record) {
+            list.add(record);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -26,7 +26,6 @@ import com.dlink.utils.JSONUtil;
 
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.streaming.api.datastream.DataStream;
-import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.TimestampData;
@@ -125,9 +124,14 @@ public class DorisExtendSinkBuilder extends DorisSinkBuilder implements Serializ
         return convertValue(rowData.get(columnName), columnType);
     }
 
+    @Override
+    protected boolean supportTypedDeserializer() {
+        return false;
+    }
+
     @Override
     protected DataStream<RowData> buildRowData(
-            SingleOutputStreamOperator<Map> filterOperator,
+            DataStream<Map> filterOperator,
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
             String schemaTableName) {
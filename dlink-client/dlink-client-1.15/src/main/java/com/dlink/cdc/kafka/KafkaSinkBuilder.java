@@ -32,7 +32,6 @@ import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.connector.base.DeliveryGuarantee;
 import org.apache.flink.connector.kafka.sink.KafkaRecordSerializationSchema;
 import org.apache.flink.connector.kafka.sink.KafkaSink;
-import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
@@ -93,6 +92,7 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
             StreamExecutionEnvironment env,
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
+        warnTypedDeserializerUnsupported();
         // 解决kafka的 properties 配置未加载问题
         Properties kafkaProducerConfig = getProperties();
         if (Asserts.isNotNullString(config.getSink().get("topic"))) {
@@ -110,9 +110,7 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
         } else {
             Map<Table, OutputTag<String>> tagMap = new HashMap<>();
             Map<String, Table> tableMap = new HashMap<>();
-            ObjectMapper objectMapper = new ObjectMapper();
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource
-                    .map(x -> objectMapper.readValue(x, Map.class)).returns(Map.class);
+            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (Asserts.isNotNullCollection(schemaList)) {
@@ -134,13 +132,13 @@ public class KafkaSinkBuilder extends AbstractSinkBuilder implements Serializabl
                             throws Exception {
                         LinkedHashMap source = (LinkedHashMap) map.get("source");
                         try {
-                            String result = objectMapper.writeValueAsString(map);
+                            String result = OBJECT_MAPPER.writeValueAsString(map);
                             Table table = tableMap
                                     .get(source.get(schemaFieldName).toString() + "." + source.get("table").toString());
                             OutputTag<String> outputTag = tagMap.get(table);
                             ctx.output(outputTag, result);
                         } catch (Exception e) {
-                            out.collect(objectMapper.writeValueAsString(map));
+                            out.collect(OBJECT_MAPPER.writeValueAsString(map));
                         }
                     }
                 });
@@ -29,8 +29,6 @@ import com.dlink.model.Schema;
 import com.dlink.model.Table;
 import com.dlink.utils.ObjectConvertUtil;
 
-import org.apache.flink.api.common.functions.FilterFunction;
-import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -41,11 +39,11 @@ import org.apache.flink.streaming.connectors.kafka.FlinkKafkaProducer;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -86,31 +84,20 @@ public class KafkaSinkJsonBuilder extends AbstractSinkBuilder implements Seriali
             StreamExecutionEnvironment env,
             CustomTableEnvironment customTableEnvironment,
             DataStreamSource<String> dataStreamSource) {
+        warnTypedDeserializerUnsupported();
         try {
-            SingleOutputStreamOperator<Map> mapOperator = dataStreamSource.map(new MapFunction<String, Map>() {
-
-                @Override
-                public Map map(String value) throws Exception {
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    return objectMapper.readValue(value, Map.class);
-                }
-            });
             final List<Schema> schemaList = config.getSchemaList();
             final String schemaFieldName = config.getSchemaFieldName();
             if (Asserts.isNotNullCollection(schemaList)) {
+                Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+                SingleOutputStreamOperator<Map> processOperator = shunt(deserialize(dataStreamSource), tagMap,
+                        schemaFieldName);
                 for (Schema schema : schemaList) {
                     for (Table table : schema.getTables()) {
                         final String tableName = table.getName();
                         final String schemaName = table.getSchema();
-                        SingleOutputStreamOperator<Map> filterOperator = mapOperator.filter(new FilterFunction<Map>() {
-
-                            @Override
-                            public boolean filter(Map value) throws Exception {
-                                LinkedHashMap source = (LinkedHashMap) value.get("source");
-                                return tableName.equals(source.get("table").toString())
-                                        && schemaName.equals(source.get(schemaFieldName).toString());
-                            }
-                        });
+                        DataStream<Map> filterOperator = shunt(processOperator, table,
+                                tagMap.get(table.getSchemaTableName()));
                         String topic = getSinkTableName(table);
                         if (Asserts.isNotNullString(config.getSink().get("topic"))) {
                             topic = config.getSink().get("topic");
@@ -27,9 +27,9 @@ import com.dlink.model.Schema;
 import com.dlink.model.Table;
 import com.dlink.utils.JSONUtil;
 
-import org.apache.flink.api.common.functions.FilterFunction;
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.api.common.functions.MapFunction;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
@@ -63,7 +63,7 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -80,6 +80,7 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractSinkBuilder implements SinkBuilder {
 
     protected static final Logger logger = LoggerFactory.getLogger(AbstractSinkBuilder.class);
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     protected FlinkCDCConfig config;
     protected List<ModifyOperation> modifyOperations = new ArrayList();
@@ -117,27 +118,27 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
 
             @Override
             public Map map(String value) throws Exception {
-                ObjectMapper objectMapper = new ObjectMapper();
-                return objectMapper.readValue(value, Map.class);
+                return OBJECT_MAPPER.readValue(value, Map.class);
             }
         });
     }
 
     protected SingleOutputStreamOperator<Map> shunt(
             SingleOutputStreamOperator<Map> mapOperator,
-            Table table,
+            Map<String, OutputTag<Map>> tagMap,
             String schemaFieldName) {
-        final String tableName = table.getName();
-        final String schemaName = table.getSchema();
-        return mapOperator.filter(new FilterFunction<Map>() {
+        return mapOperator.process(new SchemaTableRouteFunction(schemaFieldName, tagMap)).name("Shunt");
+    }
 
-            @Override
-            public boolean filter(Map value) throws Exception {
-                LinkedHashMap source = (LinkedHashMap) value.get("source");
-                return tableName.equals(source.get("table").toString())
-                        && schemaName.equals(source.get(schemaFieldName).toString());
+    protected Map<String, OutputTag<Map>> buildTagMap(List<Schema> schemaList) {
+        Map<String, OutputTag<Map>> tagMap = new HashMap<>();
+        for (Schema schema : schemaList) {
+            for (Table table : schema.getTables()) {
+                tagMap.put(table.getSchemaTableName(),
+                        new OutputTag<>(table.getSchemaTableName(), TypeInformation.of(Map.class)));
             }
-        });
+        }
+        return tagMap;
     }
 
     protected DataStream<Map> shunt(
@@ -149,7 +150,7 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
     }
 
     protected DataStream<RowData> buildRowData(
-            SingleOutputStreamOperator<Map> filterOperator,
+            DataStream<Map> filterOperator,
             List<String> columnNameList,
             List<LogicalType> columnTypeList,
             String schemaTableName) {
@@ -228,10 +229,13 @@ public abstract class AbstractSinkBuilder implements SinkBuilder {
         final String schemaFieldName = config.getSchemaFieldName();
 
         if (Asserts.isNotNullCollection(schemaList)) {
-            SingleOutputStreamOperator<Map> mapOperator = deserialize(dataStreamSource);
+            Map<String, OutputTag<Map>> tagMap = buildTagMap(schemaList);
+            SingleOutputStreamOperator<Map> processOperator = shunt(deserialize(dataStreamSource), tagMap,
+                    schemaFieldName);
             for (Schema schema : schemaList) {
                 for (Table table : schema.getTables()) {
-                    SingleOutputStreamOperator<Map> filterOperator = shunt(mapOperator, table, schemaFieldName);
+                    DataStream<Map> filterOperator = shunt(processOperator, table,
+                            tagMap.get(table.getSchemaTableName()));
 
                     List<String> columnNameList = new ArrayList<>();
                     List<LogicalType> columnTypeList = new ArrayList<>();
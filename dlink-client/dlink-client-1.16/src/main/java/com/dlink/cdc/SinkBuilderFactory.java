@@ -45,6 +45,9 @@ public class SinkBuilderFactory {
         if (Asserts.isNull(config) || Asserts.isNullString(config.getSink().get("connector"))) {
             throw new FlinkClientException("请指定 Sink connector。");
         }
+        if (config.isTypedDeserializer()) {
+            throw new FlinkClientException("当前 Flink 版本不支持 sink.deserializer=typed，请移除该配置或使用 map。");
+        }
         return SINK_BUILDER_MAP.getOrDefault(config.getSink().get("connector"), () -> new SQLSinkBuilder()).get()
                 .create(config);
     }
@@ -30,6 +30,13 @@ import java.util.Map;
  */
 public class FlinkCDCConfig {
 
+    /**
+     * sink.deserializer: map 为默认的 Map 中转解析，typed 为按表结构预编译的直接解析
+     */
+    public static final String DESERIALIZER = "deserializer";
+    public static final String DESERIALIZER_MAP = "map";
+    public static final String DESERIALIZER_TYPED = "typed";
+
     private String type;
     private String hostname;
     private Integer port;
@@ -53,9 +60,11 @@ public class FlinkCDCConfig {
     public FlinkCDCConfig() {
     }
 
-    public FlinkCDCConfig(String type, String hostname, Integer port, String username, String password, Integer checkpoint, Integer parallelism, String database, String schema, String table,
-                          String startupMode,
-                          Map<String, String> split, Map<String, String> debezium, Map<String, String> source, Map<String, String> sink, Map<String, String> jdbc) {
+    public FlinkCDCConfig(String type, String hostname, Integer port, String username, String password,
+            Integer checkpoint, Integer parallelism, String database, String schema, String table,
+            String startupMode,
+            Map<String, String> split, Map<String, String> debezium, Map<String, String> source,
+            Map<String, String> sink, Map<String, String> jdbc) {
         this.type = type;
         this.hostname = hostname;
         this.port = port;
@@ -74,9 +83,11 @@ public class FlinkCDCConfig {
         this.jdbc = jdbc;
     }
 
-    public void init(String type, String hostname, Integer port, String username, String password, Integer checkpoint, Integer parallelism, String database, String schema, String table,
-                          String startupMode,
-                          Map<String, String> split, Map<String, String> debezium, Map<String, String> source, Map<String, String> sink, Map<String, String> jdbc) {
+    public void init(String type, String hostname, Integer port, String username, String password, Integer checkpoint,
+            Integer parallelism, String database, String schema, String table,
+            String startupMode,
+            Map<String, String> split, Map<String, String> debezium, Map<String, String> source,
+            Map<String, String> sink, Map<String, String> jdbc) {
         this.type = type;
         this.hostname = hostname;
         this.port = port;
@@ -205,6 +216,7 @@ public class FlinkCDCConfig {
             case "table.lower":
             case "column.replace.line-break":
             case "timezone":
+            case DESERIALIZER:
                 return true;
             default:
                 return false;
@@ -235,6 +247,17 @@ public class FlinkCDCConfig {
         this.sink = sink;
     }
 
+    public String getDeserializer() {
+        if (sink == null || !sink.containsKey(DESERIALIZER)) {
+            return DESERIALIZER_MAP;
+        }
+        return sink.get(DESERIALIZER);
+    }
+
+    public boolean isTypedDeserializer() {
+        return DESERIALIZER_TYPED.equalsIgnoreCase(getDeserializer());
+    }
+
     public String getStartupMode() {
         return startupMode;
     }
@@ -32,6 +32,8 @@ public class QueryData {
 
     private String sql;
 
+    private String queryId;
+
     private Option option;
 
     @Data
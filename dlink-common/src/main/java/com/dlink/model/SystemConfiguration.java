@@ -50,6 +50,10 @@ public class SystemConfiguration {
             add(systemConfiguration.useRestAPI);
             add(systemConfiguration.sqlSeparator);
             add(systemConfiguration.jobIdWait);
+            add(systemConfiguration.resultJobMaxSize);
+            add(systemConfiguration.resultTotalMaxSize);
+            add(systemConfiguration.resultTtl);
+            add(systemConfiguration.resultCollectorMaxNum);
         }
     };
 
@@ -89,6 +93,30 @@ public class SystemConfiguration {
             ValueType.INT,
             30,
             "提交 Application 或 PerJob 任务时获取 Job ID 的最大等待时间（秒）");
+    private Configuration resultJobMaxSize = new Configuration(
+            "resultJobMaxSize",
+            "单个预览结果的最大内存（MB）",
+            ValueType.INT,
+            64,
+            "SELECT 预览结果在内存中可占用的最大估算大小，超出后停止采集");
+    private Configuration resultTotalMaxSize = new Configuration(
+            "resultTotalMaxSize",
+            "预览结果的总内存（MB）",
+            ValueType.INT,
+            512,
+            "所有 SELECT 预览结果在内存中可占用的最大估算大小，超出后停止采集");
+    private Configuration resultTtl = new Configuration(
+            "resultTtl",
+            "预览结果的保留时间（分钟）",
+            ValueType.INT,
+            120,
+            "SELECT 预览结果超过该时间未被访问将被清理");
+    private Configuration resultCollectorMaxNum = new Configuration(
+            "resultCollectorMaxNum",
+            "预览结果的最大采集线程数",
+            ValueType.INT,
+            64,
+            "同时采集 SELECT 预览结果的最大线程数");
 
     public void setConfiguration(JsonNode jsonNode) {
         for (Configuration item : CONFIGURATION_LIST) {
@@ -167,6 +195,22 @@ public class SystemConfiguration {
         this.jobIdWait.setValue(jobIdWait);
     }
 
+    public long getResultJobMaxSize() {
+        return (int) resultJobMaxSize.getValue() * 1024L * 1024L;
+    }
+
+    public long getResultTotalMaxSize() {
+        return (int) resultTotalMaxSize.getValue() * 1024L * 1024L;
+    }
+
+    public long getResultTtl() {
+        return (int) resultTtl.getValue() * 60 * 1000L;
+    }
+
+    public int getResultCollectorMaxNum() {
+        return (int) resultCollectorMaxNum.getValue();
+    }
+
     enum ValueType {
         STRING, INT, DOUBLE, FLOAT, BOOLEAN, DATE
     }
@@ -20,6 +20,7 @@
 package com.dlink.result;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * ExplainResult
@@ -28,6 +29,7 @@ import java.util.List;
  * @since 2021/12/12 13:11
  */
 public class ExplainResult {
+
     private boolean correct;
     private int total;
     private List<SqlExplainResult> sqlExplainResults;
@@ -38,6 +40,12 @@ public class ExplainResult {
         this.sqlExplainResults = sqlExplainResults;
     }
 
+    public ExplainResult copy() {
+        return new ExplainResult(correct, total, sqlExplainResults == null
+                ? null
+                : sqlExplainResults.stream().map(SqlExplainResult::copy).collect(Collectors.toList()));
+    }
+
     public boolean isCorrect() {
         return correct;
     }
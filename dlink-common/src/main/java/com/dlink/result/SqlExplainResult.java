@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
  * @since 2021/6/7 22:06
  **/
 public class SqlExplainResult {
+
     private Integer index;
     private String type;
     private String sql;
@@ -41,7 +42,8 @@ public class SqlExplainResult {
     public SqlExplainResult() {
     }
 
-    public SqlExplainResult(Integer index, String type, String sql, String parse, String explain, String error, boolean parseTrue, boolean explainTrue, LocalDateTime explainTime) {
+    public SqlExplainResult(Integer index, String type, String sql, String parse, String explain, String error,
+            boolean parseTrue, boolean explainTrue, LocalDateTime explainTime) {
         this.index = index;
         this.type = type;
         this.sql = sql;
@@ -61,6 +63,10 @@ public class SqlExplainResult {
         return new SqlExplainResult(1, null, sql, null, null, error, false, false, LocalDateTime.now());
     }
 
+    public SqlExplainResult copy() {
+        return new SqlExplainResult(index, type, sql, parse, explain, error, parseTrue, explainTrue, explainTime);
+    }
+
     public Integer getIndex() {
         return index;
     }
@@ -0,0 +1,150 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.utils;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 分库分表路由，根据 split 配置预编译正则，并缓存真实库表名到逻辑库表名的映射
+ */
+@Slf4j
+public class SplitRouter implements Serializable {
+
+    private static final long serialVersionUID = 3920512418372059135L;
+    private static final int DEFAULT_CACHE_SIZE = 100000;
+
+    private final boolean enabled;
+    private final Pattern pattern;
+    private final boolean prefix;
+    private final Integer maxMatchValue;
+    private final int cacheSize;
+    private transient volatile Map<String, String> cache;
+
+    private SplitRouter(boolean enabled, Pattern pattern, boolean prefix, Integer maxMatchValue, int cacheSize) {
+        this.enabled = enabled;
+        this.pattern = pattern;
+        this.prefix = prefix;
+        this.maxMatchValue = maxMatchValue;
+        this.cacheSize = cacheSize;
+    }
+
+    public static SplitRouter build(Map<String, String> splitConfig) {
+        return build(splitConfig, DEFAULT_CACHE_SIZE);
+    }
+
+    public static SplitRouter build(Map<String, String> splitConfig, int cacheSize) {
+        if (splitConfig == null || !SplitUtil.isEnabled(splitConfig)) {
+            return new SplitRouter(false, null, false, null, cacheSize);
+        }
+        Pattern pattern = null;
+        Integer maxMatchValue = null;
+        try {
+            pattern = Pattern.compile(splitConfig.get("match_number_regex"));
+            maxMatchValue = Integer.parseInt(splitConfig.get("max_match_value"));
+        } catch (Exception e) {
+            log.warn("Unable to determine sub-database sub-table");
+        }
+        return new SplitRouter(true, pattern, "prefix".equalsIgnoreCase(splitConfig.get("match_way")),
+                maxMatchValue, cacheSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 返回真实库表名对应的逻辑库表名，结果会被缓存
+     */
+    public String route(String schemaName, String tableName) {
+        String schemaTableName = schemaName + "." + tableName;
+        if (!enabled) {
+            return schemaTableName;
+        }
+        Map<String, String> routeCache = getCache();
+        String value = routeCache.get(schemaTableName);
+        if (value == null) {
+            value = getReValue(schemaName) + "." + getReValue(tableName);
+            if (routeCache.size() >= cacheSize) {
+                routeCache.clear();
+            }
+            routeCache.put(schemaTableName, value);
+        }
+        return value;
+    }
+
+    public String getReValue(String value) {
+        if (!enabled || pattern == null || maxMatchValue == null) {
+            return value;
+        }
+        try {
+            String num = findNumber(value);
+            if (num != null && Integer.parseInt(num.replaceFirst("_", "")) <= maxMatchValue) {
+                return value.substring(0, value.lastIndexOf(num));
+            }
+        } catch (Exception ignored) {
+            log.warn("Unable to determine sub-database sub-table");
+        }
+        return value;
+    }
+
+    public boolean isSplit(String value) {
+        if (pattern == null || maxMatchValue == null) {
+            return false;
+        }
+        Matcher matcher = pattern.matcher(value);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(0).replaceFirst("_", "")) <= maxMatchValue;
+        }
+        return false;
+    }
+
+    private String findNumber(String value) {
+        Matcher matcher = pattern.matcher(value);
+        // Determine whether it is a prefix or a suffix
+        if (prefix) {
+            return matcher.find() ? matcher.group(0) : null;
+        }
+        String num = null;
+        while (matcher.find()) {
+            num = matcher.group(0);
+        }
+        return num;
+    }
+
+    private Map<String, String> getCache() {
+        Map<String, String> routeCache = cache;
+        if (routeCache == null) {
+            synchronized (this) {
+                routeCache = cache;
+                if (routeCache == null) {
+                    routeCache = new ConcurrentHashMap<>();
+                    cache = routeCache;
+                }
+            }
+        }
+        return routeCache;
+    }
+}
@@ -1,11 +1,29 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
 package com.dlink.utils;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import lombok.extern.slf4j.Slf4j;
-
 /**
  * 分库分表的工具类
  *
@@ -13,9 +31,11 @@ import lombok.extern.slf4j.Slf4j;
  * @version 1.0
  * @since 2022/9/2
  */
-@Slf4j
 public class SplitUtil {
 
+    private static final int MAX_ROUTER_NUM = 64;
+    private static final Map<String, SplitRouter> ROUTERS = new ConcurrentHashMap<>();
+
     public static boolean contains(String regex, String sourceData) {
         return Pattern.matches(regex, sourceData);
     }
@@ -33,42 +53,26 @@ public class SplitUtil {
     }
 
     public static String getReValue(String value, Map<String, String> splitConfig) {
-        if (isEnabled(splitConfig)) {
-            try {
-                String matchNumberRegex = splitConfig.get("match_number_regex");
-                String matchWay = splitConfig.get("match_way");
-                Pattern pattern = Pattern.compile(matchNumberRegex);
-                Matcher matcher = pattern.matcher(value);
-                // Determine whether it is a prefix or a suffix
-                if ("prefix".equalsIgnoreCase(matchWay)) {
-                    if (matcher.find()) {
-                        String num = matcher.group(0);
-                        int splitNum = Integer.parseInt(num.replaceFirst("_", ""));
-                        int maxMatchValue = Integer.parseInt(splitConfig.get("max_match_value"));
-                        if (splitNum <= maxMatchValue) {
-                            return value.substring(0, value.lastIndexOf(num));
-                        }
-                    }
-                } else {
-                    String num = null;
-                    while (matcher.find()) {
-                        num = matcher.group(0);
-                    }
-                    if (num == null) {
-                        return value;
-                    }
-                    int splitNum = Integer.parseInt(num.replaceFirst("_", ""));
-                    int maxMatchValue = Integer.parseInt(splitConfig.get("max_match_value"));
-                    if (splitNum <= maxMatchValue) {
-                        return value.substring(0, value.lastIndexOf(num));
-                    }
-                }
+        return getRouter(splitConfig).getReValue(value);
+    }
 
-            } catch (Exception ignored) {
-                log.warn("Unable to determine sub-database sub-table");
+    /**
+     * 按 split 配置内容缓存预编译的 {@link SplitRouter}，同一配置的作业与元数据查询共用路由结果缓存
+     */
+    public static SplitRouter getRouter(Map<String, String> splitConfig) {
+        if (splitConfig == null) {
+            return SplitRouter.build(null);
+        }
+        String key = splitConfig.get("enable") + "|" + splitConfig.get("match_number_regex") + "|"
+                + splitConfig.get("max_match_value") + "|" + splitConfig.get("match_way");
+        SplitRouter router = ROUTERS.get(key);
+        if (router == null) {
+            if (ROUTERS.size() >= MAX_ROUTER_NUM) {
+                ROUTERS.clear();
             }
+            router = ROUTERS.computeIfAbsent(key, k -> SplitRouter.build(splitConfig));
         }
-        return value;
+        return router;
     }
 
     public static boolean isEnabled(Map<String, String> split) {
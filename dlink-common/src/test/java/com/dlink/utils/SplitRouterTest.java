@@ -0,0 +1,126 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SplitRouterTest
+ */
+@Slf4j
+public class SplitRouterTest {
+
+    private Map<String, String> buildSplitConfig() {
+        Map<String, String> splitConfig = new HashMap<>();
+        splitConfig.put("enable", "true");
+        splitConfig.put("match_number_regex", "_[0-9]+");
+        splitConfig.put("max_match_value", "1023");
+        splitConfig.put("match_way", "suffix");
+        return splitConfig;
+    }
+
+    @Test
+    public void testRoute() {
+        Map<String, String> splitConfig = buildSplitConfig();
+        SplitRouter splitRouter = SplitRouter.build(splitConfig);
+        Assert.assertEquals("db.order", splitRouter.route("db_01", "order_0012"));
+        Assert.assertEquals("db.order_detail", splitRouter.route("db_63", "order_detail_1023"));
+        Assert.assertEquals("db.order_2048", splitRouter.route("db", "order_2048"));
+        Assert.assertTrue(splitRouter.isSplit("order_0012"));
+        Assert.assertFalse(splitRouter.isSplit("order"));
+        Assert.assertEquals(SplitUtil.getReValue("order_detail_1023", splitConfig),
+                splitRouter.getReValue("order_detail_1023"));
+
+        splitConfig.put("enable", "false");
+        Assert.assertEquals("db_01.order_0012", SplitRouter.build(splitConfig).route("db_01", "order_0012"));
+    }
+
+    @Test
+    public void testRouterCachedPerConfig() {
+        Map<String, String> splitConfig = buildSplitConfig();
+        SplitRouter splitRouter = SplitUtil.getRouter(splitConfig);
+        Assert.assertSame(splitRouter, SplitUtil.getRouter(buildSplitConfig()));
+        for (int i = 0; i < 1024; i++) {
+            String tableName = String.format("order_%04d", i);
+            Assert.assertEquals("order", SplitUtil.getReValue(tableName, splitConfig));
+            Assert.assertEquals("db.order", splitRouter.route(String.format("db_%02d", i % 64), tableName));
+        }
+
+        splitConfig.put("max_match_value", "10");
+        Assert.assertNotSame(splitRouter, SplitUtil.getRouter(splitConfig));
+        Assert.assertEquals("order_0011", SplitUtil.getReValue("order_0011", splitConfig));
+    }
+
+    /**
+     * 路由基准：逐次编译正则与缓存路由在 10 万个分表名上的耗时对比，使用 -Dsplit.benchmark=true 运行
+     */
+    @Test
+    public void routeBenchmark() {
+        Assume.assumeTrue(Boolean.getBoolean("split.benchmark"));
+        Map<String, String> splitConfig = buildSplitConfig();
+        List<String[]> names = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            names.add(new String[]{String.format("db_%02d", i % 64), String.format("order_%04d", i % 1024)});
+        }
+        long start = System.currentTimeMillis();
+        for (String[] name : names) {
+            Assert.assertEquals("db.order", compileAndRoute(name[0], splitConfig) + "."
+                    + compileAndRoute(name[1], splitConfig));
+        }
+        long compileMillis = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        for (String[] name : names) {
+            Assert.assertEquals("db.order", SplitUtil.getRouter(splitConfig).route(name[0], name[1]));
+        }
+        long routerMillis = System.currentTimeMillis() - start;
+
+        Assert.assertTrue(routerMillis < compileMillis);
+        log.info("Split route benchmark ({} names): compile per call {} ms, cached router {} ms",
+                names.size(), compileMillis, routerMillis);
+    }
+
+    /**
+     * 缓存路由之前的做法：每次调用都编译正则并解析配置
+     */
+    private String compileAndRoute(String value, Map<String, String> splitConfig) {
+        Matcher matcher = Pattern.compile(splitConfig.get("match_number_regex")).matcher(value);
+        String num = null;
+        while (matcher.find()) {
+            num = matcher.group(0);
+        }
+        if (num != null && Integer.parseInt(num.replaceFirst("_", ""))
+                <= Integer.parseInt(splitConfig.get("max_match_value"))) {
+            return value.substring(0, value.lastIndexOf(num));
+        }
+        return value;
+    }
+}
@@ -29,6 +29,11 @@ import java.util.Objects;
  */
 public class JdbcLookupOptions implements Serializable {
 
+    public static final int DEFAULT_ASYNC_POOL_SIZE = 4;
+    public static final int DEFAULT_ASYNC_BATCH_SIZE = 64;
+    public static final long DEFAULT_ASYNC_BATCH_WINDOW_MS = 5L;
+    public static final long DEFAULT_CACHE_RELOAD_INTERVAL_MS = 3600_000L;
+
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
@@ -37,22 +42,44 @@ public class JdbcLookupOptions implements Serializable {
      * 是否是时间类型字段.
      */
     private final boolean scanPartitionByDatetime;
+    /**
+     * 是否使用异步维表查询.
+     */
+    private final boolean async;
+    private final int asyncPoolSize;
+    private final int asyncBatchSize;
+    private final long asyncBatchWindowMs;
+    /**
+     * 是否在启动时加载全量维表（lookup.cache=ALL）.
+     */
+    private final boolean cacheAll;
+    private final long cacheReloadIntervalMs;
 
     public JdbcLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, String dataFilter) {
-        this.cacheMaxSize = cacheMaxSize;
-        this.cacheExpireMs = cacheExpireMs;
-        this.maxRetryTimes = maxRetryTimes;
-        this.dataFilter = dataFilter;
-        this.scanPartitionByDatetime = false;
+        this(cacheMaxSize, cacheExpireMs, maxRetryTimes, dataFilter, false);
     }
 
     public JdbcLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, String dataFilter,
-                             boolean scanPartitionByDatetime) {
+            boolean scanPartitionByDatetime) {
+        this(cacheMaxSize, cacheExpireMs, maxRetryTimes, dataFilter, scanPartitionByDatetime,
+                false, DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_BATCH_SIZE, DEFAULT_ASYNC_BATCH_WINDOW_MS,
+                false, DEFAULT_CACHE_RELOAD_INTERVAL_MS);
+    }
+
+    public JdbcLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, String dataFilter,
+            boolean scanPartitionByDatetime, boolean async, int asyncPoolSize,
+            int asyncBatchSize, long asyncBatchWindowMs, boolean cacheAll, long cacheReloadIntervalMs) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheExpireMs = cacheExpireMs;
         this.maxRetryTimes = maxRetryTimes;
         this.dataFilter = dataFilter;
         this.scanPartitionByDatetime = scanPartitionByDatetime;
+        this.async = async;
+        this.asyncPoolSize = asyncPoolSize;
+        this.asyncBatchSize = asyncBatchSize;
+        this.asyncBatchWindowMs = asyncBatchWindowMs;
+        this.cacheAll = cacheAll;
+        this.cacheReloadIntervalMs = cacheReloadIntervalMs;
     }
 
     public long getCacheMaxSize() {
@@ -71,6 +98,30 @@ public class JdbcLookupOptions implements Serializable {
         return scanPartitionByDatetime;
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public long getAsyncBatchWindowMs() {
+        return asyncBatchWindowMs;
+    }
+
+    public boolean isCacheAll() {
+        return cacheAll;
+    }
+
+    public long getCacheReloadIntervalMs() {
+        return cacheReloadIntervalMs;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -90,7 +141,13 @@ public class JdbcLookupOptions implements Serializable {
             JdbcLookupOptions options = (JdbcLookupOptions) o;
             return Objects.equals(cacheMaxSize, options.cacheMaxSize)
                     && Objects.equals(cacheExpireMs, options.cacheExpireMs)
-                    && Objects.equals(maxRetryTimes, options.maxRetryTimes);
+                    && Objects.equals(maxRetryTimes, options.maxRetryTimes)
+                    && Objects.equals(async, options.async)
+                    && Objects.equals(asyncPoolSize, options.asyncPoolSize)
+                    && Objects.equals(asyncBatchSize, options.asyncBatchSize)
+                    && Objects.equals(asyncBatchWindowMs, options.asyncBatchWindowMs)
+                    && Objects.equals(cacheAll, options.cacheAll)
+                    && Objects.equals(cacheReloadIntervalMs, options.cacheReloadIntervalMs);
         } else {
             return false;
         }
@@ -106,6 +163,12 @@ public class JdbcLookupOptions implements Serializable {
         private int maxRetryTimes = JdbcExecutionOptions.DEFAULT_MAX_RETRY_TIMES;
         private String dataFilter = "";
         private boolean scanPartitionByDatetime = false;
+        private boolean async = false;
+        private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+        private int asyncBatchSize = DEFAULT_ASYNC_BATCH_SIZE;
+        private long asyncBatchWindowMs = DEFAULT_ASYNC_BATCH_WINDOW_MS;
+        private boolean cacheAll = false;
+        private long cacheReloadIntervalMs = DEFAULT_CACHE_RELOAD_INTERVAL_MS;
 
         /**
          * optional, lookup cache max size, over this value, the old data will be eliminated.
@@ -139,9 +202,58 @@ public class JdbcLookupOptions implements Serializable {
             return this;
         }
 
+        /**
+         * optional, whether to lookup asynchronously.
+         */
+        public Builder setAsync(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        /**
+         * optional, number of connections used by async lookup.
+         */
+        public Builder setAsyncPoolSize(int asyncPoolSize) {
+            this.asyncPoolSize = asyncPoolSize;
+            return this;
+        }
+
+        /**
+         * optional, max number of keys merged into one async lookup query.
+         */
+        public Builder setAsyncBatchSize(int asyncBatchSize) {
+            this.asyncBatchSize = asyncBatchSize;
+            return this;
+        }
+
+        /**
+         * optional, max time to wait for more keys before an async lookup query is sent.
+         */
+        public Builder setAsyncBatchWindowMs(long asyncBatchWindowMs) {
+            this.asyncBatchWindowMs = asyncBatchWindowMs;
+            return this;
+        }
+
+        /**
+         * optional, whether to load the whole table into the lookup cache.
+         */
+        public Builder setCacheAll(boolean cacheAll) {
+            this.cacheAll = cacheAll;
+            return this;
+        }
+
+        /**
+         * optional, reload interval of the whole-table lookup cache.
+         */
+        public Builder setCacheReloadIntervalMs(long cacheReloadIntervalMs) {
+            this.cacheReloadIntervalMs = cacheReloadIntervalMs;
+            return this;
+        }
+
         public JdbcLookupOptions build() {
             return new JdbcLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes, dataFilter,
-                    scanPartitionByDatetime);
+                    scanPartitionByDatetime, async, asyncPoolSize, asyncBatchSize, asyncBatchWindowMs,
+                    cacheAll, cacheReloadIntervalMs);
         }
     }
 }
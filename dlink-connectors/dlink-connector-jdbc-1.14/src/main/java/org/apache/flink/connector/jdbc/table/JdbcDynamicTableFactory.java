@@ -21,7 +21,13 @@ package org.apache.flink.connector.jdbc.table;
 
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.DATA_FILTER;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.DRIVER;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_BATCH_WINDOW;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_POOL_SIZE;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_MAX_ROWS;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_RELOAD_INTERVAL;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_TTL;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_MAX_RETRIES;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.MAX_RETRY_TIMEOUT;
@@ -53,6 +59,7 @@ import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcReadOptions;
+import org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LookupCacheMode;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.source.DynamicTableSource;
@@ -78,15 +85,13 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
 
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
-        final FactoryUtil.TableFactoryHelper helper =
-                FactoryUtil.createTableFactoryHelper(this, context);
+        final FactoryUtil.TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
         final ReadableConfig config = helper.getOptions();
 
         helper.validate();
         validateConfigOptions(config);
         JdbcConnectorOptions jdbcOptions = getJdbcOptions(config);
-        TableSchema physicalSchema =
-                TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
+        TableSchema physicalSchema = TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
 
         return new JdbcDynamicTableSink(
                 jdbcOptions,
@@ -97,14 +102,12 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
 
     @Override
     public DynamicTableSource createDynamicTableSource(Context context) {
-        final FactoryUtil.TableFactoryHelper helper =
-                FactoryUtil.createTableFactoryHelper(this, context);
+        final FactoryUtil.TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
         final ReadableConfig config = helper.getOptions();
 
         helper.validate();
         validateConfigOptions(config);
-        TableSchema physicalSchema =
-                TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
+        TableSchema physicalSchema = TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
         return new JdbcDynamicTableSource(
                 getJdbcOptions(helper.getOptions()),
                 getJdbcReadOptions(helper.getOptions()),
@@ -114,14 +117,13 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
 
     private JdbcConnectorOptions getJdbcOptions(ReadableConfig readableConfig) {
         final String url = readableConfig.get(URL);
-        final JdbcConnectorOptions.Builder builder =
-                JdbcConnectorOptions.builder()
-                        .setDBUrl(url)
-                        .setTableName(readableConfig.get(TABLE_NAME))
-                        .setDialect(JdbcDialects.get(url).get())
-                        .setParallelism(readableConfig.getOptional(SINK_PARALLELISM).orElse(null))
-                        .setConnectionCheckTimeoutSeconds(
-                                (int) readableConfig.get(MAX_RETRY_TIMEOUT).getSeconds());
+        final JdbcConnectorOptions.Builder builder = JdbcConnectorOptions.builder()
+                .setDBUrl(url)
+                .setTableName(readableConfig.get(TABLE_NAME))
+                .setDialect(JdbcDialects.get(url).get())
+                .setParallelism(readableConfig.getOptional(SINK_PARALLELISM).orElse(null))
+                .setConnectionCheckTimeoutSeconds(
+                        (int) readableConfig.get(MAX_RETRY_TIMEOUT).getSeconds());
 
         readableConfig.getOptional(DRIVER).ifPresent(builder::setDriverName);
         readableConfig.getOptional(USERNAME).ifPresent(builder::setUsername);
@@ -130,8 +132,7 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
     }
 
     private JdbcReadOptions getJdbcReadOptions(ReadableConfig readableConfig) {
-        final Optional<String> partitionColumnName =
-                readableConfig.getOptional(SCAN_PARTITION_COLUMN);
+        final Optional<String> partitionColumnName = readableConfig.getOptional(SCAN_PARTITION_COLUMN);
         final JdbcReadOptions.Builder builder = JdbcReadOptions.builder();
         if (partitionColumnName.isPresent()) {
             builder.setPartitionColumnName(partitionColumnName.get());
@@ -150,7 +151,13 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 readableConfig.get(LOOKUP_CACHE_TTL).toMillis(),
                 readableConfig.get(LOOKUP_MAX_RETRIES),
                 readableConfig.get(DATA_FILTER),
-                readableConfig.get(SCAN_PARTITION_BY_DATETIME));
+                readableConfig.get(SCAN_PARTITION_BY_DATETIME),
+                readableConfig.get(LOOKUP_ASYNC),
+                readableConfig.get(LOOKUP_ASYNC_POOL_SIZE),
+                readableConfig.get(LOOKUP_ASYNC_BATCH_SIZE),
+                readableConfig.get(LOOKUP_ASYNC_BATCH_WINDOW).toMillis(),
+                readableConfig.get(LOOKUP_CACHE) == LookupCacheMode.ALL,
+                readableConfig.get(LOOKUP_CACHE_RELOAD_INTERVAL).toMillis());
     }
 
     private JdbcExecutionOptions getJdbcExecutionOptions(ReadableConfig config) {
@@ -162,10 +169,9 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
     }
 
     private JdbcDmlOptions getJdbcDmlOptions(JdbcConnectorOptions jdbcOptions, TableSchema schema) {
-        String[] keyFields =
-                schema.getPrimaryKey()
-                        .map(pk -> pk.getColumns().toArray(new String[0]))
-                        .orElse(null);
+        String[] keyFields = schema.getPrimaryKey()
+                .map(pk -> pk.getColumns().toArray(new String[0]))
+                .orElse(null);
 
         return JdbcDmlOptions.builder()
                 .withTableName(jdbcOptions.getTableName())
@@ -200,9 +206,15 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         optionalOptions.add(SCAN_PARTITION_NUM);
         optionalOptions.add(SCAN_FETCH_SIZE);
         optionalOptions.add(SCAN_AUTO_COMMIT);
+        optionalOptions.add(LOOKUP_CACHE);
+        optionalOptions.add(LOOKUP_CACHE_RELOAD_INTERVAL);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
+        optionalOptions.add(LOOKUP_ASYNC);
+        optionalOptions.add(LOOKUP_ASYNC_POOL_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_WINDOW);
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
         optionalOptions.add(SINK_MAX_RETRIES);
@@ -253,6 +265,27 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                             LOOKUP_MAX_RETRIES.key(), config.get(LOOKUP_MAX_RETRIES)));
         }
 
+        if (config.get(LOOKUP_CACHE_RELOAD_INTERVAL).toMillis() <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            LOOKUP_CACHE_RELOAD_INTERVAL.key(), config.get(LOOKUP_CACHE_RELOAD_INTERVAL)));
+        }
+
+        if (config.get(LOOKUP_ASYNC_POOL_SIZE) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            LOOKUP_ASYNC_POOL_SIZE.key(), config.get(LOOKUP_ASYNC_POOL_SIZE)));
+        }
+
+        if (config.get(LOOKUP_ASYNC_BATCH_SIZE) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            LOOKUP_ASYNC_BATCH_SIZE.key(), config.get(LOOKUP_ASYNC_BATCH_SIZE)));
+        }
+
         if (config.get(SINK_MAX_RETRIES) < 0) {
             throw new IllegalArgumentException(
                     String.format(
@@ -279,8 +312,7 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 presentCount++;
             }
         }
-        String[] propertyNames =
-                Arrays.stream(configOptions).map(ConfigOption::key).toArray(String[]::new);
+        String[] propertyNames = Arrays.stream(configOptions).map(ConfigOption::key).toArray(String[]::new);
         Preconditions.checkArgument(
                 configOptions.length == presentCount || presentCount == 0,
                 "Either all or none of the following options should be provided:\n"
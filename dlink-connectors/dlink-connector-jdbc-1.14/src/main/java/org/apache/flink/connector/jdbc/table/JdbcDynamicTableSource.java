@@ -28,6 +28,7 @@ import org.apache.flink.connector.jdbc.split.JdbcDatetimeBetweenParametersProvid
 import org.apache.flink.connector.jdbc.split.JdbcNumericBetweenParametersProvider;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.LookupTableSource;
@@ -58,10 +59,10 @@ public class JdbcDynamicTableSource
     protected long limit = -1;
 
     public JdbcDynamicTableSource(
-                                  JdbcConnectorOptions options,
-                                  JdbcReadOptions readOptions,
-                                  JdbcLookupOptions lookupOptions,
-                                  TableSchema physicalSchema) {
+            JdbcConnectorOptions options,
+            JdbcReadOptions readOptions,
+            JdbcLookupOptions lookupOptions,
+            TableSchema physicalSchema) {
         this.options = options;
         this.readOptions = readOptions;
         this.lookupOptions = lookupOptions;
@@ -81,6 +82,17 @@ public class JdbcDynamicTableSource
         }
         final RowType rowType = (RowType) physicalSchema.toRowDataType().getLogicalType();
 
+        // 全量缓存时查询都在内存中完成，无需异步
+        if (lookupOptions.isAsync() && !lookupOptions.isCacheAll()) {
+            return AsyncTableFunctionProvider.of(
+                    new JdbcRowDataAsyncLookupFunction(
+                            options,
+                            lookupOptions,
+                            physicalSchema.getFieldNames(),
+                            physicalSchema.getFieldDataTypes(),
+                            keyNames,
+                            rowType));
+        }
         return TableFunctionProvider.of(
                 new JdbcRowDataLookupFunction(
                         options,
@@ -93,34 +105,32 @@ public class JdbcDynamicTableSource
 
     @Override
     public ScanRuntimeProvider getScanRuntimeProvider(ScanContext runtimeProviderContext) {
-        final JdbcRowDataInputFormat.Builder builder =
-                JdbcRowDataInputFormat.builder()
-                        .setDrivername(options.getDriverName())
-                        .setDBUrl(options.getDbURL())
-                        .setUsername(options.getUsername().orElse(null))
-                        .setPassword(options.getPassword().orElse(null))
-                        .setAutoCommit(readOptions.getAutoCommit());
+        final JdbcRowDataInputFormat.Builder builder = JdbcRowDataInputFormat.builder()
+                .setDrivername(options.getDriverName())
+                .setDBUrl(options.getDbURL())
+                .setUsername(options.getUsername().orElse(null))
+                .setPassword(options.getPassword().orElse(null))
+                .setAutoCommit(readOptions.getAutoCommit());
 
         if (readOptions.getFetchSize() != 0) {
             builder.setFetchSize(readOptions.getFetchSize());
         }
         final JdbcDialect dialect = options.getDialect();
-        String query =
-                dialect.getSelectFromStatement(
-                        options.getTableName(), physicalSchema.getFieldNames(), lookupOptions.getPreFilterCondition());
+        String query = dialect.getSelectFromStatement(
+                options.getTableName(), physicalSchema.getFieldNames(), lookupOptions.getPreFilterCondition());
         if (readOptions.getPartitionColumnName().isPresent()) {
             long lowerBound = readOptions.getPartitionLowerBound().get();
             long upperBound = readOptions.getPartitionUpperBound().get();
             int numPartitions = readOptions.getNumPartitions().get();
             if (!lookupOptions.isScanPartitionByDatetime()) {
                 builder.setParametersProvider(
-                    new JdbcNumericBetweenParametersProvider(lowerBound, upperBound)
-                        .ofBatchNum(numPartitions));
+                        new JdbcNumericBetweenParametersProvider(lowerBound, upperBound)
+                                .ofBatchNum(numPartitions));
             } else {
-                //这里将时间戳转化为日期类型
+                // 这里将时间戳转化为日期类型
                 builder.setParametersProvider(
-                    new JdbcDatetimeBetweenParametersProvider(lowerBound, upperBound)
-                        .ofBatchNum(numPartitions));
+                        new JdbcDatetimeBetweenParametersProvider(lowerBound, upperBound)
+                                .ofBatchNum(numPartitions));
             }
             if (lookupOptions.getPreFilterCondition().length > 0) {
                 query += " AND ";
@@ -0,0 +1,293 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The whole-table cache used by {@code lookup.cache=ALL}.
+ *
+ * <p>The dimension table is loaded into a hash index of {@link
+ * org.apache.flink.table.data.binary.BinaryRowData}, which keeps every row in a single byte
+ * array. The index is reloaded in the background and swapped atomically, lookups keep reading the
+ * previous index until the reload finishes. Subtasks of the same table in one TaskManager share a
+ * single index.
+ *
+ * <p>Keys are compared by value, rows with a NULL key field are not indexed. The database may match
+ * character keys that differ in value (case-insensitive collations, CHAR padding), see {@link
+ * #isExactMatch()}.
+ */
+@Internal
+public class JdbcLookupFullCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcLookupFullCache.class);
+    private static final int FETCH_SIZE = 1000;
+    private static final Map<String, Holder> CACHES = new HashMap<>();
+
+    private final String cacheKey;
+    private final JdbcConnectorOptions options;
+    private final String query;
+    private final RowType rowType;
+    private final LogicalType[] keyTypes;
+    private final RowData.FieldGetter[] keyGetters;
+    private final boolean exactMatch;
+    private final JdbcRowConverter rowConverter;
+    private final ScheduledExecutorService reloadExecutor;
+
+    private volatile Map<RowData, List<RowData>> index = Collections.emptyMap();
+    private volatile long rowCount;
+    private volatile long lastLoadTime;
+    private volatile long lastLoadDurationMs;
+
+    private JdbcLookupFullCache(
+            String cacheKey,
+            JdbcConnectorOptions options,
+            String query,
+            RowType rowType,
+            int[] keyIndexes,
+            JdbcRowConverter rowConverter) {
+        this.cacheKey = cacheKey;
+        this.options = options;
+        this.query = query;
+        this.rowType = rowType;
+        this.keyTypes = new LogicalType[keyIndexes.length];
+        this.keyGetters = new RowData.FieldGetter[keyIndexes.length];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            keyTypes[i] = rowType.getTypeAt(keyIndexes[i]);
+            keyGetters[i] = RowData.createFieldGetter(keyTypes[i], keyIndexes[i]);
+        }
+        this.exactMatch = Arrays.stream(keyTypes)
+                .noneMatch(type -> type.getTypeRoot().getFamilies().contains(LogicalTypeFamily.CHARACTER_STRING));
+        this.rowConverter = rowConverter;
+        this.reloadExecutor = Executors
+                .newSingleThreadScheduledExecutor(new ExecutorThreadFactory("jdbc-lookup-cache-reload"));
+    }
+
+    /**
+     * 获取共享的全量缓存，首次获取时同步加载全表并启动定时刷新。
+     * 加载在全局锁之外进行，同一缓存的其他获取方等待加载结果，不同缓存之间互不阻塞。
+     */
+    public static JdbcLookupFullCache acquire(
+            JdbcConnectorOptions options,
+            String query,
+            RowType rowType,
+            int[] keyIndexes,
+            JdbcRowConverter rowConverter,
+            long reloadIntervalMs) throws SQLException, ClassNotFoundException {
+        String cacheKey = String.join("\n",
+                options.getDbURL(),
+                options.getUsername().orElse(""),
+                query,
+                rowType.asSerializableString(),
+                Arrays.toString(keyIndexes),
+                String.valueOf(reloadIntervalMs));
+        Holder holder;
+        boolean loading = false;
+        synchronized (CACHES) {
+            holder = CACHES.get(cacheKey);
+            if (holder == null) {
+                holder = new Holder();
+                CACHES.put(cacheKey, holder);
+                loading = true;
+            }
+            holder.refCount++;
+        }
+        if (loading) {
+            JdbcLookupFullCache cache = new JdbcLookupFullCache(cacheKey, options, query, rowType, keyIndexes,
+                    rowConverter);
+            try {
+                cache.load();
+            } catch (SQLException | ClassNotFoundException | RuntimeException e) {
+                cache.reloadExecutor.shutdownNow();
+                synchronized (CACHES) {
+                    CACHES.remove(cacheKey, holder);
+                }
+                holder.future.completeExceptionally(e);
+                throw e;
+            }
+            cache.reloadExecutor.scheduleWithFixedDelay(
+                    cache::reload, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+            holder.future.complete(cache);
+            return cache;
+        }
+        try {
+            return holder.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(cacheKey, holder);
+            throw new IllegalStateException("Interrupted while loading lookup cache.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof ClassNotFoundException) {
+                throw (ClassNotFoundException) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    public void release() {
+        Holder holder;
+        synchronized (CACHES) {
+            holder = CACHES.get(cacheKey);
+        }
+        if (holder != null) {
+            release(cacheKey, holder);
+        }
+    }
+
+    private static void release(String cacheKey, Holder holder) {
+        synchronized (CACHES) {
+            if (--holder.refCount > 0 || !CACHES.remove(cacheKey, holder)) {
+                return;
+            }
+        }
+        holder.future.thenAccept(JdbcLookupFullCache::close);
+    }
+
+    private void close() {
+        reloadExecutor.shutdownNow();
+        index = Collections.emptyMap();
+    }
+
+    /**
+     * @param key the lookup key serialized by {@link #createKeySerializer()}
+     */
+    public List<RowData> lookup(RowData key) {
+        return index.getOrDefault(key, Collections.emptyList());
+    }
+
+    /**
+     * @return 查找 key 中没有字符串字段时为 true，此时按值比较与数据库的匹配结果一致
+     */
+    public boolean isExactMatch() {
+        return exactMatch;
+    }
+
+    public RowDataSerializer createKeySerializer() {
+        return new RowDataSerializer(keyTypes);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getKeyCount() {
+        return index.size();
+    }
+
+    public long getLastLoadDurationMs() {
+        return lastLoadDurationMs;
+    }
+
+    public long getRefreshLagMs() {
+        return lastLoadTime == 0 ? 0 : System.currentTimeMillis() - lastLoadTime;
+    }
+
+    private void reload() {
+        try {
+            load();
+        } catch (Exception e) {
+            LOG.error("Reload lookup cache failed, keep the previous one. query: " + query, e);
+        }
+    }
+
+    private void load() throws SQLException, ClassNotFoundException {
+        long start = System.currentTimeMillis();
+        RowDataSerializer rowSerializer = new RowDataSerializer(rowType);
+        RowDataSerializer keySerializer = createKeySerializer();
+        Map<RowData, List<RowData>> newIndex = new HashMap<>();
+        long rows = 0;
+        JdbcConnectionProvider connectionProvider = new SimpleJdbcConnectionProvider(options);
+        try (PreparedStatement statement = connectionProvider.getOrEstablishConnection().prepareStatement(query)) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    RowData row = rowConverter.toInternal(resultSet);
+                    GenericRowData key = new GenericRowData(keyGetters.length);
+                    for (int i = 0; i < keyGetters.length; i++) {
+                        key.setField(i, keyGetters[i].getFieldOrNull(row));
+                    }
+                    rows++;
+                    // key = NULL 在数据库中不会匹配任何行
+                    if (hasNullField(key)) {
+                        continue;
+                    }
+                    newIndex.computeIfAbsent(keySerializer.toBinaryRow(key).copy(), k -> new ArrayList<>(1))
+                            .add(rowSerializer.toBinaryRow(row).copy());
+                }
+            }
+        } finally {
+            connectionProvider.closeConnection();
+        }
+        index = newIndex;
+        rowCount = rows;
+        lastLoadTime = System.currentTimeMillis();
+        lastLoadDurationMs = lastLoadTime - start;
+        LOG.info("Loaded {} rows ({} keys) into lookup cache in {} ms. query: {}",
+                rows, newIndex.size(), lastLoadDurationMs, query);
+    }
+
+    private static boolean hasNullField(RowData key) {
+        for (int i = 0; i < key.getArity(); i++) {
+            if (key.isNullAt(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Holder {
+
+        private final CompletableFuture<JdbcLookupFullCache> future = new CompletableFuture<>();
+        private int refCount;
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialects;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An async lookup function for {@link JdbcDynamicTableSource}.
+ *
+ * <p>Cache misses are queued and served by a bounded pool of workers, each owning one JDBC
+ * connection. A worker collects the keys arriving within {@code lookup.async.batch-window} (at
+ * most {@code lookup.async.batch-size}) and resolves them with a single {@code UNION ALL} query.
+ * Every branch is tagged with the slot of its key, so result rows are assigned by slot and keys
+ * are compared by the database itself (collation, CHAR padding) rather than by value equality.
+ */
+@Internal
+public class JdbcRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcRowDataAsyncLookupFunction.class);
+    private static final long serialVersionUID = 1L;
+
+    private final JdbcConnectorOptions options;
+    private final String[] fieldNames;
+    private final DataType[] keyTypes;
+    private final String[] keyNames;
+    private final String[] preFilterCondition;
+    private final long cacheMaxSize;
+    private final long cacheExpireMs;
+    private final int maxRetryTimes;
+    private final int poolSize;
+    private final int batchSize;
+    private final long batchWindowMs;
+    private final JdbcDialect jdbcDialect;
+    private final JdbcRowConverter jdbcRowConverter;
+
+    private transient Cache<RowData, List<RowData>> cache;
+    private transient BlockingQueue<LookupRequest> requestQueue;
+    private transient ExecutorService workers;
+    private transient Map<Integer, JdbcRowConverter> keyRowConverters;
+    private transient volatile boolean running;
+
+    private transient Counter cacheHits;
+    private transient Counter cacheMisses;
+    private transient Histogram lookupLatency;
+    private transient Histogram lookupBatchSize;
+
+    public JdbcRowDataAsyncLookupFunction(
+            JdbcConnectorOptions options,
+            JdbcLookupOptions lookupOptions,
+            String[] fieldNames,
+            DataType[] fieldTypes,
+            String[] keyNames,
+            RowType rowType) {
+        checkNotNull(options, "No JdbcOptions supplied.");
+        checkNotNull(fieldNames, "No fieldNames supplied.");
+        checkNotNull(fieldTypes, "No fieldTypes supplied.");
+        checkNotNull(keyNames, "No keyNames supplied.");
+        this.options = options;
+        this.fieldNames = fieldNames;
+        this.keyNames = keyNames;
+        List<String> nameList = Arrays.asList(fieldNames);
+        this.keyTypes = new DataType[keyNames.length];
+        for (int i = 0; i < keyNames.length; i++) {
+            int index = nameList.indexOf(keyNames[i]);
+            checkArgument(index >= 0, "keyName %s can't find in fieldNames %s.", keyNames[i], nameList);
+            keyTypes[i] = fieldTypes[index];
+        }
+        this.preFilterCondition = lookupOptions.getPreFilterCondition();
+        this.cacheMaxSize = lookupOptions.getCacheMaxSize();
+        this.cacheExpireMs = lookupOptions.getCacheExpireMs();
+        this.maxRetryTimes = lookupOptions.getMaxRetryTimes();
+        this.poolSize = lookupOptions.getAsyncPoolSize();
+        this.batchSize = lookupOptions.getAsyncBatchSize();
+        this.batchWindowMs = lookupOptions.getAsyncBatchWindowMs();
+        String dbURL = options.getDbURL();
+        this.jdbcDialect = JdbcDialects.get(dbURL)
+                .orElseThrow(
+                        () -> new UnsupportedOperationException(
+                                String.format("Unknown dbUrl:%s", dbURL)));
+        this.jdbcRowConverter = jdbcDialect.getRowConverter(rowType);
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        this.cache = cacheMaxSize == -1 || cacheExpireMs == -1
+                ? null
+                : CacheBuilder.newBuilder()
+                        .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
+                        .maximumSize(cacheMaxSize)
+                        .build();
+        // 批量查询的参数个数按 2 的幂对齐，每个连接最多预编译 log2(batchSize) 条语句
+        this.keyRowConverters = new HashMap<>();
+        for (int size = 1; size < batchSize; size <<= 1) {
+            keyRowConverters.put(size, createKeyRowConverter(size));
+        }
+        keyRowConverters.put(batchSize, createKeyRowConverter(batchSize));
+
+        MetricGroup metricGroup = context.getMetricGroup();
+        cacheHits = metricGroup.counter("lookupCacheHits");
+        cacheMisses = metricGroup.counter("lookupCacheMisses");
+        metricGroup.gauge("lookupCacheHitRate", (Gauge<Double>) () -> {
+            long hits = cacheHits.getCount();
+            long total = hits + cacheMisses.getCount();
+            return total == 0 ? 0D : (double) hits / total;
+        });
+        // 多个查询线程同时更新，DescriptiveStatisticsHistogram 本身不是线程安全的
+        lookupLatency = metricGroup.histogram("lookupLatencyMs",
+                new SynchronizedHistogram(new DescriptiveStatisticsHistogram(1000)));
+        lookupBatchSize = metricGroup.histogram("lookupBatchSize",
+                new SynchronizedHistogram(new DescriptiveStatisticsHistogram(1000)));
+
+        this.requestQueue = new ArrayBlockingQueue<>(poolSize * batchSize * 4);
+        metricGroup.gauge("lookupQueueSize", (Gauge<Integer>) requestQueue::size);
+        this.running = true;
+        this.workers = Executors.newFixedThreadPool(poolSize, new ExecutorThreadFactory("jdbc-async-lookup"));
+        for (int i = 0; i < poolSize; i++) {
+            workers.execute(new LookupWorker());
+        }
+    }
+
+    /**
+     * This is a lookup method which is called by Flink framework in runtime.
+     *
+     * @param future the result future of this lookup
+     * @param keys lookup keys
+     */
+    public void eval(CompletableFuture<Collection<RowData>> future, Object... keys) {
+        RowData keyRow = GenericRowData.of(keys);
+        if (cache != null) {
+            List<RowData> cachedRows = cache.getIfPresent(keyRow);
+            if (cachedRows != null) {
+                cacheHits.inc();
+                future.complete(cachedRows);
+                return;
+            }
+        }
+        cacheMisses.inc();
+        try {
+            requestQueue.put(new LookupRequest(keyRow, future));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("JDBC async lookup workers did not terminate in time.");
+            }
+            workers = null;
+        }
+        if (requestQueue != null) {
+            LookupRequest request;
+            while ((request = requestQueue.poll()) != null) {
+                request.future.completeExceptionally(new IllegalStateException("Lookup function is closed."));
+            }
+        }
+        if (cache != null) {
+            cache.cleanUp();
+            cache = null;
+        }
+    }
+
+    private JdbcRowConverter createKeyRowConverter(int size) {
+        LogicalType[] types = new LogicalType[size * keyTypes.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = keyTypes[i % keyTypes.length].getLogicalType();
+        }
+        return jdbcDialect.getRowConverter(RowType.of(types));
+    }
+
+    int alignBatchSize(int size) {
+        int aligned = 1;
+        while (aligned < size) {
+            aligned <<= 1;
+        }
+        return Math.min(aligned, batchSize);
+    }
+
+    private static String parameterName(int slot, int keyIndex) {
+        return "k" + slot + "_" + keyIndex;
+    }
+
+    private String[] getParameterNames(int size) {
+        String[] names = new String[size * keyNames.length];
+        for (int slot = 0; slot < size; slot++) {
+            for (int i = 0; i < keyNames.length; i++) {
+                names[slot * keyNames.length + i] = parameterName(slot, i);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 每个 key 一个 {@code SELECT ... WHERE k1 = ? AND k2 = ?} 分支，以 {@code UNION ALL} 连接，
+     * 末尾追加分支序号列用于把结果行归属到对应的 key。
+     */
+    String getBatchSelectStatement(int size) {
+        String selectExpressions = Arrays.stream(fieldNames).map(jdbcDialect::quoteIdentifier)
+                .collect(Collectors.joining(", "));
+        String tableName = jdbcDialect.quoteIdentifier(options.getTableName());
+        StringBuilder sql = new StringBuilder();
+        for (int slot = 0; slot < size; slot++) {
+            if (slot > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT ").append(selectExpressions).append(", ").append(slot)
+                    .append(" FROM ").append(tableName).append(" WHERE ");
+            for (int i = 0; i < keyNames.length; i++) {
+                if (i > 0) {
+                    sql.append(" AND ");
+                }
+                sql.append(jdbcDialect.quoteIdentifier(keyNames[i])).append(" = :").append(parameterName(slot, i));
+            }
+            for (String filter : preFilterCondition) {
+                sql.append(" AND ").append(filter);
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 按 key 合并同一批次的请求，返回的 key 顺序即查询分支的序号。
+     */
+    static Map<RowData, List<CompletableFuture<Collection<RowData>>>> groupByKey(List<LookupRequest> batch) {
+        Map<RowData, List<CompletableFuture<Collection<RowData>>>> pending = new LinkedHashMap<>();
+        for (LookupRequest request : batch) {
+            pending.computeIfAbsent(request.keyRow, k -> new ArrayList<>()).add(request.future);
+        }
+        return pending;
+    }
+
+    /**
+     * 第 slot 个 key 绑定到第 slot 个分支，不足对齐长度的分支参数保持为 NULL，key = NULL 不会匹配任何行。
+     */
+    GenericRowData bindParameters(List<RowData> keys, int size) {
+        GenericRowData parameters = new GenericRowData(size * keyNames.length);
+        for (int slot = 0; slot < keys.size(); slot++) {
+            GenericRowData keyRow = (GenericRowData) keys.get(slot);
+            for (int i = 0; i < keyNames.length; i++) {
+                parameters.setField(slot * keyNames.length + i, keyRow.getField(i));
+            }
+        }
+        return parameters;
+    }
+
+    static final class LookupRequest {
+
+        private final RowData keyRow;
+        private final CompletableFuture<Collection<RowData>> future;
+
+        LookupRequest(RowData keyRow, CompletableFuture<Collection<RowData>> future) {
+            this.keyRow = keyRow;
+            this.future = future;
+        }
+    }
+
+    /**
+     * 查询线程，独占一个连接并按批次合并窗口内到达的 key。
+     */
+    private final class LookupWorker implements Runnable {
+
+        private final JdbcConnectionProvider connectionProvider = new SimpleJdbcConnectionProvider(options);
+        private final Map<Integer, FieldNamedPreparedStatement> statements = new HashMap<>();
+        private final List<LookupRequest> batch = new ArrayList<>(batchSize);
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    LookupRequest first = requestQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+                    while (batch.size() < batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        LookupRequest next = remaining > 0
+                                ? requestQueue.poll(remaining, TimeUnit.NANOSECONDS)
+                                : requestQueue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    lookup();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (LookupRequest request : batch) {
+                    request.future.completeExceptionally(new IllegalStateException("Lookup function is closed."));
+                }
+                closeStatements();
+                connectionProvider.closeConnection();
+            }
+        }
+
+        private void lookup() throws InterruptedException {
+            Map<RowData, List<CompletableFuture<Collection<RowData>>>> pending = groupByKey(batch);
+            List<RowData> keys = new ArrayList<>(pending.keySet());
+            long start = System.nanoTime();
+            List<List<RowData>> results;
+            try {
+                results = queryWithRetry(keys);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                pending.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+                return;
+            }
+            lookupLatency.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            lookupBatchSize.update(keys.size());
+            for (int slot = 0; slot < keys.size(); slot++) {
+                RowData keyRow = keys.get(slot);
+                List<RowData> rows = results.get(slot).isEmpty() ? Collections.emptyList() : results.get(slot);
+                if (cache != null) {
+                    cache.put(keyRow, rows);
+                }
+                pending.get(keyRow).forEach(f -> f.complete(rows));
+            }
+        }
+
+        private List<List<RowData>> queryWithRetry(List<RowData> keys) throws Exception {
+            for (int retry = 0; retry <= maxRetryTimes; retry++) {
+                try {
+                    return query(keys);
+                } catch (SQLException e) {
+                    LOG.error(String.format("JDBC async lookup error, retry times = %d", retry), e);
+                    if (retry >= maxRetryTimes) {
+                        throw new RuntimeException("Execution of JDBC statement failed.", e);
+                    }
+                    if (!connectionProvider.isConnectionValid()) {
+                        closeStatements();
+                        connectionProvider.closeConnection();
+                    }
+                    Thread.sleep(1000L * retry);
+                }
+            }
+            return Collections.nCopies(keys.size(), Collections.emptyList());
+        }
+
+        /**
+         * @return 按 key 在 keys 中的位置排列的查询结果
+         */
+        private List<List<RowData>> query(List<RowData> keys) throws SQLException, ClassNotFoundException {
+            int size = alignBatchSize(keys.size());
+            FieldNamedPreparedStatement statement = statements.get(size);
+            if (statement == null) {
+                Connection dbConn = connectionProvider.getOrEstablishConnection();
+                statement = FieldNamedPreparedStatement.prepareStatement(
+                        dbConn, getBatchSelectStatement(size), getParameterNames(size));
+                statements.put(size, statement);
+            }
+            statement.clearParameters();
+            keyRowConverters.get(size).toExternal(bindParameters(keys, size), statement);
+            List<List<RowData>> results = new ArrayList<>(keys.size());
+            for (int slot = 0; slot < keys.size(); slot++) {
+                results.add(new ArrayList<>());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    RowData row = jdbcRowConverter.toInternal(resultSet);
+                    int slot = resultSet.getInt(fieldNames.length + 1);
+                    if (slot < keys.size()) {
+                        results.get(slot).add(row);
+                    }
+                }
+            }
+            return results;
+        }
+
+        private void closeStatements() {
+            for (FieldNamedPreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    LOG.info("JDBC statement could not be closed: " + e.getMessage());
+                }
+            }
+            statements.clear();
+        }
+    }
+}
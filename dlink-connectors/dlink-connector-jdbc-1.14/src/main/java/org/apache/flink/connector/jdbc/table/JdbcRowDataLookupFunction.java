@@ -32,12 +32,15 @@ import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConverter;
 import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
 import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
 import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
@@ -60,6 +63,7 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
 
     private static final Logger LOG = LoggerFactory.getLogger(JdbcRowDataLookupFunction.class);
     private static final long serialVersionUID = 2L;
+    private static final long FULL_CACHE_MISS_MAX_ROWS = 10000;
 
     private final String query;
     private final JdbcConnectionProvider connectionProvider;
@@ -71,72 +75,96 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
     private final JdbcDialect jdbcDialect;
     private final JdbcRowConverter jdbcRowConverter;
     private final JdbcRowConverter lookupKeyRowConverter;
+    private final JdbcConnectorOptions options;
+    private final RowType rowType;
+    private final int[] keyIndexes;
+    private final String fullQuery;
+    private final boolean cacheAll;
+    private final long cacheReloadIntervalMs;
 
     private transient FieldNamedPreparedStatement statement;
     private transient Cache<RowData, List<RowData>> cache;
+    private transient JdbcLookupFullCache fullCache;
+    private transient RowDataSerializer fullCacheKeySerializer;
 
     public JdbcRowDataLookupFunction(
-                                     JdbcConnectorOptions options,
-                                     JdbcLookupOptions lookupOptions,
-                                     String[] fieldNames,
-                                     DataType[] fieldTypes,
-                                     String[] keyNames,
-                                     RowType rowType) {
+            JdbcConnectorOptions options,
+            JdbcLookupOptions lookupOptions,
+            String[] fieldNames,
+            DataType[] fieldTypes,
+            String[] keyNames,
+            RowType rowType) {
         checkNotNull(options, "No JdbcOptions supplied.");
         checkNotNull(fieldNames, "No fieldNames supplied.");
         checkNotNull(fieldTypes, "No fieldTypes supplied.");
         checkNotNull(keyNames, "No keyNames supplied.");
         this.connectionProvider = new SimpleJdbcConnectionProvider(options);
+        this.options = options;
+        this.rowType = rowType;
         this.keyNames = keyNames;
         List<String> nameList = Arrays.asList(fieldNames);
-        this.keyTypes =
-                Arrays.stream(keyNames)
-                        .map(
-                                s -> {
-                                    checkArgument(
-                                            nameList.contains(s),
-                                            "keyName %s can't find in fieldNames %s.",
-                                            s,
-                                            nameList);
-                                    return fieldTypes[nameList.indexOf(s)];
-                                })
-                        .toArray(DataType[]::new);
+        this.keyIndexes = Arrays.stream(keyNames).mapToInt(nameList::indexOf).toArray();
+        this.keyTypes = Arrays.stream(keyNames)
+                .map(
+                        s -> {
+                            checkArgument(
+                                    nameList.contains(s),
+                                    "keyName %s can't find in fieldNames %s.",
+                                    s,
+                                    nameList);
+                            return fieldTypes[nameList.indexOf(s)];
+                        })
+                .toArray(DataType[]::new);
         this.cacheMaxSize = lookupOptions.getCacheMaxSize();
         this.cacheExpireMs = lookupOptions.getCacheExpireMs();
         this.maxRetryTimes = lookupOptions.getMaxRetryTimes();
+        this.cacheAll = lookupOptions.isCacheAll();
+        this.cacheReloadIntervalMs = lookupOptions.getCacheReloadIntervalMs();
         String[] preFilterCondition = lookupOptions.getPreFilterCondition();
+        this.fullQuery = options.getDialect()
+                .getSelectFromStatement(options.getTableName(), fieldNames, preFilterCondition);
         String[] finalKeyNames = new String[keyNames.length + preFilterCondition.length];
         System.arraycopy(keyNames, 0, finalKeyNames, 0, keyNames.length);
         System.arraycopy(preFilterCondition, 0, finalKeyNames, keyNames.length, preFilterCondition.length);
-        this.query =
-                options.getDialect()
-                        .getSelectFromStatement(options.getTableName(), fieldNames, finalKeyNames);
+        this.query = options.getDialect()
+                .getSelectFromStatement(options.getTableName(), fieldNames, finalKeyNames);
         String dbURL = options.getDbURL();
-        this.jdbcDialect =
-                JdbcDialects.get(dbURL)
-                        .orElseThrow(
-                                () -> new UnsupportedOperationException(
-                                        String.format("Unknown dbUrl:%s", dbURL)));
+        this.jdbcDialect = JdbcDialects.get(dbURL)
+                .orElseThrow(
+                        () -> new UnsupportedOperationException(
+                                String.format("Unknown dbUrl:%s", dbURL)));
         this.jdbcRowConverter = jdbcDialect.getRowConverter(rowType);
-        this.lookupKeyRowConverter =
-                jdbcDialect.getRowConverter(
-                        RowType.of(
-                                Arrays.stream(keyTypes)
-                                        .map(DataType::getLogicalType)
-                                        .toArray(LogicalType[]::new)));
+        this.lookupKeyRowConverter = jdbcDialect.getRowConverter(
+                RowType.of(
+                        Arrays.stream(keyTypes)
+                                .map(DataType::getLogicalType)
+                                .toArray(LogicalType[]::new)));
     }
 
     @Override
     public void open(FunctionContext context) throws Exception {
+        if (cacheAll) {
+            openFullCache(context.getMetricGroup());
+            if (fullCache.isExactMatch()) {
+                return;
+            }
+        }
         try {
             establishConnectionAndStatement();
-            this.cache =
-                    cacheMaxSize == -1 || cacheExpireMs == -1
-                            ? null
-                            : CacheBuilder.newBuilder()
-                                    .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
-                                    .maximumSize(cacheMaxSize)
-                                    .build();
+            if (cacheAll) {
+                // 全量缓存未命中的结果缓存到下次全量刷新
+                this.cache = CacheBuilder.newBuilder()
+                        .expireAfterWrite(cacheReloadIntervalMs, TimeUnit.MILLISECONDS)
+                        .maximumSize(cacheMaxSize > 0 ? cacheMaxSize : FULL_CACHE_MISS_MAX_ROWS)
+                        .build();
+            } else {
+                this.cache = cacheMaxSize == -1 || cacheExpireMs == -1
+                        ? null
+                        : CacheBuilder.newBuilder()
+                                .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
+                                .maximumSize(cacheMaxSize)
+                                .build();
+            }
         } catch (SQLException sqe) {
             throw new IllegalArgumentException("open() failed.", sqe);
         } catch (ClassNotFoundException cnfe) {
@@ -144,6 +172,16 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         }
     }
 
+    private void openFullCache(MetricGroup metricGroup) throws SQLException, ClassNotFoundException {
+        fullCache = JdbcLookupFullCache.acquire(
+                options, fullQuery, rowType, keyIndexes, jdbcRowConverter, cacheReloadIntervalMs);
+        fullCacheKeySerializer = fullCache.createKeySerializer();
+        metricGroup.gauge("lookupCacheLoadTimeMs", (Gauge<Long>) fullCache::getLastLoadDurationMs);
+        metricGroup.gauge("lookupCacheRows", (Gauge<Long>) fullCache::getRowCount);
+        metricGroup.gauge("lookupCacheKeys", (Gauge<Integer>) fullCache::getKeyCount);
+        metricGroup.gauge("lookupCacheRefreshLagMs", (Gauge<Long>) fullCache::getRefreshLagMs);
+    }
+
     /**
      * This is a lookup method which is called by Flink framework in runtime.
      *
@@ -151,6 +189,16 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
      */
     public void eval(Object... keys) {
         RowData keyRow = GenericRowData.of(keys);
+        if (fullCache != null) {
+            List<RowData> rows = fullCache.lookup(fullCacheKeySerializer.toBinaryRow(keyRow));
+            // 字符串 key 可能按数据库的排序规则（忽略大小写、CHAR 补齐）匹配到值不同的行，未命中时回源查询
+            if (!rows.isEmpty() || fullCache.isExactMatch() || Arrays.asList(keys).contains(null)) {
+                for (RowData row : rows) {
+                    collect(row);
+                }
+                return;
+            }
+        }
         if (cache != null) {
             List<RowData> cachedRows = cache.getIfPresent(keyRow);
             if (cachedRows != null) {
@@ -217,6 +265,10 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
 
     @Override
     public void close() throws IOException {
+        if (fullCache != null) {
+            fullCache.release();
+            fullCache = null;
+        }
         if (cache != null) {
             cache.cleanUp();
             cache = null;
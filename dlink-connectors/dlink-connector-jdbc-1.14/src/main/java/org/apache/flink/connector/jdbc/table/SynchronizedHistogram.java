@@ -17,41 +17,34 @@
  *
  */
 
-package com.dlink.daemon.entity;
+package org.apache.flink.connector.jdbc.table;
 
-import java.util.LinkedList;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.HistogramStatistics;
 
-public class TaskQueue<T> {
+/**
+ * 工作线程与指标上报线程共享的直方图，读写都加锁。
+ */
+final class SynchronizedHistogram implements Histogram {
 
-    private final LinkedList<T> tasks = new LinkedList<>();
+    private final Histogram histogram;
 
-    private final Object lock = new Object();
+    SynchronizedHistogram(Histogram histogram) {
+        this.histogram = histogram;
+    }
 
-    public void enqueue(T task) {
-        synchronized (lock) {
-            lock.notifyAll();
-            tasks.addLast(task);
-        }
+    @Override
+    public synchronized void update(long value) {
+        histogram.update(value);
     }
 
-    public T dequeue() {
-        synchronized (lock) {
-            while (tasks.isEmpty()) {
-                try {
-                    lock.wait();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            }
-
-            T task = tasks.removeFirst();
-            return task;
-        }
+    @Override
+    public synchronized long getCount() {
+        return histogram.getCount();
     }
 
-    public int getTaskSize() {
-        synchronized (lock) {
-            return tasks.size();
-        }
+    @Override
+    public synchronized HistogramStatistics getStatistics() {
+        return histogram.getStatistics();
     }
 }
@@ -0,0 +1,161 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.connector.jdbc.dialect.JdbcDialects;
+import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JdbcLookupFullCacheTest
+ */
+public class JdbcLookupFullCacheTest {
+
+    private static final String DB_URL = "jdbc:derby:memory:lookup_full_cache";
+    private static final String TABLE_NAME = "full_cache_table";
+    private static final String QUERY = "SELECT id, name FROM " + TABLE_NAME;
+    private static final RowType ROW_TYPE = RowType.of(new IntType(), new VarCharType(20));
+    private static final long RELOAD_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    @BeforeClass
+    public static void createTable() throws SQLException {
+        execute(DB_URL + ";create=true", "CREATE TABLE " + TABLE_NAME + " (id INT, name VARCHAR(20))",
+                "INSERT INTO " + TABLE_NAME + " VALUES (1, 'a'), (2, 'b'), (NULL, 'c')");
+    }
+
+    @AfterClass
+    public static void dropTable() throws SQLException {
+        execute(DB_URL, "DROP TABLE " + TABLE_NAME);
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        JdbcLookupFullCache cache = acquire(QUERY, 0);
+        try {
+            Assert.assertTrue(cache.isExactMatch());
+            Assert.assertEquals(3, cache.getRowCount());
+            // key 为 NULL 的行不进入索引
+            Assert.assertEquals(2, cache.getKeyCount());
+            RowData row = cache.lookup(cache.createKeySerializer().toBinaryRow(GenericRowData.of(1))).get(0);
+            Assert.assertEquals(StringData.fromString("a"), row.getString(1));
+            Assert.assertTrue(cache.lookup(cache.createKeySerializer().toBinaryRow(GenericRowData.of(3)))
+                    .isEmpty());
+        } finally {
+            cache.release();
+        }
+    }
+
+    @Test
+    public void testStringKeyIsNotExactMatch() throws Exception {
+        JdbcLookupFullCache cache = acquire(QUERY, 1);
+        try {
+            Assert.assertFalse(cache.isExactMatch());
+        } finally {
+            cache.release();
+        }
+    }
+
+    @Test
+    public void testAcquireAndReleaseShareOneCache() throws Exception {
+        String query = QUERY + " WHERE id > 0";
+        JdbcLookupFullCache first = acquire(query, 0);
+        JdbcLookupFullCache second = acquire(query, 0);
+        Assert.assertSame(first, second);
+
+        // 还有一个持有者，缓存不会被关闭
+        first.release();
+        JdbcLookupFullCache third = acquire(query, 0);
+        Assert.assertSame(second, third);
+        Assert.assertEquals(2, third.getKeyCount());
+
+        second.release();
+        third.release();
+        // 全部释放后缓存已关闭并移除，再次获取会重新加载
+        Assert.assertEquals(0, first.getKeyCount());
+        JdbcLookupFullCache reloaded = acquire(query, 0);
+        try {
+            Assert.assertNotSame(first, reloaded);
+            Assert.assertEquals(2, reloaded.getKeyCount());
+        } finally {
+            reloaded.release();
+        }
+    }
+
+    @Test
+    public void testFailedLoadIsNotShared() throws Exception {
+        String tableName = "late_table";
+        String query = "SELECT id, name FROM " + tableName;
+        try {
+            acquire(query, 0);
+            Assert.fail("Loading a missing table should fail.");
+        } catch (SQLException e) {
+            // 表不存在
+        }
+        // 加载失败的缓存不会留在共享表中，建表后再次获取可以加载成功
+        execute(DB_URL, "CREATE TABLE " + tableName + " (id INT, name VARCHAR(20))",
+                "INSERT INTO " + tableName + " VALUES (1, 'a')");
+        try {
+            JdbcLookupFullCache cache = acquire(query, 0);
+            try {
+                Assert.assertEquals(1, cache.getKeyCount());
+            } finally {
+                cache.release();
+            }
+        } finally {
+            execute(DB_URL, "DROP TABLE " + tableName);
+        }
+    }
+
+    private static JdbcLookupFullCache acquire(String query, int keyIndex) throws Exception {
+        JdbcConnectorOptions options = JdbcConnectorOptions.builder()
+                .setDBUrl(DB_URL)
+                .setTableName(TABLE_NAME)
+                .build();
+        JdbcRowConverter rowConverter = JdbcDialects.get(DB_URL).get().getRowConverter(ROW_TYPE);
+        return JdbcLookupFullCache.acquire(options, query, ROW_TYPE, new int[]{keyIndex}, rowConverter,
+                RELOAD_INTERVAL_MS);
+    }
+
+    private static void execute(String url, String... sqls) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url);
+                Statement statement = conn.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JdbcRowDataAsyncLookupFunctionTest
+ */
+public class JdbcRowDataAsyncLookupFunctionTest {
+
+    private static final String DB_URL = "jdbc:derby:memory:async_lookup";
+    private static final String TABLE_NAME = "lookup_table";
+    private static final String[] FIELD_NAMES = {"id", "name"};
+    private static final DataType[] FIELD_TYPES = {DataTypes.INT(), DataTypes.STRING()};
+    private static final String[] KEY_NAMES = {"id"};
+
+    @BeforeClass
+    public static void createTable() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(DB_URL + ";create=true");
+                Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + " (id INT NOT NULL, name VARCHAR(20))");
+            statement.execute("INSERT INTO " + TABLE_NAME + " VALUES (1, 'a1'), (1, 'a2'), (2, 'b')");
+        }
+    }
+
+    @AfterClass
+    public static void dropTable() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(DB_URL);
+                Statement statement = conn.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE_NAME);
+        }
+    }
+
+    @Test
+    public void testAlignBatchSize() {
+        JdbcRowDataAsyncLookupFunction function = createFunction(8);
+        Assert.assertEquals(1, function.alignBatchSize(1));
+        Assert.assertEquals(4, function.alignBatchSize(3));
+        Assert.assertEquals(8, function.alignBatchSize(5));
+        Assert.assertEquals(8, function.alignBatchSize(8));
+        // 批次上限不是 2 的幂时对齐到上限本身
+        Assert.assertEquals(6, createFunction(6).alignBatchSize(5));
+    }
+
+    @Test
+    public void testGetBatchSelectStatement() {
+        JdbcRowDataAsyncLookupFunction function = createFunction(8);
+        Assert.assertEquals("SELECT id, name, 0 FROM lookup_table WHERE id = :k0_0",
+                function.getBatchSelectStatement(1));
+        Assert.assertEquals("SELECT id, name, 0 FROM lookup_table WHERE id = :k0_0"
+                + " UNION ALL SELECT id, name, 1 FROM lookup_table WHERE id = :k1_0",
+                function.getBatchSelectStatement(2));
+    }
+
+    @Test
+    public void testGroupByKeyAndBindParameters() {
+        CompletableFuture<Collection<RowData>> first = new CompletableFuture<>();
+        CompletableFuture<Collection<RowData>> second = new CompletableFuture<>();
+        CompletableFuture<Collection<RowData>> third = new CompletableFuture<>();
+        Map<RowData, List<CompletableFuture<Collection<RowData>>>> pending =
+                JdbcRowDataAsyncLookupFunction.groupByKey(Arrays.asList(
+                        new JdbcRowDataAsyncLookupFunction.LookupRequest(GenericRowData.of(2), first),
+                        new JdbcRowDataAsyncLookupFunction.LookupRequest(GenericRowData.of(1), second),
+                        new JdbcRowDataAsyncLookupFunction.LookupRequest(GenericRowData.of(2), third)));
+        List<RowData> keys = new ArrayList<>(pending.keySet());
+        Assert.assertEquals(Arrays.asList(GenericRowData.of(2), GenericRowData.of(1)), keys);
+        Assert.assertEquals(Arrays.asList(first, third), pending.get(GenericRowData.of(2)));
+
+        // 两个 key 对齐到 4 个分支，后两个是补齐的分支，参数保持为 NULL
+        GenericRowData parameters = createFunction(8).bindParameters(keys, 4);
+        Assert.assertEquals(4, parameters.getArity());
+        Assert.assertEquals(2, parameters.getField(0));
+        Assert.assertEquals(1, parameters.getField(1));
+        Assert.assertNull(parameters.getField(2));
+        Assert.assertNull(parameters.getField(3));
+    }
+
+    /**
+     * 重复 key 共用一个分支，缺失 key 与补齐的分支都返回空结果。
+     */
+    @Test
+    public void testLookupDuplicateAndMissingKeys() throws Exception {
+        JdbcRowDataAsyncLookupFunction function = createFunction(8);
+        function.open(new FunctionContext(null));
+        try {
+            List<CompletableFuture<Collection<RowData>>> futures = new ArrayList<>();
+            for (int key : new int[]{1, 2, 1, 99}) {
+                CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+                function.eval(future, key);
+                futures.add(future);
+            }
+            List<RowData> expected = Arrays.asList(row(1, "a1"), row(1, "a2"));
+            Assert.assertEquals(expected, sorted(futures.get(0).get(10, TimeUnit.SECONDS)));
+            Assert.assertEquals(Collections.singletonList(row(2, "b")),
+                    sorted(futures.get(1).get(10, TimeUnit.SECONDS)));
+            Assert.assertEquals(expected, sorted(futures.get(2).get(10, TimeUnit.SECONDS)));
+            Assert.assertTrue(futures.get(3).get(10, TimeUnit.SECONDS).isEmpty());
+        } finally {
+            function.close();
+        }
+    }
+
+    private static JdbcRowDataAsyncLookupFunction createFunction(int batchSize) {
+        JdbcConnectorOptions options = JdbcConnectorOptions.builder()
+                .setDBUrl(DB_URL)
+                .setTableName(TABLE_NAME)
+                .build();
+        JdbcLookupOptions lookupOptions = JdbcLookupOptions.builder()
+                .setAsync(true)
+                .setAsyncPoolSize(1)
+                .setAsyncBatchSize(batchSize)
+                .setAsyncBatchWindowMs(200)
+                .build();
+        RowType rowType = RowType.of(new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+        return new JdbcRowDataAsyncLookupFunction(options, lookupOptions, FIELD_NAMES, FIELD_TYPES, KEY_NAMES,
+                rowType);
+    }
+
+    private static RowData row(int id, String name) {
+        return GenericRowData.of(id, StringData.fromString(name));
+    }
+
+    private static List<RowData> sorted(Collection<RowData> rows) {
+        List<RowData> result = new ArrayList<>(rows);
+        result.sort((left, right) -> left.getString(1).compareTo(right.getString(1)));
+        return result;
+    }
+}
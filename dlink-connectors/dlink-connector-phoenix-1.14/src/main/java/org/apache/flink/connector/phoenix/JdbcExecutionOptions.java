@@ -28,19 +28,35 @@ import java.util.Objects;
 /** JDBC sink batch options. */
 @PublicEvolving
 public class JdbcExecutionOptions implements Serializable {
+
     public static final int DEFAULT_MAX_RETRY_TIMES = 3;
     private static final int DEFAULT_INTERVAL_MILLIS = 0;
     public static final int DEFAULT_SIZE = 5000;
+    public static final int DEFAULT_MIN_SIZE = 10;
+    public static final long DEFAULT_TARGET_FLUSH_LATENCY_MILLIS = 1000L;
 
     private final long batchIntervalMs;
     private final int batchSize;
     private final int maxRetries;
-
-    private JdbcExecutionOptions(long batchIntervalMs, int batchSize, int maxRetries) {
+    private final boolean asyncFlush;
+    private final boolean adaptiveBatchSize;
+    private final int minBatchSize;
+    private final long targetFlushLatencyMs;
+    private final boolean deduplicate;
+
+    private JdbcExecutionOptions(long batchIntervalMs, int batchSize, int maxRetries, boolean asyncFlush,
+            boolean adaptiveBatchSize, int minBatchSize, long targetFlushLatencyMs, boolean deduplicate) {
         Preconditions.checkArgument(maxRetries >= 0);
+        Preconditions.checkArgument(minBatchSize > 0);
+        Preconditions.checkArgument(targetFlushLatencyMs > 0);
         this.batchIntervalMs = batchIntervalMs;
         this.batchSize = batchSize;
         this.maxRetries = maxRetries;
+        this.asyncFlush = asyncFlush;
+        this.adaptiveBatchSize = adaptiveBatchSize;
+        this.minBatchSize = minBatchSize;
+        this.targetFlushLatencyMs = targetFlushLatencyMs;
+        this.deduplicate = deduplicate;
     }
 
     public long getBatchIntervalMs() {
@@ -55,6 +71,29 @@ public class JdbcExecutionOptions implements Serializable {
         return maxRetries;
     }
 
+    /** Whether the next batch is filled while the previous one is committed. */
+    public boolean isAsyncFlush() {
+        return asyncFlush;
+    }
+
+    /** Whether the batch size is adjusted between the min and max size by the commit latency. */
+    public boolean isAdaptiveBatchSize() {
+        return adaptiveBatchSize;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public long getTargetFlushLatencyMs() {
+        return targetFlushLatencyMs;
+    }
+
+    /** Whether the buffered records are deduplicated before they are written. */
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -66,12 +105,18 @@ public class JdbcExecutionOptions implements Serializable {
         JdbcExecutionOptions that = (JdbcExecutionOptions) o;
         return batchIntervalMs == that.batchIntervalMs
                 && batchSize == that.batchSize
-                && maxRetries == that.maxRetries;
+                && maxRetries == that.maxRetries
+                && asyncFlush == that.asyncFlush
+                && adaptiveBatchSize == that.adaptiveBatchSize
+                && minBatchSize == that.minBatchSize
+                && targetFlushLatencyMs == that.targetFlushLatencyMs
+                && deduplicate == that.deduplicate;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(batchIntervalMs, batchSize, maxRetries);
+        return Objects.hash(batchIntervalMs, batchSize, maxRetries, asyncFlush, adaptiveBatchSize, minBatchSize,
+                targetFlushLatencyMs, deduplicate);
     }
 
     public static Builder builder() {
@@ -84,9 +129,15 @@ public class JdbcExecutionOptions implements Serializable {
 
     /** Builder for {@link JdbcExecutionOptions}. */
     public static final class Builder {
+
         private long intervalMs = DEFAULT_INTERVAL_MILLIS;
         private int size = DEFAULT_SIZE;
         private int maxRetries = DEFAULT_MAX_RETRY_TIMES;
+        private boolean asyncFlush = false;
+        private boolean adaptiveBatchSize = false;
+        private int minSize = DEFAULT_MIN_SIZE;
+        private long targetFlushLatencyMs = DEFAULT_TARGET_FLUSH_LATENCY_MILLIS;
+        private boolean deduplicate = false;
 
         public Builder withBatchSize(int size) {
             this.size = size;
@@ -103,8 +154,34 @@ public class JdbcExecutionOptions implements Serializable {
             return this;
         }
 
+        public Builder withAsyncFlush(boolean asyncFlush) {
+            this.asyncFlush = asyncFlush;
+            return this;
+        }
+
+        public Builder withAdaptiveBatchSize(boolean adaptiveBatchSize) {
+            this.adaptiveBatchSize = adaptiveBatchSize;
+            return this;
+        }
+
+        public Builder withMinBatchSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        public Builder withTargetFlushLatencyMs(long targetFlushLatencyMs) {
+            this.targetFlushLatencyMs = targetFlushLatencyMs;
+            return this;
+        }
+
+        public Builder withDeduplicate(boolean deduplicate) {
+            this.deduplicate = deduplicate;
+            return this;
+        }
+
         public JdbcExecutionOptions build() {
-            return new JdbcExecutionOptions(intervalMs, size, maxRetries);
+            return new JdbcExecutionOptions(intervalMs, size, maxRetries, asyncFlush, adaptiveBatchSize, minSize,
+                    targetFlushLatencyMs, deduplicate);
         }
     }
 }
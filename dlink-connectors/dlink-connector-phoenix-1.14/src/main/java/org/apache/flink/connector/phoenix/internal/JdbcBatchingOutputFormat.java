@@ -34,16 +34,26 @@ import org.apache.flink.connector.phoenix.internal.options.JdbcDmlOptions;
 import org.apache.flink.connector.phoenix.internal.options.JdbcOptions;
 import org.apache.flink.connector.phoenix.statement.FieldNamedPreparedStatementImpl;
 import org.apache.flink.connector.phoenix.utils.JdbcUtils;
+import org.apache.flink.connector.phoenix.utils.SynchronizedHistogram;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.types.Row;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.apache.flink.util.function.ThrowingRunnable;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -56,9 +66,9 @@ import org.slf4j.LoggerFactory;
 
 /** A JDBC outputFormat that supports batching records before writing records to database. */
 @Internal
-public class JdbcBatchingOutputFormat<
-        I, J, E extends JdbcBatchStatementExecutor<J>>
-        extends AbstractJdbcOutputFormat<I> {
+public class JdbcBatchingOutputFormat<I, J, E extends JdbcBatchStatementExecutor<J>>
+        extends
+            AbstractJdbcOutputFormat<I> {
 
     /**
      * An interface to extract a value from given argument.
@@ -67,6 +77,7 @@ public class JdbcBatchingOutputFormat<
      * @param <T> The type of the return value
      */
     public interface RecordExtractor<F, T> extends Function<F, T>, Serializable {
+
         static <T> RecordExtractor<T, T> identity() {
             return x -> x;
         }
@@ -78,7 +89,10 @@ public class JdbcBatchingOutputFormat<
      * @param <T> The type of instance.
      */
     public interface StatementExecutorFactory<T extends JdbcBatchStatementExecutor<?>>
-            extends Function<RuntimeContext, T>, Serializable {}
+            extends
+                Function<RuntimeContext, T>,
+                Serializable {
+    }
 
     private static final long serialVersionUID = 1L;
 
@@ -89,13 +103,23 @@ public class JdbcBatchingOutputFormat<
     private final RecordExtractor<I, J> jdbcRecordExtractor;
 
     private transient E jdbcStatementExecutor;
-    private transient int batchCount = 0;
+    // 双缓冲模式下与 jdbcStatementExecutor 交替使用，一个接收新数据，另一个在 flush 线程中提交
+    private transient E flushingStatementExecutor;
+    private transient volatile int batchCount = 0;
+    private transient volatile int inFlightCount = 0;
+    private transient volatile int currentBatchSize;
     private transient volatile boolean closed = false;
 
     private transient ScheduledExecutorService scheduler;
     private transient ScheduledFuture<?> scheduledFuture;
+    private transient ExecutorService flushExecutor;
+    private transient Future<?> pendingFlush;
     private transient volatile Exception flushException;
-    private Connection conn = null;
+    private transient Histogram flushDurationMs;
+    private transient Counter flushWaitTimeMs;
+    // flush 线程重连后置为 true，缓冲中的 executor 仍持有旧连接上的语句，下次交换时在锁内重新预编译
+    private transient volatile boolean bufferingExecutorStale = false;
+    private transient volatile Connection conn;
 
     public JdbcBatchingOutputFormat(
             @Nonnull JdbcConnectionProvider connectionProvider,
@@ -115,7 +139,7 @@ public class JdbcBatchingOutputFormat<
      */
     @Override
     public void open(int taskNumber, int numTasks) throws IOException {
-        //super.open(taskNumber, numTasks);
+        // super.open(taskNumber, numTasks);
         try {
             conn = connectionProvider.getOrEstablishConnection();
         } catch (Exception e) {
@@ -123,33 +147,60 @@ public class JdbcBatchingOutputFormat<
         }
 
         jdbcStatementExecutor = createAndOpenStatementExecutor(statementExecutorFactory);
+        currentBatchSize = executionOptions.getBatchSize();
+        if (executionOptions.isAsyncFlush() && supportsAsyncFlush() && executionOptions.getBatchSize() != 1) {
+            flushingStatementExecutor = createAndOpenStatementExecutor(statementExecutorFactory);
+            flushExecutor = Executors.newSingleThreadExecutor(new ExecutorThreadFactory("jdbc-batch-flush"));
+        }
+        registerMetrics(getRuntimeContext().getMetricGroup());
+
         if (executionOptions.getBatchIntervalMs() != 0 && executionOptions.getBatchSize() != 1) {
-            this.scheduler =
-                    Executors.newScheduledThreadPool(
-                            1, new ExecutorThreadFactory("jdbc-upsert-output-format"));
-            this.scheduledFuture =
-                    this.scheduler.scheduleWithFixedDelay(
-                            () -> {
-                                synchronized (JdbcBatchingOutputFormat.this) {
-                                    if (!closed) {
-                                        //if batch count > 0  to flush
-                                        if (batchCount > 0) {
-                                            try {
-                                                flush();
-                                            } catch (Exception e) {
-                                                flushException = e;
-                                            }
+            this.scheduler = Executors.newScheduledThreadPool(
+                    1, new ExecutorThreadFactory("jdbc-upsert-output-format"));
+            this.scheduledFuture = this.scheduler.scheduleWithFixedDelay(
+                    () -> {
+                        synchronized (JdbcBatchingOutputFormat.this) {
+                            if (!closed) {
+                                // if batch count > 0 to flush
+                                if (batchCount > 0) {
+                                    try {
+                                        if (flushExecutor == null) {
+                                            flush();
+                                        } else if (pendingFlush == null || pendingFlush.isDone()) {
+                                            // 上一批仍在提交时跳过，不阻塞写入线程
+                                            flushAsync();
                                         }
+                                    } catch (Exception e) {
+                                        flushException = e;
                                     }
                                 }
-                            },
-                            executionOptions.getBatchIntervalMs(),
-                            executionOptions.getBatchIntervalMs(),
-                            TimeUnit.MILLISECONDS);
+                            }
+                        }
+                    },
+                    executionOptions.getBatchIntervalMs(),
+                    executionOptions.getBatchIntervalMs(),
+                    TimeUnit.MILLISECONDS);
         }
 
     }
 
+    private void registerMetrics(MetricGroup metricGroup) {
+        flushDurationMs = metricGroup.histogram("flushDurationMs",
+                new SynchronizedHistogram(new DescriptiveStatisticsHistogram(1000)));
+        flushWaitTimeMs = metricGroup.counter("flushWaitTimeMs");
+        metricGroup.gauge("bufferedRecords", (Gauge<Integer>) () -> batchCount);
+        metricGroup.gauge("inFlightRecords", (Gauge<Integer>) () -> inFlightCount);
+        metricGroup.gauge("currentBatchSize", (Gauge<Integer>) () -> currentBatchSize);
+    }
+
+    /**
+     * Whether the batches can be committed in a background thread while the next one is filled,
+     * which requires {@link #addToBatch} to only buffer records in memory.
+     */
+    protected boolean supportsAsyncFlush() {
+        return true;
+    }
+
     private E createAndOpenStatementExecutor(
             StatementExecutorFactory<E> statementExecutorFactory) throws IOException {
         E exec = statementExecutorFactory.apply(getRuntimeContext());
@@ -174,10 +225,12 @@ public class JdbcBatchingOutputFormat<
         try {
             addToBatch(record, jdbcRecordExtractor.apply(record));
             batchCount++;
-            if (executionOptions.getBatchSize() > 0
-                    && batchCount >= executionOptions.getBatchSize()) {
-                flush();
-
+            if (executionOptions.getBatchSize() > 0 && batchCount >= currentBatchSize) {
+                if (flushExecutor == null) {
+                    flush();
+                } else {
+                    flushAsync();
+                }
             }
         } catch (Exception e) {
             throw new IOException("Writing records to JDBC failed.", e);
@@ -192,12 +245,80 @@ public class JdbcBatchingOutputFormat<
     public synchronized void flush() throws IOException {
         checkFlushException();
 
+        if (flushExecutor != null) {
+            flushAsync();
+            awaitPendingFlush();
+            checkFlushException();
+            return;
+        }
+        flushWithRetries(this::attemptFlush, () -> updateExecutor(true), batchCount);
+        batchCount = 0;
+    }
+
+    /**
+     * Hands the current batch over to the flush thread and switches to the other executor, waits
+     * first if the previous batch is still being committed.
+     */
+    private void flushAsync() throws IOException {
+        awaitPendingFlush();
+        checkFlushException();
+        if (batchCount == 0) {
+            return;
+        }
+        if (bufferingExecutorStale) {
+            try {
+                jdbcStatementExecutor.closeStatements();
+                jdbcStatementExecutor.prepareStatements(conn);
+            } catch (SQLException e) {
+                throw new IOException("Reestablish JDBC connection failed", e);
+            }
+            bufferingExecutorStale = false;
+        }
+        final E executor = jdbcStatementExecutor;
+        final int count = batchCount;
+        jdbcStatementExecutor = flushingStatementExecutor;
+        flushingStatementExecutor = executor;
+        batchCount = 0;
+        inFlightCount = count;
+        pendingFlush = flushExecutor.submit(() -> {
+            try {
+                flushWithRetries(() -> attemptFlush(executor), () -> reconnect(executor), count);
+            } catch (Exception e) {
+                flushException = e;
+            } finally {
+                inFlightCount = 0;
+            }
+        });
+    }
+
+    private void awaitPendingFlush() throws IOException {
+        if (pendingFlush == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            pendingFlush.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("unable to flush; interrupted while waiting for the previous batch", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Writing records to JDBC failed.", e.getCause());
+        } finally {
+            pendingFlush = null;
+            flushWaitTimeMs.inc(System.currentTimeMillis() - start);
+        }
+    }
+
+    private void flushWithRetries(ThrowingRunnable<SQLException> flushAction,
+            ThrowingRunnable<Exception> reconnectAction, int count) throws IOException {
         for (int i = 0; i <= executionOptions.getMaxRetries(); i++) {
             try {
-                LOG.debug("pre flush size = {} , retry times = {}", batchCount,i);
-                attemptFlush();
-                //conn.commit();
-                batchCount = 0;
+                LOG.debug("pre flush size = {} , retry times = {}", count, i);
+                long start = System.currentTimeMillis();
+                flushAction.run();
+                long elapsed = System.currentTimeMillis() - start;
+                flushDurationMs.update(elapsed);
+                adjustBatchSize(count, elapsed);
                 break;
             } catch (SQLException e) {
                 LOG.error("JDBC executeBatch error, retry times = {}", i, e);
@@ -206,7 +327,7 @@ public class JdbcBatchingOutputFormat<
                 }
                 try {
                     if (!connectionProvider.isConnectionValid()) {
-                        updateExecutor(true);
+                        reconnectAction.run();
                     }
                 } catch (Exception exception) {
                     LOG.error(
@@ -225,40 +346,91 @@ public class JdbcBatchingOutputFormat<
         }
     }
 
+    /**
+     * Halves the batch size when a commit is slower than the target latency, and grows it by a
+     * quarter when a full batch is committed in less than half of the target latency.
+     */
+    private void adjustBatchSize(int count, long elapsedMs) {
+        if (!executionOptions.isAdaptiveBatchSize() || executionOptions.getBatchSize() <= 0) {
+            return;
+        }
+        int maxSize = executionOptions.getBatchSize();
+        int minSize = Math.min(executionOptions.getMinBatchSize(), maxSize);
+        long target = executionOptions.getTargetFlushLatencyMs();
+        int size = currentBatchSize;
+        if (elapsedMs > target) {
+            size = Math.max(minSize, size / 2);
+        } else if (count >= size && elapsedMs < target / 2) {
+            size = Math.min(maxSize, size + Math.max(1, size / 4));
+        }
+        if (size != currentBatchSize) {
+            LOG.debug("adjust batch size from {} to {}, flush size = {}, cost = {} ms", currentBatchSize, size,
+                    count, elapsedMs);
+            currentBatchSize = size;
+        }
+    }
+
+    /**
+     * Reconnects from the flush thread. Only the executor being flushed is prepared again, the
+     * buffering one is owned by the writer thread and prepared again at the next swap.
+     */
+    private void reconnect(E executor) throws SQLException, ClassNotFoundException {
+        conn = connectionProvider.reestablishConnection();
+        executor.closeStatements();
+        executor.prepareStatements(conn);
+        bufferingExecutorStale = true;
+    }
+
     protected void attemptFlush() throws SQLException {
-        jdbcStatementExecutor.executeBatch(conn);
+        attemptFlush(jdbcStatementExecutor);
+    }
+
+    protected void attemptFlush(E executor) throws SQLException {
+        executor.executeBatch(conn);
     }
 
     /** Executes prepared statement and closes all resources of this instance. */
     @Override
     public synchronized void close() {
-        if (!closed) {
-            closed = true;
+        try {
+            if (!closed) {
+                closed = true;
 
-            if (this.scheduledFuture != null) {
-                scheduledFuture.cancel(false);
-                this.scheduler.shutdown();
-            }
+                if (this.scheduledFuture != null) {
+                    scheduledFuture.cancel(false);
+                    this.scheduler.shutdown();
+                }
 
-            if (batchCount > 0) {
                 try {
-                    LOG.info("关闭连接前 刷写数据 !!! batchCount: " + batchCount);
-                    flush();
-                } catch (Exception e) {
-                    LOG.warn("Writing records to JDBC failed.", e);
-                    throw new RuntimeException("Writing records to JDBC failed.", e);
-                }
-            }
+                    if (batchCount > 0 || pendingFlush != null) {
+                        try {
+                            LOG.info("关闭连接前 刷写数据 !!! batchCount: " + batchCount);
+                            flush();
+                        } catch (Exception e) {
+                            LOG.warn("Writing records to JDBC failed.", e);
+                            throw new RuntimeException("Writing records to JDBC failed.", e);
+                        }
+                    }
+                } finally {
+                    if (flushExecutor != null) {
+                        flushExecutor.shutdown();
+                    }
 
-            try {
-                if (jdbcStatementExecutor != null) {
-                    jdbcStatementExecutor.closeStatements();
+                    try {
+                        if (jdbcStatementExecutor != null) {
+                            jdbcStatementExecutor.closeStatements();
+                        }
+                        if (flushingStatementExecutor != null) {
+                            flushingStatementExecutor.closeStatements();
+                        }
+                    } catch (SQLException e) {
+                        LOG.warn("Close JDBC writer failed.", e);
+                    }
                 }
-            } catch (SQLException e) {
-                LOG.warn("Close JDBC writer failed.", e);
             }
+        } finally {
+            super.close();
         }
-        super.close();
         checkFlushException();
     }
 
@@ -268,12 +440,12 @@ public class JdbcBatchingOutputFormat<
 
     /** Builder for a {@link JdbcBatchingOutputFormat}. */
     public static class Builder {
+
         private JdbcOptions options;
         private String[] fieldNames;
         private String[] keyFields;
         private int[] fieldTypes;
-        private JdbcExecutionOptions.Builder executionOptionsBuilder =
-                JdbcExecutionOptions.builder();
+        private JdbcExecutionOptions.Builder executionOptionsBuilder = JdbcExecutionOptions.builder();
 
         /** required, jdbc options. */
         public Builder setOptions(JdbcOptions options) {
@@ -325,40 +497,38 @@ public class JdbcBatchingOutputFormat<
          *
          * @return Configured JdbcUpsertOutputFormat
          */
-        public JdbcBatchingOutputFormat<Tuple2<Boolean, Row>, Row, JdbcBatchStatementExecutor<Row>>
-                build() {
+        public JdbcBatchingOutputFormat<Tuple2<Boolean, Row>, Row, JdbcBatchStatementExecutor<Row>> build() {
             checkNotNull(options, "No options supplied.");
             checkNotNull(fieldNames, "No fieldNames supplied.");
-            JdbcDmlOptions dml =
-                    JdbcDmlOptions.builder()
-                            .withTableName(options.getTableName())
-                            .withDialect(options.getDialect())
-                            .withFieldNames(fieldNames)
-                            .withKeyFields(keyFields)
-                            .withFieldTypes(fieldTypes)
-                            .build();
+            JdbcDmlOptions dml = JdbcDmlOptions.builder()
+                    .withTableName(options.getTableName())
+                    .withDialect(options.getDialect())
+                    .withFieldNames(fieldNames)
+                    .withKeyFields(keyFields)
+                    .withFieldTypes(fieldTypes)
+                    .build();
 
             if (dml.getKeyFields().isPresent() && dml.getKeyFields().get().length > 0) {
                 return new TableJdbcUpsertOutputFormat(
-                        new PhoneixJdbcConnectionProvider(options,this.options.isNamespaceMappingEnabled(),this.options.isMapSystemTablesEnabled()),
+                        new PhoneixJdbcConnectionProvider(options, this.options.isNamespaceMappingEnabled(),
+                                this.options.isMapSystemTablesEnabled()),
                         dml,
                         executionOptionsBuilder.build());
             } else {
                 // warn: don't close over builder fields
-                String sql =
-                        FieldNamedPreparedStatementImpl.parseNamedStatement(
-                                options.getDialect()
-                                        .getInsertIntoStatement(
-                                                dml.getTableName(), dml.getFieldNames()),
-                                new HashMap<>());
+                String sql = FieldNamedPreparedStatementImpl.parseNamedStatement(
+                        options.getDialect()
+                                .getInsertIntoStatement(
+                                        dml.getTableName(), dml.getFieldNames()),
+                        new HashMap<>());
                 return new JdbcBatchingOutputFormat<>(
-                        new PhoneixJdbcConnectionProvider(options,this.options.isNamespaceMappingEnabled(),this.options.isMapSystemTablesEnabled()),
+                        new PhoneixJdbcConnectionProvider(options, this.options.isNamespaceMappingEnabled(),
+                                this.options.isMapSystemTablesEnabled()),
                         executionOptionsBuilder.build(),
-                        ctx ->
-                                createSimpleRowExecutor(
-                                        sql,
-                                        dml.getFieldTypes(),
-                                        ctx.getExecutionConfig().isObjectReuseEnabled()),
+                        ctx -> createSimpleRowExecutor(
+                                sql,
+                                dml.getFieldTypes(),
+                                ctx.getExecutionConfig().isObjectReuseEnabled()),
                         tuple2 -> {
                             Preconditions.checkArgument(tuple2.f0);
                             return tuple2.f1;
@@ -384,10 +554,14 @@ public class JdbcBatchingOutputFormat<
     }
 
     public void updateExecutor(boolean reconnect) throws SQLException, ClassNotFoundException {
+        conn = reconnect
+                ? connectionProvider.reestablishConnection()
+                : connectionProvider.getConnection();
         jdbcStatementExecutor.closeStatements();
-        jdbcStatementExecutor.prepareStatements(
-                reconnect
-                        ? connectionProvider.reestablishConnection()
-                        : connectionProvider.getConnection());
+        jdbcStatementExecutor.prepareStatements(conn);
+        if (flushingStatementExecutor != null) {
+            flushingStatementExecutor.closeStatements();
+            flushingStatementExecutor.prepareStatements(conn);
+        }
     }
 }
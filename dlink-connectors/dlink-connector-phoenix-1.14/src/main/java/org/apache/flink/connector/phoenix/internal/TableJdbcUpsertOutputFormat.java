@@ -45,13 +45,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 class TableJdbcUpsertOutputFormat
-        extends JdbcBatchingOutputFormat<
-                                Tuple2<Boolean, Row>, Row, JdbcBatchStatementExecutor<Row>> {
+        extends
+            JdbcBatchingOutputFormat<Tuple2<Boolean, Row>, Row, JdbcBatchStatementExecutor<Row>> {
+
     private static final Logger LOG = LoggerFactory.getLogger(TableJdbcUpsertOutputFormat.class);
 
     private JdbcBatchStatementExecutor<Row> deleteExecutor;
-    private final StatementExecutorFactory<JdbcBatchStatementExecutor<Row>>
-            deleteStatementExecutorFactory;
+    private final StatementExecutorFactory<JdbcBatchStatementExecutor<Row>> deleteStatementExecutorFactory;
     private Connection conn = null;
 
     TableJdbcUpsertOutputFormat(
@@ -70,8 +70,7 @@ class TableJdbcUpsertOutputFormat
             JdbcConnectionProvider connectionProvider,
             JdbcExecutionOptions batchOptions,
             StatementExecutorFactory<JdbcBatchStatementExecutor<Row>> statementExecutorFactory,
-            StatementExecutorFactory<JdbcBatchStatementExecutor<Row>>
-                    deleteStatementExecutorFactory) {
+            StatementExecutorFactory<JdbcBatchStatementExecutor<Row>> deleteStatementExecutorFactory) {
         super(connectionProvider, batchOptions, statementExecutorFactory, tuple2 -> tuple2.f1);
         this.deleteStatementExecutorFactory = deleteStatementExecutorFactory;
     }
@@ -95,21 +94,18 @@ class TableJdbcUpsertOutputFormat
 
     private static JdbcBatchStatementExecutor<Row> createDeleteExecutor(
             JdbcDmlOptions dmlOptions, RuntimeContext ctx) {
-        int[] pkFields =
-                Arrays.stream(dmlOptions.getFieldNames())
-                        .mapToInt(Arrays.asList(dmlOptions.getFieldNames())::indexOf)
-                        .toArray();
-        int[] pkTypes =
-                dmlOptions.getFieldTypes() == null
-                        ? null
-                        : Arrays.stream(pkFields).map(f -> dmlOptions.getFieldTypes()[f]).toArray();
-        String deleteSql =
-                FieldNamedPreparedStatementImpl.parseNamedStatement(
-                        dmlOptions
-                                .getDialect()
-                                .getDeleteStatement(
-                                        dmlOptions.getTableName(), dmlOptions.getFieldNames()),
-                        new HashMap<>());
+        int[] pkFields = Arrays.stream(dmlOptions.getFieldNames())
+                .mapToInt(Arrays.asList(dmlOptions.getFieldNames())::indexOf)
+                .toArray();
+        int[] pkTypes = dmlOptions.getFieldTypes() == null
+                ? null
+                : Arrays.stream(pkFields).map(f -> dmlOptions.getFieldTypes()[f]).toArray();
+        String deleteSql = FieldNamedPreparedStatementImpl.parseNamedStatement(
+                dmlOptions
+                        .getDialect()
+                        .getDeleteStatement(
+                                dmlOptions.getTableName(), dmlOptions.getFieldNames()),
+                new HashMap<>());
         return createKeyedRowExecutor(pkFields, pkTypes, deleteSql);
     }
 
@@ -137,6 +133,12 @@ class TableJdbcUpsertOutputFormat
         }
     }
 
+    @Override
+    protected boolean supportsAsyncFlush() {
+        // delete 语句与 upsert 语句分开缓冲，只能在写入线程中同步提交
+        return false;
+    }
+
     @Override
     protected void attemptFlush() throws SQLException {
         super.attemptFlush();
@@ -155,59 +157,54 @@ class TableJdbcUpsertOutputFormat
         return JdbcBatchStatementExecutor.keyed(
                 sql,
                 createRowKeyExtractor(pkFields),
-                (st, record) ->
-                        setRecordToStatement(
-                                st, pkTypes, createRowKeyExtractor(pkFields).apply(record)));
+                (st, record) -> setRecordToStatement(
+                        st, pkTypes, createRowKeyExtractor(pkFields).apply(record)));
     }
 
     private static JdbcBatchStatementExecutor<Row> createUpsertRowExecutor(
             JdbcDmlOptions opt, RuntimeContext ctx) {
         checkArgument(opt.getKeyFields().isPresent());
 
-        int[] pkFields =
-                Arrays.stream(opt.getKeyFields().get())
-                        .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
-                        .toArray();
-        int[] pkTypes =
-                opt.getFieldTypes() == null
-                        ? null
-                        : Arrays.stream(pkFields).map(f -> opt.getFieldTypes()[f]).toArray();
+        int[] pkFields = Arrays.stream(opt.getKeyFields().get())
+                .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
+                .toArray();
+        int[] pkTypes = opt.getFieldTypes() == null
+                ? null
+                : Arrays.stream(pkFields).map(f -> opt.getFieldTypes()[f]).toArray();
 
         return opt.getDialect()
                 .getUpsertStatement(
                         opt.getTableName(), opt.getFieldNames(), opt.getKeyFields().get())
                 .map(
-                        sql ->
-                                createSimpleRowExecutor(
-                                        parseNamedStatement(sql),
-                                        opt.getFieldTypes(),
-                                        ctx.getExecutionConfig().isObjectReuseEnabled()))
+                        sql -> createSimpleRowExecutor(
+                                parseNamedStatement(sql),
+                                opt.getFieldTypes(),
+                                ctx.getExecutionConfig().isObjectReuseEnabled()))
                 .orElseGet(
-                        () ->
-                                new InsertOrUpdateJdbcExecutor<>(
-                                        parseNamedStatement(
-                                                opt.getDialect()
-                                                        .getRowExistsStatement(
-                                                                opt.getTableName(),
-                                                                opt.getKeyFields().get())),
-                                        parseNamedStatement(
-                                                opt.getDialect()
-                                                        .getInsertIntoStatement(
-                                                                opt.getTableName(),
-                                                                opt.getFieldNames())),
-                                        parseNamedStatement(
-                                                opt.getDialect()
-                                                        .getUpdateStatement(
-                                                                opt.getTableName(),
-                                                                opt.getFieldNames(),
-                                                                opt.getKeyFields().get())),
-                                        createRowJdbcStatementBuilder(pkTypes),
-                                        createRowJdbcStatementBuilder(opt.getFieldTypes()),
-                                        createRowJdbcStatementBuilder(opt.getFieldTypes()),
-                                        createRowKeyExtractor(pkFields),
-                                        ctx.getExecutionConfig().isObjectReuseEnabled()
-                                                ? Row::copy
-                                                : Function.identity()));
+                        () -> new InsertOrUpdateJdbcExecutor<>(
+                                parseNamedStatement(
+                                        opt.getDialect()
+                                                .getRowExistsStatement(
+                                                        opt.getTableName(),
+                                                        opt.getKeyFields().get())),
+                                parseNamedStatement(
+                                        opt.getDialect()
+                                                .getInsertIntoStatement(
+                                                        opt.getTableName(),
+                                                        opt.getFieldNames())),
+                                parseNamedStatement(
+                                        opt.getDialect()
+                                                .getUpdateStatement(
+                                                        opt.getTableName(),
+                                                        opt.getFieldNames(),
+                                                        opt.getKeyFields().get())),
+                                createRowJdbcStatementBuilder(pkTypes),
+                                createRowJdbcStatementBuilder(opt.getFieldTypes()),
+                                createRowJdbcStatementBuilder(opt.getFieldTypes()),
+                                createRowKeyExtractor(pkFields),
+                                ctx.getExecutionConfig().isObjectReuseEnabled()
+                                        ? Row::copy
+                                        : Function.identity()));
     }
 
     private static String parseNamedStatement(String statement) {
@@ -0,0 +1,82 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.internal.executor;
+
+import org.apache.flink.table.data.RowData;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Buffers the records of an append-only table sink and drops exact duplicates before they are
+ * written. A repeated record is moved to the position of its last occurrence, so records sharing a
+ * primary key are still upserted in arrival order and the last one wins.
+ */
+public final class TableBufferDeduplicatedStatementExecutor implements JdbcBatchStatementExecutor<RowData> {
+
+    private final JdbcBatchStatementExecutor<RowData> statementExecutor;
+    private final Function<RowData, RowData> valueTransform;
+    private final Set<RowData> buffer = new LinkedHashSet<>();
+    // 缓冲已交给内部 executor 但尚未提交成功，重试时只重新提交，避免重复写入
+    private boolean handedOver = false;
+
+    public TableBufferDeduplicatedStatementExecutor(
+            JdbcBatchStatementExecutor<RowData> statementExecutor,
+            Function<RowData, RowData> valueTransform) {
+        this.statementExecutor = statementExecutor;
+        this.valueTransform = valueTransform;
+    }
+
+    @Override
+    public void prepareStatements(Connection connection) throws SQLException {
+        statementExecutor.prepareStatements(connection);
+        // 重新预编译后内部 executor 的批次已丢失，下次提交时需要重新交付
+        handedOver = false;
+    }
+
+    @Override
+    public void addToBatch(RowData record) throws SQLException {
+        RowData value = valueTransform.apply(record); // copy or not
+        // LinkedHashSet 重复 add 不会改变位置，先移除再插入以保持最后一次出现的顺序
+        buffer.remove(value);
+        buffer.add(value);
+    }
+
+    @Override
+    public void executeBatch(Connection conn) throws SQLException {
+        if (!handedOver) {
+            for (RowData value : buffer) {
+                statementExecutor.addToBatch(value);
+            }
+            handedOver = true;
+        }
+        statementExecutor.executeBatch(conn);
+        buffer.clear();
+        handedOver = false;
+    }
+
+    @Override
+    public void closeStatements() throws SQLException {
+        statementExecutor.closeStatements();
+    }
+}
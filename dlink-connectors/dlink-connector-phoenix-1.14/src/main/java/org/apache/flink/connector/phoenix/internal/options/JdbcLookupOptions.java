@@ -27,14 +27,32 @@ import java.util.Objects;
 /** Options for the JDBC lookup. */
 public class JdbcLookupOptions implements Serializable {
 
+    public static final int DEFAULT_ASYNC_POOL_SIZE = 4;
+    public static final int DEFAULT_ASYNC_BATCH_SIZE = 64;
+    public static final long DEFAULT_ASYNC_BATCH_WINDOW_MS = 5L;
+
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
+    private final boolean async;
+    private final int asyncPoolSize;
+    private final int asyncBatchSize;
+    private final long asyncBatchWindowMs;
 
     public JdbcLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes) {
+        this(cacheMaxSize, cacheExpireMs, maxRetryTimes,
+                false, DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_BATCH_SIZE, DEFAULT_ASYNC_BATCH_WINDOW_MS);
+    }
+
+    public JdbcLookupOptions(long cacheMaxSize, long cacheExpireMs, int maxRetryTimes, boolean async,
+            int asyncPoolSize, int asyncBatchSize, long asyncBatchWindowMs) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheExpireMs = cacheExpireMs;
         this.maxRetryTimes = maxRetryTimes;
+        this.async = async;
+        this.asyncPoolSize = asyncPoolSize;
+        this.asyncBatchSize = asyncBatchSize;
+        this.asyncBatchWindowMs = asyncBatchWindowMs;
     }
 
     public long getCacheMaxSize() {
@@ -49,6 +67,22 @@ public class JdbcLookupOptions implements Serializable {
         return maxRetryTimes;
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public long getAsyncBatchWindowMs() {
+        return asyncBatchWindowMs;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -59,7 +93,11 @@ public class JdbcLookupOptions implements Serializable {
             JdbcLookupOptions options = (JdbcLookupOptions) o;
             return Objects.equals(cacheMaxSize, options.cacheMaxSize)
                     && Objects.equals(cacheExpireMs, options.cacheExpireMs)
-                    && Objects.equals(maxRetryTimes, options.maxRetryTimes);
+                    && Objects.equals(maxRetryTimes, options.maxRetryTimes)
+                    && Objects.equals(async, options.async)
+                    && Objects.equals(asyncPoolSize, options.asyncPoolSize)
+                    && Objects.equals(asyncBatchSize, options.asyncBatchSize)
+                    && Objects.equals(asyncBatchWindowMs, options.asyncBatchWindowMs);
         } else {
             return false;
         }
@@ -67,9 +105,14 @@ public class JdbcLookupOptions implements Serializable {
 
     /** Builder of {@link JdbcLookupOptions}. */
     public static class Builder {
+
         private long cacheMaxSize = -1L;
         private long cacheExpireMs = -1L;
         private int maxRetryTimes = JdbcExecutionOptions.DEFAULT_MAX_RETRY_TIMES;
+        private boolean async = false;
+        private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+        private int asyncBatchSize = DEFAULT_ASYNC_BATCH_SIZE;
+        private long asyncBatchWindowMs = DEFAULT_ASYNC_BATCH_WINDOW_MS;
 
         /** optional, lookup cache max size, over this value, the old data will be eliminated. */
         public Builder setCacheMaxSize(long cacheMaxSize) {
@@ -89,8 +132,33 @@ public class JdbcLookupOptions implements Serializable {
             return this;
         }
 
+        /** optional, whether to lookup asynchronously. */
+        public Builder setAsync(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        /** optional, number of connections used by async lookup. */
+        public Builder setAsyncPoolSize(int asyncPoolSize) {
+            this.asyncPoolSize = asyncPoolSize;
+            return this;
+        }
+
+        /** optional, max number of keys merged into one async lookup query. */
+        public Builder setAsyncBatchSize(int asyncBatchSize) {
+            this.asyncBatchSize = asyncBatchSize;
+            return this;
+        }
+
+        /** optional, max time to wait for more keys before an async lookup query is sent. */
+        public Builder setAsyncBatchWindowMs(long asyncBatchWindowMs) {
+            this.asyncBatchWindowMs = asyncBatchWindowMs;
+            return this;
+        }
+
         public JdbcLookupOptions build() {
-            return new JdbcLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes);
+            return new JdbcLookupOptions(cacheMaxSize, cacheExpireMs, maxRetryTimes,
+                    async, asyncPoolSize, asyncBatchSize, asyncBatchWindowMs);
         }
     }
 }
@@ -34,6 +34,8 @@ public class JdbcReadOptions implements Serializable {
 
     private final int fetchSize;
     private final boolean autoCommit;
+    private final boolean splitByRegion;
+    private final int maxSplits;
 
     private JdbcReadOptions(
             String query,
@@ -42,7 +44,9 @@ public class JdbcReadOptions implements Serializable {
             Long partitionUpperBound,
             Integer numPartitions,
             int fetchSize,
-            boolean autoCommit) {
+            boolean autoCommit,
+            boolean splitByRegion,
+            int maxSplits) {
         this.query = query;
         this.partitionColumnName = partitionColumnName;
         this.partitionLowerBound = partitionLowerBound;
@@ -51,6 +55,8 @@ public class JdbcReadOptions implements Serializable {
 
         this.fetchSize = fetchSize;
         this.autoCommit = autoCommit;
+        this.splitByRegion = splitByRegion;
+        this.maxSplits = maxSplits;
     }
 
     public Optional<String> getQuery() {
@@ -81,6 +87,14 @@ public class JdbcReadOptions implements Serializable {
         return autoCommit;
     }
 
+    public boolean isSplitByRegion() {
+        return splitByRegion;
+    }
+
+    public int getMaxSplits() {
+        return maxSplits;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -95,7 +109,9 @@ public class JdbcReadOptions implements Serializable {
                     && Objects.equals(partitionUpperBound, options.partitionUpperBound)
                     && Objects.equals(numPartitions, options.numPartitions)
                     && Objects.equals(fetchSize, options.fetchSize)
-                    && Objects.equals(autoCommit, options.autoCommit);
+                    && Objects.equals(autoCommit, options.autoCommit)
+                    && Objects.equals(splitByRegion, options.splitByRegion)
+                    && Objects.equals(maxSplits, options.maxSplits);
         } else {
             return false;
         }
@@ -103,6 +119,7 @@ public class JdbcReadOptions implements Serializable {
 
     /** Builder of {@link JdbcReadOptions}. */
     public static class Builder {
+
         protected String query;
         protected String partitionColumnName;
         protected Long partitionLowerBound;
@@ -111,6 +128,8 @@ public class JdbcReadOptions implements Serializable {
 
         protected int fetchSize = 0;
         protected boolean autoCommit = true;
+        protected boolean splitByRegion = true;
+        protected int maxSplits = 1024;
 
         /** optional, SQL query statement for this JDBC source. */
         public Builder setQuery(String query) {
@@ -160,6 +179,21 @@ public class JdbcReadOptions implements Serializable {
             return this;
         }
 
+        /**
+         * optional, whether to split the scan by the region boundaries and guideposts of the table
+         * when no partition column is configured.
+         */
+        public Builder setSplitByRegion(boolean splitByRegion) {
+            this.splitByRegion = splitByRegion;
+            return this;
+        }
+
+        /** optional, the maximum number of splits generated from the region boundaries. */
+        public Builder setMaxSplits(int maxSplits) {
+            this.maxSplits = maxSplits;
+            return this;
+        }
+
         public JdbcReadOptions build() {
             return new JdbcReadOptions(
                     query,
@@ -168,7 +202,9 @@ public class JdbcReadOptions implements Serializable {
                     partitionUpperBound,
                     numPartitions,
                     fetchSize,
-                    autoCommit);
+                    autoCommit,
+                    splitByRegion,
+                    maxSplits);
         }
     }
 }
@@ -0,0 +1,60 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.split;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.core.io.GenericInputSplit;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A {@link GenericInputSplit} which carries its own query and bind parameters, so that every split
+ * of a Phoenix table can scan a different row key range.
+ */
+@Experimental
+public class PhoenixQuerySplit extends GenericInputSplit {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String query;
+    private final Serializable[] parameters;
+
+    public PhoenixQuerySplit(int partitionNumber, int totalNumberOfPartitions, String query,
+            Serializable[] parameters) {
+        super(partitionNumber, totalNumberOfPartitions);
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Serializable[] getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "PhoenixQuerySplit (" + getSplitNumber() + "/" + getTotalNumberOfSplits() + ") " + query + " "
+                + Arrays.toString(parameters);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.split;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.phoenix.jdbc.PhoenixConnection;
+import org.apache.phoenix.jdbc.PhoenixDatabaseMetaData;
+import org.apache.phoenix.schema.PColumn;
+import org.apache.phoenix.schema.PTable;
+import org.apache.phoenix.schema.RowKeySchema;
+import org.apache.phoenix.schema.ValueSchema.Field;
+import org.apache.phoenix.schema.types.PDataType;
+import org.apache.phoenix.util.PhoenixRuntime;
+import org.apache.phoenix.util.SchemaUtil;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates {@link PhoenixQuerySplit}s from the region boundaries of the HBase table backing a
+ * Phoenix table, refined by the statistics guideposts collected in <CODE>SYSTEM.STATS</CODE> when
+ * they are available.
+ *
+ * <p>Every boundary row key is decoded into its primary key column values, and every split scans
+ * the primary key range between two consecutive boundaries:
+ *
+ * <PRE>
+ * SELECT ... FROM T WHERE (PK1, PK2) &gt;= (?, ?) AND (PK1, PK2) &lt; (?, ?) AND (filter)
+ * </PRE>
+ *
+ * <p>Boundaries are ordered by their decoded primary key values, the way Phoenix compares row value
+ * constructors, so neither descending key columns nor the salt byte of salted tables affect the
+ * order. The ranges cover the logical key space and each split is served by all salt buckets.
+ */
+@Experimental
+public class PhoenixRegionSplitGenerator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PhoenixRegionSplitGenerator.class);
+
+    private static final String GUIDE_POSTS_QUERY = "SELECT " + PhoenixDatabaseMetaData.GUIDE_POST_KEY + " FROM "
+            + PhoenixDatabaseMetaData.SYSTEM_CATALOG_SCHEMA + "." + PhoenixDatabaseMetaData.SYSTEM_STATS_TABLE
+            + " WHERE " + PhoenixDatabaseMetaData.PHYSICAL_NAME + " = ?";
+
+    private final String tableName;
+    private final String selectQuery;
+    private final String filterClause;
+    private final Serializable[] filterParameters;
+    private final int maxSplits;
+
+    /**
+     * @param tableName the Phoenix table to split
+     * @param selectQuery the query selecting the projected fields of the table, without WHERE clause
+     * @param filterClause an optional condition appended to every split query
+     * @param filterParameters the bind parameters of the filter clause
+     * @param maxSplits the upper bound of the generated splits
+     */
+    public PhoenixRegionSplitGenerator(String tableName, String selectQuery, String filterClause,
+            Serializable[] filterParameters, int maxSplits) {
+        this.tableName = tableName;
+        this.selectQuery = selectQuery;
+        this.filterClause = filterClause;
+        this.filterParameters = filterParameters == null ? new Serializable[0] : filterParameters;
+        this.maxSplits = maxSplits;
+    }
+
+    public PhoenixQuerySplit[] generateSplits(Connection connection) throws SQLException {
+        PTable table = PhoenixRuntime.getTable(connection, SchemaUtil.normalizeFullTableName(this.tableName));
+        int pkOffset = table.getBucketNum() == null ? 0 : 1;
+        List<PColumn> pkColumns = table.getPKColumns().subList(pkOffset, table.getPKColumns().size());
+
+        List<byte[]> rowKeys = new ArrayList<>();
+        byte[] physicalName = table.getPhysicalName().getBytes();
+        for (HRegionLocation location : connection.unwrap(PhoenixConnection.class).getQueryServices()
+                .getAllTableRegions(physicalName)) {
+            rowKeys.add(location.getRegion().getStartKey());
+        }
+        int regions = rowKeys.size();
+        rowKeys.addAll(readGuidePosts(connection, table.getPhysicalName().getString()));
+
+        // 按解码后的主键值排序去重，DESC 列的字节序与取值顺序相反，按 row key 字节排序会得到重叠的区间
+        PDataType<?>[] types = new PDataType<?>[pkColumns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = pkColumns.get(i).getDataType();
+        }
+        TreeSet<Object[]> boundaries = new TreeSet<>(valueComparator(types));
+        for (byte[] rowKey : rowKeys) {
+            if (rowKey == null || rowKey.length <= pkOffset) {
+                continue;
+            }
+            Object[] values = decodeRowKey(table.getRowKeySchema(), pkOffset, rowKey);
+            if (values != null) {
+                boundaries.add(values);
+            }
+        }
+
+        String[] columns = new String[pkColumns.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = "\"" + pkColumns.get(i).getName().getString() + "\"";
+        }
+
+        PhoenixQuerySplit[] splits = createSplits(columns, new ArrayList<>(boundaries));
+        LOG.info("Generated {} splits for Phoenix table {} from {} regions and {} guideposts.", splits.length,
+                this.tableName, regions, rowKeys.size() - regions);
+        return splits;
+    }
+
+    /**
+     * Creates one split per range between consecutive boundaries, plus the open ranges before the
+     * first and after the last one. The boundaries must be sorted by {@link #valueComparator}.
+     */
+    PhoenixQuerySplit[] createSplits(String[] columns, List<Object[]> boundaries) {
+        List<Object[]> selected = select(boundaries);
+        PhoenixQuerySplit[] splits = new PhoenixQuerySplit[selected.size() + 1];
+        for (int i = 0; i < splits.length; i++) {
+            Object[] lower = i == 0 ? null : selected.get(i - 1);
+            Object[] upper = i == splits.length - 1 ? null : selected.get(i);
+            splits[i] = createSplit(i, splits.length, columns, lower, upper);
+        }
+        return splits;
+    }
+
+    /** Creates the split covering the whole table, used when no boundaries can be derived. */
+    public PhoenixQuerySplit createSingleSplit() {
+        return createSplit(0, 1, new String[0], null, null);
+    }
+
+    private PhoenixQuerySplit createSplit(int splitNumber, int totalSplits, String[] columns, Object[] lower,
+            Object[] upper) {
+        List<String> conditions = new ArrayList<>();
+        List<Serializable> parameters = new ArrayList<>();
+        if (lower != null) {
+            conditions.add(rowValueConstructor(columns) + " >= " + placeholders(columns.length));
+            addParameters(parameters, lower);
+        }
+        if (upper != null) {
+            conditions.add(rowValueConstructor(columns) + " < " + placeholders(columns.length));
+            addParameters(parameters, upper);
+        }
+        if (this.filterClause != null) {
+            conditions.add("(" + this.filterClause + ")");
+            addParameters(parameters, this.filterParameters);
+        }
+        String query = conditions.isEmpty()
+                ? this.selectQuery
+                : this.selectQuery + " WHERE " + String.join(" AND ", conditions);
+        return new PhoenixQuerySplit(splitNumber, totalSplits, query, parameters.toArray(new Serializable[0]));
+    }
+
+    /** Orders primary key values as Phoenix compares them, independent of the column sort order. */
+    static Comparator<Object[]> valueComparator(PDataType<?>[] types) {
+        return (left, right) -> {
+            for (int i = 0; i < types.length; i++) {
+                int result = types[i].compareTo(left[i], right[i], types[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /** Keeps at most {@code maxSplits - 1} boundaries, evenly spaced over the sorted ones. */
+    private List<Object[]> select(List<Object[]> boundaries) {
+        int limit = Math.max(this.maxSplits - 1, 0);
+        if (boundaries.size() <= limit) {
+            return boundaries;
+        }
+        List<Object[]> selected = new ArrayList<>(limit);
+        for (int i = 1; i <= limit; i++) {
+            selected.add(boundaries.get((int) ((long) i * boundaries.size() / (limit + 1))));
+        }
+        return selected;
+    }
+
+    private static List<byte[]> readGuidePosts(Connection connection, String physicalName) {
+        List<byte[]> guidePosts = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(GUIDE_POSTS_QUERY)) {
+            statement.setString(1, physicalName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    guidePosts.add(resultSet.getBytes(1));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warn("Failed to read guideposts of {}, splitting by region boundaries only.", physicalName, e);
+        }
+        return guidePosts;
+    }
+
+    /**
+     * Decodes the primary key values of a row key, returns null if the key is truncated or has a
+     * null component, which cannot be expressed as a range bound.
+     */
+    static Object[] decodeRowKey(RowKeySchema schema, int pkOffset, byte[] rowKey) {
+        int fieldCount = schema.getFieldCount();
+        Object[] values = new Object[fieldCount - pkOffset];
+        try {
+            ImmutableBytesWritable ptr = new ImmutableBytesWritable();
+            int maxOffset = schema.iterator(rowKey, ptr);
+            for (int i = 0; i < fieldCount; i++) {
+                Boolean hasValue = schema.next(ptr, i, maxOffset);
+                if (hasValue == null || (i >= pkOffset && !hasValue)) {
+                    return null;
+                }
+                if (i >= pkOffset) {
+                    Field field = schema.getField(i);
+                    values[i - pkOffset] = field.getDataType().toObject(ptr, field.getSortOrder());
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Skipping undecodable split boundary {}", Bytes.toStringBinary(rowKey), e);
+            return null;
+        }
+        for (Object value : values) {
+            if (!(value instanceof Serializable)) {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    private static String rowValueConstructor(String[] columns) {
+        return columns.length == 1 ? columns[0] : "(" + String.join(", ", columns) + ")";
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count == 1 ? "?" : "(?");
+        for (int i = 1; i < count; i++) {
+            sb.append(", ?");
+        }
+        return count == 1 ? sb.toString() : sb.append(")").toString();
+    }
+
+    private static void addParameters(List<Serializable> parameters, Object[] values) {
+        for (Object value : values) {
+            parameters.add((Serializable) value);
+        }
+    }
+}
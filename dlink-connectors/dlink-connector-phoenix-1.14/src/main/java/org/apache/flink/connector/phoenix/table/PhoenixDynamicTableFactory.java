@@ -51,6 +51,7 @@ import java.util.Set;
  * @since 2022/3/17 9:44
  **/
 public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, DynamicTableSinkFactory {
+
     public static final String IDENTIFIER = "phoenix-jdbc";
     public static final ConfigOption<String> URL = ConfigOptions.key("url")
             .stringType()
@@ -64,14 +65,14 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
             .stringType()
             .noDefaultValue()
             .withDescription("The JDBC user name.");
-    public static final ConfigOption<String> PASSWORD = ConfigOptions.key("password").
-            stringType()
+    public static final ConfigOption<String> PASSWORD = ConfigOptions.key("password").stringType()
             .noDefaultValue()
             .withDescription("The JDBC password.");
     private static final ConfigOption<String> DRIVER = ConfigOptions.key("driver")
             .stringType()
             .noDefaultValue()
-            .withDescription("The class name of the JDBC driver to use to connect to this URL. If not set, it will automatically be derived from the URL.");
+            .withDescription(
+                    "The class name of the JDBC driver to use to connect to this URL. If not set, it will automatically be derived from the URL.");
     public static final ConfigOption<Duration> MAX_RETRY_TIMEOUT = ConfigOptions
             .key("connection.max-retry-timeout")
             .durationType()
@@ -96,16 +97,27 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
     private static final ConfigOption<Integer> SCAN_FETCH_SIZE = ConfigOptions.key("scan.fetch-size")
             .intType()
             .defaultValue(0)
-            .withDescription("Gives the reader a hint as to the number of rows that should be fetched from the database per round-trip when reading. If the value is zero, this hint is ignored.");
+            .withDescription(
+                    "Gives the reader a hint as to the number of rows that should be fetched from the database per round-trip when reading. If the value is zero, this hint is ignored.");
     private static final ConfigOption<Boolean> SCAN_AUTO_COMMIT = ConfigOptions.key("scan.auto-commit")
             .booleanType()
             .defaultValue(true)
             .withDescription("Sets whether the driver is in auto-commit mode.");
+    private static final ConfigOption<Boolean> SCAN_SPLIT_BY_REGION = ConfigOptions.key("scan.split.by-region")
+            .booleanType()
+            .defaultValue(true)
+            .withDescription(
+                    "Whether to split the scan by the region boundaries and statistics guideposts of the table when no partition column is configured.");
+    private static final ConfigOption<Integer> SCAN_SPLIT_MAX_NUM = ConfigOptions.key("scan.split.max-num")
+            .intType()
+            .defaultValue(1024)
+            .withDescription("The maximum number of splits generated from the region boundaries of the table.");
     private static final ConfigOption<Long> LOOKUP_CACHE_MAX_ROWS = ConfigOptions.key("lookup.cache.max-rows")
             .longType()
             .defaultValue(-1L)
-            .withDescription("The max number of rows of lookup cache, over this value, the oldest rows will be eliminated. "
-                    + "\"cache.max-rows\" and \"cache.ttl\" options must all be specified if any of them is specified.");
+            .withDescription(
+                    "The max number of rows of lookup cache, over this value, the oldest rows will be eliminated. "
+                            + "\"cache.max-rows\" and \"cache.ttl\" options must all be specified if any of them is specified.");
     private static final ConfigOption<Duration> LOOKUP_CACHE_TTL = ConfigOptions.key("lookup.cache.ttl")
             .durationType()
             .defaultValue(Duration.ofSeconds(10L))
@@ -114,24 +126,75 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
             .intType()
             .defaultValue(3)
             .withDescription("The max retry times if lookup database failed.");
-    private static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MAX_ROWS = ConfigOptions.key("sink.buffer-flush.max-rows")
+    private static final ConfigOption<Boolean> LOOKUP_ASYNC = ConfigOptions.key("lookup.async")
+            .booleanType()
+            .defaultValue(false)
+            .withDescription("Whether to lookup the database asynchronously with batched queries.");
+    private static final ConfigOption<Integer> LOOKUP_ASYNC_POOL_SIZE = ConfigOptions.key("lookup.async.pool-size")
+            .intType()
+            .defaultValue(JdbcLookupOptions.DEFAULT_ASYNC_POOL_SIZE)
+            .withDescription("The number of connections (and threads) used by async lookup.");
+    private static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE = ConfigOptions.key("lookup.async.batch-size")
+            .intType()
+            .defaultValue(JdbcLookupOptions.DEFAULT_ASYNC_BATCH_SIZE)
+            .withDescription("The max number of keys merged into one async lookup query.");
+    private static final ConfigOption<Duration> LOOKUP_ASYNC_BATCH_WINDOW = ConfigOptions
+            .key("lookup.async.batch-window")
+            .durationType()
+            .defaultValue(Duration.ofMillis(JdbcLookupOptions.DEFAULT_ASYNC_BATCH_WINDOW_MS))
+            .withDescription("The max time to wait for more keys before an async lookup query is sent.");
+    private static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MAX_ROWS = ConfigOptions
+            .key("sink.buffer-flush.max-rows")
             .intType()
             .defaultValue(100)
-            .withDescription("The flush max size (includes all append, upsert and delete records), over this number of records, will flush data.");
-    private static final ConfigOption<Duration> SINK_BUFFER_FLUSH_INTERVAL = ConfigOptions.key("sink.buffer-flush.interval")
+            .withDescription(
+                    "The flush max size (includes all append, upsert and delete records), over this number of records, will flush data.");
+    private static final ConfigOption<Duration> SINK_BUFFER_FLUSH_INTERVAL = ConfigOptions
+            .key("sink.buffer-flush.interval")
             .durationType()
             .defaultValue(Duration.ofSeconds(1L))
             .withDescription("The flush interval mills, over this time, asynchronous threads will flush data.");
+    private static final ConfigOption<Boolean> SINK_BUFFER_FLUSH_ASYNC = ConfigOptions
+            .key("sink.buffer-flush.async")
+            .booleanType()
+            .defaultValue(true)
+            .withDescription(
+                    "Whether to commit a full batch in a background thread while the next batch is buffered.");
+    private static final ConfigOption<Boolean> SINK_BUFFER_FLUSH_ADAPTIVE = ConfigOptions
+            .key("sink.buffer-flush.adaptive")
+            .booleanType()
+            .defaultValue(false)
+            .withDescription(
+                    "Whether to adjust the flush size between 'sink.buffer-flush.min-rows' and 'sink.buffer-flush.max-rows' by the observed commit latency.");
+    private static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MIN_ROWS = ConfigOptions
+            .key("sink.buffer-flush.min-rows")
+            .intType()
+            .defaultValue(JdbcExecutionOptions.DEFAULT_MIN_SIZE)
+            .withDescription("The min flush size when the adaptive flush size is enabled.");
+    private static final ConfigOption<Duration> SINK_BUFFER_FLUSH_TARGET_LATENCY = ConfigOptions
+            .key("sink.buffer-flush.target-latency")
+            .durationType()
+            .defaultValue(Duration.ofMillis(JdbcExecutionOptions.DEFAULT_TARGET_FLUSH_LATENCY_MILLIS))
+            .withDescription(
+                    "The commit latency the adaptive flush size aims at, slower commits shrink the flush size.");
+    private static final ConfigOption<Boolean> SINK_DEDUPLICATE = ConfigOptions
+            .key("sink.deduplicate")
+            .booleanType()
+            .defaultValue(false)
+            .withDescription(
+                    "Whether to drop exact duplicate rows buffered by an append-only sink, keeping the arrival order of the remaining rows. Upsert sinks are always reduced by primary key.");
     private static final ConfigOption<Integer> SINK_MAX_RETRIES = ConfigOptions.key("sink.max-retries")
             .intType()
             .defaultValue(3)
             .withDescription("The max retry times if writing records to database failed.");
 
-    public static final ConfigOption<Boolean> SCHEMA_NAMESPACE_MAPPING_ENABLE = ConfigOptions.key("phoenix.schema.isnamespacemappingenabled")
+    public static final ConfigOption<Boolean> SCHEMA_NAMESPACE_MAPPING_ENABLE = ConfigOptions
+            .key("phoenix.schema.isnamespacemappingenabled")
             .booleanType()
             .defaultValue(false)
             .withDescription("The JDBC phoenix Schema isNamespaceMappingEnabled.");
-    public static final ConfigOption<Boolean> SCHEMA_MAP_SYSTEMTABLE_ENABLE = ConfigOptions.key("phoenix.schema.mapsystemtablestonamespace")
+    public static final ConfigOption<Boolean> SCHEMA_MAP_SYSTEMTABLE_ENABLE = ConfigOptions
+            .key("phoenix.schema.mapsystemtablestonamespace")
             .booleanType()
             .defaultValue(false)
             .withDescription("The JDBC phoenix mapSystemTablesToNamespace.");
@@ -144,7 +207,8 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         this.validateConfigOptions(config);
         PhoenixJdbcOptions jdbcOptions = this.getJdbcOptions(config);
         TableSchema physicalSchema = TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
-        return new PhoenixDynamicTableSink(jdbcOptions, this.getJdbcExecutionOptions(config), this.getJdbcDmlOptions(jdbcOptions, physicalSchema), physicalSchema);
+        return new PhoenixDynamicTableSink(jdbcOptions, this.getJdbcExecutionOptions(config),
+                this.getJdbcDmlOptions(jdbcOptions, physicalSchema), physicalSchema);
     }
 
     @Override
@@ -154,18 +218,21 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         helper.validate();
         this.validateConfigOptions(config);
         TableSchema physicalSchema = TableSchemaUtils.getPhysicalSchema(context.getCatalogTable().getSchema());
-        return new PhoenixDynamicTableSource(this.getJdbcOptions(helper.getOptions()), this.getJdbcReadOptions(helper.getOptions()), this.getJdbcLookupOptions(helper.getOptions()),physicalSchema);
+        return new PhoenixDynamicTableSource(this.getJdbcOptions(helper.getOptions()),
+                this.getJdbcReadOptions(helper.getOptions()), this.getJdbcLookupOptions(helper.getOptions()),
+                physicalSchema);
 
     }
 
     private PhoenixJdbcOptions getJdbcOptions(ReadableConfig readableConfig) {
-        String url = (String)readableConfig.get(URL);
+        String url = (String) readableConfig.get(URL);
         PhoenixJdbcOptions.Builder builder = PhoenixJdbcOptions.builder()
                 .setDBUrl(url)
-                .setTableName((String)readableConfig.get(TABLE_NAME))
-                .setDialect((JdbcDialect)JdbcDialects.get(url).get())
-                .setParallelism((Integer)readableConfig.getOptional(FactoryUtil.SINK_PARALLELISM).orElse((Integer) null))
-                .setConnectionCheckTimeoutSeconds((int)((Duration)readableConfig.get(MAX_RETRY_TIMEOUT)).getSeconds())
+                .setTableName((String) readableConfig.get(TABLE_NAME))
+                .setDialect((JdbcDialect) JdbcDialects.get(url).get())
+                .setParallelism(
+                        (Integer) readableConfig.getOptional(FactoryUtil.SINK_PARALLELISM).orElse((Integer) null))
+                .setConnectionCheckTimeoutSeconds((int) ((Duration) readableConfig.get(MAX_RETRY_TIMEOUT)).getSeconds())
                 .setNamespaceMappingEnabled(readableConfig.get(SCHEMA_NAMESPACE_MAPPING_ENABLE))
                 .setMapSystemTablesToNamespace(readableConfig.get(SCHEMA_MAP_SYSTEMTABLE_ENABLE));
         readableConfig.getOptional(DRIVER).ifPresent(builder::setDriverName);
@@ -178,34 +245,46 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         Optional<String> partitionColumnName = readableConfig.getOptional(SCAN_PARTITION_COLUMN);
         JdbcReadOptions.Builder builder = JdbcReadOptions.builder();
         if (partitionColumnName.isPresent()) {
-            builder.setPartitionColumnName((String)partitionColumnName.get());
-            builder.setPartitionLowerBound((Long)readableConfig.get(SCAN_PARTITION_LOWER_BOUND));
-            builder.setPartitionUpperBound((Long)readableConfig.get(SCAN_PARTITION_UPPER_BOUND));
-            builder.setNumPartitions((Integer)readableConfig.get(SCAN_PARTITION_NUM));
+            builder.setPartitionColumnName((String) partitionColumnName.get());
+            builder.setPartitionLowerBound((Long) readableConfig.get(SCAN_PARTITION_LOWER_BOUND));
+            builder.setPartitionUpperBound((Long) readableConfig.get(SCAN_PARTITION_UPPER_BOUND));
+            builder.setNumPartitions((Integer) readableConfig.get(SCAN_PARTITION_NUM));
         }
 
         readableConfig.getOptional(SCAN_FETCH_SIZE).ifPresent(builder::setFetchSize);
-        builder.setAutoCommit((Boolean)readableConfig.get(SCAN_AUTO_COMMIT));
+        builder.setAutoCommit((Boolean) readableConfig.get(SCAN_AUTO_COMMIT));
+        builder.setSplitByRegion(readableConfig.get(SCAN_SPLIT_BY_REGION));
+        builder.setMaxSplits(readableConfig.get(SCAN_SPLIT_MAX_NUM));
         return builder.build();
     }
 
     private JdbcLookupOptions getJdbcLookupOptions(ReadableConfig readableConfig) {
-        return new JdbcLookupOptions((Long)readableConfig.get(LOOKUP_CACHE_MAX_ROWS), ((Duration)readableConfig.get(LOOKUP_CACHE_TTL)).toMillis(), (Integer)readableConfig.get(LOOKUP_MAX_RETRIES));
+        return new JdbcLookupOptions((Long) readableConfig.get(LOOKUP_CACHE_MAX_ROWS),
+                ((Duration) readableConfig.get(LOOKUP_CACHE_TTL)).toMillis(),
+                (Integer) readableConfig.get(LOOKUP_MAX_RETRIES),
+                readableConfig.get(LOOKUP_ASYNC), readableConfig.get(LOOKUP_ASYNC_POOL_SIZE),
+                readableConfig.get(LOOKUP_ASYNC_BATCH_SIZE), readableConfig.get(LOOKUP_ASYNC_BATCH_WINDOW).toMillis());
     }
 
     private JdbcExecutionOptions getJdbcExecutionOptions(ReadableConfig config) {
         JdbcExecutionOptions.Builder builder = new JdbcExecutionOptions.Builder();
-        builder.withBatchSize((Integer)config.get(SINK_BUFFER_FLUSH_MAX_ROWS));
-        builder.withBatchIntervalMs(((Duration)config.get(SINK_BUFFER_FLUSH_INTERVAL)).toMillis());
-        builder.withMaxRetries((Integer)config.get(SINK_MAX_RETRIES));
+        builder.withBatchSize((Integer) config.get(SINK_BUFFER_FLUSH_MAX_ROWS));
+        builder.withBatchIntervalMs(((Duration) config.get(SINK_BUFFER_FLUSH_INTERVAL)).toMillis());
+        builder.withMaxRetries((Integer) config.get(SINK_MAX_RETRIES));
+        builder.withAsyncFlush(config.get(SINK_BUFFER_FLUSH_ASYNC));
+        builder.withAdaptiveBatchSize(config.get(SINK_BUFFER_FLUSH_ADAPTIVE));
+        builder.withMinBatchSize(config.get(SINK_BUFFER_FLUSH_MIN_ROWS));
+        builder.withTargetFlushLatencyMs(config.get(SINK_BUFFER_FLUSH_TARGET_LATENCY).toMillis());
+        builder.withDeduplicate(config.get(SINK_DEDUPLICATE));
         return builder.build();
     }
 
     private JdbcDmlOptions getJdbcDmlOptions(PhoenixJdbcOptions jdbcOptions, TableSchema schema) {
-        String[] keyFields = (String[])schema.getPrimaryKey().map((pk) -> {
-            return (String[])pk.getColumns().toArray(new String[0]);
+        String[] keyFields = (String[]) schema.getPrimaryKey().map((pk) -> {
+            return (String[]) pk.getColumns().toArray(new String[0]);
         }).orElse((String[]) null);
-        return JdbcDmlOptions.builder().withTableName(jdbcOptions.getTableName()).withDialect(jdbcOptions.getDialect()).withFieldNames(schema.getFieldNames()).withKeyFields(keyFields).build();
+        return JdbcDmlOptions.builder().withTableName(jdbcOptions.getTableName()).withDialect(jdbcOptions.getDialect())
+                .withFieldNames(schema.getFieldNames()).withKeyFields(keyFields).build();
     }
 
     public String factoryIdentifier() {
@@ -232,29 +311,42 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         optionalOptions.add(SCAN_PARTITION_NUM);
         optionalOptions.add(SCAN_FETCH_SIZE);
         optionalOptions.add(SCAN_AUTO_COMMIT);
+        optionalOptions.add(SCAN_SPLIT_BY_REGION);
+        optionalOptions.add(SCAN_SPLIT_MAX_NUM);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
+        optionalOptions.add(LOOKUP_ASYNC);
+        optionalOptions.add(LOOKUP_ASYNC_POOL_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_WINDOW);
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ASYNC);
+        optionalOptions.add(SINK_BUFFER_FLUSH_ADAPTIVE);
+        optionalOptions.add(SINK_BUFFER_FLUSH_MIN_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_TARGET_LATENCY);
+        optionalOptions.add(SINK_DEDUPLICATE);
         optionalOptions.add(SINK_MAX_RETRIES);
         optionalOptions.add(FactoryUtil.SINK_PARALLELISM);
         optionalOptions.add(MAX_RETRY_TIMEOUT);
-        //optionalOptions.add(SCHEMA_NAMESPACE_MAPPING_ENABLE);
-        //optionalOptions.add(SCHEMA_MAP_SYSTEMTABLE_ENABLE);
+        // optionalOptions.add(SCHEMA_NAMESPACE_MAPPING_ENABLE);
+        // optionalOptions.add(SCHEMA_MAP_SYSTEMTABLE_ENABLE);
         return optionalOptions;
     }
 
     private void validateConfigOptions(ReadableConfig config) {
-        String jdbcUrl = (String)config.get(URL);
+        String jdbcUrl = (String) config.get(URL);
         Optional<JdbcDialect> dialect = JdbcDialects.get(jdbcUrl);
         Preconditions.checkState(dialect.isPresent(), "Cannot handle such jdbc url: " + jdbcUrl);
         this.checkAllOrNone(config, new ConfigOption[]{SCHEMA_NAMESPACE_MAPPING_ENABLE, SCHEMA_MAP_SYSTEMTABLE_ENABLE});
         this.checkAllOrNone(config, new ConfigOption[]{USERNAME, PASSWORD});
-        this.checkAllOrNone(config, new ConfigOption[]{SCAN_PARTITION_COLUMN, SCAN_PARTITION_NUM, SCAN_PARTITION_LOWER_BOUND, SCAN_PARTITION_UPPER_BOUND});
-        if (config.getOptional(SCAN_PARTITION_LOWER_BOUND).isPresent() && config.getOptional(SCAN_PARTITION_UPPER_BOUND).isPresent()) {
-            long lowerBound = (Long)config.get(SCAN_PARTITION_LOWER_BOUND);
-            long upperBound = (Long)config.get(SCAN_PARTITION_UPPER_BOUND);
+        this.checkAllOrNone(config, new ConfigOption[]{SCAN_PARTITION_COLUMN, SCAN_PARTITION_NUM,
+                SCAN_PARTITION_LOWER_BOUND, SCAN_PARTITION_UPPER_BOUND});
+        if (config.getOptional(SCAN_PARTITION_LOWER_BOUND).isPresent()
+                && config.getOptional(SCAN_PARTITION_UPPER_BOUND).isPresent()) {
+            long lowerBound = (Long) config.get(SCAN_PARTITION_LOWER_BOUND);
+            long upperBound = (Long) config.get(SCAN_PARTITION_UPPER_BOUND);
             if (lowerBound > upperBound) {
                 throw new IllegalArgumentException(String.format("'%s'='%s' must not be larger than '%s'='%s'.",
                         SCAN_PARTITION_LOWER_BOUND.key(), lowerBound, SCAN_PARTITION_UPPER_BOUND.key(), upperBound));
@@ -262,13 +354,34 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         }
 
         this.checkAllOrNone(config, new ConfigOption[]{LOOKUP_CACHE_MAX_ROWS, LOOKUP_CACHE_TTL});
-        if ((Integer)config.get(LOOKUP_MAX_RETRIES) < 0) {
-            throw new IllegalArgumentException(String.format("The value of '%s' option shouldn't be negative, but is %s.", LOOKUP_MAX_RETRIES.key(), config.get(LOOKUP_MAX_RETRIES)));
-        } else if ((Integer)config.get(SINK_MAX_RETRIES) < 0) {
-            throw new IllegalArgumentException(String.format("The value of '%s' option shouldn't be negative, but is %s.", SINK_MAX_RETRIES.key(), config.get(SINK_MAX_RETRIES)));
-        } else if (((Duration)config.get(MAX_RETRY_TIMEOUT)).getSeconds() <= 0L) {
-            throw new IllegalArgumentException(String.format("The value of '%s' option must be in second granularity and shouldn't be smaller than 1 second, but is %s.",
-                    MAX_RETRY_TIMEOUT.key(), config.get(ConfigOptions.key(MAX_RETRY_TIMEOUT.key()).stringType().noDefaultValue())));
+        if ((Integer) config.get(LOOKUP_MAX_RETRIES) < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The value of '%s' option shouldn't be negative, but is %s.",
+                            LOOKUP_MAX_RETRIES.key(), config.get(LOOKUP_MAX_RETRIES)));
+        } else if (config.get(LOOKUP_ASYNC_POOL_SIZE) <= 0) {
+            throw new IllegalArgumentException(String.format("The value of '%s' option should be positive, but is %s.",
+                    LOOKUP_ASYNC_POOL_SIZE.key(), config.get(LOOKUP_ASYNC_POOL_SIZE)));
+        } else if (config.get(LOOKUP_ASYNC_BATCH_SIZE) <= 0) {
+            throw new IllegalArgumentException(String.format("The value of '%s' option should be positive, but is %s.",
+                    LOOKUP_ASYNC_BATCH_SIZE.key(), config.get(LOOKUP_ASYNC_BATCH_SIZE)));
+        } else if (config.get(SCAN_SPLIT_MAX_NUM) <= 0) {
+            throw new IllegalArgumentException(String.format("The value of '%s' option should be positive, but is %s.",
+                    SCAN_SPLIT_MAX_NUM.key(), config.get(SCAN_SPLIT_MAX_NUM)));
+        } else if (config.get(SINK_BUFFER_FLUSH_MIN_ROWS) <= 0) {
+            throw new IllegalArgumentException(String.format("The value of '%s' option should be positive, but is %s.",
+                    SINK_BUFFER_FLUSH_MIN_ROWS.key(), config.get(SINK_BUFFER_FLUSH_MIN_ROWS)));
+        } else if (config.get(SINK_BUFFER_FLUSH_TARGET_LATENCY).toMillis() <= 0L) {
+            throw new IllegalArgumentException(String.format("The value of '%s' option should be positive, but is %s.",
+                    SINK_BUFFER_FLUSH_TARGET_LATENCY.key(), config.get(SINK_BUFFER_FLUSH_TARGET_LATENCY)));
+        } else if ((Integer) config.get(SINK_MAX_RETRIES) < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The value of '%s' option shouldn't be negative, but is %s.", SINK_MAX_RETRIES.key(),
+                            config.get(SINK_MAX_RETRIES)));
+        } else if (((Duration) config.get(MAX_RETRY_TIMEOUT)).getSeconds() <= 0L) {
+            throw new IllegalArgumentException(String.format(
+                    "The value of '%s' option must be in second granularity and shouldn't be smaller than 1 second, but is %s.",
+                    MAX_RETRY_TIMEOUT.key(),
+                    config.get(ConfigOptions.key(MAX_RETRY_TIMEOUT.key()).stringType().noDefaultValue())));
         }
     }
 
@@ -287,6 +400,7 @@ public class PhoenixDynamicTableFactory implements DynamicTableSourceFactory, Dy
         String[] propertyNames = (String[]) Arrays.stream(configOptions).map(ConfigOption::key).toArray((x$0) -> {
             return new String[x$0];
         });
-        Preconditions.checkArgument(configOptions.length == presentCount || presentCount == 0, "Either all or none of the following options should be provided:\n" + String.join("\n", propertyNames));
+        Preconditions.checkArgument(configOptions.length == presentCount || presentCount == 0,
+                "Either all or none of the following options should be provided:\n" + String.join("\n", propertyNames));
     }
 }
@@ -23,21 +23,30 @@ import org.apache.flink.connector.phoenix.dialect.JdbcDialect;
 import org.apache.flink.connector.phoenix.internal.options.JdbcLookupOptions;
 import org.apache.flink.connector.phoenix.internal.options.JdbcReadOptions;
 import org.apache.flink.connector.phoenix.internal.options.PhoenixJdbcOptions;
+import org.apache.flink.connector.phoenix.split.JdbcGenericParameterValuesProvider;
 import org.apache.flink.connector.phoenix.split.JdbcNumericBetweenParametersProvider;
+import org.apache.flink.connector.phoenix.split.PhoenixRegionSplitGenerator;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.utils.TableSchemaUtils;
 import org.apache.flink.util.Preconditions;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * PhoenixDynamicTableSource
@@ -45,8 +54,13 @@ import java.util.Objects;
  * @author gy
  * @since 2022/3/17 10:40
  **/
-public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSource, SupportsProjectionPushDown,
-        SupportsLimitPushDown {
+public class PhoenixDynamicTableSource
+        implements
+            ScanTableSource,
+            LookupTableSource,
+            SupportsProjectionPushDown,
+            SupportsLimitPushDown,
+            SupportsFilterPushDown {
 
     private final PhoenixJdbcOptions options;
     private final JdbcReadOptions readOptions;
@@ -54,8 +68,11 @@ public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSo
     private TableSchema physicalSchema;
     private final String dialectName;
     private long limit = -1L;
+    private List<String> filterConditions = new ArrayList<>();
+    private List<Serializable> filterParameters = new ArrayList<>();
 
-    public PhoenixDynamicTableSource(PhoenixJdbcOptions options, JdbcReadOptions readOptions, JdbcLookupOptions lookupOptions, TableSchema physicalSchema) {
+    public PhoenixDynamicTableSource(PhoenixJdbcOptions options, JdbcReadOptions readOptions,
+            JdbcLookupOptions lookupOptions, TableSchema physicalSchema) {
         this.options = options;
         this.readOptions = readOptions;
         this.lookupOptions = lookupOptions;
@@ -76,6 +93,16 @@ public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSo
         }
         final RowType rowType = (RowType) physicalSchema.toRowDataType().getLogicalType();
 
+        if (lookupOptions.isAsync()) {
+            return AsyncTableFunctionProvider.of(
+                    new PhoenixRowDataAsyncLookupFunction(
+                            options,
+                            lookupOptions,
+                            physicalSchema.getFieldNames(),
+                            physicalSchema.getFieldDataTypes(),
+                            keyNames,
+                            rowType));
+        }
         return TableFunctionProvider.of(
                 new PhoenixRowDataLookupFunction(
                         options,
@@ -91,34 +118,61 @@ public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSo
         PhoenixJdbcRowDataInputFormat.Builder builder = PhoenixJdbcRowDataInputFormat.builder()
                 .setDrivername(this.options.getDriverName())
                 .setDBUrl(this.options.getDbURL())
-                .setUsername((String)this.options.getUsername().orElse((String) null))
-                .setPassword((String)this.options.getPassword().orElse((String) null))
+                .setUsername((String) this.options.getUsername().orElse((String) null))
+                .setPassword((String) this.options.getPassword().orElse((String) null))
                 .setAutoCommit(this.readOptions.getAutoCommit())
-                //setting phoenix schema
+                // setting phoenix schema
                 .setNamespaceMappingEnabled(this.options.getNamespaceMappingEnabled())
-                .setMapSystemTablesToNamespace(this.options.getMapSystemTablesToNamespace())
-                ;
+                .setMapSystemTablesToNamespace(this.options.getMapSystemTablesToNamespace());
 
         if (this.readOptions.getFetchSize() != 0) {
             builder.setFetchSize(this.readOptions.getFetchSize());
         }
 
         JdbcDialect dialect = this.options.getDialect();
-        String query = dialect.getSelectFromStatement(this.options.getTableName(), this.physicalSchema.getFieldNames(), new String[0]);
+        String selectQuery = dialect.getSelectFromStatement(this.options.getTableName(),
+                this.physicalSchema.getFieldNames(), new String[0]);
+        String filterClause = this.filterConditions.isEmpty() ? null : String.join(" AND ", this.filterConditions);
+        Serializable[] filterValues = this.filterParameters.toArray(new Serializable[0]);
+        List<String> conditions = new ArrayList<>();
         if (this.readOptions.getPartitionColumnName().isPresent()) {
-            long lowerBound = (Long)this.readOptions.getPartitionLowerBound().get();
-            long upperBound = (Long)this.readOptions.getPartitionUpperBound().get();
-            int numPartitions = (Integer)this.readOptions.getNumPartitions().get();
-            builder.setParametersProvider((new JdbcNumericBetweenParametersProvider(lowerBound, upperBound)).ofBatchNum(numPartitions));
-            query = query + " WHERE " + dialect.quoteIdentifier((String)this.readOptions.getPartitionColumnName().get()) + " BETWEEN ? AND ?";
+            long lowerBound = (Long) this.readOptions.getPartitionLowerBound().get();
+            long upperBound = (Long) this.readOptions.getPartitionUpperBound().get();
+            int numPartitions = (Integer) this.readOptions.getNumPartitions().get();
+            Serializable[][] partitions = (new JdbcNumericBetweenParametersProvider(lowerBound, upperBound))
+                    .ofBatchNum(numPartitions).getParameterValues();
+            for (int i = 0; i < partitions.length; i++) {
+                Serializable[] parameters = new Serializable[partitions[i].length + filterValues.length];
+                System.arraycopy(partitions[i], 0, parameters, 0, partitions[i].length);
+                System.arraycopy(filterValues, 0, parameters, partitions[i].length, filterValues.length);
+                partitions[i] = parameters;
+            }
+            builder.setParametersProvider(new JdbcGenericParameterValuesProvider(partitions));
+            conditions.add(dialect.quoteIdentifier((String) this.readOptions.getPartitionColumnName().get())
+                    + " BETWEEN ? AND ?");
+        } else {
+            if (filterValues.length > 0) {
+                builder.setParametersProvider(
+                        new JdbcGenericParameterValuesProvider(new Serializable[][]{filterValues}));
+            }
+            // 未配置分区列时按 region 边界和 guidepost 切分，limit 下推时只需读取一个 split
+            if (this.readOptions.isSplitByRegion() && this.limit < 0L) {
+                builder.setRegionSplitGenerator(new PhoenixRegionSplitGenerator(this.options.getTableName(),
+                        selectQuery, filterClause, filterValues, this.readOptions.getMaxSplits()));
+            }
+        }
+
+        if (filterClause != null) {
+            conditions.add(filterClause);
         }
+        String query = conditions.isEmpty() ? selectQuery : selectQuery + " WHERE " + String.join(" AND ", conditions);
 
         if (this.limit >= 0L) {
             query = String.format("%s %s", query, dialect.getLimitClause(this.limit));
         }
 
         builder.setQuery(query);
-        RowType rowType = (RowType)this.physicalSchema.toRowDataType().getLogicalType();
+        RowType rowType = (RowType) this.physicalSchema.toRowDataType().getLogicalType();
         builder.setRowConverter(dialect.getRowConverter(rowType));
         builder.setRowDataTypeInfo(runtimeProviderContext.createTypeInformation(this.physicalSchema.toRowDataType()));
         return InputFormatProvider.of(builder.build());
@@ -139,8 +193,28 @@ public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSo
         this.physicalSchema = TableSchemaUtils.projectSchema(this.physicalSchema, projectedFields);
     }
 
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        PhoenixFilterConverter converter = new PhoenixFilterConverter(this.options.getDialect());
+        List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        for (ResolvedExpression filter : filters) {
+            Optional<String> condition = converter.convert(filter, this.filterParameters);
+            if (condition.isPresent()) {
+                this.filterConditions.add(condition.get());
+                acceptedFilters.add(filter);
+            }
+        }
+        // 下推的条件只用于减少扫描的数据量，仍由 Flink 再次过滤
+        return Result.of(acceptedFilters, filters);
+    }
+
     public DynamicTableSource copy() {
-        return new PhoenixDynamicTableSource(this.options, this.readOptions, this.lookupOptions, this.physicalSchema);
+        PhoenixDynamicTableSource source = new PhoenixDynamicTableSource(this.options, this.readOptions,
+                this.lookupOptions, this.physicalSchema);
+        source.limit = this.limit;
+        source.filterConditions = new ArrayList<>(this.filterConditions);
+        source.filterParameters = new ArrayList<>(this.filterParameters);
+        return source;
     }
 
     public String asSummaryString() {
@@ -153,16 +227,19 @@ public class PhoenixDynamicTableSource implements ScanTableSource, LookupTableSo
         } else if (!(o instanceof PhoenixDynamicTableSource)) {
             return false;
         } else {
-            PhoenixDynamicTableSource that = (PhoenixDynamicTableSource)o;
+            PhoenixDynamicTableSource that = (PhoenixDynamicTableSource) o;
             return Objects.equals(this.options, that.options)
                     && Objects.equals(this.physicalSchema, that.physicalSchema)
                     && Objects.equals(this.dialectName, that.dialectName)
-                    && Objects.equals(this.limit, that.limit);
+                    && Objects.equals(this.limit, that.limit)
+                    && Objects.equals(this.filterConditions, that.filterConditions)
+                    && Objects.equals(this.filterParameters, that.filterParameters);
         }
     }
 
     public int hashCode() {
-        return Objects.hash(new Object[]{this.options, this.readOptions, this.lookupOptions, this.physicalSchema, this.dialectName, this.limit});
+        return Objects.hash(new Object[]{this.options, this.readOptions, this.lookupOptions, this.physicalSchema,
+                this.dialectName, this.limit, this.filterConditions, this.filterParameters});
     }
 
     public void applyLimit(long limit) {
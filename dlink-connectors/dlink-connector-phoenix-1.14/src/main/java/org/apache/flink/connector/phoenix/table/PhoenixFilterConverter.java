@@ -0,0 +1,175 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.table;
+
+import org.apache.flink.connector.phoenix.dialect.JdbcDialect;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Translates the filters pushed down into a {@link PhoenixDynamicTableSource} into a Phoenix SQL
+ * condition with <CODE>?</CODE> placeholders, only simple comparisons between a field and a
+ * literal combined with AND / OR are supported.
+ */
+public class PhoenixFilterConverter {
+
+    private static final Map<FunctionDefinition, String> COMPARISONS = new HashMap<>();
+
+    static {
+        COMPARISONS.put(BuiltInFunctionDefinitions.EQUALS, "=");
+        COMPARISONS.put(BuiltInFunctionDefinitions.NOT_EQUALS, "<>");
+        COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN, "<");
+        COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL, "<=");
+        COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN, ">");
+        COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, ">=");
+    }
+
+    private final JdbcDialect dialect;
+
+    public PhoenixFilterConverter(JdbcDialect dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * Converts the filter, the bind parameters are appended to {@code parameters} only if the
+     * whole filter can be converted.
+     */
+    public Optional<String> convert(ResolvedExpression filter, List<Serializable> parameters) {
+        int size = parameters.size();
+        Optional<String> condition = convertExpression(filter, parameters);
+        if (!condition.isPresent()) {
+            parameters.subList(size, parameters.size()).clear();
+        }
+        return condition;
+    }
+
+    private Optional<String> convertExpression(ResolvedExpression expression, List<Serializable> parameters) {
+        if (!(expression instanceof CallExpression)) {
+            return Optional.empty();
+        }
+        CallExpression call = (CallExpression) expression;
+        FunctionDefinition function = call.getFunctionDefinition();
+        List<ResolvedExpression> children = call.getResolvedChildren();
+
+        if (function == BuiltInFunctionDefinitions.AND || function == BuiltInFunctionDefinitions.OR) {
+            String operator = function == BuiltInFunctionDefinitions.AND ? " AND " : " OR ";
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < children.size(); i++) {
+                Optional<String> child = convertExpression(children.get(i), parameters);
+                if (!child.isPresent()) {
+                    return Optional.empty();
+                }
+                sb.append(i == 0 ? "" : operator).append(child.get());
+            }
+            return Optional.of(sb.append(")").toString());
+        }
+
+        if (function == BuiltInFunctionDefinitions.IS_NULL || function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+            if (children.size() != 1 || !(children.get(0) instanceof FieldReferenceExpression)) {
+                return Optional.empty();
+            }
+            return Optional.of(column(children.get(0))
+                    + (function == BuiltInFunctionDefinitions.IS_NULL ? " IS NULL" : " IS NOT NULL"));
+        }
+
+        String operator = COMPARISONS.get(function);
+        if (operator == null || children.size() != 2) {
+            return Optional.empty();
+        }
+        ResolvedExpression left = children.get(0);
+        ResolvedExpression right = children.get(1);
+        if (left instanceof FieldReferenceExpression && right instanceof ValueLiteralExpression) {
+            return literal((ValueLiteralExpression) right, parameters).map(v -> column(left) + " " + operator + " ?");
+        }
+        if (left instanceof ValueLiteralExpression && right instanceof FieldReferenceExpression) {
+            return literal((ValueLiteralExpression) left, parameters).map(v -> "? " + operator + " " + column(right));
+        }
+        return Optional.empty();
+    }
+
+    private String column(ResolvedExpression field) {
+        return this.dialect.quoteIdentifier(((FieldReferenceExpression) field).getName());
+    }
+
+    private static Optional<Serializable> literal(ValueLiteralExpression literal, List<Serializable> parameters) {
+        if (literal.isNull()) {
+            // 与 NULL 比较的结果恒为 UNKNOWN，交给 Flink 处理
+            return Optional.empty();
+        }
+        Serializable value;
+        switch (literal.getOutputDataType().getLogicalType().getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+                value = literal.getValueAs(String.class).orElse(null);
+                break;
+            case BOOLEAN:
+                value = literal.getValueAs(Boolean.class).orElse(null);
+                break;
+            case TINYINT:
+                value = literal.getValueAs(Byte.class).orElse(null);
+                break;
+            case SMALLINT:
+                value = literal.getValueAs(Short.class).orElse(null);
+                break;
+            case INTEGER:
+                value = literal.getValueAs(Integer.class).orElse(null);
+                break;
+            case BIGINT:
+                value = literal.getValueAs(Long.class).orElse(null);
+                break;
+            case FLOAT:
+                value = literal.getValueAs(Float.class).orElse(null);
+                break;
+            case DOUBLE:
+                value = literal.getValueAs(Double.class).orElse(null);
+                break;
+            case DECIMAL:
+                value = literal.getValueAs(BigDecimal.class).orElse(null);
+                break;
+            case DATE:
+                value = literal.getValueAs(LocalDate.class).map(Date::valueOf).orElse(null);
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                value = literal.getValueAs(LocalDateTime.class).map(Timestamp::valueOf).orElse(null);
+                break;
+            default:
+                value = null;
+        }
+        if (value != null) {
+            parameters.add(value);
+        }
+        return Optional.ofNullable(value);
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.flink.connector.phoenix.internal.JdbcBatchingOutputFormat;
 import org.apache.flink.connector.phoenix.internal.connection.PhoneixJdbcConnectionProvider;
 import org.apache.flink.connector.phoenix.internal.converter.JdbcRowConverter;
 import org.apache.flink.connector.phoenix.internal.executor.JdbcBatchStatementExecutor;
+import org.apache.flink.connector.phoenix.internal.executor.TableBufferDeduplicatedStatementExecutor;
 import org.apache.flink.connector.phoenix.internal.executor.TableBufferReducedStatementExecutor;
 import org.apache.flink.connector.phoenix.internal.executor.TableBufferedStatementExecutor;
 import org.apache.flink.connector.phoenix.internal.executor.TableInsertOrUpdateStatementExecutor;
@@ -56,6 +57,7 @@ import java.util.function.Function;
  * @since 2022/3/17 11:43J
  **/
 public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
+
     private static final long serialVersionUID = 1L;
 
     private PhoenixJdbcOptions jdbcOptions;
@@ -64,7 +66,8 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
     private TypeInformation<RowData> rowDataTypeInformation;
     private DataType[] fieldDataTypes;
 
-    public PhoenixJdbcDynamicOutputFormatBuilder() {}
+    public PhoenixJdbcDynamicOutputFormatBuilder() {
+    }
 
     public PhoenixJdbcDynamicOutputFormatBuilder setJdbcOptions(PhoenixJdbcOptions jdbcOptions) {
         this.jdbcOptions = jdbcOptions;
@@ -98,37 +101,36 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
         checkNotNull(dmlOptions, "jdbc dml options can not be null");
         checkNotNull(executionOptions, "jdbc execution options can not be null");
 
-        final LogicalType[] logicalTypes =
-                Arrays.stream(fieldDataTypes)
-                        .map(DataType::getLogicalType)
-                        .toArray(LogicalType[]::new);
+        final LogicalType[] logicalTypes = Arrays.stream(fieldDataTypes)
+                .map(DataType::getLogicalType)
+                .toArray(LogicalType[]::new);
         if (dmlOptions.getKeyFields().isPresent() && dmlOptions.getKeyFields().get().length > 0) {
             // upsert query
             return new JdbcBatchingOutputFormat<>(
-                    new PhoneixJdbcConnectionProvider(jdbcOptions,jdbcOptions.getNamespaceMappingEnabled(),jdbcOptions.getMapSystemTablesToNamespace()),
+                    new PhoneixJdbcConnectionProvider(jdbcOptions, jdbcOptions.getNamespaceMappingEnabled(),
+                            jdbcOptions.getMapSystemTablesToNamespace()),
                     executionOptions,
-                    ctx ->
-                            createBufferReduceExecutor(
-                                    dmlOptions, ctx, rowDataTypeInformation, logicalTypes),
+                    ctx -> createBufferReduceExecutor(
+                            dmlOptions, ctx, rowDataTypeInformation, logicalTypes),
                     JdbcBatchingOutputFormat.RecordExtractor.identity());
         } else {
             // append only query
-            final String sql =
-                    dmlOptions
-                            .getDialect()
-                            .getInsertIntoStatement(
-                                    dmlOptions.getTableName(), dmlOptions.getFieldNames());
+            final String sql = dmlOptions
+                    .getDialect()
+                    .getInsertIntoStatement(
+                            dmlOptions.getTableName(), dmlOptions.getFieldNames());
             return new JdbcBatchingOutputFormat<>(
-                    new PhoneixJdbcConnectionProvider(jdbcOptions,jdbcOptions.getNamespaceMappingEnabled(),jdbcOptions.getMapSystemTablesToNamespace()),
+                    new PhoneixJdbcConnectionProvider(jdbcOptions, jdbcOptions.getNamespaceMappingEnabled(),
+                            jdbcOptions.getMapSystemTablesToNamespace()),
                     executionOptions,
-                    ctx ->
-                            createSimpleBufferedExecutor(
-                                    ctx,
-                                    dmlOptions.getDialect(),
-                                    dmlOptions.getFieldNames(),
-                                    logicalTypes,
-                                    sql,
-                                    rowDataTypeInformation),
+                    ctx -> createSimpleBufferedExecutor(
+                            ctx,
+                            dmlOptions.getDialect(),
+                            dmlOptions.getFieldNames(),
+                            logicalTypes,
+                            sql,
+                            rowDataTypeInformation,
+                            executionOptions.isDeduplicate()),
                     JdbcBatchingOutputFormat.RecordExtractor.identity());
         }
     }
@@ -142,18 +144,14 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
         JdbcDialect dialect = opt.getDialect();
         String tableName = opt.getTableName();
         String[] pkNames = opt.getKeyFields().get();
-        int[] pkFields =
-                Arrays.stream(pkNames)
-                        .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
-                        .toArray();
-        LogicalType[] pkTypes =
-                Arrays.stream(pkFields).mapToObj(f -> fieldTypes[f]).toArray(LogicalType[]::new);
-        final TypeSerializer<RowData> typeSerializer =
-                rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
-        final Function<RowData, RowData> valueTransform =
-                ctx.getExecutionConfig().isObjectReuseEnabled()
-                        ? typeSerializer::copy
-                        : Function.identity();
+        int[] pkFields = Arrays.stream(pkNames)
+                .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
+                .toArray();
+        LogicalType[] pkTypes = Arrays.stream(pkFields).mapToObj(f -> fieldTypes[f]).toArray(LogicalType[]::new);
+        final TypeSerializer<RowData> typeSerializer = rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
+        final Function<RowData, RowData> valueTransform = ctx.getExecutionConfig().isObjectReuseEnabled()
+                ? typeSerializer::copy
+                : Function.identity();
 
         return new TableBufferReducedStatementExecutor(
                 createUpsertRowExecutor(
@@ -175,14 +173,21 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
             String[] fieldNames,
             LogicalType[] fieldTypes,
             String sql,
-            TypeInformation<RowData> rowDataTypeInfo) {
-        final TypeSerializer<RowData> typeSerializer =
-                rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
+            TypeInformation<RowData> rowDataTypeInfo,
+            boolean deduplicate) {
+        final TypeSerializer<RowData> typeSerializer = rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
+        final Function<RowData, RowData> valueTransform = ctx.getExecutionConfig().isObjectReuseEnabled()
+                ? typeSerializer::copy
+                : Function.identity();
+        if (deduplicate) {
+            // Phoenix 的 insert 即 upsert，写入顺序决定同一主键的最终值，只去掉完全相同的行并保持顺序
+            return new TableBufferDeduplicatedStatementExecutor(
+                    createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql),
+                    valueTransform);
+        }
         return new TableBufferedStatementExecutor(
                 createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql),
-                ctx.getExecutionConfig().isObjectReuseEnabled()
-                        ? typeSerializer::copy
-                        : Function.identity());
+                valueTransform);
     }
 
     private static JdbcBatchStatementExecutor<RowData> createUpsertRowExecutor(
@@ -196,15 +201,14 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
         return dialect.getUpsertStatement(tableName, fieldNames, pkNames)
                 .map(sql -> createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql))
                 .orElseGet(
-                        () ->
-                                createInsertOrUpdateExecutor(
-                                        dialect,
-                                        tableName,
-                                        fieldNames,
-                                        fieldTypes,
-                                        pkFields,
-                                        pkNames,
-                                        pkTypes));
+                        () -> createInsertOrUpdateExecutor(
+                                dialect,
+                                tableName,
+                                fieldNames,
+                                fieldTypes,
+                                pkFields,
+                                pkNames,
+                                pkTypes));
     }
 
     private static JdbcBatchStatementExecutor<RowData> createDeleteExecutor(
@@ -217,8 +221,7 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
             JdbcDialect dialect, String[] fieldNames, LogicalType[] fieldTypes, final String sql) {
         final JdbcRowConverter rowConverter = dialect.getRowConverter(RowType.of(fieldTypes));
         return new TableSimpleStatementExecutor(
-                connection ->
-                        FieldNamedPreparedStatement.prepareStatement(connection, sql, fieldNames),
+                connection -> FieldNamedPreparedStatement.prepareStatement(connection, sql, fieldNames),
                 rowConverter);
     }
 
@@ -234,15 +237,12 @@ public class PhoenixJdbcDynamicOutputFormatBuilder implements Serializable {
         final String insertStmt = dialect.getInsertIntoStatement(tableName, fieldNames);
         final String updateStmt = dialect.getUpdateStatement(tableName, fieldNames, pkNames);
         return new TableInsertOrUpdateStatementExecutor(
-                connection ->
-                        FieldNamedPreparedStatement.prepareStatement(
-                                connection, existStmt, pkNames),
-                connection ->
-                        FieldNamedPreparedStatement.prepareStatement(
-                                connection, insertStmt, fieldNames),
-                connection ->
-                        FieldNamedPreparedStatement.prepareStatement(
-                                connection, updateStmt, fieldNames),
+                connection -> FieldNamedPreparedStatement.prepareStatement(
+                        connection, existStmt, pkNames),
+                connection -> FieldNamedPreparedStatement.prepareStatement(
+                        connection, insertStmt, fieldNames),
+                connection -> FieldNamedPreparedStatement.prepareStatement(
+                        connection, updateStmt, fieldNames),
                 dialect.getRowConverter(RowType.of(pkTypes)),
                 dialect.getRowConverter(RowType.of(fieldTypes)),
                 dialect.getRowConverter(RowType.of(fieldTypes)),
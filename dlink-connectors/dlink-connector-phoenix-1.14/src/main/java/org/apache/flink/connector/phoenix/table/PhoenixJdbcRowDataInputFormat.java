@@ -30,6 +30,8 @@ import org.apache.flink.connector.phoenix.internal.connection.JdbcConnectionProv
 import org.apache.flink.connector.phoenix.internal.connection.PhoneixJdbcConnectionProvider;
 import org.apache.flink.connector.phoenix.internal.converter.JdbcRowConverter;
 import org.apache.flink.connector.phoenix.split.JdbcParameterValuesProvider;
+import org.apache.flink.connector.phoenix.split.PhoenixQuerySplit;
+import org.apache.flink.connector.phoenix.split.PhoenixRegionSplitGenerator;
 import org.apache.flink.core.io.GenericInputSplit;
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.core.io.InputSplitAssigner;
@@ -57,7 +59,10 @@ import org.slf4j.LoggerFactory;
  * @author gy
  * @since 2022/3/17 10:53
  **/
-public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, InputSplit> implements ResultTypeQueryable<RowData> {
+public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, InputSplit>
+        implements
+            ResultTypeQueryable<RowData> {
+
     private static final long serialVersionUID = 2L;
     private static final Logger LOG = LoggerFactory.getLogger(PhoenixJdbcRowDataInputFormat.class);
     private JdbcConnectionProvider connectionProvider;
@@ -69,7 +74,9 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
     private int resultSetConcurrency;
     private JdbcRowConverter rowConverter;
     private TypeInformation<RowData> rowDataTypeInfo;
+    private PhoenixRegionSplitGenerator splitGenerator;
     private transient PreparedStatement statement;
+    private transient PreparedStatement splitStatement;
     private transient ResultSet resultSet;
     private transient boolean hasNext;
     private boolean namespaceMappingEnabled;
@@ -80,7 +87,8 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
             int fetchSize, Boolean autoCommit, Object[][] parameterValues,
             String queryTemplate, int resultSetType, int resultSetConcurrency,
             JdbcRowConverter rowConverter, TypeInformation<RowData> rowDataTypeInfo,
-            boolean namespaceMappingEnabled,boolean mapSystemTablesEnabled) {
+            boolean namespaceMappingEnabled, boolean mapSystemTablesEnabled,
+            PhoenixRegionSplitGenerator splitGenerator) {
         this.connectionProvider = connectionProvider;
         this.fetchSize = fetchSize;
         this.autoCommit = autoCommit;
@@ -92,6 +100,7 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
         this.rowDataTypeInfo = rowDataTypeInfo;
         this.namespaceMappingEnabled = namespaceMappingEnabled;
         this.mapSystemTablesEnabled = mapSystemTablesEnabled;
+        this.splitGenerator = splitGenerator;
     }
 
     public void configure(Configuration parameters) {
@@ -128,49 +137,35 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
         }
 
         this.connectionProvider.closeConnection();
-        this.parameterValues = (Object[][])null;
+        this.parameterValues = (Object[][]) null;
     }
 
     public void open(InputSplit inputSplit) throws IOException {
         try {
-            if (inputSplit != null && this.parameterValues != null) {
-                for (int i = 0; i < this.parameterValues[inputSplit.getSplitNumber()].length; ++i) {
-                    Object param = this.parameterValues[inputSplit.getSplitNumber()][i];
-                    if (param instanceof String) {
-                        this.statement.setString(i + 1, (String)param);
-                    } else if (param instanceof Long) {
-                        this.statement.setLong(i + 1, (Long)param);
-                    } else if (param instanceof Integer) {
-                        this.statement.setInt(i + 1, (Integer)param);
-                    } else if (param instanceof Double) {
-                        this.statement.setDouble(i + 1, (Double)param);
-                    } else if (param instanceof Boolean) {
-                        this.statement.setBoolean(i + 1, (Boolean)param);
-                    } else if (param instanceof Float) {
-                        this.statement.setFloat(i + 1, (Float)param);
-                    } else if (param instanceof BigDecimal) {
-                        this.statement.setBigDecimal(i + 1, (BigDecimal)param);
-                    } else if (param instanceof Byte) {
-                        this.statement.setByte(i + 1, (Byte)param);
-                    } else if (param instanceof Short) {
-                        this.statement.setShort(i + 1, (Short)param);
-                    } else if (param instanceof Date) {
-                        this.statement.setDate(i + 1, (Date)param);
-                    } else if (param instanceof Time) {
-                        this.statement.setTime(i + 1, (Time)param);
-                    } else if (param instanceof Timestamp) {
-                        this.statement.setTimestamp(i + 1, (Timestamp)param);
-                    } else {
-                        if (!(param instanceof Array)) {
-                            throw new IllegalArgumentException("open() failed. Parameter " + i + " of type " + param.getClass() + " is not handled (yet).");
-                        }
-
-                        this.statement.setArray(i + 1, (Array)param);
-                    }
+            if (inputSplit instanceof PhoenixQuerySplit) {
+                // region split 自带查询语句和主键范围参数
+                PhoenixQuerySplit querySplit = (PhoenixQuerySplit) inputSplit;
+                this.splitStatement = this.connectionProvider.getOrEstablishConnection().prepareStatement(
+                        querySplit.getQuery(), this.resultSetType, this.resultSetConcurrency);
+                if (this.fetchSize == -2147483648 || this.fetchSize > 0) {
+                    this.splitStatement.setFetchSize(this.fetchSize);
+                }
+                setParameters(this.splitStatement, querySplit.getParameters());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Executing '%s' with parameters %s", querySplit.getQuery(),
+                            Arrays.deepToString(querySplit.getParameters())));
                 }
+                this.resultSet = this.splitStatement.executeQuery();
+                this.hasNext = this.resultSet.next();
+                return;
+            }
+
+            if (inputSplit != null && this.parameterValues != null) {
+                setParameters(this.statement, this.parameterValues[inputSplit.getSplitNumber()]);
 
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug(String.format("Executing '%s' with parameters %s", this.queryTemplate, Arrays.deepToString(this.parameterValues[inputSplit.getSplitNumber()])));
+                    LOG.debug(String.format("Executing '%s' with parameters %s", this.queryTemplate,
+                            Arrays.deepToString(this.parameterValues[inputSplit.getSplitNumber()])));
                 }
             }
 
@@ -178,6 +173,48 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
             this.hasNext = this.resultSet.next();
         } catch (SQLException var4) {
             throw new IllegalArgumentException("open() failed." + var4.getMessage(), var4);
+        } catch (ClassNotFoundException var5) {
+            throw new IllegalArgumentException("JDBC-Class not found. - " + var5.getMessage(), var5);
+        }
+    }
+
+    private void setParameters(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; ++i) {
+            Object param = parameters[i];
+            if (param instanceof String) {
+                statement.setString(i + 1, (String) param);
+            } else if (param instanceof Long) {
+                statement.setLong(i + 1, (Long) param);
+            } else if (param instanceof Integer) {
+                statement.setInt(i + 1, (Integer) param);
+            } else if (param instanceof Double) {
+                statement.setDouble(i + 1, (Double) param);
+            } else if (param instanceof Boolean) {
+                statement.setBoolean(i + 1, (Boolean) param);
+            } else if (param instanceof Float) {
+                statement.setFloat(i + 1, (Float) param);
+            } else if (param instanceof BigDecimal) {
+                statement.setBigDecimal(i + 1, (BigDecimal) param);
+            } else if (param instanceof Byte) {
+                statement.setByte(i + 1, (Byte) param);
+            } else if (param instanceof Short) {
+                statement.setShort(i + 1, (Short) param);
+            } else if (param instanceof Date) {
+                statement.setDate(i + 1, (Date) param);
+            } else if (param instanceof Time) {
+                statement.setTime(i + 1, (Time) param);
+            } else if (param instanceof Timestamp) {
+                statement.setTimestamp(i + 1, (Timestamp) param);
+            } else if (param instanceof byte[]) {
+                statement.setBytes(i + 1, (byte[]) param);
+            } else {
+                if (!(param instanceof Array)) {
+                    throw new IllegalArgumentException("open() failed. Parameter " + i + " of type " + param.getClass()
+                            + " is not handled (yet).");
+                }
+
+                statement.setArray(i + 1, (Array) param);
+            }
         }
     }
 
@@ -190,6 +227,16 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
             }
 
         }
+
+        if (this.splitStatement != null) {
+            try {
+                this.splitStatement.close();
+            } catch (SQLException var3) {
+                LOG.info("Inputformat split Statement couldn't be closed - " + var3.getMessage());
+            } finally {
+                this.splitStatement = null;
+            }
+        }
     }
 
     public TypeInformation<RowData> getProducedType() {
@@ -221,6 +268,17 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
     }
 
     public InputSplit[] createInputSplits(int minNumSplits) throws IOException {
+        if (this.splitGenerator != null) {
+            try {
+                return this.splitGenerator.generateSplits(this.connectionProvider.getOrEstablishConnection());
+            } catch (Exception e) {
+                LOG.warn("Failed to generate region splits, the table will be read as a single split.", e);
+                return new InputSplit[]{this.splitGenerator.createSingleSplit()};
+            } finally {
+                this.connectionProvider.closeConnection();
+            }
+        }
+
         if (this.parameterValues == null) {
             return new GenericInputSplit[]{new GenericInputSplit(0, 1)};
         } else {
@@ -243,6 +301,7 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
     }
 
     public static class Builder {
+
         private JdbcConnectionOptions.JdbcConnectionOptionsBuilder connOptionsBuilder = new JdbcConnectionOptions.JdbcConnectionOptionsBuilder();
         private int fetchSize;
         private Boolean autoCommit;
@@ -254,6 +313,7 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
         private int resultSetConcurrency = 1007;
         private boolean namespaceMappingEnabled;
         private boolean mapSystemTablesEnabled;
+        private PhoenixRegionSplitGenerator splitGenerator;
 
         public Builder() {
         }
@@ -299,7 +359,9 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
         }
 
         public Builder setFetchSize(int fetchSize) {
-            Preconditions.checkArgument(fetchSize == -2147483648 || fetchSize > 0, "Illegal value %s for fetchSize, has to be positive or Integer.MIN_VALUE.", new Object[]{fetchSize});
+            Preconditions.checkArgument(fetchSize == -2147483648 || fetchSize > 0,
+                    "Illegal value %s for fetchSize, has to be positive or Integer.MIN_VALUE.",
+                    new Object[]{fetchSize});
             this.fetchSize = fetchSize;
             return this;
         }
@@ -329,19 +391,33 @@ public class PhoenixJdbcRowDataInputFormat extends RichInputFormat<RowData, Inpu
             return this;
         }
 
+        /**
+         * optional, reads one split per row key range between the region boundaries and
+         * guideposts of the table, instead of the splits of the parameters provider.
+         */
+        public Builder setRegionSplitGenerator(PhoenixRegionSplitGenerator splitGenerator) {
+            this.splitGenerator = splitGenerator;
+            return this;
+        }
+
         public PhoenixJdbcRowDataInputFormat build() {
             if (this.queryTemplate == null) {
                 throw new NullPointerException("No query supplied");
             } else if (this.rowConverter == null) {
                 throw new NullPointerException("No row converter supplied");
             } else {
-                if (this.parameterValues == null) {
-                    PhoenixJdbcRowDataInputFormat.LOG.debug("No input splitting configured (data will be read with parallelism 1).");
+                if (this.parameterValues == null && this.splitGenerator == null) {
+                    PhoenixJdbcRowDataInputFormat.LOG
+                            .debug("No input splitting configured (data will be read with parallelism 1).");
                 }
 
-                return new PhoenixJdbcRowDataInputFormat(new PhoneixJdbcConnectionProvider(this.connOptionsBuilder.build(),this.namespaceMappingEnabled,this.mapSystemTablesEnabled),
-                        this.fetchSize, this.autoCommit, this.parameterValues, this.queryTemplate, this.resultSetType, this.resultSetConcurrency, this.rowConverter,
-                        this.rowDataTypeInfo,this.namespaceMappingEnabled,this.mapSystemTablesEnabled);
+                return new PhoenixJdbcRowDataInputFormat(
+                        new PhoneixJdbcConnectionProvider(this.connOptionsBuilder.build(), this.namespaceMappingEnabled,
+                                this.mapSystemTablesEnabled),
+                        this.fetchSize, this.autoCommit, this.parameterValues, this.queryTemplate, this.resultSetType,
+                        this.resultSetConcurrency, this.rowConverter,
+                        this.rowDataTypeInfo, this.namespaceMappingEnabled, this.mapSystemTablesEnabled,
+                        this.splitGenerator);
             }
         }
 
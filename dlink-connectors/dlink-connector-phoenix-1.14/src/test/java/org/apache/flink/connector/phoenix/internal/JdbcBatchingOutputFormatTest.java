@@ -0,0 +1,246 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.internal;
+
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.connector.phoenix.JdbcExecutionOptions;
+import org.apache.flink.connector.phoenix.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.phoenix.internal.executor.JdbcBatchStatementExecutor;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JdbcBatchingOutputFormatTest
+ */
+public class JdbcBatchingOutputFormatTest {
+
+    /**
+     * 双缓冲：前一批在 flush 线程提交时，新数据写入另一个 executor，两批各提交一次且不交叉
+     */
+    @Test(timeout = 10000)
+    public void testDoubleBuffering() throws Exception {
+        List<RecordingExecutor> executors = new ArrayList<>();
+        JdbcBatchingOutputFormat<Integer, Integer, RecordingExecutor> format = open(executors,
+                JdbcExecutionOptions.builder().withBatchSize(2).withAsyncFlush(true).build());
+        Assert.assertEquals(2, executors.size());
+        RecordingExecutor first = executors.get(0);
+        RecordingExecutor second = executors.get(1);
+        first.gate = new CountDownLatch(1);
+
+        format.writeRecord(1);
+        format.writeRecord(2);
+        Assert.assertTrue(first.started.await(5, TimeUnit.SECONDS));
+        format.writeRecord(3);
+        Assert.assertEquals(Collections.singletonList(3), second.pending());
+        Assert.assertTrue(first.batches().isEmpty());
+
+        first.gate.countDown();
+        format.writeRecord(4);
+        format.close();
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(1, 2)), first.batches());
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(3, 4)), second.batches());
+    }
+
+    /**
+     * 上一批仍在提交时定时 flush 跳过本次，不持锁等待，写入线程不被阻塞
+     */
+    @Test(timeout = 10000)
+    public void testScheduledFlushSkippedWhileFlushing() throws Exception {
+        List<RecordingExecutor> executors = new ArrayList<>();
+        JdbcBatchingOutputFormat<Integer, Integer, RecordingExecutor> format = open(executors,
+                JdbcExecutionOptions.builder().withBatchSize(100).withBatchIntervalMs(20).withAsyncFlush(true)
+                        .build());
+        RecordingExecutor first = executors.get(0);
+        RecordingExecutor second = executors.get(1);
+        first.gate = new CountDownLatch(1);
+
+        format.writeRecord(1);
+        Assert.assertTrue(first.started.await(5, TimeUnit.SECONDS));
+        format.writeRecord(2);
+        Thread.sleep(200);
+        Assert.assertEquals(Collections.singletonList(2), second.pending());
+        Assert.assertTrue(second.batches().isEmpty());
+
+        first.gate.countDown();
+        Assert.assertTrue(second.started.await(5, TimeUnit.SECONDS));
+        format.close();
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList(1)), first.batches());
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList(2)), second.batches());
+    }
+
+    /**
+     * 自适应批大小：提交超过目标延迟时减半且不低于下限，满批快速提交时增加四分之一
+     */
+    @Test(timeout = 10000)
+    public void testAdaptiveBatchSize() throws Exception {
+        List<RecordingExecutor> executors = new ArrayList<>();
+        JdbcBatchingOutputFormat<Integer, Integer, RecordingExecutor> format = open(executors,
+                JdbcExecutionOptions.builder().withBatchSize(8).withAdaptiveBatchSize(true).withMinBatchSize(3)
+                        .withTargetFlushLatencyMs(100).build());
+        RecordingExecutor executor = executors.get(0);
+
+        executor.sleepMs = 150;
+        write(format, 8);
+        executor.sleepMs = 0;
+        write(format, 4);
+        write(format, 5);
+        executor.sleepMs = 150;
+        write(format, 6);
+        write(format, 3);
+        format.close();
+
+        List<Integer> sizes = new ArrayList<>();
+        for (List<Integer> batch : executor.batches()) {
+            sizes.add(batch.size());
+        }
+        Assert.assertEquals(Arrays.asList(8, 4, 5, 6, 3), sizes);
+    }
+
+    private static JdbcBatchingOutputFormat<Integer, Integer, RecordingExecutor> open(
+            List<RecordingExecutor> executors, JdbcExecutionOptions options) throws Exception {
+        JdbcBatchingOutputFormat<Integer, Integer, RecordingExecutor> format = new JdbcBatchingOutputFormat<>(
+                new NoopConnectionProvider(), options, context -> {
+                    RecordingExecutor executor = new RecordingExecutor();
+                    executors.add(executor);
+                    return executor;
+                }, JdbcBatchingOutputFormat.RecordExtractor.identity());
+        format.setRuntimeContext(nullObject(RuntimeContext.class));
+        format.open(0, 1);
+        return format;
+    }
+
+    private static void write(JdbcBatchingOutputFormat<Integer, Integer, ?> format, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            format.writeRecord(i);
+        }
+    }
+
+    /**
+     * 生成接口的空实现，注册指标的方法原样返回传入的指标，其余方法返回空实现或默认值
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T nullObject(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (args != null && args.length > 0 && returnType.isInstance(args[args.length - 1])) {
+                return args[args.length - 1];
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            if (returnType.isInterface()) {
+                return nullObject(returnType);
+            }
+            return null;
+        });
+    }
+
+    private static class RecordingExecutor implements JdbcBatchStatementExecutor<Integer> {
+
+        private final List<Integer> pending = new ArrayList<>();
+        private final List<List<Integer>> batches = new ArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile long sleepMs;
+
+        @Override
+        public void prepareStatements(Connection connection) {
+        }
+
+        @Override
+        public synchronized void addToBatch(Integer record) {
+            pending.add(record);
+        }
+
+        @Override
+        public void executeBatch(Connection conn) throws SQLException {
+            started.countDown();
+            try {
+                if (gate != null) {
+                    gate.await();
+                }
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            synchronized (this) {
+                batches.add(new ArrayList<>(pending));
+                pending.clear();
+            }
+        }
+
+        @Override
+        public void closeStatements() {
+        }
+
+        synchronized List<Integer> pending() {
+            return new ArrayList<>(pending);
+        }
+
+        synchronized List<List<Integer>> batches() {
+            return new ArrayList<>(batches);
+        }
+    }
+
+    private static class NoopConnectionProvider implements JdbcConnectionProvider {
+
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnectionValid() {
+            return true;
+        }
+
+        @Override
+        public Connection getOrEstablishConnection() {
+            return null;
+        }
+
+        @Override
+        public void closeConnection() {
+        }
+
+        @Override
+        public Connection reestablishConnection() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.internal.executor;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TableBufferDeduplicatedStatementExecutorTest
+ */
+public class TableBufferDeduplicatedStatementExecutorTest {
+
+    /**
+     * 同一主键的多行按到达顺序写出，重复行移到最后一次出现的位置，最终值为最后写入的行
+     */
+    @Test
+    public void testLastWriteWins() throws Exception {
+        RecordingExecutor recorder = new RecordingExecutor();
+        TableBufferDeduplicatedStatementExecutor executor =
+                new TableBufferDeduplicatedStatementExecutor(recorder, Function.identity());
+        executor.addToBatch(row(1, "a"));
+        executor.addToBatch(row(2, "x"));
+        executor.addToBatch(row(1, "b"));
+        executor.addToBatch(row(1, "a"));
+        executor.addToBatch(row(2, "x"));
+        executor.executeBatch(null);
+
+        Assert.assertEquals(Arrays.asList(row(1, "b"), row(1, "a"), row(2, "x")), recorder.executed);
+        Assert.assertEquals(1, recorder.batches);
+        Assert.assertEquals("a", upsert(recorder.executed).get(1));
+
+        executor.addToBatch(row(1, "a"));
+        executor.addToBatch(row(1, "b"));
+        executor.executeBatch(null);
+        Assert.assertEquals(Arrays.asList(row(1, "a"), row(1, "b")),
+                recorder.executed.subList(3, recorder.executed.size()));
+        Assert.assertEquals("b", upsert(recorder.executed).get(1));
+    }
+
+    /**
+     * 内部 executor 提交失败后重试，缓冲只交付一次，不会重复写入
+     */
+    @Test
+    public void testRetryHandsOverOnce() throws Exception {
+        RecordingExecutor recorder = new RecordingExecutor();
+        TableBufferDeduplicatedStatementExecutor executor =
+                new TableBufferDeduplicatedStatementExecutor(recorder, Function.identity());
+        executor.addToBatch(row(1, "a"));
+        executor.addToBatch(row(2, "x"));
+        recorder.failures = 2;
+        for (int i = 0; i < 2; i++) {
+            try {
+                executor.executeBatch(null);
+                Assert.fail();
+            } catch (SQLException expected) {
+                Assert.assertEquals(2, recorder.pending.size());
+            }
+        }
+        executor.executeBatch(null);
+        Assert.assertEquals(Arrays.asList(row(1, "a"), row(2, "x")), recorder.executed);
+
+        executor.addToBatch(row(3, "y"));
+        executor.executeBatch(null);
+        Assert.assertEquals(Arrays.asList(row(1, "a"), row(2, "x"), row(3, "y")), recorder.executed);
+    }
+
+    /**
+     * 失败后重新预编译会丢弃内部批次，重试时重新交付缓冲
+     */
+    @Test
+    public void testRetryAfterPrepareHandsOverAgain() throws Exception {
+        RecordingExecutor recorder = new RecordingExecutor();
+        TableBufferDeduplicatedStatementExecutor executor =
+                new TableBufferDeduplicatedStatementExecutor(recorder, Function.identity());
+        executor.addToBatch(row(1, "a"));
+        recorder.failures = 1;
+        try {
+            executor.executeBatch(null);
+            Assert.fail();
+        } catch (SQLException expected) {
+            // 模拟重连
+        }
+        executor.closeStatements();
+        executor.prepareStatements(null);
+        executor.executeBatch(null);
+        Assert.assertEquals(Arrays.asList(row(1, "a")), recorder.executed);
+    }
+
+    private static GenericRowData row(int id, String value) {
+        return GenericRowData.of(id, StringData.fromString(value));
+    }
+
+    /** 按写出顺序模拟 Phoenix upsert，返回主键 1、2 的最终值 */
+    private static List<String> upsert(List<RowData> rows) {
+        List<String> table = new ArrayList<>(Arrays.asList(null, null, null));
+        for (RowData row : rows) {
+            table.set(row.getInt(0), row.getString(1).toString());
+        }
+        return table;
+    }
+
+    private static class RecordingExecutor implements JdbcBatchStatementExecutor<RowData> {
+
+        private final List<RowData> pending = new ArrayList<>();
+        private final List<RowData> executed = new ArrayList<>();
+        private int batches;
+        private int failures;
+
+        @Override
+        public void prepareStatements(Connection connection) {
+            // 新语句没有未提交的批次
+            pending.clear();
+        }
+
+        @Override
+        public void addToBatch(RowData record) {
+            pending.add(record);
+        }
+
+        @Override
+        public void executeBatch(Connection conn) throws SQLException {
+            if (failures > 0) {
+                failures--;
+                throw new SQLException("executeBatch failed");
+            }
+            executed.addAll(pending);
+            pending.clear();
+            batches++;
+        }
+
+        @Override
+        public void closeStatements() {
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.split;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.phoenix.schema.PDatum;
+import org.apache.phoenix.schema.RowKeySchema;
+import org.apache.phoenix.schema.RowKeySchema.RowKeySchemaBuilder;
+import org.apache.phoenix.schema.SortOrder;
+import org.apache.phoenix.schema.types.PDataType;
+import org.apache.phoenix.schema.types.PInteger;
+import org.apache.phoenix.schema.types.PVarchar;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * PhoenixRegionSplitGeneratorTest
+ */
+public class PhoenixRegionSplitGeneratorTest {
+
+    private static final String SELECT_QUERY = "SELECT \"ID\", \"VERSION\", \"V\" FROM \"T\"";
+    private static final String[] COLUMNS = {"\"ID\"", "\"VERSION\""};
+
+    /**
+     * 主键 (ID VARCHAR ASC, VERSION INTEGER DESC)：row key 字节序中 VERSION 是倒序的，
+     * 边界必须按主键值排序，拼出的 (ID, VERSION) 区间才不会重叠。
+     */
+    @Test
+    public void testMixedSortOrderBoundaries() {
+        Object[][] boundaries = {{"b", 3}, {"a", 5}, {"a", 1}, {"a", 5}};
+        List<byte[]> rowKeys = new ArrayList<>();
+        for (Object[] boundary : boundaries) {
+            rowKeys.add(Bytes.add(PVarchar.INSTANCE.toBytes(boundary[0], SortOrder.ASC), new byte[]{0},
+                    PInteger.INSTANCE.toBytes(boundary[1], SortOrder.DESC)));
+        }
+        rowKeys.sort(Bytes.BYTES_COMPARATOR);
+        // 按字节排序时 ("a", 5) 排在 ("a", 1) 之前
+        Assert.assertArrayEquals(rowKeys.get(0), rowKeys.get(1));
+        Assert.assertTrue(Bytes.BYTES_COMPARATOR.compare(rowKeys.get(1), rowKeys.get(2)) < 0);
+        Assert.assertArrayEquals(Bytes.add(PVarchar.INSTANCE.toBytes("a", SortOrder.ASC), new byte[]{0},
+                PInteger.INSTANCE.toBytes(5, SortOrder.DESC)), rowKeys.get(0));
+
+        TreeSet<Object[]> sorted = new TreeSet<>(PhoenixRegionSplitGenerator.valueComparator(
+                new PDataType<?>[]{PVarchar.INSTANCE, PInteger.INSTANCE}));
+        sorted.addAll(Arrays.asList(boundaries));
+        Assert.assertEquals(3, sorted.size());
+        List<Object[]> ordered = new ArrayList<>(sorted);
+        Assert.assertArrayEquals(new Object[]{"a", 1}, ordered.get(0));
+        Assert.assertArrayEquals(new Object[]{"a", 5}, ordered.get(1));
+        Assert.assertArrayEquals(new Object[]{"b", 3}, ordered.get(2));
+    }
+
+    @Test
+    public void testDecodeRowKey() {
+        RowKeySchema schema = buildSchema();
+        byte[] rowKey = Bytes.add(PVarchar.INSTANCE.toBytes("a", SortOrder.ASC), new byte[]{0},
+                PInteger.INSTANCE.toBytes(5, SortOrder.DESC));
+        Assert.assertArrayEquals(new Object[]{"a", 5}, PhoenixRegionSplitGenerator.decodeRowKey(schema, 0, rowKey));
+        // 截断的 row key 缺少 VERSION，无法作为区间边界
+        Assert.assertNull(PhoenixRegionSplitGenerator.decodeRowKey(schema, 0,
+                PVarchar.INSTANCE.toBytes("a", SortOrder.ASC)));
+    }
+
+    @Test
+    public void testCreateSplits() {
+        PhoenixRegionSplitGenerator generator = new PhoenixRegionSplitGenerator("T", SELECT_QUERY,
+                "\"V\" > ?", new Serializable[]{10}, 3);
+        List<Object[]> boundaries = Arrays.asList(new Object[]{"a", 1}, new Object[]{"a", 5},
+                new Object[]{"b", 3}, new Object[]{"c", 2});
+        PhoenixQuerySplit[] splits = generator.createSplits(COLUMNS, boundaries);
+
+        // 4 个边界按 maxSplits=3 均匀选出 ("a", 5) 与 ("b", 3)
+        Assert.assertEquals(3, splits.length);
+        Assert.assertEquals(SELECT_QUERY + " WHERE (\"ID\", \"VERSION\") < (?, ?) AND (\"V\" > ?)",
+                splits[0].getQuery());
+        Assert.assertArrayEquals(new Serializable[]{"a", 5, 10}, splits[0].getParameters());
+        Assert.assertEquals(SELECT_QUERY + " WHERE (\"ID\", \"VERSION\") >= (?, ?)"
+                + " AND (\"ID\", \"VERSION\") < (?, ?) AND (\"V\" > ?)", splits[1].getQuery());
+        Assert.assertArrayEquals(new Serializable[]{"a", 5, "b", 3, 10}, splits[1].getParameters());
+        Assert.assertEquals(SELECT_QUERY + " WHERE (\"ID\", \"VERSION\") >= (?, ?) AND (\"V\" > ?)",
+                splits[2].getQuery());
+        Assert.assertArrayEquals(new Serializable[]{"b", 3, 10}, splits[2].getParameters());
+        for (int i = 0; i < splits.length; i++) {
+            Assert.assertEquals(i, splits[i].getSplitNumber());
+            Assert.assertEquals(3, splits[i].getTotalNumberOfSplits());
+        }
+
+        PhoenixQuerySplit[] single = generator.createSplits(COLUMNS, new ArrayList<>());
+        Assert.assertEquals(1, single.length);
+        Assert.assertEquals(SELECT_QUERY + " WHERE (\"V\" > ?)", single[0].getQuery());
+        Assert.assertArrayEquals(new Serializable[]{10}, single[0].getParameters());
+    }
+
+    @Test
+    public void testCreateSingleSplit() {
+        PhoenixQuerySplit split = new PhoenixRegionSplitGenerator("T", SELECT_QUERY, null, null, 8)
+                .createSingleSplit();
+        Assert.assertEquals(SELECT_QUERY, split.getQuery());
+        Assert.assertEquals(0, split.getParameters().length);
+        Assert.assertEquals(1, split.getTotalNumberOfSplits());
+
+        split = new PhoenixRegionSplitGenerator("T", SELECT_QUERY, "\"V\" = ?", new Serializable[]{"x"}, 8)
+                .createSingleSplit();
+        Assert.assertEquals(SELECT_QUERY + " WHERE (\"V\" = ?)", split.getQuery());
+        Assert.assertArrayEquals(new Serializable[]{"x"}, split.getParameters());
+    }
+
+    /** 主键 (ID VARCHAR ASC, VERSION INTEGER DESC) 的 row key 结构 */
+    private RowKeySchema buildSchema() {
+        RowKeySchemaBuilder builder = new RowKeySchemaBuilder(2);
+        builder.addField(new Datum(PVarchar.INSTANCE, SortOrder.ASC), false, SortOrder.ASC);
+        builder.addField(new Datum(PInteger.INSTANCE, SortOrder.DESC), false, SortOrder.DESC);
+        return builder.build();
+    }
+
+    private static class Datum implements PDatum {
+
+        private final PDataType<?> dataType;
+        private final SortOrder sortOrder;
+
+        Datum(PDataType<?> dataType, SortOrder sortOrder) {
+            this.dataType = dataType;
+            this.sortOrder = sortOrder;
+        }
+
+        @Override
+        public boolean isNullable() {
+            return false;
+        }
+
+        @Override
+        public PDataType getDataType() {
+            return dataType;
+        }
+
+        @Override
+        public Integer getMaxLength() {
+            return null;
+        }
+
+        @Override
+        public Integer getScale() {
+            return null;
+        }
+
+        @Override
+        public SortOrder getSortOrder() {
+            return sortOrder;
+        }
+    }
+}
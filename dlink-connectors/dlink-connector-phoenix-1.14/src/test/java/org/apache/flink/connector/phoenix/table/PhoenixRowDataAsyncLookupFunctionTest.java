@@ -0,0 +1,117 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.apache.flink.connector.phoenix.table;
+
+import org.apache.flink.connector.phoenix.internal.options.JdbcLookupOptions;
+import org.apache.flink.connector.phoenix.internal.options.PhoenixJdbcOptions;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * PhoenixRowDataAsyncLookupFunctionTest
+ */
+public class PhoenixRowDataAsyncLookupFunctionTest {
+
+    private static final String[] FIELD_NAMES = {"ID", "VERSION", "NAME"};
+    private static final DataType[] FIELD_TYPES = {DataTypes.STRING(), DataTypes.STRING(), DataTypes.STRING()};
+    private static final String[] KEY_NAMES = {"ID", "VERSION"};
+
+    @Test
+    public void testAlignBatchSize() {
+        PhoenixRowDataAsyncLookupFunction function = createFunction(8);
+        Assert.assertEquals(1, function.alignBatchSize(1));
+        Assert.assertEquals(2, function.alignBatchSize(2));
+        Assert.assertEquals(4, function.alignBatchSize(3));
+        Assert.assertEquals(8, function.alignBatchSize(8));
+        // 批次上限不是 2 的幂时对齐到上限本身
+        Assert.assertEquals(6, createFunction(6).alignBatchSize(5));
+    }
+
+    @Test
+    public void testGetBatchSelectStatement() {
+        PhoenixRowDataAsyncLookupFunction function = createFunction(8);
+        Assert.assertEquals("SELECT ID, VERSION, NAME, 0 FROM T WHERE ID = :k0_0 AND VERSION = :k0_1"
+                + " UNION ALL SELECT ID, VERSION, NAME, 1 FROM T WHERE ID = :k1_0 AND VERSION = :k1_1",
+                function.getBatchSelectStatement(2));
+    }
+
+    @Test
+    public void testGroupByKeyAndBindParameters() {
+        CompletableFuture<Collection<RowData>> first = new CompletableFuture<>();
+        CompletableFuture<Collection<RowData>> second = new CompletableFuture<>();
+        CompletableFuture<Collection<RowData>> third = new CompletableFuture<>();
+        Map<RowData, List<CompletableFuture<Collection<RowData>>>> pending =
+                PhoenixRowDataAsyncLookupFunction.groupByKey(Arrays.asList(
+                        new PhoenixRowDataAsyncLookupFunction.LookupRequest(key("b", "1"), first),
+                        new PhoenixRowDataAsyncLookupFunction.LookupRequest(key("a", "1"), second),
+                        new PhoenixRowDataAsyncLookupFunction.LookupRequest(key("b", "1"), third)));
+        List<RowData> keys = new ArrayList<>(pending.keySet());
+        Assert.assertEquals(Arrays.asList(key("b", "1"), key("a", "1")), keys);
+        Assert.assertEquals(Arrays.asList(first, third), pending.get(key("b", "1")));
+        Assert.assertEquals(Arrays.asList(second), pending.get(key("a", "1")));
+
+        // 三个 key 对齐到 4 个分支，第 4 个分支的两个参数保持为 NULL
+        keys.add(key("c", "2"));
+        GenericRowData parameters = createFunction(8).bindParameters(keys, 4);
+        Assert.assertEquals(8, parameters.getArity());
+        Assert.assertEquals(StringData.fromString("b"), parameters.getField(0));
+        Assert.assertEquals(StringData.fromString("1"), parameters.getField(1));
+        Assert.assertEquals(StringData.fromString("a"), parameters.getField(2));
+        Assert.assertEquals(StringData.fromString("c"), parameters.getField(4));
+        Assert.assertEquals(StringData.fromString("2"), parameters.getField(5));
+        Assert.assertNull(parameters.getField(6));
+        Assert.assertNull(parameters.getField(7));
+    }
+
+    private static PhoenixRowDataAsyncLookupFunction createFunction(int batchSize) {
+        PhoenixJdbcOptions options = PhoenixJdbcOptions.builder()
+                .setDBUrl("jdbc:phoenix:localhost:2181")
+                .setTableName("T")
+                .build();
+        JdbcLookupOptions lookupOptions = JdbcLookupOptions.builder()
+                .setAsync(true)
+                .setAsyncPoolSize(1)
+                .setAsyncBatchSize(batchSize)
+                .build();
+        RowType rowType = RowType.of(new VarCharType(VarCharType.MAX_LENGTH),
+                new VarCharType(VarCharType.MAX_LENGTH), new VarCharType(VarCharType.MAX_LENGTH));
+        return new PhoenixRowDataAsyncLookupFunction(options, lookupOptions, FIELD_NAMES, FIELD_TYPES, KEY_NAMES,
+                rowType);
+    }
+
+    private static RowData key(String id, String version) {
+        return GenericRowData.of(StringData.fromString(id), StringData.fromString(version));
+    }
+}
@@ -94,7 +94,6 @@ public class PulsarDynamicSink implements DynamicTableSink {
      */
     protected final String updateMode;
 
-
     /**
      * Properties for the Pulsar producer.
      */
@@ -110,6 +109,11 @@ public class PulsarDynamicSink implements DynamicTableSink {
      */
     protected final Integer sinkParallelism;
 
+    /**
+     * The physical column used as Pulsar message key.
+     */
+    protected final String keyField;
+
     public PulsarDynamicSink(
             DataType physicalDataType,
             EncodingFormat<SerializationSchema<RowData>> encodingFormat,
@@ -118,10 +122,10 @@ public class PulsarDynamicSink implements DynamicTableSink {
             String updateMode,
             Properties pulsarProducerProperties,
             Properties pulsarClientProperties,
-            Integer sinkParallelism) {
+            Integer sinkParallelism,
+            String keyField) {
         // Format attributes
-        this.physicalDataType =
-                checkNotNull(physicalDataType, "Physical data type must not be null.");
+        this.physicalDataType = checkNotNull(physicalDataType, "Physical data type must not be null.");
         this.encodingFormat = encodingFormat;
         // Mutable attributes
         this.metadataKeys = Collections.emptyList();
@@ -129,9 +133,11 @@ public class PulsarDynamicSink implements DynamicTableSink {
         this.topic = checkNotNull(topic, "Topic must not be null.");
         this.serviceUrl = checkNotNull(serviceUrl, "Service url must not be null.");
         this.updateMode = checkNotNull(updateMode, "Update mode must not be null.");
-        this.pulsarProducerProperties = checkNotNull(pulsarProducerProperties, "pulsarProducerProperties must not be null.");
+        this.pulsarProducerProperties = checkNotNull(pulsarProducerProperties,
+                "pulsarProducerProperties must not be null.");
         this.pulsarClientProperties = checkNotNull(pulsarClientProperties, "pulsarClientProperties must not be null.");
         this.sinkParallelism = sinkParallelism;
+        this.keyField = keyField;
     }
 
     @Override
@@ -152,14 +158,14 @@ public class PulsarDynamicSink implements DynamicTableSink {
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
         SerializationSchema<RowData> runtimeEncoder = encodingFormat.createRuntimeEncoder(context, physicalDataType);
 
-        PulsarSinkFunction<RowData> sinkFunction =
-                new PulsarSinkFunction<>(
-                        topic,
-                        serviceUrl,
-                        pulsarProducerProperties,
-                        pulsarClientProperties,
-                        runtimeEncoder);
-        //sink的并行度设置
+        PulsarSinkFunction<RowData> sinkFunction = new PulsarSinkFunction<>(
+                topic,
+                serviceUrl,
+                pulsarProducerProperties,
+                pulsarClientProperties,
+                runtimeEncoder,
+                PulsarKeyExtractor.forRowData(physicalDataType, keyField));
+        // sink的并行度设置
         if (sinkParallelism != null) {
             return SinkFunctionProvider.of(sinkFunction, sinkParallelism);
         } else {
@@ -170,16 +176,16 @@ public class PulsarDynamicSink implements DynamicTableSink {
 
     @Override
     public DynamicTableSink copy() {
-        final PulsarDynamicSink copy =
-                new PulsarDynamicSink(
-                        physicalDataType,
-                        encodingFormat,
-                        topic,
-                        serviceUrl,
-                        updateMode,
-                        pulsarProducerProperties,
-                        pulsarClientProperties,
-                        sinkParallelism);
+        final PulsarDynamicSink copy = new PulsarDynamicSink(
+                physicalDataType,
+                encodingFormat,
+                topic,
+                serviceUrl,
+                updateMode,
+                pulsarProducerProperties,
+                pulsarClientProperties,
+                sinkParallelism,
+                keyField);
         copy.metadataKeys = metadataKeys;
         return copy;
     }
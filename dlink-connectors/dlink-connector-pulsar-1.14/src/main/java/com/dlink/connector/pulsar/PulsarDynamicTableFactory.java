@@ -22,6 +22,13 @@ package com.dlink.connector.pulsar;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.ADMIN_URL;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.DERIVE_SCHEMA;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SERVICE_URL;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_ENABLED;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_BYTES;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_MESSAGES;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_PUBLISH_DELAY;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_COMPRESSION_TYPE;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_KEY_FIELD;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_MAX_PENDING_MESSAGES;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_PARALLELISM;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SOURCE_PARALLELISM;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SUBSCRIPTION_INITIAL_POSITION;
@@ -34,6 +41,7 @@ import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.UPDATE_MODE
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.VERSION;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptionsUtil.PROPERTIES_CLIENT_PREFIX;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptionsUtil.PROPERTIES_PREFIX;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptionsUtil.getPulsarProducerProperties;
 import static com.dlink.connector.pulsar.util.PulsarConnectorOptionsUtil.getPulsarProperties;
 
 import org.apache.flink.annotation.Internal;
@@ -79,7 +87,9 @@ import org.slf4j.LoggerFactory;
 
 @Internal
 public class PulsarDynamicTableFactory
-        implements DynamicTableSourceFactory, DynamicTableSinkFactory {
+        implements
+            DynamicTableSourceFactory,
+            DynamicTableSinkFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(PulsarDynamicTableFactory.class);
 
@@ -110,6 +120,13 @@ public class PulsarDynamicTableFactory
         options.add(UPDATE_MODE);
         options.add(SOURCE_PARALLELISM);
         options.add(SINK_PARALLELISM);
+        options.add(SINK_KEY_FIELD);
+        options.add(SINK_BATCHING_ENABLED);
+        options.add(SINK_BATCHING_MAX_MESSAGES);
+        options.add(SINK_BATCHING_MAX_PUBLISH_DELAY);
+        options.add(SINK_BATCHING_MAX_BYTES);
+        options.add(SINK_COMPRESSION_TYPE);
+        options.add(SINK_MAX_PENDING_MESSAGES);
         options.add(VERSION);
         options.add(DERIVE_SCHEMA);
 
@@ -120,13 +137,11 @@ public class PulsarDynamicTableFactory
     public DynamicTableSource createDynamicTableSource(Context context) {
         // either implement your custom validation logic here ...
         // or use the provided helper utility
-        final TableFactoryHelper helper =
-                FactoryUtil.createTableFactoryHelper(this, context);
+        final TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(this, context);
 
         // discover a suitable decoding format
-        final DecodingFormat<DeserializationSchema<RowData>> decodingFormat =
-                helper.discoverDecodingFormat(
-                        DeserializationFormatFactory.class, FactoryUtil.FORMAT);
+        final DecodingFormat<DeserializationSchema<RowData>> decodingFormat = helper.discoverDecodingFormat(
+                DeserializationFormatFactory.class, FactoryUtil.FORMAT);
 
         // validate all options
         // helper.validate();
@@ -144,8 +159,7 @@ public class PulsarDynamicTableFactory
         final Integer sourceParallelism = tableOptions.get(SOURCE_PARALLELISM);
 
         // derive the produced data type (excluding computed columns) from the catalog table
-        final DataType producedDataType =
-                context.getCatalogTable().getResolvedSchema().toPhysicalRowDataType();
+        final DataType producedDataType = context.getCatalogTable().getResolvedSchema().toPhysicalRowDataType();
 
         // create and return dynamic table source
         return new PulsarDynamicSource(
@@ -160,15 +174,13 @@ public class PulsarDynamicTableFactory
                 producedDataType,
                 context.getObjectIdentifier().asSummaryString(),
                 getPulsarProperties(context.getCatalogTable().getOptions(), PROPERTIES_PREFIX),
-                sourceParallelism
-        );
+                sourceParallelism);
     }
 
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
-        final TableFactoryHelper helper =
-                FactoryUtil.createTableFactoryHelper(
-                        this, context);
+        final TableFactoryHelper helper = FactoryUtil.createTableFactoryHelper(
+                this, context);
 
         final ReadableConfig tableOptions = helper.getOptions();
         final String update_mode = tableOptions.get(UPDATE_MODE);
@@ -176,16 +188,15 @@ public class PulsarDynamicTableFactory
 
         helper.validateExcept(PROPERTIES_PREFIX, PROPERTIES_CLIENT_PREFIX);
 
-        final EncodingFormat<SerializationSchema<RowData>> encodingFormat =
-                helper.discoverEncodingFormat(
-                        SerializationFormatFactory.class, FactoryUtil.FORMAT);
+        final EncodingFormat<SerializationSchema<RowData>> encodingFormat = helper.discoverEncodingFormat(
+                SerializationFormatFactory.class, FactoryUtil.FORMAT);
 
-        //校验sql建表时是否指定主键约束
-        //我们一般使用flink自动推导出来的主键，不显式设置主键约束，所以这个校验方法暂时不使用
-        //validatePKConstraints(update_mode, context.getObjectIdentifier(), context.getCatalogTable(), encodingFormat);
+        // 校验sql建表时是否指定主键约束
+        // 我们一般使用flink自动推导出来的主键，不显式设置主键约束，所以这个校验方法暂时不使用
+        // validatePKConstraints(update_mode, context.getObjectIdentifier(), context.getCatalogTable(), encodingFormat);
 
-        final DataType physicalDataType =
-                context.getCatalogTable().getSchema().toPhysicalRowDataType();
+        final DataType physicalDataType = context.getCatalogTable().getSchema().toPhysicalRowDataType();
+        validateKeyField(tableOptions.get(SINK_KEY_FIELD), physicalDataType, context.getObjectIdentifier());
 
         return createPulsarTableSink(
                 physicalDataType,
@@ -193,13 +204,24 @@ public class PulsarDynamicTableFactory
                 tableOptions.get(TOPIC),
                 tableOptions.get(SERVICE_URL),
                 update_mode,
-                getPulsarProperties(context.getCatalogTable().getOptions(), PROPERTIES_PREFIX),
+                getPulsarProducerProperties(tableOptions, context.getCatalogTable().getOptions()),
                 getPulsarProperties(context.getCatalogTable().getOptions(), PROPERTIES_CLIENT_PREFIX),
-                sinkParallelism
-        );
+                sinkParallelism,
+                tableOptions.get(SINK_KEY_FIELD));
+    }
+
+    // 校验 sink.key-field 指定的字段存在于表的物理字段中，避免消息静默地不带 key 发送
+    private static void validateKeyField(@Nullable String keyField, DataType physicalDataType,
+            ObjectIdentifier tableName) {
+        if (keyField != null && !DataType.getFieldNames(physicalDataType).contains(keyField)) {
+            throw new ValidationException(
+                    String.format(
+                            "The Pulsar table '%s' doesn't have the column '%s' specified by option '%s'.",
+                            tableName.asSummaryString(), keyField, SINK_KEY_FIELD.key()));
+        }
     }
 
-    //校验sql建表时是否指定主键约束
+    // 校验sql建表时是否指定主键约束
     private static void validatePKConstraints(
             @Nullable String updateMode, ObjectIdentifier tableName, CatalogTable catalogTable, Format format) {
 
@@ -232,7 +254,8 @@ public class PulsarDynamicTableFactory
             String updateMode,
             Properties pulsarProducerProperties,
             Properties pulsarClientProperties,
-            Integer sinkParallelism) {
+            Integer sinkParallelism,
+            String keyField) {
         return new PulsarDynamicSink(
                 physicalDataType,
                 encodingFormat,
@@ -241,7 +264,8 @@ public class PulsarDynamicTableFactory
                 updateMode,
                 pulsarProducerProperties,
                 pulsarClientProperties,
-                sinkParallelism);
+                sinkParallelism,
+                keyField);
     }
 
 }
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.connector.pulsar;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 从待发送记录中提取 Pulsar 消息 key，直接按字段位置读取，不再把序列化结果重新解析为 JSON。
+ */
+@FunctionalInterface
+public interface PulsarKeyExtractor<T> extends Serializable {
+
+    /**
+     * 返回 null 时消息不设置 key
+     */
+    String getKey(T value);
+
+    /**
+     * 按字段名构建 RowData 的 key 提取器，字段不存在时返回 null
+     */
+    static PulsarKeyExtractor<RowData> forRowData(DataType physicalDataType, String keyField) {
+        if (keyField == null || !(physicalDataType.getLogicalType() instanceof RowType)) {
+            return null;
+        }
+        RowType rowType = (RowType) physicalDataType.getLogicalType();
+        List<String> fieldNames = rowType.getFieldNames();
+        int keyIndex = fieldNames.indexOf(keyField);
+        if (keyIndex < 0) {
+            return null;
+        }
+        RowData.FieldGetter fieldGetter = RowData.createFieldGetter(rowType.getTypeAt(keyIndex), keyIndex);
+        return row -> {
+            Object key = fieldGetter.getFieldOrNull(row);
+            return key == null ? null : key.toString();
+        };
+    }
+}
@@ -21,12 +21,16 @@ package com.dlink.connector.pulsar;
 
 import com.dlink.connector.pulsar.util.PulsarConnectionHolder;
 import com.dlink.connector.pulsar.util.PulsarProducerHolder;
-import com.dlink.utils.JSONUtil;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.functions.RuntimeContext;
 import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
@@ -49,13 +53,13 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
 /**
  * The sink function for Pulsar.
  *
@@ -65,7 +69,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 @Internal
 public class PulsarSinkFunction<T> extends RichSinkFunction<T>
-    implements CheckpointedFunction {
+        implements
+            CheckpointedFunction {
 
     private static final long serialVersionUID = 1L;
     private final Logger log = LoggerFactory.getLogger(PulsarSinkFunction.class);
@@ -75,6 +80,7 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
     private final Properties pulsarProducerProperties;
     private final Properties pulsarClientProperties;
     private SerializationSchema<T> runtimeEncoder;
+    private final PulsarKeyExtractor<T> keyExtractor;
     private transient Producer producer;
     private transient volatile boolean closed = false;
 
@@ -108,18 +114,28 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
      */
     protected long pendingRecords;
 
+    /**
+     * Number of records sent but not yet acknowledged by the broker, exposed as metric.
+     */
+    protected transient AtomicLong inFlightRecords;
+
+    protected transient Histogram ackLatency;
+
+    protected transient Counter numRecordsSendErrors;
+
     public PulsarSinkFunction(
-        String topic,
-        String serviceUrl,
-        Properties pulsarProducerProperties,
-        Properties pulsarClientProperties,
-        SerializationSchema<T> runtimeEncoder
-    ) {
+            String topic,
+            String serviceUrl,
+            Properties pulsarProducerProperties,
+            Properties pulsarClientProperties,
+            SerializationSchema<T> runtimeEncoder,
+            PulsarKeyExtractor<T> keyExtractor) {
         this.topic = topic;
         this.serviceUrl = serviceUrl;
         this.pulsarProducerProperties = pulsarProducerProperties;
         this.pulsarClientProperties = pulsarClientProperties;
         this.runtimeEncoder = runtimeEncoder;
+        this.keyExtractor = keyExtractor;
     }
 
     @Override
@@ -129,7 +145,7 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
             RuntimeContext ctx = getRuntimeContext();
 
             log.info("Starting FlinkPulsarProducer ({}/{}) to produce into (※) pulsar topic {}",
-                ctx.getIndexOfThisSubtask() + 1, ctx.getNumberOfParallelSubtasks(), topic);
+                    ctx.getIndexOfThisSubtask() + 1, ctx.getNumberOfParallelSubtasks(), topic);
 
             this.producer = createReusedProducer();
             log.info("Pulsar producer has been created.");
@@ -143,43 +159,51 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
         }
 
         if (flushOnCheckpoint
-            && !((StreamingRuntimeContext) this.getRuntimeContext()).isCheckpointingEnabled()) {
+                && !((StreamingRuntimeContext) this.getRuntimeContext()).isCheckpointingEnabled()) {
             log.warn("Flushing on checkpoint is enabled, but checkpointing is not enabled. Disabling flushing.");
             flushOnCheckpoint = false;
         }
 
+        MetricGroup metricGroup = getRuntimeContext().getMetricGroup();
+        inFlightRecords = new AtomicLong();
+        metricGroup.gauge("pulsarInFlightRecords", (Gauge<Long>) inFlightRecords::get);
+        ackLatency = metricGroup.histogram("pulsarAckLatencyMs",
+                new SynchronizedHistogram(new DescriptiveStatisticsHistogram(1000)));
+        numRecordsSendErrors = metricGroup.counter("pulsarNumRecordsSendErrors");
+
         if (logFailuresOnly) {
-            this.sendCallback =
-                (t, u) -> {
-                    if (u != null) {
-                        log.error("Error while sending message to Pulsar: {}", ExceptionUtils.stringifyException(u));
-                    }
-                    acknowledgeMessage();
-                };
+            this.sendCallback = (t, u) -> {
+                if (u != null) {
+                    numRecordsSendErrors.inc();
+                    log.error("Error while sending message to Pulsar: {}", ExceptionUtils.stringifyException(u));
+                }
+                acknowledgeMessage();
+            };
         } else {
-            this.sendCallback =
-                (t, u) -> {
-                    if (asyncException == null && u != null) {
+            this.sendCallback = (t, u) -> {
+                if (u != null) {
+                    numRecordsSendErrors.inc();
+                    if (asyncException == null) {
                         asyncException = new Exception(u);
                     }
-                    acknowledgeMessage();
-                };
+                }
+                acknowledgeMessage();
+            };
         }
         log.info("end open.");
     }
 
     @Override
     public void invoke(T value, Context context) throws Exception {
-        log.info("start to invoke, send pular message.");
-
-        //propagate asynchronous errors
+        // propagate asynchronous errors
         checkErroneous();
 
-        byte[] serializeValue = runtimeEncoder.serialize(value);
-        String strValue = new String(serializeValue);
         TypedMessageBuilder<byte[]> typedMessageBuilder = producer.newMessage();
-        typedMessageBuilder.value(serializeValue);
-        typedMessageBuilder.key(getKey(strValue));
+        typedMessageBuilder.value(runtimeEncoder.serialize(value));
+        String key = keyExtractor == null ? null : keyExtractor.getKey(value);
+        if (key != null) {
+            typedMessageBuilder.key(key);
+        }
 
         if (flushOnCheckpoint) {
             synchronized (pendingRecordsLock) {
@@ -187,33 +211,40 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
             }
         }
 
-        //异步发送
+        // 异步发送，批量与压缩由 producer 配置完成
+        inFlightRecords.incrementAndGet();
+        final long sendTime = System.nanoTime();
         CompletableFuture<MessageId> messageIdCompletableFuture = typedMessageBuilder.sendAsync();
-        messageIdCompletableFuture.whenComplete(sendCallback);
+        messageIdCompletableFuture.whenComplete((messageId, throwable) -> {
+            inFlightRecords.decrementAndGet();
+            ackLatency.update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendTime));
+            sendCallback.accept(messageId, throwable);
+        });
     }
 
     @Override
     public void close() throws Exception {
-        //采用pulsar producer复用的方式，close方法不要具体实现，否则producer会被关闭
-        log.error("PulsarProducerBase Class close function called");
+        // 采用pulsar producer复用的方式，close方法不要具体实现，否则producer会被关闭
+        log.info("PulsarProducerBase Class close function called");
         checkErroneous();
     }
 
     @Override
     public void snapshotState(FunctionSnapshotContext context) throws Exception {
         if (flushOnCheckpoint) {
+            // 开启批量发送时，先把客户端缓冲中的批次发出，避免等待 max-publish-delay
+            flush();
             synchronized (pendingRecordsLock) {
                 if (pendingRecords != 0) {
                     try {
-                        log.info("等待notify");
-                        pendingRecordsLock.wait();
+                        while (pendingRecords != 0) {
+                            pendingRecordsLock.wait();
+                        }
                         checkErroneous();
-                        flush();
-                        log.info("等待waite之后");
                     } catch (InterruptedException e) {
-                        //this can be interrupted when the Task has been cancelled.
-                        //by throwing an exception, we ensure that this checkpoint doesn't get
-                        //confirmed
+                        // this can be interrupted when the Task has been cancelled.
+                        // by throwing an exception, we ensure that this checkpoint doesn't get
+                        // confirmed
                         throw new IllegalStateException("Flushing got interrupted while checkpointing", e);
                     }
                 }
@@ -223,39 +254,30 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
 
     @Override
     public void initializeState(FunctionInitializationContext context) throws Exception {
-        //nothing to do.
+        // nothing to do.
     }
 
-    public String getKey(String strValue) {
-        //JSONObject jsonObject = JSONObject.parseObject(strValue);
-        //JSONObject jsonObject = JSONUtil.parseObject(strValue);
-        //String key = jsonObject.getString("key");
-        ObjectNode jsonNodes = JSONUtil.parseObject(strValue);
-        String key = String.valueOf(jsonNodes.get("key"));
-        return key == null ? "" : key;
-    }
-
-    //获取Pulsar Producer
+    // 获取Pulsar Producer
     public Producer createProducer() throws Exception {
         log.info("current pulsar version is {}", PulsarVersion.getVersion());
 
         ClientBuilder builder = PulsarClient.builder();
         ProducerBuilder producerBuilder = builder.serviceUrl(serviceUrl)
-            .maxNumberOfRejectedRequestPerConnection(50)
-            .loadConf((Map) pulsarClientProperties)
-            .build()
-            .newProducer()
-            .topic(topic)
-            .blockIfQueueFull(Boolean.TRUE)
-            .compressionType(CompressionType.LZ4)
-            .hashingScheme(HashingScheme.JavaStringHash)
-            //.batchingMaxPublishDelay(100, TimeUnit.MILLISECONDS)
-            .loadConf((Map) pulsarProducerProperties);//实现配置透传功能
+                .maxNumberOfRejectedRequestPerConnection(50)
+                .loadConf((Map) pulsarClientProperties)
+                .build()
+                .newProducer()
+                .topic(topic)
+                .blockIfQueueFull(Boolean.TRUE)
+                .compressionType(CompressionType.LZ4)
+                .hashingScheme(HashingScheme.JavaStringHash)
+                // .batchingMaxPublishDelay(100, TimeUnit.MILLISECONDS)
+                .loadConf((Map) pulsarProducerProperties);// 实现配置透传功能
         Producer producer = producerBuilder.create();
         return producer;
     }
 
-    //获取复用的Pulsar Producer
+    // 获取复用的Pulsar Producer
     public Producer createReusedProducer() throws Exception {
         log.info("now create client, serviceUrl is : {}", serviceUrl);
         PulsarClientImpl client = PulsarConnectionHolder.getProducerClient(serviceUrl, pulsarClientProperties);
@@ -290,7 +312,7 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
     protected void checkErroneous() throws Exception {
         Exception e = asyncException;
         if (e != null) {
-            //prevent double throwing
+            // prevent double throwing
             asyncException = null;
             throw new Exception("Failed to send data to Pulsar: " + e.getMessage(), e);
         }
@@ -299,11 +321,9 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
     private void acknowledgeMessage() {
         if (flushOnCheckpoint) {
             synchronized (pendingRecordsLock) {
-                log.info("pendingRecords：{}", pendingRecords);
                 pendingRecords--;
                 if (pendingRecords == 0) {
                     pendingRecordsLock.notifyAll();
-                    log.info("notify完成");
                 }
             }
         }
@@ -315,5 +335,4 @@ public class PulsarSinkFunction<T> extends RichSinkFunction<T>
     protected void flush() throws Exception {
         producer.flush();
     }
-
 }
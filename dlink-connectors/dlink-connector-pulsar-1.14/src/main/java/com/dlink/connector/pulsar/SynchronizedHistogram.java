@@ -0,0 +1,50 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.connector.pulsar;
+
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.HistogramStatistics;
+
+/**
+ * 工作线程与指标上报线程共享的直方图，读写都加锁。
+ */
+final class SynchronizedHistogram implements Histogram {
+
+    private final Histogram histogram;
+
+    SynchronizedHistogram(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public synchronized void update(long value) {
+        histogram.update(value);
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public synchronized HistogramStatistics getStatistics() {
+        return histogram.getStatistics();
+    }
+}
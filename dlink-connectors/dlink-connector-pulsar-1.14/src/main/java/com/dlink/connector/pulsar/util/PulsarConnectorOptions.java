@@ -25,9 +25,13 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.DescribedEnum;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.configuration.description.InlineElement;
+import org.apache.pulsar.client.api.CompressionType;
 import org.apache.pulsar.client.api.SubscriptionType;
 
+import java.time.Duration;
+
 /**
  * @author DarrenDa
  * * @version 1.0
@@ -41,87 +45,123 @@ public class PulsarConnectorOptions {
     // --------------------------------------------------------------------------------------------
     // Format options
     // --------------------------------------------------------------------------------------------
-    public static final ConfigOption<String> SERVICE_URL =
-            ConfigOptions.key("connector.service-url")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar service url. ");
-
-    public static final ConfigOption<String> ADMIN_URL =
-            ConfigOptions.key("connector.admin-url")
-                    .stringType()
-                    .defaultValue("http://pulsar-dlink-qa.dlink.com:8080")
-                    .withDescription(
-                            "Defines pulsar admin url. ");
-
-    public static final ConfigOption<String> TOPIC =
-            ConfigOptions.key("connector.topic")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar topic. ");
-
-    public static final ConfigOption<String> SUBSCRIPTION_NAME =
-            ConfigOptions.key("connector.subscription-name")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar subscription name. ");
-
-    public static final ConfigOption<SubscriptionType> SUBSCRIPTION_TYPE =
-            ConfigOptions.key("connector.subscription-type")
-                    .enumType(SubscriptionType.class)
-                    .defaultValue(SubscriptionType.Shared)
-                    .withDescription(
-                            "Defines pulsar subscription type. ");
-
-    public static final ConfigOption<ScanStartupMode> SUBSCRIPTION_INITIAL_POSITION =
-            ConfigOptions.key("connector.subscription-initial-position")
-                    .enumType(ScanStartupMode.class)
-                    .defaultValue(ScanStartupMode.LATEST)
-                    .withDescription("Startup mode for Pulsar consumer.");
-
-    public static final ConfigOption<Long> SUBSCRIPTION_INITIAL_POSITION_TIMESTAMP =
-            ConfigOptions.key("connector.subscription-initial-position.timestamp")
-                    .longType()
-                    .noDefaultValue()
-                    .withDescription("Start from the specified message time by Message<byte[]>.getPublishTime().");
-
-    public static final ConfigOption<String> UPDATE_MODE =
-            ConfigOptions.key("update-mode")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar update mode. ");
-    public static final ConfigOption<Integer> SOURCE_PARALLELISM =
-            ConfigOptions.key("source-parallelism")
-                    .intType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar sink parallelism. ");
-    public static final ConfigOption<Integer> SINK_PARALLELISM =
-            ConfigOptions.key("sink-parallelism")
-                    .intType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar sink parallelism. ");
-
-    //与老平台 1.14.3之前版本的sql进行兼容，但是并未使用的参数
-    public static final ConfigOption<String> VERSION =
-            ConfigOptions.key("connector.version")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar version. ");
-
-    //与老平台 1.14.3之前版本的sql进行兼容，但是并未使用的参数
-    public static final ConfigOption<String> DERIVE_SCHEMA =
-            ConfigOptions.key("format.derive-schema")
-                    .stringType()
-                    .noDefaultValue()
-                    .withDescription(
-                            "Defines pulsar derive schema. ");
+    public static final ConfigOption<String> SERVICE_URL = ConfigOptions.key("connector.service-url")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar service url. ");
+
+    public static final ConfigOption<String> ADMIN_URL = ConfigOptions.key("connector.admin-url")
+            .stringType()
+            .defaultValue("http://pulsar-dlink-qa.dlink.com:8080")
+            .withDescription(
+                    "Defines pulsar admin url. ");
+
+    public static final ConfigOption<String> TOPIC = ConfigOptions.key("connector.topic")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar topic. ");
+
+    public static final ConfigOption<String> SUBSCRIPTION_NAME = ConfigOptions.key("connector.subscription-name")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar subscription name. ");
+
+    public static final ConfigOption<SubscriptionType> SUBSCRIPTION_TYPE = ConfigOptions
+            .key("connector.subscription-type")
+            .enumType(SubscriptionType.class)
+            .defaultValue(SubscriptionType.Shared)
+            .withDescription(
+                    "Defines pulsar subscription type. ");
+
+    public static final ConfigOption<ScanStartupMode> SUBSCRIPTION_INITIAL_POSITION = ConfigOptions
+            .key("connector.subscription-initial-position")
+            .enumType(ScanStartupMode.class)
+            .defaultValue(ScanStartupMode.LATEST)
+            .withDescription("Startup mode for Pulsar consumer.");
+
+    public static final ConfigOption<Long> SUBSCRIPTION_INITIAL_POSITION_TIMESTAMP = ConfigOptions
+            .key("connector.subscription-initial-position.timestamp")
+            .longType()
+            .noDefaultValue()
+            .withDescription("Start from the specified message time by Message<byte[]>.getPublishTime().");
+
+    public static final ConfigOption<String> UPDATE_MODE = ConfigOptions.key("update-mode")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar update mode. ");
+    public static final ConfigOption<Integer> SOURCE_PARALLELISM = ConfigOptions.key("source-parallelism")
+            .intType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar sink parallelism. ");
+    public static final ConfigOption<Integer> SINK_PARALLELISM = ConfigOptions.key("sink-parallelism")
+            .intType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar sink parallelism. ");
+
+    public static final ConfigOption<String> SINK_KEY_FIELD = ConfigOptions.key("sink.key-field")
+            .stringType()
+            .defaultValue("key")
+            .withDescription(
+                    "Defines the physical column used as pulsar message key, "
+                            + "messages are sent without key when the column does not exist. ");
+
+    public static final ConfigOption<Boolean> SINK_BATCHING_ENABLED = ConfigOptions.key("sink.batching.enabled")
+            .booleanType()
+            .defaultValue(true)
+            .withDescription(
+                    "Defines whether the pulsar producer batches messages. ");
+
+    public static final ConfigOption<Integer> SINK_BATCHING_MAX_MESSAGES = ConfigOptions
+            .key("sink.batching.max-messages")
+            .intType()
+            .defaultValue(1000)
+            .withDescription(
+                    "Defines the max number of messages in one pulsar batch. ");
+
+    public static final ConfigOption<Duration> SINK_BATCHING_MAX_PUBLISH_DELAY = ConfigOptions
+            .key("sink.batching.max-publish-delay")
+            .durationType()
+            .defaultValue(Duration.ofMillis(10))
+            .withDescription(
+                    "Defines the max delay before a pulsar batch is published. ");
+
+    public static final ConfigOption<MemorySize> SINK_BATCHING_MAX_BYTES = ConfigOptions.key("sink.batching.max-bytes")
+            .memoryType()
+            .defaultValue(MemorySize.parse("128kb"))
+            .withDescription(
+                    "Defines the max size of one pulsar batch. ");
+
+    public static final ConfigOption<CompressionType> SINK_COMPRESSION_TYPE = ConfigOptions.key("sink.compression-type")
+            .enumType(CompressionType.class)
+            .defaultValue(CompressionType.LZ4)
+            .withDescription(
+                    "Defines the compression type of pulsar producer. ");
+
+    public static final ConfigOption<Integer> SINK_MAX_PENDING_MESSAGES = ConfigOptions.key("sink.max-pending-messages")
+            .intType()
+            .defaultValue(1000)
+            .withDescription(
+                    "Defines the max number of in-flight messages of pulsar producer. ");
+
+    // 与老平台 1.14.3之前版本的sql进行兼容，但是并未使用的参数
+    public static final ConfigOption<String> VERSION = ConfigOptions.key("connector.version")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar version. ");
+
+    // 与老平台 1.14.3之前版本的sql进行兼容，但是并未使用的参数
+    public static final ConfigOption<String> DERIVE_SCHEMA = ConfigOptions.key("format.derive-schema")
+            .stringType()
+            .noDefaultValue()
+            .withDescription(
+                    "Defines pulsar derive schema. ");
 
     // --------------------------------------------------------------------------------------------
     // Enums
@@ -129,9 +169,10 @@ public class PulsarConnectorOptions {
 
     /** Startup mode for the Pulsar consumer, see {@link #SUBSCRIPTION_INITIAL_POSITION}. */
     public enum ScanStartupMode implements DescribedEnum {
-        EARLIEST("Earliest", text("Start from the earliest available message in the topic..")),
-        LATEST("Latest", text("Start from the latest available message in the topic.")),
-        TIMESTAMP("Timestamp", text("Start from the specified message time by Message<byte[]>.getPublishTime()."));
+
+        EARLIEST("Earliest", text("Start from the earliest available message in the topic..")), LATEST("Latest",
+                text("Start from the latest available message in the topic.")), TIMESTAMP("Timestamp",
+                        text("Start from the specified message time by Message<byte[]>.getPublishTime()."));
 
         private final String value;
         private final InlineElement description;
@@ -19,10 +19,19 @@
 
 package com.dlink.connector.pulsar.util;
 
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_ENABLED;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_BYTES;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_MESSAGES;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_BATCHING_MAX_PUBLISH_DELAY;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_COMPRESSION_TYPE;
+import static com.dlink.connector.pulsar.util.PulsarConnectorOptions.SINK_MAX_PENDING_MESSAGES;
+
 import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.configuration.ReadableConfig;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author DarrenDa
@@ -54,6 +63,24 @@ public class PulsarConnectorOptionsUtil {
         return pulsarProperties;
     }
 
+    /**
+     * 生成 Producer 配置：先写入 sink.* 的批量与压缩参数，再由 'properties.' 前缀的透传参数覆盖。
+     */
+    public static Properties getPulsarProducerProperties(ReadableConfig tableOptions, Map<String, String> options) {
+        final Properties producerProperties = new Properties();
+        producerProperties.put("batchingEnabled", String.valueOf(tableOptions.get(SINK_BATCHING_ENABLED)));
+        producerProperties.put("batchingMaxMessages", String.valueOf(tableOptions.get(SINK_BATCHING_MAX_MESSAGES)));
+        producerProperties.put("batchingMaxPublishDelayMicros",
+                String.valueOf(
+                        TimeUnit.MILLISECONDS.toMicros(tableOptions.get(SINK_BATCHING_MAX_PUBLISH_DELAY).toMillis())));
+        producerProperties.put("batchingMaxBytes",
+                String.valueOf(tableOptions.get(SINK_BATCHING_MAX_BYTES).getBytes()));
+        producerProperties.put("compressionType", tableOptions.get(SINK_COMPRESSION_TYPE).name());
+        producerProperties.put("maxPendingMessages", String.valueOf(tableOptions.get(SINK_MAX_PENDING_MESSAGES)));
+        producerProperties.putAll(getPulsarProperties(options, PROPERTIES_PREFIX));
+        return producerProperties;
+    }
+
     /**
      * Decides if the table options contains Pulsar client properties that start with prefix
      * 'properties'.
@@ -27,6 +27,7 @@ import org.apache.pulsar.client.api.PulsarClient;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -39,23 +40,26 @@ import org.slf4j.LoggerFactory;
  * * @Desc:
  */
 public class PulsarProducerHolder {
+
     private static final Logger LOG = LoggerFactory.getLogger(PulsarProducerHolder.class);
     private static final Map<String, Producer> PULSAR_PRODUCER_MAP = new ConcurrentHashMap<>();
 
-    public static Producer getProducer(String defaultTopicName, Properties properties, PulsarClient client) throws Exception {
+    public static Producer getProducer(String defaultTopicName, Properties properties, PulsarClient client)
+            throws Exception {
         return get(defaultTopicName, properties, client);
     }
 
     private static Producer get(String defaultTopicName, Properties properties, PulsarClient client) throws Exception {
         synchronized (PulsarProducerHolder.class) {
-            String pulsarProducerCacheKey = defaultTopicName;
+            // 同一 topic 下批量、压缩等配置不同的 sink 不能复用同一个 producer
+            String pulsarProducerCacheKey = defaultTopicName + new TreeMap<>(properties);
             Producer pulsarProducer = PULSAR_PRODUCER_MAP.get(pulsarProducerCacheKey);
             LOG.info("get pulsarProducer from map result is " + pulsarProducer);
             if (null != pulsarProducer) {
                 return pulsarProducer;
             }
 
-            Producer producer = createPulsarProducer(defaultTopicName, properties, client);
+            Producer producer = createPulsarProducer(defaultTopicName, pulsarProducerCacheKey, properties, client);
             Producer newPulsarProducer = PULSAR_PRODUCER_MAP.putIfAbsent(pulsarProducerCacheKey, producer);
             if (newPulsarProducer == null) {
                 return producer;
@@ -64,19 +68,16 @@ public class PulsarProducerHolder {
         }
     }
 
-    private static Producer createPulsarProducer(String defaultTopicName, Properties properties, PulsarClient client) {
+    private static Producer createPulsarProducer(String defaultTopicName, String pulsarProducerCacheKey,
+            Properties properties, PulsarClient client) {
         try {
-            LOG.info("create producer, and ID is " + UUID.randomUUID() + ", and cache map size is " + PULSAR_PRODUCER_MAP.size());
-            LOG.info("now defaultTopicName is " + defaultTopicName + ", and map content is " + PULSAR_PRODUCER_MAP.get(defaultTopicName));
+            LOG.info("create producer, and ID is " + UUID.randomUUID() + ", and cache map size is "
+                    + PULSAR_PRODUCER_MAP.size());
+            LOG.info("now defaultTopicName is " + defaultTopicName + ", and cache key is " + pulsarProducerCacheKey);
 
             ProducerBuilder<byte[]> producerBuilder = client.newProducer();
-            producerBuilder.
-                    blockIfQueueFull(Boolean.TRUE).
-                    compressionType(CompressionType.LZ4).
-                    topic(defaultTopicName).
-                    hashingScheme(HashingScheme.JavaStringHash).
-                    //batchingMaxPublishDelay(100, TimeUnit.MILLISECONDS).
-                    loadConf((Map) properties);
+            producerBuilder.blockIfQueueFull(Boolean.TRUE).compressionType(CompressionType.LZ4).topic(defaultTopicName)
+                    .hashingScheme(HashingScheme.JavaStringHash).loadConf((Map) properties);
             Producer<byte[]> producer = producerBuilder.create();
             return producer;
         } catch (Exception e) {
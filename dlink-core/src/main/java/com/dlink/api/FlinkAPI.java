@@ -27,11 +27,35 @@ import com.dlink.gateway.config.SavePointType;
 import com.dlink.gateway.model.JobInfo;
 import com.dlink.gateway.result.SavePointResult;
 
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +64,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import cn.hutool.http.HttpUtil;
-import cn.hutool.http.Method;
-
 /**
  * FlinkAPI
  *
@@ -55,6 +76,49 @@ public class FlinkAPI {
 
     public static final String REST_TARGET_DIRECTORY = "rest.target-directory";
 
+    /**
+     * 每个 JobManager 的最大并发连接数，超出的请求在连接池中排队
+     */
+    private static final int MAX_CONNECTIONS_PER_HOST = 8;
+
+    private static final int MAX_CONNECTIONS_TOTAL = 200;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final CloseableHttpClient HTTP_CLIENT;
+
+    private static final ExecutorService ASYNC_EXECUTOR;
+
+    /**
+     * 正在执行的 GET 请求，相同地址的并发请求共享同一次调用
+     */
+    private static final Map<String, CompletableFuture<String>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    static {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_HOST);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(NetConstant.SERVER_TIME_OUT_ACTIVE)
+                .setSocketTimeout(NetConstant.SERVER_TIME_OUT_ACTIVE)
+                .setConnectionRequestTimeout(NetConstant.READ_TIME_OUT)
+                .build();
+        HTTP_CLIENT = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(60L, TimeUnit.SECONDS)
+                .build();
+        AtomicInteger threadId = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONNECTIONS_PER_HOST * 4,
+                MAX_CONNECTIONS_PER_HOST * 4, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "FlinkAPI-" + threadId.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        ASYNC_EXECUTOR = executor;
+    }
+
     private String address;
 
     public FlinkAPI(String address) {
@@ -66,25 +130,71 @@ public class FlinkAPI {
     }
 
     private JsonNode parse(String res) {
-        ObjectMapper mapper = new ObjectMapper();
         JsonNode result = null;
         try {
-            result = mapper.readTree(res);
+            result = MAPPER.readTree(res);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
         return result;
     }
 
-    private JsonNode get(String route) {
+    private String buildUrl(String route) {
+        return NetConstant.HTTP + address + NetConstant.SLASH + route;
+    }
+
+    private static String execute(HttpRequestBase request) {
+        try (CloseableHttpResponse response = HTTP_CLIENT.execute(request)) {
+            HttpEntity entity = response.getEntity();
+            return Asserts.isNull(entity) ? null : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 异步 GET，相同地址正在执行的请求会被复用
+     */
+    private CompletableFuture<String> getResultAsync(String route) {
+        String url = buildUrl(route);
+        CompletableFuture<String> future = IN_FLIGHT.get(url);
+        if (Asserts.isNotNull(future)) {
+            return future;
+        }
+        CompletableFuture<String> created = new CompletableFuture<>();
+        future = IN_FLIGHT.putIfAbsent(url, created);
+        if (Asserts.isNotNull(future)) {
+            return future;
+        }
         try {
-            String res = HttpUtil.get(NetConstant.HTTP + address + NetConstant.SLASH + route,
-                    NetConstant.SERVER_TIME_OUT_ACTIVE);
-            return parse(res);
-        } catch (Exception e) {
-            logger.info("Unable to connect to Flink JobManager: {}", NetConstant.HTTP + address);
+            ASYNC_EXECUTOR.execute(() -> {
+                try {
+                    created.complete(execute(new HttpGet(url)));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    IN_FLIGHT.remove(url, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            IN_FLIGHT.remove(url, created);
+            created.completeExceptionally(e);
         }
-        return null;
+        return created;
+    }
+
+    private CompletableFuture<JsonNode> getAsync(String route) {
+        return getResultAsync(route).handle((res, e) -> {
+            if (Asserts.isNotNull(e)) {
+                logger.info("Unable to connect to Flink JobManager: {}", NetConstant.HTTP + address);
+                return null;
+            }
+            return parse(res);
+        });
+    }
+
+    private JsonNode get(String route) {
+        return getAsync(route).join();
     }
 
     /**
@@ -94,21 +204,19 @@ public class FlinkAPI {
      * @return
      */
     private String getResult(String route) {
-        String res = HttpUtil.get(NetConstant.HTTP + address + NetConstant.SLASH + route,
-                NetConstant.SERVER_TIME_OUT_ACTIVE);
-        return res;
+        return execute(new HttpGet(buildUrl(route)));
     }
 
     private JsonNode post(String route, String body) {
-        String res = HttpUtil.post(NetConstant.HTTP + address + NetConstant.SLASH + route, body,
-                NetConstant.SERVER_TIME_OUT_ACTIVE);
-        return parse(res);
+        HttpPost request = new HttpPost(buildUrl(route));
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return parse(execute(request));
     }
 
     private JsonNode patch(String route, String body) {
-        String res = HttpUtil.createRequest(Method.PATCH, NetConstant.HTTP + address + NetConstant.SLASH + route)
-                .timeout(NetConstant.SERVER_TIME_OUT_ACTIVE).body(body).execute().body();
-        return parse(res);
+        HttpPatch request = new HttpPatch(buildUrl(route));
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return parse(execute(request));
     }
 
     public List<JsonNode> listJobs() {
@@ -123,8 +231,21 @@ public class FlinkAPI {
         return joblist;
     }
 
+    /**
+     * 获取集群所有作业的概览，请求失败时返回 null
+     *
+     * @return JsonNode
+     */
+    public JsonNode getJobsOverview() {
+        return get(FlinkRestAPIConstant.JOBSLIST);
+    }
+
     public boolean stop(String jobId) {
-        get(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CANCEL);
+        try {
+            getResult(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CANCEL);
+        } catch (Exception e) {
+            logger.info("Unable to connect to Flink JobManager: {}", NetConstant.HTTP + address);
+        }
         return true;
     }
 
@@ -159,10 +280,9 @@ public class FlinkAPI {
                     taskConfig.get(REST_TARGET_DIRECTORY));
         }
 
-        ObjectMapper mapper = new ObjectMapper();
         JsonNode json = null;
         try {
-            String s = mapper.writeValueAsString(paramMap);
+            String s = MAPPER.writeValueAsString(paramMap);
             json = post(FlinkRestAPIConstant.JOBS + jobId + paramType, s);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
@@ -214,23 +334,46 @@ public class FlinkAPI {
     }
 
     public JsonNode getJobInfo(String jobId) {
-        return get(FlinkRestAPIConstant.JOBS + jobId);
+        return getJobInfoAsync(jobId).join();
     }
 
     public JsonNode getException(String jobId) {
-        return get(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.EXCEPTIONS);
+        return getExceptionAsync(jobId).join();
     }
 
     public JsonNode getCheckPoints(String jobId) {
-        return get(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CHECKPOINTS);
+        return getCheckPointsAsync(jobId).join();
     }
 
     public JsonNode getCheckPointsConfig(String jobId) {
-        return get(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CHECKPOINTS_CONFIG);
+        return getCheckPointsConfigAsync(jobId).join();
     }
 
     public JsonNode getJobsConfig(String jobId) {
-        return get(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CONFIG);
+        return getJobsConfigAsync(jobId).join();
+    }
+
+    /**
+     * 以下异步接口请求失败时返回 null，可并发获取作业的各项信息
+     */
+    public CompletableFuture<JsonNode> getJobInfoAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId);
+    }
+
+    public CompletableFuture<JsonNode> getExceptionAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.EXCEPTIONS);
+    }
+
+    public CompletableFuture<JsonNode> getCheckPointsAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CHECKPOINTS);
+    }
+
+    public CompletableFuture<JsonNode> getCheckPointsConfigAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CHECKPOINTS_CONFIG);
+    }
+
+    public CompletableFuture<JsonNode> getJobsConfigAsync(String jobId) {
+        return getAsync(FlinkRestAPIConstant.JOBS + jobId + FlinkRestAPIConstant.CONFIG);
     }
 
     /**
@@ -30,5 +30,9 @@ public final class FlinkRestResultConstant {
     public static final String ERRORS = "errors";
     public static final String JOB_DURATION = "duration";
     public static final String JOB_STATE = "state";
+    public static final String JOBS = "jobs";
+    public static final String JOB_ID = "jid";
+    public static final String JOB_LAST_MODIFICATION = "last-modification";
+    public static final String JOB_TASKS = "tasks";
 
 }
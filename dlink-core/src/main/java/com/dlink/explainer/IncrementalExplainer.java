@@ -0,0 +1,374 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.explainer;
+
+import com.dlink.executor.Executor;
+import com.dlink.executor.ExecutorSnapshot;
+import com.dlink.parser.SqlType;
+import com.dlink.process.context.ProcessContextHolder;
+import com.dlink.process.model.ProcessEntity;
+import com.dlink.result.ExplainResult;
+import com.dlink.result.SqlExplainResult;
+import com.dlink.trans.Operations;
+import com.dlink.utils.LogUtil;
+import com.dlink.utils.SqlUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import cn.hutool.core.util.StrUtil;
+
+/**
+ * IncrementalExplainer
+ * <p>
+ * 为同一作业保留上一次 explain 使用的 Executor，并在每条语句执行前记录 {@link ExecutorSnapshot}。
+ * 再次 explain 时找到第一条发生变化的语句，恢复到该语句之前的快照后只重新校验其后的语句；
+ * 未执行新的 DDL 时，未变化的 DML 直接复用上次的校验结果。
+ * 最多保留 {@link #MAX_STATES} 个状态，空闲超时的状态由后台线程定期关闭。
+ **/
+public class IncrementalExplainer {
+
+    private static final int MAX_STATES = 16;
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Set<SqlType> TRANS_TYPES = EnumSet.of(SqlType.INSERT, SqlType.SELECT, SqlType.SHOW,
+            SqlType.DESCRIBE, SqlType.DESC);
+    // 快照无法回滚已存在对象的删除与修改，出现时放弃增量
+    private static final Set<SqlType> IRREVERSIBLE_TYPES = EnumSet.of(SqlType.DROP, SqlType.ALTER);
+
+    private static final Map<String, ExplainState> states = new LinkedHashMap<String, ExplainState>(16, 0.75f,
+            true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExplainState> eldest) {
+            if (size() > MAX_STATES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "IncrementalExplainEvictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(IncrementalExplainer::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    private IncrementalExplainer() {
+    }
+
+    /**
+     * ADD JAR 与 EXECUTE 语句依赖线程上下文或会提交 DataStream 作业，不支持增量
+     */
+    public static boolean supports(String statement, String sqlSeparator) {
+        for (String item : SqlUtil.getStatements(statement, sqlSeparator)) {
+            SqlType operationType = Operations.getOperationType(item);
+            if (operationType.equals(SqlType.ADD) || operationType.equals(SqlType.EXECUTE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param key              同一作业与执行环境的标识
+     * @param executorSupplier 没有可复用的状态时提供新的 Executor，其所有权转移给 IncrementalExplainer
+     */
+    public static ExplainResult explain(String key, Supplier<Executor> executorSupplier, boolean useStatementSet,
+            String sqlSeparator, String statement) {
+        ProcessEntity process = ProcessContextHolder.getProcess();
+        process.info("Start explain FlinkSQL...");
+        List<String> statements = new ArrayList<>();
+        for (String item : SqlUtil.getStatements(statement, sqlSeparator)) {
+            statements.add(item.trim());
+        }
+        ExplainState state;
+        synchronized (states) {
+            state = states.remove(key);
+        }
+        int start = 0;
+        if (state != null) {
+            start = state.firstDifference(statements);
+            if (System.currentTimeMillis() - state.lastUseTime > IDLE_TIMEOUT_MILLIS || !state.rollback(start)) {
+                state.close();
+                state = null;
+                start = 0;
+            }
+        }
+        if (state == null) {
+            state = new ExplainState(executorSupplier.get());
+        } else {
+            process.info(StrUtil.format("Incremental explain resumes from statement {}.", start + 1));
+        }
+        ExplainResult result = state.explain(statements, start, useStatementSet);
+        state.lastUseTime = System.currentTimeMillis();
+        synchronized (states) {
+            ExplainState previous = states.put(key, state);
+            if (previous != null) {
+                previous.close();
+            }
+        }
+        process.info(StrUtil.format("A total of {} FlinkSQL have been Explained.", result.getTotal()));
+        return result;
+    }
+
+    public static void clear() {
+        synchronized (states) {
+            states.values().forEach(ExplainState::close);
+            states.clear();
+        }
+    }
+
+    private static void evictIdle() {
+        long deadline = System.currentTimeMillis() - IDLE_TIMEOUT_MILLIS;
+        synchronized (states) {
+            Iterator<ExplainState> iterator = states.values().iterator();
+            while (iterator.hasNext()) {
+                ExplainState state = iterator.next();
+                if (state.lastUseTime < deadline) {
+                    iterator.remove();
+                    state.close();
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final String sql;
+        private final SqlType type;
+        private final SqlExplainResult record;
+
+        private Entry(String sql, SqlType type, SqlExplainResult record) {
+            this.sql = sql;
+            this.type = type;
+            this.record = record;
+        }
+
+        private boolean isTrans() {
+            return type != null && TRANS_TYPES.contains(type);
+        }
+
+        private boolean isDdl() {
+            return type != null && !isTrans();
+        }
+    }
+
+    private static class ExplainState {
+
+        private final Executor executor;
+        // 已处理的原始语句与结果，snapshots 比 entries 多一个，snapshots[i] 为执行第 i 条语句之前的状态
+        private final List<String> statements = new ArrayList<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final List<ExecutorSnapshot> snapshots = new ArrayList<>();
+        private final Map<String, SqlExplainResult> transRecords = new HashMap<>();
+        private boolean catalogChanged = false;
+        private volatile long lastUseTime;
+
+        private ExplainState(Executor executor) {
+            this.executor = executor;
+            snapshots.add(ExecutorSnapshot.of(executor));
+        }
+
+        private int firstDifference(List<String> newStatements) {
+            int index = 0;
+            while (index < statements.size() && index < newStatements.size()
+                    && statements.get(index).equals(newStatements.get(index))) {
+                index++;
+            }
+            return index;
+        }
+
+        private boolean rollback(int start) {
+            for (int i = start; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                if (entry.type != null && IRREVERSIBLE_TYPES.contains(entry.type)) {
+                    return false;
+                }
+                catalogChanged |= entry.isDdl();
+            }
+            if (!snapshots.get(start).restore(executor)) {
+                return false;
+            }
+            statements.subList(start, statements.size()).clear();
+            entries.subList(start, entries.size()).clear();
+            snapshots.subList(start + 1, snapshots.size()).clear();
+            return true;
+        }
+
+        private ExplainResult explain(List<String> newStatements, int start, boolean useStatementSet) {
+            ProcessEntity process = ProcessContextHolder.getProcess();
+            SqlExplainResult errorRecord = null;
+            for (int i = start; i < newStatements.size(); i++) {
+                if (snapshots.size() == i) {
+                    snapshots.add(ExecutorSnapshot.of(executor));
+                }
+                String sql = executor.pretreatStatement(newStatements.get(i));
+                Entry entry;
+                if (sql.isEmpty()) {
+                    entry = new Entry(null, null, null);
+                } else {
+                    SqlType operationType = Operations.getOperationType(sql);
+                    if (TRANS_TYPES.contains(operationType)) {
+                        entry = new Entry(sql, operationType, null);
+                    } else {
+                        catalogChanged = true;
+                        SqlExplainResult record = new SqlExplainResult();
+                        try {
+                            record = executor.explainSqlRecord(sql);
+                            if (record != null) {
+                                executor.executeSql(sql);
+                                record.setExplainTrue(true);
+                                record.setExplainTime(LocalDateTime.now());
+                                record.setSql(sql);
+                            }
+                        } catch (Exception e) {
+                            String error = LogUtil.getError(e);
+                            errorRecord = record == null ? new SqlExplainResult() : record;
+                            errorRecord.setError(error);
+                            errorRecord.setExplainTrue(false);
+                            errorRecord.setExplainTime(LocalDateTime.now());
+                            errorRecord.setSql(sql);
+                            process.error(error);
+                            break;
+                        }
+                        entry = new Entry(sql, operationType, record);
+                    }
+                }
+                statements.add(newStatements.get(i));
+                entries.add(entry);
+                if (entry.isTrans() && !useStatementSet) {
+                    break;
+                }
+            }
+            List<SqlExplainResult> records = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.record != null) {
+                    records.add(entry.record.copy());
+                }
+            }
+            boolean correct = errorRecord == null;
+            if (correct) {
+                snapshots.add(ExecutorSnapshot.of(executor));
+                if (catalogChanged) {
+                    transRecords.clear();
+                    catalogChanged = false;
+                }
+                correct = explainTrans(records, useStatementSet);
+            } else {
+                records.add(errorRecord);
+            }
+            for (int i = 0; i < records.size(); i++) {
+                records.get(i).setIndex(i + 1);
+            }
+            return new ExplainResult(correct, records.size(), records);
+        }
+
+        private boolean explainTrans(List<SqlExplainResult> records, boolean useStatementSet) {
+            boolean correct = true;
+            if (useStatementSet) {
+                List<String> inserts = new ArrayList<>();
+                for (Entry entry : entries) {
+                    if (entry.isTrans() && entry.type.equals(SqlType.INSERT)) {
+                        inserts.add(entry.sql);
+                    }
+                }
+                if (inserts.size() > 0) {
+                    String sqlSet = String.join(";\r\n ", inserts);
+                    SqlExplainResult record = transRecords.get(sqlSet);
+                    if (record == null) {
+                        record = new SqlExplainResult();
+                        try {
+                            record.setExplain(executor.explainStatementSet(inserts));
+                            record.setParseTrue(true);
+                            record.setExplainTrue(true);
+                        } catch (Exception e) {
+                            correct = fail(record, e);
+                        }
+                        record.setType("Modify DML");
+                        record.setExplainTime(LocalDateTime.now());
+                        record.setSql(sqlSet);
+                        cacheIfCorrect(sqlSet, record);
+                    }
+                    records.add(record.copy());
+                }
+            } else {
+                for (Entry entry : entries) {
+                    if (!entry.isTrans()) {
+                        continue;
+                    }
+                    SqlExplainResult record = transRecords.get(entry.sql);
+                    if (record == null) {
+                        record = new SqlExplainResult();
+                        try {
+                            SqlExplainResult explained = executor.explainSqlRecord(entry.sql);
+                            record = explained == null ? record : explained;
+                            record.setParseTrue(true);
+                            record.setExplainTrue(true);
+                        } catch (Exception e) {
+                            correct = fail(record, e);
+                        }
+                        record.setType("Modify DML");
+                        record.setExplainTime(LocalDateTime.now());
+                        record.setSql(entry.sql);
+                        cacheIfCorrect(entry.sql, record);
+                    }
+                    records.add(record.copy());
+                }
+            }
+            return correct;
+        }
+
+        private boolean fail(SqlExplainResult record, Exception e) {
+            String error = LogUtil.getError(e);
+            record.setError(error);
+            record.setParseTrue(false);
+            record.setExplainTrue(false);
+            ProcessContextHolder.getProcess().error(error);
+            return false;
+        }
+
+        private void cacheIfCorrect(String sql, SqlExplainResult record) {
+            if (record.isExplainTrue()) {
+                transRecords.put(sql, record);
+            }
+        }
+
+        private void close() {
+            executor.close();
+        }
+    }
+}
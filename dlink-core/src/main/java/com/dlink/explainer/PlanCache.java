@@ -0,0 +1,149 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.explainer;
+
+import com.dlink.process.context.ProcessContextHolder;
+import com.dlink.utils.SqlUtil;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import cn.hutool.crypto.SecureUtil;
+
+/**
+ * PlanCache
+ * <p>
+ * 缓存 explain、StreamGraph 与 JobPlan 的结果，键为规范化后的语句与执行环境指纹，
+ * 指纹变化（环境语句、变量、UDF 版本、会话 catalog 版本等）即视为不同的键。
+ * 外部 catalog 的变化无法体现在指纹中，缓存结果超过有效期后重新计算。
+ **/
+public class PlanCache {
+
+    private static final int MAX_ENTRIES = 512;
+    private static final long EXPIRE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final Map<String, Entry> cache = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong savedNanos = new AtomicLong();
+
+    private PlanCache() {
+    }
+
+    public static String key(String type, String fingerprint, String statement) {
+        return SecureUtil.md5(type + "\n" + fingerprint + "\n" + normalize(statement));
+    }
+
+    /**
+     * 用于不可变的结果，见 {@link #get(String, Supplier, Predicate, UnaryOperator)}
+     */
+    public static <T> T get(String key, Supplier<T> loader, Predicate<T> cacheable) {
+        return get(key, loader, cacheable, UnaryOperator.identity());
+    }
+
+    /**
+     * 命中时返回缓存结果的副本，否则调用 loader 计算，仅缓存满足 cacheable 的结果。
+     * 缓存中保存的是 copier 生成的副本，调用方修改返回值不会影响缓存。
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String key, Supplier<T> loader, Predicate<T> cacheable, UnaryOperator<T> copier) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry != null && System.nanoTime() - entry.createNanos > EXPIRE_NANOS) {
+                cache.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            savedNanos.addAndGet(entry.costNanos);
+            ProcessContextHolder.getProcess().info(String.format(
+                    "Plan cache hit, saved %d ms. Hit ratio: %.2f%%, total saved: %d ms.",
+                    TimeUnit.NANOSECONDS.toMillis(entry.costNanos), getHitRatio() * 100,
+                    TimeUnit.NANOSECONDS.toMillis(savedNanos.get())));
+            return copier.apply((T) entry.value);
+        }
+        missCount.incrementAndGet();
+        long start = System.nanoTime();
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            synchronized (cache) {
+                cache.put(key, new Entry(copier.apply(value), System.nanoTime() - start));
+            }
+        }
+        return value;
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public static double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public static long getSavedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(savedNanos.get());
+    }
+
+    /**
+     * 去除注释、行首尾空白与空行，保留字符串常量内部的内容
+     */
+    static String normalize(String statement) {
+        if (statement == null) {
+            return "";
+        }
+        return Arrays.stream(SqlUtil.removeNote(statement).split("\n"))
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static class Entry {
+
+        private final Object value;
+        private final long costNanos;
+        private final long createNanos = System.nanoTime();
+
+        private Entry(Object value, long costNanos) {
+            this.value = value;
+            this.costNanos = costNanos;
+        }
+    }
+}
@@ -174,13 +174,14 @@ public class LineageBuilder {
                     List<SQLExpr> columns = ((SQLInsertStatement) sqlStatement).getColumns();
                     //处理target表中字段
                     if (columns.size() <= 0 || sqls[n].contains("*")) {
-                        Driver driver = Driver.build(driverConfig);
                         if (!targetTable.contains(".")) {
                             return null;
                         }
-                        List<Column> columns1 = driver.listColumns(targetTable.split("\\.")[0], targetTable.split("\\.")[1]);
-                        for (Column column : columns1) {
-                            tgtList.add(new TableStat.Column(targetTable, column.getName()));
+                        try (Driver driver = Driver.build(driverConfig)) {
+                            List<Column> columns1 = driver.listColumns(targetTable.split("\\.")[0], targetTable.split("\\.")[1]);
+                            for (Column column : columns1) {
+                                tgtList.add(new TableStat.Column(targetTable, column.getName()));
+                            }
                         }
                     } else {
                         for (SQLExpr column : columns) {
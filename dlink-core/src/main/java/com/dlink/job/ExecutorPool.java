@@ -0,0 +1,235 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.job;
+
+import com.dlink.executor.Executor;
+import com.dlink.executor.ExecutorSnapshot;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ExecutorPool
+ * <p>
+ * 缓存已预热（执行完 FlinkSQLEnv）的本地 Executor，按运行模式、执行配置与环境语句区分。
+ * 归还时根据 {@link ExecutorSnapshot} 清理借用者注册的对象，恢复失败或空闲超时的 Executor 关闭后丢弃。
+ **/
+public class ExecutorPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorPool.class);
+
+    private static final int MAX_IDLE_PER_KEY = 4;
+    private static final int MAX_IDLE_TOTAL = 32;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final Map<String, Deque<PooledExecutor>> idleExecutors = new ConcurrentHashMap<>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
+
+    private static final AtomicLong borrowCount = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong discardCount = new AtomicLong();
+    private static final AtomicLong borrowNanos = new AtomicLong();
+    private static final AtomicLong maxBorrowNanos = new AtomicLong();
+
+    private ExecutorPool() {
+    }
+
+    /**
+     * 借出一个 Executor，未命中时由 factory 创建并完成预热，预热后的状态作为归还时的恢复基线
+     */
+    public static PooledExecutor borrow(String key, Supplier<Executor> factory) {
+        long start = System.nanoTime();
+        PooledExecutor pooled = pollIdle(key, start);
+        if (pooled != null) {
+            hitCount.incrementAndGet();
+        } else {
+            Executor executor = factory.get();
+            pooled = new PooledExecutor(key, executor, ExecutorSnapshot.of(executor));
+        }
+        long elapsed = System.nanoTime() - start;
+        borrowCount.incrementAndGet();
+        borrowNanos.addAndGet(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+        return pooled;
+    }
+
+    public static void release(PooledExecutor pooled) {
+        if (pooled == null) {
+            return;
+        }
+        if (!pooled.snapshot.restore(pooled.executor)) {
+            logger.warn("Discard executor of pool key [{}], failed to restore its state.", pooled.key);
+            discard(pooled);
+            return;
+        }
+        Deque<PooledExecutor> deque = idleExecutors.computeIfAbsent(pooled.key, k -> new ConcurrentLinkedDeque<>());
+        if (deque.size() >= MAX_IDLE_PER_KEY || idleCount.get() >= MAX_IDLE_TOTAL) {
+            discard(pooled);
+            return;
+        }
+        idleCount.incrementAndGet();
+        pooled.releaseTime = System.nanoTime();
+        deque.offerFirst(pooled);
+    }
+
+    /**
+     * 借用者执行了无法由快照恢复的语句时调用，直接关闭该 Executor 而不放回池中
+     */
+    public static void invalidate(PooledExecutor pooled) {
+        if (pooled == null) {
+            return;
+        }
+        logger.info("Discard executor of pool key [{}], it ran statements that can not be restored.", pooled.key);
+        discard(pooled);
+    }
+
+    public static void clear() {
+        for (Deque<PooledExecutor> deque : idleExecutors.values()) {
+            PooledExecutor pooled;
+            while ((pooled = deque.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                discard(pooled);
+            }
+        }
+    }
+
+    public static Metrics metrics() {
+        return new Metrics(borrowCount.get(), hitCount.get(), discardCount.get(), idleCount.get(),
+                borrowNanos.get(), maxBorrowNanos.get());
+    }
+
+    private static PooledExecutor pollIdle(String key, long now) {
+        Deque<PooledExecutor> deque = idleExecutors.get(key);
+        if (deque == null) {
+            return null;
+        }
+        PooledExecutor pooled;
+        while ((pooled = deque.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (now - pooled.releaseTime < IDLE_TIMEOUT_NANOS && isHealthy(pooled.executor)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private static void discard(PooledExecutor pooled) {
+        discardCount.incrementAndGet();
+        try {
+            pooled.executor.close();
+        } catch (Exception e) {
+            logger.warn("Close executor of pool key [{}] failed: {}", pooled.key, e.getMessage());
+        }
+    }
+
+    private static boolean isHealthy(Executor executor) {
+        try {
+            return executor.getCustomTableEnvironment().listCatalogs().length > 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static class PooledExecutor {
+
+        private final String key;
+        private final Executor executor;
+        private final ExecutorSnapshot snapshot;
+        private volatile long releaseTime;
+
+        private PooledExecutor(String key, Executor executor, ExecutorSnapshot snapshot) {
+            this.key = key;
+            this.executor = executor;
+            this.snapshot = snapshot;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+
+    public static class Metrics {
+
+        private final long borrowCount;
+        private final long hitCount;
+        private final long discardCount;
+        private final int idleCount;
+        private final double hitRate;
+        private final double avgBorrowMillis;
+        private final double maxBorrowMillis;
+
+        private Metrics(long borrowCount, long hitCount, long discardCount, int idleCount, long borrowNanos,
+                long maxBorrowNanos) {
+            this.borrowCount = borrowCount;
+            this.hitCount = hitCount;
+            this.discardCount = discardCount;
+            this.idleCount = idleCount;
+            this.hitRate = borrowCount == 0 ? 0 : (double) hitCount / borrowCount;
+            this.avgBorrowMillis = borrowCount == 0 ? 0 : borrowNanos / 1e6 / borrowCount;
+            this.maxBorrowMillis = maxBorrowNanos / 1e6;
+        }
+
+        public long getBorrowCount() {
+            return borrowCount;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return borrowCount - hitCount;
+        }
+
+        public long getDiscardCount() {
+            return discardCount;
+        }
+
+        public int getIdleCount() {
+            return idleCount;
+        }
+
+        public double getHitRate() {
+            return hitRate;
+        }
+
+        public double getAvgBorrowMillis() {
+            return avgBorrowMillis;
+        }
+
+        public double getMaxBorrowMillis() {
+            return maxBorrowMillis;
+        }
+    }
+}
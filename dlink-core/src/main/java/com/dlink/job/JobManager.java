@@ -33,9 +33,12 @@ import com.dlink.executor.EnvironmentSetting;
 import com.dlink.executor.Executor;
 import com.dlink.executor.ExecutorSetting;
 import com.dlink.explainer.Explainer;
+import com.dlink.explainer.IncrementalExplainer;
+import com.dlink.explainer.PlanCache;
 import com.dlink.function.constant.PathConstant;
 import com.dlink.function.data.model.Env;
 import com.dlink.function.data.model.UDF;
+import com.dlink.function.pool.UdfCodePool;
 import com.dlink.function.util.UDFUtil;
 import com.dlink.gateway.Gateway;
 import com.dlink.gateway.GatewayType;
@@ -59,6 +62,7 @@ import com.dlink.result.InsertResult;
 import com.dlink.result.ResultBuilder;
 import com.dlink.result.ResultPool;
 import com.dlink.result.SelectResult;
+import com.dlink.result.SelectResultIncrement;
 import com.dlink.session.ExecutorEntity;
 import com.dlink.session.SessionConfig;
 import com.dlink.session.SessionInfo;
@@ -89,9 +93,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -104,6 +111,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import cn.hutool.json.JSONArray;
 import cn.hutool.json.JSONObject;
 
@@ -117,6 +125,11 @@ public class JobManager {
 
     private static final Logger logger = LoggerFactory.getLogger(JobManager.class);
 
+    private static final Set<SqlType> POOLABLE_ENV_TYPES = EnumSet.of(SqlType.CREATE, SqlType.DROP, SqlType.ALTER,
+            SqlType.USE, SqlType.SET, SqlType.RESET, SqlType.LOAD, SqlType.UNLOAD);
+    private static final Set<SqlType> UNRESTORABLE_TYPES = EnumSet.of(SqlType.ADD, SqlType.SET, SqlType.RESET,
+            SqlType.LOAD, SqlType.UNLOAD);
+
     private JobHandler handler;
     private EnvironmentSetting environmentSetting;
     private ExecutorSetting executorSetting;
@@ -129,6 +142,12 @@ public class JobManager {
     private boolean useRestAPI = false;
     private String sqlSeparator = FlinkSQLConstant.SEPARATOR;
     private GatewayType runMode = GatewayType.LOCAL;
+    private boolean usePool = false;
+    private boolean incrementalExplain = false;
+    private String envStatement;
+    private ExecutorPool.PooledExecutor pooledExecutor;
+    private boolean pooledExecutorRestorable = true;
+    private ExecutorEntity sessionEntity;
 
     public JobManager() {
     }
@@ -149,6 +168,10 @@ public class JobManager {
         return isPlanMode;
     }
 
+    public void setIncrementalExplain(boolean incrementalExplain) {
+        this.incrementalExplain = incrementalExplain;
+    }
+
     public boolean isUseStatementSet() {
         return useStatementSet;
     }
@@ -198,6 +221,28 @@ public class JobManager {
         return manager;
     }
 
+    /**
+     * 从 ExecutorPool 借用已执行过 envStatement 的 Executor，用完需调用 {@link #close()} 归还
+     */
+    public static JobManager buildPooled(JobConfig config, String envStatement) {
+        initGatewayConfig(config);
+        JobManager manager = new JobManager(config);
+        manager.usePool = true;
+        manager.envStatement = envStatement;
+        manager.init();
+        return manager;
+    }
+
+    public static JobManager buildPooledPlanMode(JobConfig config, String envStatement) {
+        JobManager manager = new JobManager(config);
+        manager.setPlanMode(true);
+        manager.usePool = true;
+        manager.envStatement = envStatement;
+        manager.init();
+        ProcessContextHolder.getProcess().info("Build Flink plan mode success.");
+        return manager;
+    }
+
     private static void initGatewayConfig(JobConfig config) {
         if (useGateway(config.getType())) {
             Asserts.checkNull(config.getGatewayConfig(), "GatewayConfig 不能为空");
@@ -233,16 +278,27 @@ public class JobManager {
 
     private Executor createExecutorWithSession() {
         if (config.isUseSession()) {
-            ExecutorEntity executorEntity = SessionPool.get(config.getSession());
-            if (Asserts.isNotNull(executorEntity)) {
-                executor = executorEntity.getExecutor();
-                config.setSessionConfig(executorEntity.getSessionConfig());
-                initEnvironmentSetting();
-                executor.update(executorSetting);
+            sessionEntity = SessionPool.acquire(config.getSession());
+            if (Asserts.isNotNull(sessionEntity)) {
+                try {
+                    executor = sessionEntity.getExecutor();
+                    config.setSessionConfig(sessionEntity.getSessionConfig());
+                    initEnvironmentSetting();
+                    executor.update(executorSetting);
+                    executor.getSqlManager().registerSqlFragment(config.getVariables());
+                } finally {
+                    SessionPool.release(sessionEntity);
+                }
+                return executor;
             } else {
                 createExecutor();
-                SessionPool.push(new ExecutorEntity(config.getSession(), executor));
+                Integer userId = ProcessContextHolder.getProcess().getUserId();
+                sessionEntity = new ExecutorEntity(config.getSession(), null,
+                        Asserts.isNull(userId) ? null : userId.toString(), LocalDateTime.now(), executor);
+                SessionPool.push(sessionEntity);
             }
+        } else if (usePool && isPoolableEnv()) {
+            createPooledExecutor();
         } else {
             createExecutor();
         }
@@ -250,6 +306,105 @@ public class JobManager {
         return executor;
     }
 
+    private Executor createPooledExecutor() {
+        try {
+            pooledExecutor = ExecutorPool.borrow(buildPoolKey(), () -> warmUp(createExecutor()));
+            executor = pooledExecutor.getExecutor();
+            executor.getSetConfig().put(PipelineOptions.NAME.key(), config.getJobName());
+        } catch (Exception e) {
+            logger.warn("Warm up executor failed, use a new executor instead. reason:{}", e.getMessage());
+            pooledExecutor = null;
+            createExecutor();
+        }
+        return executor;
+    }
+
+    private String buildPoolKey() {
+        ExecutorSetting setting = config.getExecutorSetting();
+        String target = config.isUseRemote() ? config.getAddress() : GatewayType.LOCAL.getLongValue();
+        String key = StrUtil.join("|", runMode.getLongValue(), target, setting.getCheckpoint(),
+                setting.getParallelism(), setting.isUseSqlFragment(), setting.isUseStatementSet(),
+                setting.isUseBatchModel(), setting.getSavePointPath(),
+                Asserts.isNull(setting.getConfig()) ? null : new TreeMap<>(setting.getConfig()),
+                Arrays.toString(config.getJarFiles()),
+                Asserts.isNull(config.getVariables()) ? null : new TreeMap<>(config.getVariables()),
+                envStatement);
+        return SecureUtil.md5(key);
+    }
+
+    /**
+     * envStatement 含 ADD JAR、UDF 或 DML 等无法回滚的语句时不入池，在创建 Executor 前判断
+     */
+    private boolean isPoolableEnv() {
+        if (Asserts.isNullString(envStatement)) {
+            return true;
+        }
+        for (String item : SqlUtil.getStatements(envStatement, sqlSeparator)) {
+            String statement = SqlUtil.removeNote(item).trim();
+            if (!statement.isEmpty() && !isPoolableStatement(statement)) {
+                logger.info("FlinkSQLEnv contains unsupported statement for executor pool: {}", statement);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPoolableStatement(String statement) {
+        return POOLABLE_ENV_TYPES.contains(Operations.getOperationType(statement))
+                && !UDFUtil.isUdfStatement(statement);
+    }
+
+    /**
+     * 在新建的 Executor 上执行 envStatement，预热失败时关闭该 Executor
+     */
+    private Executor warmUp(Executor newExecutor) {
+        if (Asserts.isNullString(envStatement)) {
+            return newExecutor;
+        }
+        try {
+            newExecutor.getSqlManager().registerSqlFragment(config.getVariables());
+            for (String item : SqlUtil.getStatements(envStatement, sqlSeparator)) {
+                String statement = newExecutor.pretreatStatement(item);
+                if (statement.isEmpty()) {
+                    continue;
+                }
+                if (!isPoolableStatement(statement)) {
+                    throw new DinkyException("Unsupported statement in pooled FlinkSQLEnv: " + statement);
+                }
+                newExecutor.executeSql(statement);
+            }
+        } catch (RuntimeException e) {
+            newExecutor.close();
+            throw e;
+        }
+        return newExecutor;
+    }
+
+    /**
+     * 借用的 Executor 上执行了 ADD JAR、SET、RESET、LOAD/UNLOAD 或 UDF 语句时，类加载器与执行配置无法由快照恢复，close 时直接丢弃
+     */
+    private String checkRestorable(String statement) {
+        if (Asserts.isNull(pooledExecutor) || !pooledExecutorRestorable || Asserts.isNullString(statement)) {
+            return statement;
+        }
+        for (String item : SqlUtil.getStatements(statement, sqlSeparator)) {
+            String sql = SqlUtil.removeNote(item).trim();
+            if (!sql.isEmpty() && (UNRESTORABLE_TYPES.contains(Operations.getOperationType(sql))
+                    || UDFUtil.isUdfStatement(sql))) {
+                pooledExecutorRestorable = false;
+                break;
+            }
+        }
+        return statement;
+    }
+
+    private String withEnvStatement(String statement) {
+        if (Asserts.isNotNull(pooledExecutor) || Asserts.isNullString(envStatement)) {
+            return statement;
+        }
+        return envStatement + "\n" + statement;
+    }
+
     private void initEnvironmentSetting() {
         if (Asserts.isNotNullString(config.getAddress())) {
             environmentSetting = EnvironmentSetting.build(config.getAddress(), config.getJarFiles());
@@ -353,6 +508,15 @@ public class JobManager {
 
     public boolean close() {
         JobContextHolder.clear();
+        if (Asserts.isNotNull(pooledExecutor)) {
+            if (pooledExecutorRestorable) {
+                ExecutorPool.release(pooledExecutor);
+            } else {
+                ExecutorPool.invalidate(pooledExecutor);
+            }
+            pooledExecutor = null;
+            executor = null;
+        }
         return false;
     }
 
@@ -390,7 +554,28 @@ public class JobManager {
         DinkyClassLoaderContextHolder.set(classLoader);
     }
 
+    /**
+     * 使用会话时在执行期间占用会话，避免会话被回收时关闭执行中的 Executor
+     */
+    private <T> T runInSession(Supplier<T> action) {
+        if (Asserts.isNull(sessionEntity)) {
+            return action.get();
+        }
+        if (!sessionEntity.tryRetain()) {
+            throw new DinkyException("Session [" + sessionEntity.getSessionId() + "] has been closed.");
+        }
+        try {
+            return action.get();
+        } finally {
+            SessionPool.release(sessionEntity);
+        }
+    }
+
     public JobResult executeSql(String statement) {
+        return runInSession(() -> executeSqlInSession(statement));
+    }
+
+    private JobResult executeSqlInSession(String statement) {
         initClassLoader(config);
         ProcessEntity process = ProcessContextHolder.getProcess();
         Job job = Job.init(runMode, config, executorSetting, executor, statement, useGateway);
@@ -603,6 +788,10 @@ public class JobManager {
     }
 
     public IResult executeDDL(String statement) {
+        return runInSession(() -> executeDDLInSession(statement));
+    }
+
+    private IResult executeDDLInSession(String statement) {
         String[] statements = SqlUtil.getStatements(statement, sqlSeparator);
         try {
             IResult result = null;
@@ -632,6 +821,10 @@ public class JobManager {
         return ResultPool.get(jobId);
     }
 
+    public static SelectResultIncrement getJobDataIncrement(String jobId, long version) {
+        return ResultPool.get(jobId).getIncrement(version);
+    }
+
     public static SessionInfo createSession(String session, SessionConfig sessionConfig, String createUser) {
         if (SessionPool.exist(session)) {
             return SessionPool.getInfo(session);
@@ -654,15 +847,51 @@ public class JobManager {
     }
 
     public ExplainResult explainSql(String statement) {
+        return runInSession(() -> PlanCache.get(PlanCache.key("explain", planFingerprint(), statement),
+                () -> explainSqlWithoutCache(withEnvStatement(checkRestorable(statement))), ExplainResult::isCorrect,
+                ExplainResult::copy));
+    }
+
+    private ExplainResult explainSqlWithoutCache(String statement) {
+        if (incrementalExplain && !config.isUseSession() && Asserts.isNotNull(config.getTaskId())
+                && IncrementalExplainer.supports(statement, sqlSeparator)) {
+            return IncrementalExplainer.explain(config.getTaskId() + "@" + planFingerprint(), this::detachExecutor,
+                    useStatementSet, sqlSeparator, statement);
+        }
         return Explainer.build(executor, useStatementSet, sqlSeparator).explainSql(statement);
     }
 
+    /**
+     * 将当前 Executor 交给调用方持有，close 时不再归还到 ExecutorPool
+     */
+    private Executor detachExecutor() {
+        pooledExecutor = null;
+        return executor;
+    }
+
     public ObjectNode getStreamGraph(String statement) {
-        return Explainer.build(executor, useStatementSet, sqlSeparator).getStreamGraph(statement);
+        return runInSession(() -> PlanCache.get(PlanCache.key("streamGraph", planFingerprint(), statement),
+                () -> Explainer.build(executor, useStatementSet, sqlSeparator)
+                        .getStreamGraph(withEnvStatement(checkRestorable(statement))),
+                result -> true, ObjectNode::deepCopy));
     }
 
     public String getJobPlanJson(String statement) {
-        return Explainer.build(executor, useStatementSet, sqlSeparator).getJobPlanInfo(statement).getJsonPlan();
+        return runInSession(() -> PlanCache.get(PlanCache.key("jobPlan", planFingerprint(), statement),
+                () -> Explainer.build(executor, useStatementSet, sqlSeparator)
+                        .getJobPlanInfo(withEnvStatement(checkRestorable(statement))).getJsonPlan(),
+                result -> true));
+    }
+
+    /**
+     * 计划缓存的环境指纹：会话取会话 catalog 版本，其余取执行环境配置与 FlinkSQLEnv
+     */
+    private String planFingerprint() {
+        String environment = config.isUseSession()
+                ? config.getSession() + "@" + executor.getCatalogVersion()
+                : buildPoolKey();
+        return StrUtil.join("|", environment, config.getJobName(), useStatementSet, sqlSeparator,
+                UdfCodePool.getVersion());
     }
 
     public boolean cancel(String jobId) {
@@ -0,0 +1,311 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.result;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ResultBuffer
+ * <p>
+ * SELECT 预览结果的缓冲区。行以 Object[] 紧凑存储并保持到达顺序，仅在读取时转换为列名映射；
+ * 非 changelog 模式下按行内容索引各行的位置，回撤消息无需遍历全部结果即可移除最早的一条相同行。
+ * 缓冲区受单结果与全局（{@link ResultPool}）内存预算约束，超出后停止采集。
+ * 所有追加与回撤按顺序记录为变更事件，客户端可按版本增量拉取。回撤累积到一定数量后压缩事件日志，
+ * 丢弃已回撤的行并归还其内存预算，早于压缩点的版本只能重新获取全量快照。
+ */
+public class ResultBuffer {
+
+    /**
+     * 触发事件日志压缩的最少回撤数，同时要求回撤数不少于当前行数
+     */
+    static final int COMPACT_MIN_RETRACTIONS = 1024;
+
+    private final String jobId;
+    private final boolean isChangeLog;
+    private final long maxSize;
+    private final List<Object[]> events = new ArrayList<>();
+    private final BitSet retractions = new BitSet();
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<RowKey, ArrayDeque<Integer>> rowIndex = new HashMap<>();
+    private int count;
+    private long size;
+    /**
+     * 事件日志第一条事件对应的版本，当前版本为 logStart + events.size()
+     */
+    private int logStart;
+    private int retractedCount;
+    private long retractedSize;
+    private boolean truncated;
+    private boolean released;
+    private boolean finished;
+
+    public ResultBuffer(String jobId, boolean isChangeLog, long maxSize) {
+        this.jobId = jobId;
+        this.isChangeLog = isChangeLog;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 追加一行，超出内存预算或缓冲区已释放时返回 false。
+     * 全局预算在锁外申请，避免与淘汰其他结果时的锁交叉。
+     */
+    public boolean add(Object[] row) {
+        long rowSize = estimateSize(row);
+        synchronized (this) {
+            if (released || truncated) {
+                return false;
+            }
+            if (size + rowSize > maxSize) {
+                truncated = true;
+                return false;
+            }
+        }
+        if (!ResultPool.reserve(jobId, rowSize)) {
+            synchronized (this) {
+                truncated = true;
+            }
+            return false;
+        }
+        synchronized (this) {
+            if (released) {
+                ResultPool.release(rowSize);
+                return false;
+            }
+            size += rowSize;
+            count++;
+            events.add(row);
+            if (!isChangeLog) {
+                rowIndex.computeIfAbsent(new RowKey(row), key -> new ArrayDeque<>()).addLast(rows.size());
+                rows.add(row);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 回撤一行，不存在时忽略。回撤事件引用已缓存的行，其内存在事件日志压缩时归还。
+     */
+    public synchronized void retract(Object[] row) {
+        if (released || isChangeLog) {
+            return;
+        }
+        RowKey key = new RowKey(row);
+        ArrayDeque<Integer> positions = rowIndex.get(key);
+        if (positions == null) {
+            return;
+        }
+        int position = positions.pollFirst();
+        if (positions.isEmpty()) {
+            rowIndex.remove(key);
+        }
+        Object[] retracted = rows.set(position, null);
+        retractions.set(events.size());
+        events.add(retracted);
+        count--;
+        retractedCount++;
+        retractedSize += estimateSize(retracted);
+        if (retractedCount >= COMPACT_MIN_RETRACTIONS && retractedCount >= count) {
+            compact();
+        }
+    }
+
+    /**
+     * 压缩事件日志与行列表，丢弃已回撤的行并归还其占用的内存预算
+     */
+    private void compact() {
+        List<Object[]> liveRows = new ArrayList<>(count);
+        rowIndex.clear();
+        for (Object[] row : rows) {
+            if (row != null) {
+                rowIndex.computeIfAbsent(new RowKey(row), key -> new ArrayDeque<>()).addLast(liveRows.size());
+                liveRows.add(row);
+            }
+        }
+        rows.clear();
+        rows.addAll(liveRows);
+        logStart += events.size();
+        events.clear();
+        retractions.clear();
+        size -= retractedSize;
+        ResultPool.release(retractedSize);
+        retractedCount = 0;
+        retractedSize = 0;
+    }
+
+    public synchronized List<Map<String, Object>> toRowData(List<String> columns) {
+        List<Map<String, Object>> rowData = new ArrayList<>(count);
+        if (isChangeLog) {
+            for (Object[] row : events) {
+                rowData.add(toMap(columns, row));
+            }
+        } else {
+            for (Object[] row : rows) {
+                if (row != null) {
+                    rowData.add(toMap(columns, row));
+                }
+            }
+        }
+        return rowData;
+    }
+
+    /**
+     * 获取指定版本之后的变更。版本无效（小于等于 0、早于最近一次压缩或超出当前版本）时返回当前结果的全量快照。
+     */
+    public synchronized SelectResultIncrement getIncrement(String jobId, Set<String> columns, long version) {
+        if (released) {
+            return SelectResultIncrement.buildDestruction(jobId);
+        }
+        List<String> columnList = new ArrayList<>(columns);
+        SelectResultIncrement increment = new SelectResultIncrement(jobId, columns);
+        int currentVersion = getVersion();
+        if (version <= 0 || version < logStart || version > currentVersion) {
+            increment.setReset(true);
+            increment.setAppendData(toRowData(columnList));
+        } else {
+            for (int i = (int) version - logStart; i < events.size(); i++) {
+                Map<String, Object> map = toMap(columnList, events.get(i));
+                if (retractions.get(i)) {
+                    increment.getRetractData().add(map);
+                } else {
+                    increment.getAppendData().add(map);
+                }
+            }
+        }
+        increment.setVersion(currentVersion);
+        increment.setTotal(count);
+        increment.setTruncated(truncated);
+        increment.setFinished(finished);
+        return increment;
+    }
+
+    /**
+     * 释放缓冲区占用的内存预算，释放后不再接收数据
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        events.clear();
+        retractions.clear();
+        rows.clear();
+        rowIndex.clear();
+        ResultPool.release(size);
+        size = 0;
+        count = 0;
+        retractedCount = 0;
+        retractedSize = 0;
+    }
+
+    /**
+     * 标记采集结束
+     */
+    public synchronized void finish() {
+        finished = true;
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    public synchronized int getVersion() {
+        return logStart + events.size();
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    private Map<String, Object> toMap(List<String> columns, Object[] row) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Iterator<String> iterator = columns.iterator();
+        for (int i = 0; i < row.length && iterator.hasNext(); i++) {
+            map.put(iterator.next(), row[i]);
+        }
+        return map;
+    }
+
+    static long estimateSize(Object[] row) {
+        long rowSize = 16 + 4L * row.length;
+        for (Object field : row) {
+            rowSize += estimateFieldSize(field);
+        }
+        return rowSize;
+    }
+
+    private static long estimateFieldSize(Object field) {
+        if (field == null) {
+            return 0;
+        } else if (field instanceof CharSequence) {
+            return 40 + 2L * ((CharSequence) field).length();
+        } else if (field instanceof byte[]) {
+            return 16 + ((byte[]) field).length;
+        } else if (field instanceof Number || field instanceof Boolean || field instanceof Character) {
+            return 16;
+        } else {
+            return 64;
+        }
+    }
+
+    private static final class RowKey {
+
+        private final Object[] values;
+        private final int hash;
+
+        private RowKey(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RowKey)) {
+                return false;
+            }
+            RowKey rowKey = (RowKey) o;
+            return hash == rowKey.hash && Arrays.deepEquals(values, rowKey.values);
+        }
+    }
+}
@@ -19,11 +19,16 @@
 
 package com.dlink.result;
 
+import com.dlink.model.SystemConfiguration;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ResultPool
+ * <p>
+ * 预览结果超过 resultTtl 未被访问时清理；全局内存预算不足时按最近最少访问淘汰其他结果。
  *
  * @author wenmo
  * @since 2021/7/1 22:20
@@ -35,28 +40,98 @@ public final class ResultPool {
 
     private static final Map<String, SelectResult> results = new ConcurrentHashMap<>();
 
+    private static final Map<String, Long> accessTimes = new ConcurrentHashMap<>();
+
+    private static final AtomicLong usedSize = new AtomicLong(0);
+
     public static boolean containsKey(String key) {
         return results.containsKey(key);
     }
 
     public static void put(SelectResult result) {
+        evictExpired();
         results.put(result.getJobId(), result);
+        accessTimes.put(result.getJobId(), System.currentTimeMillis());
     }
 
     public static SelectResult get(String key) {
-        return results.getOrDefault(key, SelectResult.buildDestruction(key));
+        SelectResult result = results.get(key);
+        if (result == null) {
+            return SelectResult.buildDestruction(key);
+        }
+        accessTimes.put(key, System.currentTimeMillis());
+        return result;
     }
 
     public static boolean remove(String key) {
-        if (results.containsKey(key)) {
-            results.remove(key);
-            return true;
+        accessTimes.remove(key);
+        SelectResult result = results.remove(key);
+        if (result == null) {
+            return false;
+        }
+        if (result.getBuffer() != null) {
+            result.getBuffer().release();
         }
-        return false;
+        return true;
     }
 
     public static void clear() {
-        results.clear();
+        for (String key : results.keySet()) {
+            remove(key);
+        }
+    }
+
+    public static int size() {
+        return results.size();
+    }
+
+    public static long getUsedSize() {
+        return usedSize.get();
     }
 
+    /**
+     * 申请全局内存预算，不足时淘汰最近最少访问的其他结果
+     */
+    static boolean reserve(String jobId, long size) {
+        long maxSize = SystemConfiguration.getInstances().getResultTotalMaxSize();
+        while (true) {
+            long used = usedSize.get();
+            if (used + size <= maxSize) {
+                if (usedSize.compareAndSet(used, used + size)) {
+                    return true;
+                }
+            } else if (!evictLeastRecentlyUsed(jobId)) {
+                return false;
+            }
+        }
+    }
+
+    static void release(long size) {
+        usedSize.addAndGet(-size);
+    }
+
+    private static void evictExpired() {
+        long expireTime = System.currentTimeMillis() - SystemConfiguration.getInstances().getResultTtl();
+        for (Map.Entry<String, Long> entry : accessTimes.entrySet()) {
+            if (entry.getValue() < expireTime) {
+                remove(entry.getKey());
+            }
+        }
+    }
+
+    private static boolean evictLeastRecentlyUsed(String excludeKey) {
+        String lruKey = null;
+        long lruTime = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : accessTimes.entrySet()) {
+            SelectResult result = results.get(entry.getKey());
+            if (result == null || result.getBuffer() == null || result.getBuffer().getSize() == 0) {
+                continue;
+            }
+            if (!entry.getKey().equals(excludeKey) && entry.getValue() < lruTime) {
+                lruKey = entry.getKey();
+                lruTime = entry.getValue();
+            }
+        }
+        return lruKey != null && remove(lruKey);
+    }
 }
@@ -20,22 +20,19 @@
 package com.dlink.result;
 
 import com.dlink.constant.FlinkConstant;
+import com.dlink.model.SystemConfiguration;
 import com.dlink.utils.FlinkUtil;
 
 import org.apache.flink.core.execution.JobClient;
 import org.apache.flink.table.api.TableResult;
 import org.apache.flink.types.Row;
 import org.apache.flink.types.RowKind;
+import org.apache.flink.util.CloseableIterator;
 
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-
-import com.google.common.collect.Streams;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -56,7 +53,7 @@ public class ResultRunnable implements Runnable {
     private final String timeZone;
 
     public ResultRunnable(TableResult tableResult, Integer maxRowNum, boolean isChangeLog, boolean isAutoCancel,
-                          String timeZone) {
+            String timeZone) {
         this.tableResult = tableResult;
         this.maxRowNum = maxRowNum;
         this.isChangeLog = isChangeLog;
@@ -70,17 +67,27 @@ public class ResultRunnable implements Runnable {
             tableResult.getJobClient().ifPresent(jobClient -> {
                 String jobId = jobClient.getJobID().toHexString();
                 if (!ResultPool.containsKey(jobId)) {
-                    ResultPool.put(new SelectResult(jobId, new ArrayList<>(), new LinkedHashSet<>()));
+                    ResultBuffer buffer = new ResultBuffer(jobId, isChangeLog,
+                            SystemConfiguration.getInstances().getResultJobMaxSize());
+                    ResultPool.put(new SelectResult(jobId, new LinkedHashSet<>(), buffer));
                 }
 
+                SelectResult selectResult = ResultPool.get(jobId);
                 try {
                     if (isChangeLog) {
-                        catchChangLog(ResultPool.get(jobId));
+                        catchChangLog(selectResult);
                     } else {
-                        catchData(ResultPool.get(jobId));
+                        catchData(selectResult);
+                    }
+                    if (selectResult.isTruncated()) {
+                        log.warn("The result of job [{}] exceeds the memory limit and has been truncated", jobId);
                     }
                 } catch (Exception e) {
                     log.error(String.format(e.toString()));
+                } finally {
+                    if (selectResult.getBuffer() != null) {
+                        selectResult.getBuffer().finish();
+                    }
                 }
             });
         } catch (Exception e) {
@@ -89,16 +96,21 @@ public class ResultRunnable implements Runnable {
     }
 
     private void catchChangLog(SelectResult selectResult) {
-        List<Map<String, Object>> rows = selectResult.getRowData();
+        ResultBuffer buffer = selectResult.getBuffer();
         List<String> columns = FlinkUtil.catchColumn(tableResult);
 
         columns.add(0, FlinkConstant.OP);
         selectResult.setColumns(new LinkedHashSet<>(columns));
-        Streams.stream(tableResult.collect()).limit(maxRowNum).forEach(row -> {
-            Map<String, Object> map = getFieldMap(columns.subList(1, columns.size()), row);
-            map.put(FlinkConstant.OP, row.getKind().shortString());
-            rows.add(map);
-        });
+        CloseableIterator<Row> iterator = tableResult.collect();
+        for (int i = 0; i < maxRowNum && iterator.hasNext(); i++) {
+            Row row = iterator.next();
+            Object[] values = new Object[row.getArity() + 1];
+            values[0] = row.getKind().shortString();
+            fillFieldValues(values, 1, row);
+            if (!buffer.add(values)) {
+                break;
+            }
+        }
 
         if (isAutoCancel) {
             tableResult.getJobClient().ifPresent(JobClient::cancel);
@@ -106,33 +118,33 @@ public class ResultRunnable implements Runnable {
     }
 
     private void catchData(SelectResult selectResult) {
-        List<Map<String, Object>> rows = selectResult.getRowData();
+        ResultBuffer buffer = selectResult.getBuffer();
         List<String> columns = FlinkUtil.catchColumn(tableResult);
 
         selectResult.setColumns(new LinkedHashSet<>(columns));
-        Streams.stream(tableResult.collect()).limit(maxRowNum).forEach(row -> {
-            Map<String, Object> map = getFieldMap(columns, row);
+        CloseableIterator<Row> iterator = tableResult.collect();
+        for (int i = 0; i < maxRowNum && iterator.hasNext(); i++) {
+            Row row = iterator.next();
+            Object[] values = new Object[row.getArity()];
+            fillFieldValues(values, 0, row);
             if (RowKind.UPDATE_BEFORE == row.getKind() || RowKind.DELETE == row.getKind()) {
-                rows.remove(map);
-            } else {
-                rows.add(map);
+                buffer.retract(values);
+            } else if (!buffer.add(values)) {
+                break;
             }
-        });
+        }
     }
 
-    private Map<String, Object> getFieldMap(List<String> columns, Row row) {
-        Map<String, Object> map = new LinkedHashMap<>();
+    private void fillFieldValues(Object[] values, int offset, Row row) {
         for (int i = 0; i < row.getArity(); ++i) {
             Object field = row.getField(i);
-            String column = columns.get(i);
             if (field == null) {
-                map.put(column, nullColumn);
+                values[offset + i] = nullColumn;
             } else if (field instanceof Instant) {
-                map.put(column, ((Instant) field).atZone(ZoneId.of(timeZone)).toLocalDateTime().toString());
+                values[offset + i] = ((Instant) field).atZone(ZoneId.of(timeZone)).toLocalDateTime().toString();
             } else {
-                map.put(column, field);
+                values[offset + i] = field;
             }
         }
-        return map;
     }
 }
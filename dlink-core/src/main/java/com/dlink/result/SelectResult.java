@@ -20,10 +20,13 @@
 package com.dlink.result;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -43,16 +46,18 @@ public class SelectResult extends AbstractResult implements IResult {
     private Integer currentCount;
     private Set<String> columns;
     private boolean isDestroyed;
+    @JsonIgnore
+    private ResultBuffer buffer;
 
     public SelectResult(List<Map<String, Object>> rowData, Integer total, Integer currentCount, Set<String> columns,
-                        String jobID, boolean success) {
+            String jobID, boolean success) {
         this.rowData = rowData;
         this.total = total;
         this.currentCount = currentCount;
         this.columns = columns;
         this.jobID = jobID;
         this.success = success;
-        //this.endTime = LocalDateTime.now();
+        // this.endTime = LocalDateTime.now();
         this.isDestroyed = false;
     }
 
@@ -65,6 +70,14 @@ public class SelectResult extends AbstractResult implements IResult {
         this.isDestroyed = false;
     }
 
+    public SelectResult(String jobID, Set<String> columns, ResultBuffer buffer) {
+        this.jobID = jobID;
+        this.columns = columns;
+        this.buffer = buffer;
+        this.success = true;
+        this.isDestroyed = false;
+    }
+
     public SelectResult(String jobID, boolean isDestroyed, boolean success) {
         this.jobID = jobID;
         this.isDestroyed = isDestroyed;
@@ -72,6 +85,31 @@ public class SelectResult extends AbstractResult implements IResult {
         this.endTime = LocalDateTime.now();
     }
 
+    public List<Map<String, Object>> getRowData() {
+        if (buffer != null) {
+            return buffer.toRowData(new ArrayList<>(columns));
+        }
+        return rowData;
+    }
+
+    public Integer getTotal() {
+        if (buffer != null) {
+            return buffer.getCount();
+        }
+        return total;
+    }
+
+    public SelectResultIncrement getIncrement(long version) {
+        if (isDestroyed || buffer == null) {
+            return SelectResultIncrement.buildDestruction(jobID);
+        }
+        return buffer.getIncrement(jobID, columns, version);
+    }
+
+    public boolean isTruncated() {
+        return buffer != null && buffer.isTruncated();
+    }
+
     @Override
     public String getJobId() {
         return jobID;
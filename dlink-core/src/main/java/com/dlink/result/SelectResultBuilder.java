@@ -19,8 +19,17 @@
 
 package com.dlink.result;
 
+import com.dlink.model.SystemConfiguration;
+
+import org.apache.flink.core.execution.JobClient;
 import org.apache.flink.table.api.TableResult;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * SelectBuilder
  *
@@ -29,6 +38,19 @@ import org.apache.flink.table.api.TableResult;
  **/
 public class SelectResultBuilder implements ResultBuilder {
 
+    private static final AtomicInteger COLLECTOR_INDEX = new AtomicInteger(0);
+
+    /**
+     * 采集线程池，最大线程数由 resultCollectorMaxNum 控制，满载时拒绝新的预览
+     */
+    private static final ThreadPoolExecutor COLLECTOR_POOL = new ThreadPoolExecutor(0, getCollectorMaxNum(),
+            60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), r -> {
+                Thread thread = new Thread(r, "ResultCollector-" + COLLECTOR_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
     private final Integer maxRowNum;
     private final boolean isChangeLog;
     private final boolean isAutoCancel;
@@ -46,12 +68,23 @@ public class SelectResultBuilder implements ResultBuilder {
         if (tableResult.getJobClient().isPresent()) {
             String jobId = tableResult.getJobClient().get().getJobID().toHexString();
             ResultRunnable runnable = new ResultRunnable(tableResult, maxRowNum, isChangeLog, isAutoCancel, timeZone);
-            Thread thread = new Thread(runnable, jobId);
-            thread.start();
+            try {
+                COLLECTOR_POOL.setMaximumPoolSize(getCollectorMaxNum());
+                COLLECTOR_POOL.execute(runnable);
+            } catch (RejectedExecutionException e) {
+                tableResult.getJobClient().ifPresent(JobClient::cancel);
+                SelectResult result = SelectResult.buildFailed();
+                result.error("预览结果的采集线程已满，请停止其他预览任务后重试");
+                return result;
+            }
             return SelectResult.buildSuccess(jobId);
         } else {
             return SelectResult.buildFailed();
         }
     }
 
+    private static int getCollectorMaxNum() {
+        return Math.max(1, SystemConfiguration.getInstances().getResultCollectorMaxNum());
+    }
+
 }
@@ -0,0 +1,65 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.result;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SelectResultIncrement 预览结果自某一版本以来的增量
+ */
+@Setter
+@Getter
+public class SelectResultIncrement {
+
+    private String jobID;
+    private Set<String> columns;
+    private List<Map<String, Object>> appendData = new ArrayList<>();
+    private List<Map<String, Object>> retractData = new ArrayList<>();
+    /**
+     * 本次增量之后的版本，下一次拉取时传入
+     */
+    private long version;
+    /**
+     * 为 true 时 appendData 为全量快照，客户端需丢弃本地结果
+     */
+    private boolean reset;
+    private Integer total;
+    private boolean truncated;
+    private boolean finished;
+    private boolean isDestroyed;
+
+    public SelectResultIncrement(String jobID, Set<String> columns) {
+        this.jobID = jobID;
+        this.columns = columns;
+    }
+
+    public static SelectResultIncrement buildDestruction(String jobID) {
+        SelectResultIncrement increment = new SelectResultIncrement(jobID, new LinkedHashSet<>());
+        increment.setDestroyed(true);
+        return increment;
+    }
+}
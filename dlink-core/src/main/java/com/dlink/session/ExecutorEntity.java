@@ -19,10 +19,18 @@
 
 package com.dlink.session;
 
+import com.dlink.executor.CustomTableEnvironment;
 import com.dlink.executor.Executor;
 
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.GenericInMemoryCatalog;
+
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -35,22 +43,104 @@ import lombok.Setter;
 @Setter
 @Getter
 public class ExecutorEntity {
+
+    private static final long BASE_HEAP_BYTES = 4L * 1024 * 1024;
+    private static final long OBJECT_HEAP_BYTES = 8L * 1024;
+
     private String sessionId;
     private SessionConfig sessionConfig;
     private String createUser;
     private LocalDateTime createTime;
     private Executor executor;
+    private volatile long lastUseTime = System.currentTimeMillis();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger useCount = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean evicted = new AtomicBoolean();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     public ExecutorEntity(String sessionId, Executor executor) {
         this.sessionId = sessionId;
+        this.createTime = LocalDateTime.now();
         this.executor = executor;
     }
 
-    public ExecutorEntity(String sessionId, SessionConfig sessionConfig, String createUser, LocalDateTime createTime, Executor executor) {
+    public ExecutorEntity(String sessionId, SessionConfig sessionConfig, String createUser, LocalDateTime createTime,
+            Executor executor) {
         this.sessionId = sessionId;
         this.sessionConfig = sessionConfig;
         this.createUser = createUser;
         this.createTime = createTime;
         this.executor = executor;
     }
+
+    public void touch() {
+        lastUseTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 占用会话，会话已被回收时返回 false；占用成功后需调用 {@link #release()}
+     */
+    public synchronized boolean tryRetain() {
+        if (evicted.get() || closed.get()) {
+            return false;
+        }
+        useCount.incrementAndGet();
+        touch();
+        return true;
+    }
+
+    /**
+     * 返回会话是否已被回收且不再有执行中的语句，此时应关闭会话
+     */
+    public synchronized boolean release() {
+        touch();
+        return useCount.decrementAndGet() == 0 && evicted.get();
+    }
+
+    public boolean isInUse() {
+        return useCount.get() > 0;
+    }
+
+    /**
+     * 标记会话已被回收，返回是否没有执行中的语句、可立即关闭
+     */
+    public synchronized boolean markEvicted() {
+        evicted.set(true);
+        return useCount.get() == 0;
+    }
+
+    public boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 粗略估算会话占用的堆内存：执行环境基础开销加上内存 catalog 对象数与变量长度
+     */
+    public long estimateHeapBytes() {
+        long bytes = BASE_HEAP_BYTES;
+        try {
+            CustomTableEnvironment environment = executor.getCustomTableEnvironment();
+            for (String catalogName : environment.listCatalogs()) {
+                Catalog catalog = environment.getCatalog(catalogName).orElse(null);
+                if (catalog instanceof GenericInMemoryCatalog) {
+                    for (String database : catalog.listDatabases()) {
+                        bytes += (catalog.listTables(database).size() + catalog.listFunctions(database).size())
+                                * OBJECT_HEAP_BYTES;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            return bytes;
+        }
+        for (Map.Entry<String, String> entry : executor.getSqlManager().getSqlFragment().entrySet()) {
+            bytes += 2L * (entry.getKey().length() + entry.getValue().length());
+        }
+        return bytes;
+    }
 }
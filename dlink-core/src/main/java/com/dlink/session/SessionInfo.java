@@ -19,7 +19,9 @@
 
 package com.dlink.session;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -33,10 +35,14 @@ import lombok.Setter;
 @Setter
 @Getter
 public class SessionInfo {
+
     private String session;
     private SessionConfig sessionConfig;
     private String createUser;
     private LocalDateTime createTime;
+    private LocalDateTime lastUseTime;
+    private long idleSeconds;
+    private long estimatedHeapBytes;
 
     public SessionInfo(String session, SessionConfig sessionConfig, String createUser, LocalDateTime createTime) {
         this.session = session;
@@ -46,7 +52,13 @@ public class SessionInfo {
     }
 
     public static SessionInfo build(ExecutorEntity executorEntity) {
-        return new SessionInfo(executorEntity.getSessionId(), executorEntity.getSessionConfig(), executorEntity.getCreateUser(), executorEntity.getCreateTime());
+        SessionInfo sessionInfo = new SessionInfo(executorEntity.getSessionId(), executorEntity.getSessionConfig(),
+                executorEntity.getCreateUser(), executorEntity.getCreateTime());
+        long lastUseTime = executorEntity.getLastUseTime();
+        sessionInfo.setLastUseTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastUseTime), ZoneId.systemDefault()));
+        sessionInfo.setIdleSeconds((System.currentTimeMillis() - lastUseTime) / 1000);
+        sessionInfo.setEstimatedHeapBytes(executorEntity.estimateHeapBytes());
+        return sessionInfo;
     }
 
 }
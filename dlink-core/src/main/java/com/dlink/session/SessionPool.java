@@ -22,65 +22,115 @@ package com.dlink.session;
 import com.dlink.constant.FlinkConstant;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Vector;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * SessionPool
+ * <p>
+ * 按 sessionId 索引会话，超出全局或单用户上限时回收最久未使用的会话，空闲超时的会话由后台线程定期回收。
+ * 回收时仍有语句在执行的会话先从池中移除，待最后一条语句执行结束后再关闭。
  *
  * @author wenmo
  * @since 2021/5/25 14:32
  **/
 public class SessionPool {
 
-    private static volatile List<ExecutorEntity> executorList = new Vector<>(FlinkConstant.DEFAULT_SESSION_COUNT);
+    private static final Logger logger = LoggerFactory.getLogger(SessionPool.class);
+
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES
+            .toMillis(FlinkConstant.DEFAULT_SESSION_IDLE_MINUTES);
+
+    private static final Map<String, ExecutorEntity> executorMap = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SessionEvictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(SessionPool::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
 
     public static boolean exist(String sessionId) {
-        for (ExecutorEntity executorEntity : executorList) {
-            if (executorEntity.getSessionId().equals(sessionId)) {
-                return true;
-            }
-        }
-        return false;
+        return executorMap.containsKey(sessionId);
     }
 
-    public static Integer push(ExecutorEntity executorEntity) {
-        if (executorList.size() >= FlinkConstant.DEFAULT_SESSION_COUNT * FlinkConstant.DEFAULT_FACTOR) {
-            executorList.remove(0);
-        } else if (executorList.size() >= FlinkConstant.DEFAULT_SESSION_COUNT) {
-            executorList.clear();
+    public static synchronized Integer push(ExecutorEntity executorEntity) {
+        evictIdle();
+        String createUser = executorEntity.getCreateUser();
+        if (createUser != null) {
+            List<ExecutorEntity> userSessions = executorMap.values().stream()
+                    .filter(item -> createUser.equals(item.getCreateUser())
+                            && !item.getSessionId().equals(executorEntity.getSessionId()))
+                    .collect(Collectors.toList());
+            evictLeastRecentlyUsed(userSessions, FlinkConstant.DEFAULT_USER_SESSION_COUNT - 1);
         }
-        executorList.add(executorEntity);
-        return executorList.size();
+        evictLeastRecentlyUsed(new ArrayList<>(executorMap.values()), FlinkConstant.DEFAULT_SESSION_COUNT - 1);
+        ExecutorEntity previous = executorMap.put(executorEntity.getSessionId(), executorEntity);
+        if (previous != null && previous.getExecutor() != executorEntity.getExecutor()) {
+            evict(previous);
+        }
+        return executorMap.size();
     }
 
     public static Integer remove(String sessionId) {
-        int count = executorList.size();
-        for (int i = 0; i < executorList.size(); i++) {
-            if (sessionId.equals(executorList.get(i).getSessionId())) {
-                executorList.remove(i);
-                break;
-            }
+        ExecutorEntity executorEntity = executorMap.remove(sessionId);
+        if (executorEntity == null) {
+            return 0;
+        }
+        evict(executorEntity);
+        return 1;
+    }
+
+    /**
+     * 语句执行结束，会话已被回收时在此关闭
+     */
+    public static void release(ExecutorEntity executorEntity) {
+        if (executorEntity != null && executorEntity.release()) {
+            close(executorEntity);
         }
-        return count - executorList.size();
     }
 
     public static ExecutorEntity get(String sessionId) {
-        for (ExecutorEntity executorEntity : executorList) {
-            if (executorEntity.getSessionId().equals(sessionId)) {
-                return executorEntity;
-            }
+        ExecutorEntity executorEntity = executorMap.get(sessionId);
+        if (executorEntity != null) {
+            executorEntity.touch();
+        }
+        return executorEntity;
+    }
+
+    /**
+     * 获取并占用会话，会话不存在或已被回收时返回 null，使用结束后需调用 {@link #release(ExecutorEntity)}
+     */
+    public static ExecutorEntity acquire(String sessionId) {
+        ExecutorEntity executorEntity = executorMap.get(sessionId);
+        if (executorEntity != null && executorEntity.tryRetain()) {
+            return executorEntity;
         }
         return null;
     }
 
     public static List<ExecutorEntity> list() {
-        return executorList;
+        return new ArrayList<>(executorMap.values());
     }
 
     public static List<SessionInfo> filter(String createUser) {
         List<SessionInfo> sessionInfos = new ArrayList<>();
-        for (ExecutorEntity item : executorList) {
+        for (ExecutorEntity item : executorMap.values()) {
+            if (item.getSessionConfig() == null) {
+                continue;
+            }
             if (item.getSessionConfig().getType() == SessionConfig.SessionType.PUBLIC) {
                 sessionInfos.add(SessionInfo.build(item));
             } else {
@@ -92,12 +142,62 @@ public class SessionPool {
         return sessionInfos;
     }
 
+    public static List<SessionInfo> listInfo() {
+        return executorMap.values().stream()
+                .sorted(Comparator.comparingLong(ExecutorEntity::getLastUseTime).reversed())
+                .map(SessionInfo::build)
+                .collect(Collectors.toList());
+    }
+
     public static SessionInfo getInfo(String sessionId) {
-        ExecutorEntity executorEntity = get(sessionId);
+        ExecutorEntity executorEntity = executorMap.get(sessionId);
         if (executorEntity != null) {
             return SessionInfo.build(executorEntity);
         } else {
             return null;
         }
     }
+
+    private static void evictIdle() {
+        long deadline = System.currentTimeMillis() - IDLE_TIMEOUT_MILLIS;
+        for (ExecutorEntity item : executorMap.values()) {
+            if (item.getLastUseTime() < deadline && executorMap.remove(item.getSessionId(), item)) {
+                logger.info("Session [{}] is idle for a long time and has been evicted.", item.getSessionId());
+                evict(item);
+            }
+        }
+    }
+
+    private static void evictLeastRecentlyUsed(List<ExecutorEntity> sessions, int capacity) {
+        if (sessions.size() <= capacity) {
+            return;
+        }
+        sessions.sort(Comparator.comparingLong(ExecutorEntity::getLastUseTime));
+        for (ExecutorEntity item : sessions.subList(0, sessions.size() - capacity)) {
+            if (executorMap.remove(item.getSessionId(), item)) {
+                logger.info("Session [{}] is evicted because the session quota is exceeded.", item.getSessionId());
+                evict(item);
+            }
+        }
+    }
+
+    private static void evict(ExecutorEntity executorEntity) {
+        if (!executorEntity.markEvicted()) {
+            logger.info("Session [{}] is still running statements, close it after they finish.",
+                    executorEntity.getSessionId());
+            return;
+        }
+        close(executorEntity);
+    }
+
+    private static void close(ExecutorEntity executorEntity) {
+        if (!executorEntity.markClosed()) {
+            return;
+        }
+        try {
+            executorEntity.getExecutor().close();
+        } catch (Exception e) {
+            logger.warn("Close session [{}] failed: {}", executorEntity.getSessionId(), e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.process.model.ConsoleBuffer;
+import com.dlink.process.model.ConsoleSlice;
+import com.dlink.process.model.ProcessMessage;
+import com.dlink.process.model.ProcessType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * ConsoleBufferTest
+ **/
+public class ConsoleBufferTest {
+
+    @Test
+    public void readTest() {
+        ConsoleBuffer buffer = new ConsoleBuffer(1024, "title");
+        buffer.append("a");
+        ConsoleSlice slice = buffer.read(0);
+        Assert.assertEquals("titlea", slice.getContent());
+        Assert.assertEquals(2, slice.getNextOffset());
+        buffer.append(new ProcessMessage(ProcessType.FLINKEXPLAIN, "INFO", "b"));
+        slice = buffer.read(slice.getNextOffset());
+        Assert.assertFalse(slice.isTruncated());
+        Assert.assertTrue(slice.getContent().endsWith("INFO: b"));
+        Assert.assertEquals("", buffer.read(3).getContent());
+    }
+
+    @Test
+    public void evictTest() {
+        ConsoleBuffer buffer = new ConsoleBuffer(1024);
+        for (int i = 0; i < 100; i++) {
+            buffer.append(String.format("%020d", i));
+        }
+        Assert.assertTrue(buffer.getBytes() <= 1024);
+        Assert.assertEquals(100, buffer.getNextOffset());
+        ConsoleSlice slice = buffer.read(0);
+        Assert.assertTrue(slice.isTruncated());
+        Assert.assertEquals(buffer.getFirstOffset(), slice.getOffset());
+        Assert.assertTrue(slice.getContent().endsWith(String.format("%020d", 99)));
+        buffer.append(new String(new char[4096]));
+        Assert.assertTrue(buffer.getBytes() <= 1024);
+    }
+}
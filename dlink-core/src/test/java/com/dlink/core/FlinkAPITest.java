@@ -0,0 +1,150 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.api.FlinkAPI;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * FlinkAPITest
+ * <p>
+ * 使用本地模拟的 JobManager REST 服务验证连接复用、并发获取与请求合并
+ **/
+public class FlinkAPITest {
+
+    private static final String JOB_ID = "9b0910c865874430b98d3817a248eb24";
+    private static final long DELAY_MS = 100;
+
+    private HttpServer server;
+    private String address;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    /**
+     * 不为空时，请求需等待设定数量的请求同时到达后才返回
+     */
+    private volatile CountDownLatch arrival;
+    private final AtomicInteger concurrentCount = new AtomicInteger();
+
+    @Before
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                CountDownLatch latch = arrival;
+                if (latch == null) {
+                    Thread.sleep(DELAY_MS);
+                } else {
+                    latch.countDown();
+                    if (latch.await(10, TimeUnit.SECONDS)) {
+                        concurrentCount.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI().getPath() + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.start();
+        address = "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testFetchJobDetailConcurrently() {
+        // 五个请求只有同时处于执行中才能全部越过 latch
+        arrival = new CountDownLatch(5);
+        FlinkAPI flinkAPI = FlinkAPI.build(address);
+        CompletableFuture<JsonNode> jobInfo = flinkAPI.getJobInfoAsync(JOB_ID);
+        CompletableFuture<JsonNode> exception = flinkAPI.getExceptionAsync(JOB_ID);
+        CompletableFuture<JsonNode> checkPoints = flinkAPI.getCheckPointsAsync(JOB_ID);
+        CompletableFuture<JsonNode> checkPointsConfig = flinkAPI.getCheckPointsConfigAsync(JOB_ID);
+        CompletableFuture<JsonNode> jobsConfig = flinkAPI.getJobsConfigAsync(JOB_ID);
+        CompletableFuture.allOf(jobInfo, exception, checkPoints, checkPointsConfig, jobsConfig).join();
+
+        Assert.assertEquals("/jobs/" + JOB_ID, jobInfo.join().get("path").asText());
+        Assert.assertEquals("/jobs/" + JOB_ID + "/exceptions", exception.join().get("path").asText());
+        Assert.assertEquals(5, concurrentCount.get());
+    }
+
+    @Test
+    public void testCoalesceInFlightRequests() throws InterruptedException {
+        int callers = 20;
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<JsonNode> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                JsonNode jobInfo = FlinkAPI.build(address).getJobInfo(JOB_ID);
+                synchronized (results) {
+                    results.add(jobInfo);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        ready.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(callers, results.size());
+        results.forEach(Assert::assertNotNull);
+        Assert.assertTrue(requestCount.get() < callers);
+    }
+
+    @Test
+    public void testUnreachableHost() {
+        server.stop(0);
+        Assert.assertNull(FlinkAPI.build(address).getJobInfo(JOB_ID));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.executor.Executor;
+import com.dlink.explainer.IncrementalExplainer;
+import com.dlink.result.ExplainResult;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * IncrementalExplainerTest
+ **/
+public class IncrementalExplainerTest {
+
+    private static final String SOURCE = "CREATE TABLE source_a (id INT, name STRING) WITH ('connector' = 'datagen');\n";
+    private static final String SINK = "CREATE TABLE sink_b (id INT, name STRING) WITH ('connector' = 'blackhole');\n";
+    private static final String RENAMED_SINK = "CREATE TABLE sink_c (id INT, name STRING) WITH ('connector' = 'blackhole');\n";
+
+    @Test
+    public void explainTest() {
+        AtomicInteger created = new AtomicInteger();
+        String key = "incremental_test";
+        IncrementalExplainer.clear();
+
+        ExplainResult result = explain(key, created, SOURCE + SINK + "INSERT INTO sink_b SELECT * FROM source_a");
+        Assert.assertTrue(result.isCorrect());
+        Assert.assertEquals(3, result.getTotal());
+
+        result = explain(key, created, SOURCE + SINK + "INSERT INTO sink_b SELECT id, name FROM source_a");
+        Assert.assertTrue(result.isCorrect());
+        Assert.assertEquals(3, result.getTotal());
+
+        result = explain(key, created, SOURCE + RENAMED_SINK + "INSERT INTO sink_b SELECT * FROM source_a");
+        Assert.assertFalse(result.isCorrect());
+
+        result = explain(key, created, SOURCE + RENAMED_SINK + "INSERT INTO sink_c SELECT * FROM source_a");
+        Assert.assertTrue(result.isCorrect());
+        Assert.assertEquals(1, created.get());
+        IncrementalExplainer.clear();
+    }
+
+    private ExplainResult explain(String key, AtomicInteger created, String statement) {
+        return IncrementalExplainer.explain(key, () -> {
+            created.incrementAndGet();
+            return Executor.build();
+        }, false, ";\n", statement);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.explainer.PlanCache;
+import com.dlink.result.ExplainResult;
+import com.dlink.result.SqlExplainResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * PlanCacheTest
+ **/
+public class PlanCacheTest {
+
+    @Test
+    public void keyTest() {
+        String statement = "  select 1 -- comment\n\n   from t  \r\n";
+        Assert.assertEquals(PlanCache.key("explain", "env", "select 1\nfrom t"),
+                PlanCache.key("explain", "env", statement));
+        Assert.assertNotEquals(PlanCache.key("explain", "env", "select 1"),
+                PlanCache.key("explain", "env2", "select 1"));
+    }
+
+    @Test
+    public void getTest() {
+        PlanCache.clear();
+        String key = PlanCache.key("jobPlan", "env", "select 1");
+        Assert.assertEquals("plan", PlanCache.get(key, () -> "plan", result -> true));
+        Assert.assertEquals("plan", PlanCache.get(key, () -> "other", result -> true));
+        String failedKey = PlanCache.key("jobPlan", "env", "select 2");
+        Assert.assertEquals("error", PlanCache.get(failedKey, () -> "error", result -> false));
+        Assert.assertEquals("retry", PlanCache.get(failedKey, () -> "retry", result -> false));
+    }
+
+    @Test
+    public void copyTest() {
+        PlanCache.clear();
+        String key = PlanCache.key("explain", "env", "select 1");
+        List<SqlExplainResult> sqlExplainResults = new ArrayList<>();
+        sqlExplainResults.add(SqlExplainResult.success("Query", "select 1", "plan"));
+        ExplainResult first = PlanCache.get(key, () -> new ExplainResult(true, 1, sqlExplainResults),
+                ExplainResult::isCorrect, ExplainResult::copy);
+        first.getSqlExplainResults().get(0).setExplain("changed");
+        ExplainResult second = PlanCache.get(key, () -> null, ExplainResult::isCorrect, ExplainResult::copy);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("plan", second.getSqlExplainResults().get(0).getExplain());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.result.ResultBuffer;
+import com.dlink.result.ResultPool;
+import com.dlink.result.SelectResult;
+import com.dlink.result.SelectResultIncrement;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * ResultBufferTest
+ */
+public class ResultBufferTest {
+
+    @Test
+    public void testRetract() {
+        ResultBuffer buffer = new ResultBuffer("retract", false, 1024 * 1024);
+        SelectResult result = new SelectResult("retract", new LinkedHashSet<>(Arrays.asList("id", "name")), buffer);
+        ResultPool.put(result);
+        buffer.add(new Object[]{1, "a"});
+        buffer.add(new Object[]{2, "b"});
+        buffer.add(new Object[]{2, "b"});
+        buffer.retract(new Object[]{2, "b"});
+        buffer.retract(new Object[]{3, "c"});
+        List<Map<String, Object>> rowData = result.getRowData();
+        Assert.assertEquals(2, rowData.size());
+        Assert.assertEquals("a", rowData.get(0).get("name"));
+        Assert.assertEquals(2, rowData.get(1).get("id"));
+        Assert.assertEquals(Integer.valueOf(2), result.getTotal());
+        ResultPool.remove("retract");
+        Assert.assertEquals(0, ResultPool.getUsedSize());
+    }
+
+    @Test
+    public void testKeepArrivalOrder() {
+        ResultBuffer buffer = new ResultBuffer("order", false, 1024 * 1024);
+        SelectResult result = new SelectResult("order", new LinkedHashSet<>(Arrays.asList("id", "name")), buffer);
+        ResultPool.put(result);
+        buffer.add(new Object[]{1, "a"});
+        buffer.add(new Object[]{2, "b"});
+        buffer.add(new Object[]{1, "a"});
+        buffer.add(new Object[]{3, "c"});
+        buffer.retract(new Object[]{1, "a"});
+        List<Map<String, Object>> rowData = result.getRowData();
+        Assert.assertEquals(3, rowData.size());
+        Assert.assertEquals("b", rowData.get(0).get("name"));
+        Assert.assertEquals("a", rowData.get(1).get("name"));
+        Assert.assertEquals("c", rowData.get(2).get("name"));
+        ResultPool.remove("order");
+    }
+
+    @Test
+    public void testMemoryLimit() {
+        ResultBuffer buffer = new ResultBuffer("limit", true, 200);
+        ResultPool.put(new SelectResult("limit", new LinkedHashSet<>(Arrays.asList("op", "id")), buffer));
+        int count = 0;
+        while (buffer.add(new Object[]{"+I", count})) {
+            count++;
+        }
+        Assert.assertTrue(buffer.isTruncated());
+        Assert.assertEquals(count, buffer.getCount());
+        Assert.assertTrue(buffer.getSize() <= 200);
+        ResultPool.remove("limit");
+        Assert.assertFalse(buffer.add(new Object[]{"+I", count}));
+    }
+
+    @Test
+    public void testCompactRetractions() {
+        ResultBuffer buffer = new ResultBuffer("compact", false, 64 * 1024);
+        SelectResult result = new SelectResult("compact", new LinkedHashSet<>(Arrays.asList("id", "cnt")), buffer);
+        ResultPool.put(result);
+        buffer.add(new Object[]{1, 0});
+        long firstVersion = buffer.getVersion();
+        for (int i = 1; i < 20000; i++) {
+            buffer.retract(new Object[]{1, i - 1});
+            Assert.assertTrue(buffer.add(new Object[]{1, i}));
+        }
+        Assert.assertFalse(buffer.isTruncated());
+        Assert.assertEquals(1, buffer.getCount());
+        Assert.assertTrue(buffer.getSize() < 64 * 1024);
+        Assert.assertEquals(buffer.getSize(), ResultPool.getUsedSize());
+        Assert.assertEquals(19999, result.getRowData().get(0).get("cnt"));
+        Assert.assertTrue(result.getIncrement(firstVersion).isReset());
+        long version = buffer.getVersion();
+        buffer.retract(new Object[]{1, 19999});
+        SelectResultIncrement increment = result.getIncrement(version);
+        Assert.assertFalse(increment.isReset());
+        Assert.assertEquals(1, increment.getRetractData().size());
+        ResultPool.remove("compact");
+        Assert.assertEquals(0, ResultPool.getUsedSize());
+    }
+
+    @Test
+    public void testIncrement() {
+        ResultBuffer buffer = new ResultBuffer("increment", false, 1024 * 1024);
+        SelectResult result = new SelectResult("increment", new LinkedHashSet<>(Arrays.asList("id", "name")), buffer);
+        ResultPool.put(result);
+        buffer.add(new Object[]{1, "a"});
+        buffer.add(new Object[]{2, "b"});
+        SelectResultIncrement snapshot = result.getIncrement(0);
+        Assert.assertTrue(snapshot.isReset());
+        Assert.assertEquals(2, snapshot.getAppendData().size());
+        buffer.retract(new Object[]{1, "a"});
+        buffer.add(new Object[]{3, "c"});
+        buffer.finish();
+        SelectResultIncrement increment = result.getIncrement(snapshot.getVersion());
+        Assert.assertFalse(increment.isReset());
+        Assert.assertEquals(1, increment.getAppendData().size());
+        Assert.assertEquals(1, increment.getRetractData().size());
+        Assert.assertEquals("a", increment.getRetractData().get(0).get("name"));
+        Assert.assertTrue(increment.isFinished());
+        Assert.assertEquals(Integer.valueOf(2), increment.getTotal());
+        ResultPool.remove("increment");
+        Assert.assertTrue(result.getIncrement(increment.getVersion()).isDestroyed());
+    }
+}
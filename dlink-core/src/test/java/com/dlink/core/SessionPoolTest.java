@@ -0,0 +1,81 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.constant.FlinkConstant;
+import com.dlink.session.ExecutorEntity;
+import com.dlink.session.SessionPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * SessionPoolTest
+ **/
+public class SessionPoolTest {
+
+    @Test
+    public void userQuotaTest() {
+        int count = FlinkConstant.DEFAULT_USER_SESSION_COUNT + 1;
+        for (int i = 0; i < count; i++) {
+            ExecutorEntity executorEntity = new ExecutorEntity("quota_" + i, null, "quota_user", null, null);
+            executorEntity.setLastUseTime(System.currentTimeMillis() + i);
+            SessionPool.push(executorEntity);
+        }
+        Assert.assertFalse(SessionPool.exist("quota_0"));
+        Assert.assertTrue(SessionPool.exist("quota_" + (count - 1)));
+        for (int i = 1; i < count; i++) {
+            Assert.assertEquals(Integer.valueOf(1), SessionPool.remove("quota_" + i));
+        }
+    }
+
+    @Test
+    public void touchTest() {
+        ExecutorEntity executorEntity = new ExecutorEntity("touch", null, "touch_user", null, null);
+        executorEntity.setLastUseTime(0);
+        SessionPool.push(executorEntity);
+        Assert.assertNotNull(SessionPool.get("touch"));
+        Assert.assertTrue(executorEntity.getLastUseTime() > 0);
+        Assert.assertEquals("touch", SessionPool.listInfo().get(0).getSession());
+        SessionPool.remove("touch");
+    }
+
+    @Test
+    public void deferCloseInUseTest() {
+        ExecutorEntity executorEntity = new ExecutorEntity("in_use", null, "in_use_user", null, null);
+        SessionPool.push(executorEntity);
+        Assert.assertSame(executorEntity, SessionPool.acquire("in_use"));
+        SessionPool.remove("in_use");
+        Assert.assertFalse(SessionPool.exist("in_use"));
+        Assert.assertFalse(executorEntity.isClosed());
+        SessionPool.release(executorEntity);
+        Assert.assertTrue(executorEntity.isClosed());
+    }
+
+    @Test
+    public void acquireEvictedTest() {
+        ExecutorEntity executorEntity = new ExecutorEntity("evicted", null, "evicted_user", null, null);
+        SessionPool.push(executorEntity);
+        SessionPool.remove("evicted");
+        Assert.assertNull(SessionPool.acquire("evicted"));
+        Assert.assertFalse(executorEntity.tryRetain());
+        Assert.assertFalse(executorEntity.isInUse());
+    }
+}
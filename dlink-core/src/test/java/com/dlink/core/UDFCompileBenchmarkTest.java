@@ -0,0 +1,106 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.core;
+
+import com.dlink.function.compiler.FunctionCompiler;
+import com.dlink.function.compiler.UDFCompileCache;
+import com.dlink.function.constant.PathConstant;
+import com.dlink.function.data.model.UDF;
+
+import org.apache.flink.table.catalog.FunctionLanguage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * UDF 编译基准：逐个编译落盘 与 批量内存编译直接打包 的耗时与写盘量对比，
+ * 使用 -Dudf.benchmark=true 运行
+ **/
+@Slf4j
+public class UDFCompileBenchmarkTest {
+
+    private static final int UDF_COUNT = 50;
+    private static final int MISSION_ID = 999999;
+
+    @Test
+    public void compileBenchmark() throws IOException {
+        Assume.assumeTrue(Boolean.getBoolean("udf.benchmark"));
+        String run = IdUtil.fastSimpleUUID();
+
+        List<UDF> serialList = buildUdfList("serial" + run);
+        FileUtil.del(PathConstant.getPath(PathConstant.UDF_PATH, MISSION_ID));
+        long start = System.currentTimeMillis();
+        FunctionCompiler.getCompiler(serialList, null, MISSION_ID);
+        long serialMillis = System.currentTimeMillis() - start;
+        long serialBytes = FileUtil.size(FileUtil.file(PathConstant.getPath(PathConstant.UDF_PATH, MISSION_ID)));
+
+        List<UDF> batchList = buildUdfList("batch" + run);
+        long cacheBytes = FileUtil.exist(PathConstant.UDF_CACHE_PATH)
+                ? FileUtil.size(FileUtil.file(PathConstant.UDF_CACHE_PATH))
+                : 0;
+        start = System.currentTimeMillis();
+        String[] batchJar = UDFCompileCache.buildJar(batchList);
+        long batchMillis = System.currentTimeMillis() - start;
+        long batchBytes = FileUtil.size(FileUtil.file(PathConstant.UDF_CACHE_PATH)) - cacheBytes;
+
+        start = System.currentTimeMillis();
+        Assert.assertArrayEquals(batchJar, UDFCompileCache.buildJar(batchList));
+        long hitMillis = System.currentTimeMillis() - start;
+
+        Assert.assertEquals(1, batchJar.length);
+        try (JarFile jarFile = new JarFile(batchJar[0])) {
+            Assert.assertEquals(UDF_COUNT,
+                    jarFile.stream().filter(entry -> entry.getName().endsWith(".class")).count());
+        }
+        Assert.assertTrue(batchMillis < serialMillis);
+        Assert.assertTrue(hitMillis < batchMillis);
+        log.info("UDF compile benchmark ({} java udf): serial compile {} ms, {} bytes written; "
+                + "batch in-memory compile + package {} ms, {} bytes written; cache hit {} ms",
+                UDF_COUNT, serialMillis, serialBytes, batchMillis, batchBytes, hitMillis);
+        FileUtil.del(PathConstant.getPath(PathConstant.UDF_PATH, MISSION_ID));
+    }
+
+    private List<UDF> buildUdfList(String prefix) {
+        List<UDF> udfList = new ArrayList<>();
+        for (int i = 0; i < UDF_COUNT; i++) {
+            String className = "Upper" + i;
+            String code = "package com.dlink.benchmark." + prefix + ";\n"
+                    + "import org.apache.flink.table.functions.ScalarFunction;\n"
+                    + "public class " + className + " extends ScalarFunction {\n"
+                    + "    public String eval(String s) {\n"
+                    + "        return s == null ? null : s.toUpperCase() + \"" + i + "\";\n"
+                    + "    }\n"
+                    + "}\n";
+            udfList.add(UDF.builder().name("upper" + i).className("com.dlink.benchmark." + prefix + "." + className)
+                    .code(code).functionLanguage(FunctionLanguage.JAVA).build());
+        }
+        return udfList;
+    }
+}
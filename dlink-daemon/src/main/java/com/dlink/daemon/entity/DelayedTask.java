@@ -0,0 +1,70 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.daemon.entity;
+
+import com.dlink.daemon.task.DaemonTask;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DelayedTask 包装 DaemonTask 及其到期时间，到期时间相同的任务按入队顺序执行
+ */
+public class DelayedTask implements Delayed {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(0);
+
+    private final DaemonTask daemonTask;
+    private final long dueTime;
+    private final long sequence;
+
+    public DelayedTask(DaemonTask daemonTask, long dueTime) {
+        this.daemonTask = daemonTask;
+        this.dueTime = dueTime;
+        this.sequence = SEQUENCE.getAndIncrement();
+    }
+
+    public DaemonTask getDaemonTask() {
+        return daemonTask;
+    }
+
+    public long getDueTime() {
+        return dueTime;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other == this) {
+            return 0;
+        }
+        if (other instanceof DelayedTask) {
+            DelayedTask task = (DelayedTask) other;
+            int result = Long.compare(dueTime, task.dueTime);
+            return result != 0 ? result : Long.compare(sequence, task.sequence);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
@@ -19,39 +19,75 @@
 
 package com.dlink.daemon.entity;
 
-import com.dlink.daemon.task.DaemonTask;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class TaskWorker implements Runnable {
+
     private static final Logger log = LoggerFactory.getLogger(TaskWorker.class);
 
+    /**
+     * 队列空闲时的最长等待时间，用于及时响应 stop
+     */
+    private static final long IDLE_WAIT = 1000;
+
     private volatile boolean running = true;
 
-    private TaskQueue<DaemonTask> queue;
+    private final DelayQueue<DelayedTask> queue;
 
-    public TaskWorker(TaskQueue queue) {
+    private Thread thread;
+
+    public TaskWorker(DelayQueue<DelayedTask> queue) {
         this.queue = queue;
     }
 
+    public void start(String name) {
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     @Override
     public void run() {
-        //log.info("TaskWorker run");
         while (running) {
-            DaemonTask daemonTask = queue.dequeue();
-            if (daemonTask != null) {
-                try {
-                    daemonTask.dealTask();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+            DelayedTask delayedTask;
+            try {
+                delayedTask = queue.poll(IDLE_WAIT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // 被 shutdown 唤醒，重新检查运行状态
+                continue;
+            }
+            if (delayedTask == null) {
+                continue;
+            }
+            try {
+                delayedTask.getDaemonTask().dealTask();
+            } catch (Exception e) {
+                log.error("Daemon task execution failed", e);
             }
         }
     }
 
-    public void shutdown() {
-        //log.info(Thread.currentThread().getName() + "TaskWorker shutdown");
+    /**
+     * 停止领取新任务，正在执行的任务会执行完成
+     */
+    public void stop() {
         running = false;
     }
+
+    public void shutdown() {
+        stop();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public void join(long millis) throws InterruptedException {
+        if (thread != null) {
+            thread.join(millis);
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.daemon.pool;
+
+import com.dlink.daemon.entity.DelayedTask;
+import com.dlink.daemon.entity.TaskWorker;
+import com.dlink.daemon.task.DaemonTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DelayThreadPool
+ * <p>
+ * 基于 DelayQueue 的守护任务线程池，任务通过 {@link DaemonTask#getNextDueTime()} 声明下次执行时间，
+ * 未到期的任务不占用工作线程，少量线程即可服务大量周期性任务。
+ */
+public class DelayThreadPool implements ThreadPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DelayThreadPool.class);
+
+    private static final int MAX_WORKER_NUM = 10;
+    private static final int DEFAULT_WORKER_NUM = 4;
+    private static final int MIN_WORKER_NUM = 1;
+    private static final long SHUTDOWN_TIMEOUT = 10000;
+
+    private final List<TaskWorker> workers = new ArrayList<>();
+
+    private final Object lock = new Object();
+
+    private final AtomicInteger workerIndex = new AtomicInteger(0);
+
+    private final DelayQueue<DelayedTask> queue = new DelayQueue<>();
+
+    private volatile boolean running = true;
+
+    private static volatile DelayThreadPool delayThreadPool;
+
+    public DelayThreadPool() {
+        this(DEFAULT_WORKER_NUM);
+    }
+
+    public DelayThreadPool(int workerNum) {
+        addWorkers(workerNum);
+    }
+
+    public static DelayThreadPool getInstance() {
+        if (delayThreadPool == null) {
+            synchronized (DelayThreadPool.class) {
+                if (delayThreadPool == null) {
+                    delayThreadPool = new DelayThreadPool();
+                }
+            }
+        }
+        return delayThreadPool;
+    }
+
+    @Override
+    public void execute(DaemonTask daemonTask) {
+        if (daemonTask == null) {
+            return;
+        }
+        if (!running) {
+            log.warn("Thread pool is shutdown, daemon task [{}] is discarded", daemonTask.getType());
+            return;
+        }
+        queue.offer(new DelayedTask(daemonTask, daemonTask.getNextDueTime()));
+    }
+
+    @Override
+    public void addWorkers(int num) {
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            num = Math.min(num, MAX_WORKER_NUM - workers.size());
+            for (int i = 0; i < num; i++) {
+                TaskWorker worker = new TaskWorker(queue);
+                workers.add(worker);
+                worker.start("DaemonPool-Worker-" + workerIndex.incrementAndGet());
+            }
+        }
+    }
+
+    @Override
+    public void removeWorker(int num) {
+        synchronized (lock) {
+            num = Math.min(num, workers.size() - MIN_WORKER_NUM);
+            for (int i = 0; i < num; i++) {
+                workers.remove(workers.size() - 1).stop();
+            }
+        }
+    }
+
+    /**
+     * 停止领取新任务，等待正在执行的任务完成，超时后中断剩余线程。未到期的任务将被丢弃。
+     */
+    @Override
+    public void shutdown() {
+        List<TaskWorker> stoppingWorkers;
+        synchronized (lock) {
+            running = false;
+            stoppingWorkers = new ArrayList<>(workers);
+            workers.clear();
+        }
+        for (TaskWorker worker : stoppingWorkers) {
+            worker.stop();
+        }
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT;
+        for (TaskWorker worker : stoppingWorkers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (TaskWorker worker : stoppingWorkers) {
+            worker.shutdown();
+        }
+        queue.clear();
+    }
+
+    @Override
+    public int getTaskSize() {
+        return queue.size();
+    }
+
+    public int getWorkCount() {
+        synchronized (lock) {
+            return workers.size();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -55,5 +55,12 @@ public interface DaemonTask {
 
     String getType();
 
+    /**
+     * 下次执行的时间戳(ms)，早于当前时间时入队即执行。周期性任务在 dealTask 中更新该时间后重新入队，而不是阻塞等待。
+     */
+    default long getNextDueTime() {
+        return 0L;
+    }
+
     void dealTask();
 }
@@ -19,6 +19,17 @@
 
 package com.dlink.daemon;
 
+import com.dlink.daemon.pool.DelayThreadPool;
+import com.dlink.daemon.task.DaemonTask;
+import com.dlink.daemon.task.DaemonTaskConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
 /**
  * DeamonTest
  *
@@ -26,4 +37,76 @@ package com.dlink.daemon;
  * @since 2022/3/2 23:31
  */
 public class DaemonTest {
+
+    private static final int TASK_COUNT = 5000;
+    private static final int ROUNDS = 5;
+    private static final long INTERVAL = 200;
+
+    @Test
+    public void testDelayThreadPoolLoad() throws InterruptedException {
+        DelayThreadPool pool = new DelayThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+        AtomicInteger earlyCount = new AtomicInteger(0);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            pool.execute(new FakeTask(pool, latch, earlyCount));
+        }
+        boolean finished = latch.await(INTERVAL * ROUNDS + 10000, TimeUnit.MILLISECONDS);
+        pool.shutdown();
+        Assert.assertTrue(finished);
+        Assert.assertEquals(0, earlyCount.get());
+        Assert.assertEquals(0, pool.getTaskSize());
+        Assert.assertEquals(0, pool.getWorkCount());
+    }
+
+    @Test
+    public void testExecuteAfterShutdown() {
+        DelayThreadPool pool = new DelayThreadPool(1);
+        pool.shutdown();
+        pool.execute(new FakeTask(pool, new CountDownLatch(1), new AtomicInteger(0)));
+        Assert.assertFalse(pool.isRunning());
+        Assert.assertEquals(0, pool.getTaskSize());
+    }
+
+    private static class FakeTask implements DaemonTask {
+
+        private final DelayThreadPool pool;
+        private final CountDownLatch latch;
+        private final AtomicInteger earlyCount;
+        private int round;
+        private long nextDueTime;
+
+        FakeTask(DelayThreadPool pool, CountDownLatch latch, AtomicInteger earlyCount) {
+            this.pool = pool;
+            this.latch = latch;
+            this.earlyCount = earlyCount;
+        }
+
+        @Override
+        public DaemonTask setConfig(DaemonTaskConfig config) {
+            return this;
+        }
+
+        @Override
+        public String getType() {
+            return "fake";
+        }
+
+        @Override
+        public long getNextDueTime() {
+            return nextDueTime;
+        }
+
+        @Override
+        public void dealTask() {
+            if (System.currentTimeMillis() < nextDueTime) {
+                earlyCount.incrementAndGet();
+            }
+            if (++round >= ROUNDS) {
+                latch.countDown();
+                return;
+            }
+            nextDueTime = System.currentTimeMillis() + INTERVAL;
+            pool.execute(this);
+        }
+    }
 }
@@ -156,6 +156,7 @@ CREATE TABLE `dlink_database` (
   `flink_config` text CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'Flink configuration',
   `flink_template` text CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'Flink template',
   `db_version` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci DEFAULT NULL COMMENT 'version，such as: 11g of oracle ，2.2.3 of hbase',
+  `pool_config` text CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'connection pool configuration',
   `status` tinyint(1) DEFAULT NULL COMMENT 'heartbeat status',
   `health_time` datetime DEFAULT NULL COMMENT 'last heartbeat time of trigger',
   `heartbeat_time` datetime DEFAULT NULL COMMENT 'last heartbeat time',
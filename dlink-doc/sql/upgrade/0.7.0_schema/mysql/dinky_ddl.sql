@@ -194,4 +194,5 @@ CREATE TABLE IF NOT EXISTS `dlink_udf_template` (
 
 
 alter table `dlink_task_statement` modify column `statement` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'statement set';
-alter table `dlink_history` modify column `statement` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'statement set';
\ No newline at end of file
+alter table `dlink_history` modify column `statement` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'statement set';
+alter table `dlink_database` add column `pool_config` text CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci COMMENT 'connection pool configuration' after `db_version`;
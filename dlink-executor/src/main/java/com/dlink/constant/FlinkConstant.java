@@ -35,6 +35,14 @@ public interface FlinkConstant {
      * flink会话默认个数
      */
     Integer DEFAULT_SESSION_COUNT = 256;
+    /**
+     * 单个用户的会话上限
+     */
+    Integer DEFAULT_USER_SESSION_COUNT = 16;
+    /**
+     * 会话空闲回收时间（分钟）
+     */
+    Integer DEFAULT_SESSION_IDLE_MINUTES = 120;
     /**
      * flink加载因子
      */
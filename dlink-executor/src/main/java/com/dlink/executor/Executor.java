@@ -42,6 +42,7 @@ import org.apache.flink.table.api.ExplainDetail;
 import org.apache.flink.table.api.StatementSet;
 import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableResult;
+import org.apache.flink.table.catalog.Catalog;
 import org.apache.flink.table.catalog.CatalogManager;
 import org.apache.hadoop.security.UserGroupInformation;
 
@@ -51,6 +52,8 @@ import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,6 +83,8 @@ public abstract class Executor {
 
     protected SqlManager sqlManager = new SqlManager();
     protected boolean useSqlFragment = true;
+    // 每次 executeSql 递增，用于判断会话中的 catalog 是否可能已变化
+    protected final AtomicLong catalogVersion = new AtomicLong();
 
     public static Executor build() {
         return new LocalStreamExecutor(ExecutorSetting.DEFAULT);
@@ -118,6 +123,10 @@ public abstract class Executor {
         }
     }
 
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
     public SqlManager getSqlManager() {
         return sqlManager;
     }
@@ -237,6 +246,7 @@ public abstract class Executor {
     }
 
     public TableResult executeSql(String statement) {
+        catalogVersion.incrementAndGet();
         statement = pretreatStatement(statement);
         FlinkInterceptorResult flinkInterceptorResult = pretreatExecute(statement);
         if (Asserts.isNotNull(flinkInterceptorResult.getTableResult())) {
@@ -402,6 +412,24 @@ public abstract class Executor {
         return stEnvironment.getCatalogManager();
     }
 
+    /**
+     * 关闭已注册的 catalog 并清空变量，用于会话被回收时释放外部连接
+     */
+    public void close() {
+        for (String catalogName : stEnvironment.listCatalogs()) {
+            Optional<Catalog> catalog = stEnvironment.getCatalog(catalogName);
+            try {
+                if (catalog.isPresent()) {
+                    catalog.get().close();
+                }
+            } catch (Exception e) {
+                logger.warn("Close catalog [{}] failed: {}", catalogName, e.getMessage());
+            }
+        }
+        sqlManager.getSqlFragment().clear();
+        setConfig.clear();
+    }
+
     public JobGraph getJobGraphFromInserts(List<String> statements) {
         return stEnvironment.getJobGraphFromInserts(statements);
     }
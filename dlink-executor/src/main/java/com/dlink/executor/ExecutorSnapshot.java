@@ -0,0 +1,176 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.executor;
+
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.TableEnvironment;
+import org.apache.flink.table.catalog.Catalog;
+import org.apache.flink.table.catalog.CatalogManager;
+import org.apache.flink.table.catalog.GenericInMemoryCatalog;
+import org.apache.flink.table.catalog.ObjectPath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ExecutorSnapshot
+ * <p>
+ * 记录预热完成后 Executor 的状态，归还到池中时据此清理借用者创建的对象，
+ * 复用已初始化的 planner 与 catalog，而不是重新创建执行环境。
+ * 外部 catalog 中的持久化对象无法回滚，仅清理内存 catalog 与临时对象。
+ * ADD JAR 对线程类加载器的修改不在快照范围内，执行过此类语句的 Executor 由调用方丢弃。
+ **/
+public class ExecutorSnapshot {
+
+    private final String currentCatalog;
+    private final String currentDatabase;
+    private final Set<String> catalogs;
+    private final Map<String, Map<String, Set<String>>> inMemoryTables = new HashMap<>();
+    private final Map<String, Map<String, Set<String>>> inMemoryFunctions = new HashMap<>();
+    private final Set<String> temporaryTables;
+    private final Set<String> temporaryViews;
+    private final Set<String> userDefinedFunctions;
+    private final Map<String, String> tableConfig;
+    private final Map<String, Object> setConfig;
+    private final Map<String, String> sqlFragments;
+    private final int parallelism;
+
+    private ExecutorSnapshot(Executor executor) throws Exception {
+        CustomTableEnvironment environment = executor.getCustomTableEnvironment();
+        TableEnvironment tableEnvironment = (TableEnvironment) environment;
+        CatalogManager catalogManager = environment.getCatalogManager();
+        currentCatalog = catalogManager.getCurrentCatalog();
+        currentDatabase = catalogManager.getCurrentDatabase();
+        catalogs = new HashSet<>(Arrays.asList(environment.listCatalogs()));
+        for (String catalogName : catalogs) {
+            Catalog catalog = environment.getCatalog(catalogName).orElse(null);
+            if (catalog instanceof GenericInMemoryCatalog) {
+                Map<String, Set<String>> tables = new HashMap<>();
+                Map<String, Set<String>> functions = new HashMap<>();
+                for (String database : catalog.listDatabases()) {
+                    tables.put(database, new HashSet<>(catalog.listTables(database)));
+                    functions.put(database, new HashSet<>(catalog.listFunctions(database)));
+                }
+                inMemoryTables.put(catalogName, tables);
+                inMemoryFunctions.put(catalogName, functions);
+            }
+        }
+        temporaryTables = new HashSet<>(Arrays.asList(tableEnvironment.listTemporaryTables()));
+        temporaryViews = new HashSet<>(Arrays.asList(tableEnvironment.listTemporaryViews()));
+        userDefinedFunctions = new HashSet<>(Arrays.asList(tableEnvironment.listUserDefinedFunctions()));
+        tableConfig = new HashMap<>(executor.getTableConfig().getConfiguration().toMap());
+        setConfig = new HashMap<>(executor.getSetConfig());
+        sqlFragments = new HashMap<>(executor.getSqlManager().getSqlFragment());
+        parallelism = executor.getStreamExecutionEnvironment().getParallelism();
+    }
+
+    public static ExecutorSnapshot of(Executor executor) {
+        if (!(executor.getCustomTableEnvironment() instanceof TableEnvironment)) {
+            throw new UnsupportedOperationException("Executor does not support snapshot.");
+        }
+        try {
+            return new ExecutorSnapshot(executor);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 将 Executor 恢复到快照状态，失败时返回 false，调用方应丢弃该 Executor
+     */
+    public boolean restore(Executor executor) {
+        try {
+            CustomTableEnvironment environment = executor.getCustomTableEnvironment();
+            TableEnvironment tableEnvironment = (TableEnvironment) environment;
+            CatalogManager catalogManager = environment.getCatalogManager();
+            catalogManager.setCurrentCatalog(currentCatalog);
+            catalogManager.setCurrentDatabase(currentDatabase);
+            for (String catalogName : environment.listCatalogs()) {
+                if (!catalogs.contains(catalogName)) {
+                    environment.getCatalog(catalogName).ifPresent(Catalog::close);
+                    catalogManager.unregisterCatalog(catalogName, true);
+                }
+            }
+            for (Map.Entry<String, Map<String, Set<String>>> entry : inMemoryTables.entrySet()) {
+                Catalog catalog = environment.getCatalog(entry.getKey()).orElse(null);
+                if (catalog == null) {
+                    return false;
+                }
+                restoreInMemoryCatalog(catalog, entry.getValue(), inMemoryFunctions.get(entry.getKey()));
+            }
+            for (String view : tableEnvironment.listTemporaryViews()) {
+                if (!temporaryViews.contains(view)) {
+                    tableEnvironment.dropTemporaryView(view);
+                }
+            }
+            for (String table : tableEnvironment.listTemporaryTables()) {
+                if (!temporaryTables.contains(table)) {
+                    tableEnvironment.dropTemporaryTable(table);
+                }
+            }
+            for (String function : tableEnvironment.listUserDefinedFunctions()) {
+                if (!userDefinedFunctions.contains(function)
+                        && !tableEnvironment.dropTemporarySystemFunction(function)) {
+                    tableEnvironment.dropTemporaryFunction(function);
+                }
+            }
+            Configuration configuration = executor.getTableConfig().getConfiguration();
+            for (String key : configuration.keySet()) {
+                if (!tableConfig.containsKey(key)) {
+                    configuration.removeConfig(ConfigOptions.key(key).stringType().noDefaultValue());
+                }
+            }
+            tableConfig.forEach(configuration::setString);
+            executor.getSetConfig().clear();
+            executor.getSetConfig().putAll(setConfig);
+            Map<String, String> fragments = executor.getSqlManager().getSqlFragment();
+            fragments.clear();
+            fragments.putAll(sqlFragments);
+            executor.getStreamExecutionEnvironment().setParallelism(parallelism);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void restoreInMemoryCatalog(Catalog catalog, Map<String, Set<String>> tables,
+            Map<String, Set<String>> functions) throws Exception {
+        for (String database : catalog.listDatabases()) {
+            if (!tables.containsKey(database)) {
+                catalog.dropDatabase(database, true, true);
+                continue;
+            }
+            for (String table : catalog.listTables(database)) {
+                if (!tables.get(database).contains(table)) {
+                    catalog.dropTable(new ObjectPath(database, table), true);
+                }
+            }
+            for (String function : catalog.listFunctions(database)) {
+                if (!functions.get(database).contains(function)) {
+                    catalog.dropFunction(new ObjectPath(database, function), true);
+                }
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.dlink.cdc.SinkBuilder;
 import com.dlink.executor.Executor;
 import com.dlink.metadata.driver.Driver;
 import com.dlink.metadata.driver.DriverConfig;
+import com.dlink.model.Column;
 import com.dlink.model.FlinkCDCConfig;
 import com.dlink.model.Schema;
 import com.dlink.model.Table;
@@ -42,6 +43,7 @@ import org.apache.flink.table.api.TableResult;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +56,7 @@ import java.util.stream.Collectors;
  * @since 2022/1/29 23:25
  */
 public class CreateCDCSourceOperation extends AbstractOperation implements Operation {
+
     private static final String KEY_WORD = "EXECUTE CDCSOURCE";
 
     public CreateCDCSourceOperation() {
@@ -77,9 +80,11 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
     public TableResult build(Executor executor) {
         logger.info("Start build CDCSOURCE Task...");
         CDCSource cdcSource = CDCSource.build(statement);
-        FlinkCDCConfig config = new FlinkCDCConfig(cdcSource.getConnector(), cdcSource.getHostname(), cdcSource.getPort(), cdcSource.getUsername()
-            , cdcSource.getPassword(), cdcSource.getCheckpoint(), cdcSource.getParallelism(), cdcSource.getDatabase(), cdcSource.getSchema()
-            , cdcSource.getTable(), cdcSource.getStartupMode(), cdcSource.getSplit(), cdcSource.getDebezium(), cdcSource.getSource(), cdcSource.getSink(), cdcSource.getJdbc());
+        FlinkCDCConfig config = new FlinkCDCConfig(cdcSource.getConnector(), cdcSource.getHostname(),
+                cdcSource.getPort(), cdcSource.getUsername(), cdcSource.getPassword(), cdcSource.getCheckpoint(),
+                cdcSource.getParallelism(), cdcSource.getDatabase(), cdcSource.getSchema(), cdcSource.getTable(),
+                cdcSource.getStartupMode(), cdcSource.getSplit(), cdcSource.getDebezium(), cdcSource.getSource(),
+                cdcSource.getSink(), cdcSource.getJdbc());
         try {
             CDCBuilder cdcBuilder = CDCBuilderFactory.buildCDCBuilder(config);
             Map<String, Map<String, String>> allConfigMap = cdcBuilder.parseMetaDataConfigs();
@@ -91,32 +96,32 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
             final List<String> schemaTableNameList = new ArrayList<>();
             if (SplitUtil.isEnabled(cdcSource.getSplit())) {
                 DriverConfig driverConfig = DriverConfig.build(cdcBuilder.parseMetaDataConfig());
-                Driver driver = Driver.build(driverConfig);
-
                 // 这直接传正则过去
-                schemaTableNameList.addAll(tableRegList.stream().map(x -> x.replaceFirst("\\\\.", ".")).collect(Collectors.toList()));
-
-                Driver sinkDriver = checkAndCreateSinkSchema(config, schemaTableNameList.get(0));
+                schemaTableNameList.addAll(
+                        tableRegList.stream().map(x -> x.replaceFirst("\\\\.", ".")).collect(Collectors.toList()));
 
-                Set<Table> tables = driver.getSplitTables(tableRegList, cdcSource.getSplit());
+                try (Driver driver = Driver.build(driverConfig);
+                        Driver sinkDriver = checkAndCreateSinkSchema(config, schemaTableNameList.get(0))) {
+                    Set<Table> tables = driver.getSplitTables(tableRegList, cdcSource.getSplit());
 
-                for (Table table : tables) {
-                    String schemaName = table.getSchema();
-                    Schema schema = Schema.build(schemaName);
-                    schema.setTables(Collections.singletonList(table));
-                    //分库分表所有表结构都是一样的，取出列表中第一个表名即可
-                    String schemaTableName = table.getSchemaTableNameList().get(0);
-                    //真实的表名
-                    String tableName = schemaTableName.split("\\.")[1];
-                    table.setColumns(driver.listColumnsSortByPK(schemaName, tableName));
-                    table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
-                    schemaList.add(schema);
-
-                    if (null != sinkDriver) {
-                        Table sinkTable = (Table) table.clone();
-                        sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
-                        sinkTable.setName(sinkBuilder.getSinkTableName(table));
-                        checkAndCreateSinkTable(sinkDriver, sinkTable);
+                    for (Table table : tables) {
+                        String schemaName = table.getSchema();
+                        Schema schema = Schema.build(schemaName);
+                        schema.setTables(Collections.singletonList(table));
+                        // 分库分表所有表结构都是一样的，取出列表中第一个表名即可
+                        String schemaTableName = table.getSchemaTableNameList().get(0);
+                        // 真实的表名
+                        String tableName = schemaTableName.split("\\.")[1];
+                        table.setColumns(driver.listColumnsSortByPK(schemaName, tableName));
+                        table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
+                        schemaList.add(schema);
+
+                        if (null != sinkDriver) {
+                            Table sinkTable = (Table) table.clone();
+                            sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
+                            sinkTable.setName(sinkBuilder.getSinkTableName(table));
+                            checkAndCreateSinkTable(sinkDriver, sinkTable);
+                        }
                     }
                 }
             } else {
@@ -126,39 +131,48 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
                         continue;
                     }
 
-                    Driver sinkDriver = checkAndCreateSinkSchema(config, schemaName);
-
                     DriverConfig driverConfig = DriverConfig.build(allConfigMap.get(schemaName));
-                    Driver driver = Driver.build(driverConfig);
-                    final List<Table> tables = driver.listTables(schemaName);
-                    for (Table table : tables) {
-                        if (!Asserts.isEquals(table.getType(), "VIEW")) {
-                            if (Asserts.isNotNullCollection(tableRegList)) {
-                                for (String tableReg : tableRegList) {
-                                    if (table.getSchemaTableName().matches(tableReg.trim()) && !schema.getTables().contains(Table.build(table.getName()))) {
-                                        table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
-                                        schema.getTables().add(table);
-                                        schemaTableNameList.add(table.getSchemaTableName());
-                                        break;
+                    try (Driver sinkDriver = checkAndCreateSinkSchema(config, schemaName);
+                            Driver driver = Driver.build(driverConfig)) {
+                        final List<Table> tables = driver.listTables(schemaName);
+                        for (Table table : tables) {
+                            if (!Asserts.isEquals(table.getType(), "VIEW")) {
+                                if (Asserts.isNotNullCollection(tableRegList)) {
+                                    for (String tableReg : tableRegList) {
+                                        if (table.getSchemaTableName().matches(tableReg.trim())
+                                                && !schema.getTables().contains(Table.build(table.getName()))) {
+                                            schema.getTables().add(table);
+                                            schemaTableNameList.add(table.getSchemaTableName());
+                                            break;
+                                        }
                                     }
+                                } else {
+                                    schemaTableNameList.add(table.getSchemaTableName());
+                                    schema.getTables().add(table);
                                 }
-                            } else {
-                                table.setColumns(driver.listColumnsSortByPK(schemaName, table.getName()));
-                                schemaTableNameList.add(table.getSchemaTableName());
-                                schema.getTables().add(table);
                             }
                         }
-                    }
 
-                    if (null != sinkDriver) {
-                        for (Table table : schema.getTables()) {
-                            Table sinkTable = (Table) table.clone();
-                            sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
-                            sinkTable.setName(sinkBuilder.getSinkTableName(table));
-                            checkAndCreateSinkTable(sinkDriver, sinkTable);
+                        if (Asserts.isNotNullCollection(schema.getTables())) {
+                            // 整库一次性获取字段，避免逐表查询
+                            Map<String, List<Column>> columnMap = driver.listColumnsBySchema(schemaName);
+                            for (Table table : schema.getTables()) {
+                                List<Column> columns = columnMap.getOrDefault(table.getName(), new ArrayList<>());
+                                columns.sort(Comparator.comparing(Column::isKeyFlag).reversed());
+                                table.setColumns(columns);
+                            }
                         }
+
+                        if (null != sinkDriver) {
+                            for (Table table : schema.getTables()) {
+                                Table sinkTable = (Table) table.clone();
+                                sinkTable.setSchema(sinkBuilder.getSinkSchemaName(table));
+                                sinkTable.setName(sinkBuilder.getSinkTableName(table));
+                                checkAndCreateSinkTable(sinkDriver, sinkTable);
+                            }
+                        }
+                        schemaList.add(schema);
                     }
-                    schemaList.add(schema);
                 }
             }
 
@@ -180,11 +194,13 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
             DataStreamSource<String> streamSource = cdcBuilder.build(streamExecutionEnvironment);
             logger.info("Build " + config.getType() + " successful...");
             if (cdcSource.getSinks() == null || cdcSource.getSinks().size() == 0) {
-                sinkBuilder.build(cdcBuilder, streamExecutionEnvironment, executor.getCustomTableEnvironment(), streamSource);
+                sinkBuilder.build(cdcBuilder, streamExecutionEnvironment, executor.getCustomTableEnvironment(),
+                        streamSource);
             } else {
                 for (Map<String, String> sink : cdcSource.getSinks()) {
                     config.setSink(sink);
-                    sinkBuilder.build(cdcBuilder, streamExecutionEnvironment, executor.getCustomTableEnvironment(), streamSource);
+                    sinkBuilder.build(cdcBuilder, streamExecutionEnvironment, executor.getCustomTableEnvironment(),
+                            streamSource);
                 }
             }
             logger.info("Build CDCSOURCE Task successful!");
@@ -203,8 +219,13 @@ public class CreateCDCSourceOperation extends AbstractOperation implements Opera
         String url = sink.get("url");
         String schema = SqlUtil.replaceAllParam(sink.get("sink.db"), "schemaName", schemaName);
         Driver driver = Driver.build(sink.get("connector"), url, sink.get("username"), sink.get("password"));
-        if (null != driver && !driver.existSchema(schema)) {
-            driver.createSchema(schema);
+        try {
+            if (!driver.existSchema(schema)) {
+                driver.createSchema(schema);
+            }
+        } catch (Exception e) {
+            driver.close();
+            throw e;
         }
         sink.put("sink.db", schema);
         sink.put("url", url + "/" + schema);
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.executor;
+
+import org.apache.flink.table.api.TableEnvironment;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * ExecutorSnapshotTest
+ **/
+public class ExecutorSnapshotTest {
+
+    private static final String DATAGEN = " (id INT) WITH ('connector' = 'datagen')";
+
+    @Test
+    public void restoreTest() {
+        Executor executor = Executor.build();
+        executor.executeSql("CREATE TABLE env_table" + DATAGEN);
+        executor.executeSql("SET pipeline.name = env");
+        ExecutorSnapshot snapshot = ExecutorSnapshot.of(executor);
+
+        executor.executeSql("CREATE TABLE job_table" + DATAGEN);
+        executor.executeSql("CREATE TEMPORARY VIEW job_view AS SELECT * FROM env_table");
+        executor.executeSql("CREATE DATABASE job_db");
+        executor.executeSql("SET pipeline.name = job");
+        executor.getSqlManager().registerSqlFragment("job_var", "1");
+
+        Assert.assertTrue(snapshot.restore(executor));
+        TableEnvironment environment = (TableEnvironment) executor.getCustomTableEnvironment();
+        String[] tables = environment.listTables();
+        Assert.assertTrue(Arrays.asList(tables).contains("env_table"));
+        Assert.assertFalse(Arrays.asList(tables).contains("job_table"));
+        Assert.assertFalse(Arrays.asList(tables).contains("job_view"));
+        Assert.assertFalse(Arrays.asList(environment.listDatabases()).contains("job_db"));
+        Assert.assertEquals("env", executor.getSetConfig().get("pipeline.name"));
+        Assert.assertFalse(executor.getSqlManager().getSqlFragment().containsKey("job_var"));
+    }
+}
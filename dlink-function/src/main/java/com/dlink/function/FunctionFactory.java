@@ -20,13 +20,16 @@
 package com.dlink.function;
 
 import com.dlink.function.compiler.FunctionCompiler;
-import com.dlink.function.compiler.FunctionPackage;
+import com.dlink.function.compiler.PythonFunction;
+import com.dlink.function.compiler.UDFCompileCache;
 import com.dlink.function.data.model.UDF;
 import com.dlink.function.data.model.UDFPath;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.catalog.FunctionLanguage;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author ZackYoung
@@ -42,11 +45,20 @@ public class FunctionFactory {
      * @return 打包过后的路径
      */
     public static UDFPath initUDF(List<UDF> udfClassList, Integer missionId, Configuration configuration) {
+        List<UDF> pythonList = udfClassList.stream()
+                .filter(udf -> udf.getFunctionLanguage() == FunctionLanguage.PYTHON)
+                .collect(Collectors.toList());
+
+        // Java/Scala 按内容寻址缓存编译结果与 jar
+        String[] jarPaths = UDFCompileCache.buildJar(udfClassList);
 
         // 编译
-        FunctionCompiler.getCompiler(udfClassList, configuration, missionId);
+        FunctionCompiler.getCompiler(pythonList, configuration, missionId);
 
         // 打包
-        return FunctionPackage.bale(udfClassList, missionId);
+        return UDFPath.builder()
+                .jarPaths(jarPaths)
+                .pyPaths(new PythonFunction().pack(pythonList, missionId))
+                .build();
     }
 }
@@ -0,0 +1,148 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.function.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * BatchJavaCompiler
+ * <p>
+ * 在一次 javax.tools 调用中编译多个源码，字节码只保存在内存中，由调用方直接写入 jar。
+ */
+public class BatchJavaCompiler {
+
+    private final List<String> sourceCodes;
+    // key:类的二进制名称（含内部类），value:字节码
+    private final Map<String, ByteArrayOutputStream> classBytes = new ConcurrentHashMap<>();
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    private final DiagnosticCollector<JavaFileObject> diagnosticsCollector = new DiagnosticCollector<>();
+    private long compilerTakeTime;
+
+    public BatchJavaCompiler(List<String> sourceCodes) {
+        this.sourceCodes = sourceCodes;
+    }
+
+    public boolean compiler() {
+        long startTime = System.currentTimeMillis();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnosticsCollector, null, null);
+        JavaFileManager javaFileManager = new MemoryJavaFileManager(standardFileManager);
+        List<JavaFileObject> javaFileObjects = new ArrayList<>();
+        for (String sourceCode : sourceCodes) {
+            javaFileObjects.add(new SourceJavaFileObject(CustomStringJavaCompiler.getFullClassName(sourceCode),
+                    sourceCode));
+        }
+        boolean success = compiler.getTask(null, javaFileManager, diagnosticsCollector, null, null, javaFileObjects)
+                .call();
+        compilerTakeTime = System.currentTimeMillis() - startTime;
+        return success;
+    }
+
+    /**
+     * @return 编译后的字节码，key 为类的二进制名称
+     */
+    public Map<String, byte[]> getClassBytes() {
+        return classBytes.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toByteArray()));
+    }
+
+    /**
+     * @return 编译出错的类名
+     */
+    public Set<String> getFailedClassNames() {
+        Set<String> failed = new LinkedHashSet<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnosticsCollector.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getSource() != null) {
+                String path = diagnostic.getSource().toUri().getPath();
+                failed.add(path.substring(1, path.length() - JavaFileObject.Kind.SOURCE.extension.length())
+                        .replace("/", "."));
+            }
+        }
+        return failed;
+    }
+
+    public String getCompilerMessage() {
+        StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnosticsCollector.getDiagnostics()) {
+            sb.append(diagnostic.toString()).append("\r\n");
+        }
+        return sb.toString();
+    }
+
+    public long getCompilerTakeTime() {
+        return compilerTakeTime;
+    }
+
+    private static class SourceJavaFileObject extends SimpleJavaFileObject {
+
+        private final String contents;
+
+        SourceJavaFileObject(String className, String contents) {
+            super(URI.create("string:///" + className.replace(".", "/") + Kind.SOURCE.extension), Kind.SOURCE);
+            this.contents = contents;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return contents;
+        }
+    }
+
+    private class MemoryJavaFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        MemoryJavaFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace(".", "/") + kind.extension),
+                    kind) {
+
+                @Override
+                public OutputStream openOutputStream() {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    classBytes.put(className, outputStream);
+                    return outputStream;
+                }
+            };
+        }
+    }
+}
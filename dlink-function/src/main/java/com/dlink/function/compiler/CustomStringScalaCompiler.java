@@ -33,9 +33,9 @@ import scala.tools.nsc.interpreter.IMain;
  */
 @Slf4j
 public class CustomStringScalaCompiler {
-    
+
     private static class ErrorHandler extends AbstractFunction1<String, BoxedUnit> {
-        
+
         @Override
         public BoxedUnit apply(String msg) {
             log.error("Interpreter error: {}", msg);
@@ -44,11 +44,15 @@ public class CustomStringScalaCompiler {
     }
 
     public static IMain getInterpreter(Integer missionId) {
+        return getInterpreter(PathConstant.getUdfCompilerJavaPath(missionId));
+    }
+
+    public static IMain getInterpreter(String outputPath) {
 
         GenericRunnerSettings settings = new GenericRunnerSettings(new ErrorHandler());
 
         settings.usejavacp().tryToSetFromPropertyValue("true");
-        settings.Yreploutdir().tryToSetFromPropertyValue(PathConstant.getUdfCompilerJavaPath(missionId));
+        settings.Yreploutdir().tryToSetFromPropertyValue(outputPath);
         return new IMain(settings);
     }
 }
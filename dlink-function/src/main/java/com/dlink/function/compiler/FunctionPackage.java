@@ -20,9 +20,7 @@
 package com.dlink.function.compiler;
 
 import com.dlink.function.data.model.UDF;
-import com.dlink.function.data.model.UDFPath;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,31 +37,4 @@ public interface FunctionPackage {
      * @return 文件绝对路径
      */
     String[] pack(List<UDF> udfList, Integer missionId);
-
-    /**
-     * 打包
-     *
-     * @param udfList   udf 列表
-     * @param missionId 任务id
-     * @return 打包结果
-     */
-    static UDFPath bale(List<UDF> udfList, Integer missionId) {
-        List<UDF> jvmList = new ArrayList<>();
-        List<UDF> pythonList = new ArrayList<>();
-        for (UDF udf : udfList) {
-            switch (udf.getFunctionLanguage()) {
-                default:
-                case JAVA:
-                case SCALA:
-                    jvmList.add(udf);
-                    break;
-                case PYTHON:
-                    pythonList.add(udf);
-            }
-        }
-        return UDFPath.builder()
-                .jarPaths(new JVMPackage().pack(jvmList, missionId))
-                .pyPaths(new PythonFunction().pack(pythonList, missionId))
-                .build();
-    }
 }
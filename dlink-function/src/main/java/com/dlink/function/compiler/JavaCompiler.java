@@ -47,11 +47,22 @@ public class JavaCompiler implements FunctionCompiler {
      */
     @Override
     public boolean compiler(UDF udf, ReadableConfig conf, Integer missionId) {
+        return compiler(udf, PathConstant.getUdfCompilerJavaPath(missionId));
+    }
+
+    /**
+     * 编译到指定目录
+     *
+     * @param udf        udf
+     * @param outputPath class 输出目录
+     * @return 是否成功
+     */
+    public boolean compiler(UDF udf, String outputPath) {
         ProcessEntity process = ProcessContextHolder.getProcess();
         process.info("正在编译 java 代码 , class: " + udf.getClassName());
 
         CustomStringJavaCompiler compiler = new CustomStringJavaCompiler(udf.getCode());
-        boolean res = compiler.compilerToTmpPath(PathConstant.getUdfCompilerJavaPath(missionId));
+        boolean res = compiler.compilerToTmpPath(outputPath);
         String className = compiler.getFullClassName();
         if (res) {
             process.info("class编译成功:" + className);
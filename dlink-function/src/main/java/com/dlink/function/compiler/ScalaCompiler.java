@@ -19,6 +19,7 @@
 
 package com.dlink.function.compiler;
 
+import com.dlink.function.constant.PathConstant;
 import com.dlink.function.data.model.UDF;
 import com.dlink.process.context.ProcessContextHolder;
 import com.dlink.process.model.ProcessEntity;
@@ -35,11 +36,15 @@ public class ScalaCompiler implements FunctionCompiler {
 
     @Override
     public boolean compiler(UDF udf, ReadableConfig conf, Integer missionId) {
+        return compiler(udf, PathConstant.getUdfCompilerJavaPath(missionId));
+    }
+
+    public boolean compiler(UDF udf, String outputPath) {
         ProcessEntity process = ProcessContextHolder.getProcess();
 
         String className = udf.getClassName();
         process.info("正在编译 scala 代码 , class: " + className);
-        if (CustomStringScalaCompiler.getInterpreter(missionId).compileString(udf.getCode())) {
+        if (CustomStringScalaCompiler.getInterpreter(outputPath).compileString(udf.getCode())) {
             process.info("scala class编译成功:" + className);
             return true;
         } else {
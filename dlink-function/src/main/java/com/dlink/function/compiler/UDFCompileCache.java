@@ -0,0 +1,399 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.function.compiler;
+
+import com.dlink.function.constant.PathConstant;
+import com.dlink.function.data.model.UDF;
+import com.dlink.function.exception.UDFCompilerException;
+import com.dlink.process.context.ProcessContextHolder;
+import com.dlink.process.model.ProcessEntity;
+
+import org.apache.flink.runtime.util.EnvironmentInformation;
+import org.apache.flink.table.catalog.FunctionLanguage;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.lang.Singleton;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * UDFCompileCache
+ * <p>
+ * 按内容寻址的 Java/Scala UDF 编译与打包缓存，目录名为源码、Flink 版本与编译 classpath 的哈希，
+ * 不同任务与重启之间共享。同一进程内相同内容的编译只执行一次，磁盘占用超限时按最近使用时间清理。
+ * 未命中的 Java UDF 在内存中批量编译，字节码直接写入 jar；Scala UDF 并行编译。
+ */
+@Slf4j
+public class UDFCompileCache {
+
+    private static final String CLASS_PATH = PathConstant.UDF_CACHE_PATH + "classes" + File.separator;
+    private static final String JAR_PATH = PathConstant.UDF_CACHE_PATH + "jars" + File.separator;
+    private static final String DONE_MARKER = ".done";
+
+    private static final long MAX_CACHE_BYTES = 1024L * 1024 * 1024;
+    private static final long MIN_RETAIN_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long CLEANUP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Map<String, CompletableFuture<File>> BUILDING = new ConcurrentHashMap<>();
+    private static final AtomicLong LAST_CLEANUP = new AtomicLong();
+
+    private static final AtomicInteger SCALA_THREAD_ID = new AtomicInteger();
+    private static final ExecutorService SCALA_COMPILER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), r -> {
+                Thread thread = new Thread(r, "ScalaUDFCompiler-" + SCALA_THREAD_ID.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final String ENVIRONMENT = SecureUtil.sha256(StrUtil.join("|",
+            EnvironmentInformation.getVersion(), System.getProperty("java.version"),
+            System.getProperty("java.class.path")));
+
+    private UDFCompileCache() {
+    }
+
+    /**
+     * 编译并打包 Java/Scala UDF，命中缓存时直接返回已有 jar
+     *
+     * @param udfList udf 列表
+     * @return jar 路径
+     */
+    public static String[] buildJar(List<UDF> udfList) {
+        List<UDF> jvmList = udfList.stream()
+                .filter(udf -> udf.getFunctionLanguage() == FunctionLanguage.JAVA
+                        || udf.getFunctionLanguage() == FunctionLanguage.SCALA)
+                .collect(Collectors.toList());
+        if (CollUtil.isEmpty(jvmList)) {
+            return new String[0];
+        }
+        String environment = environment();
+        List<String> keys = jvmList.stream().map(udf -> key(udf, environment)).collect(Collectors.toList());
+        String jarKey = SecureUtil.sha256(keys.stream().sorted().collect(Collectors.joining(",")));
+        File jar = FileUtil.file(JAR_PATH, jarKey + ".jar");
+        if (jar.exists()) {
+            touch(jar);
+            ProcessContextHolder.getProcess().info("UDF jar cache hit: " + jar.getName());
+        } else {
+            List<Map<String, byte[]>> classes = compile(jvmList, keys);
+            buildOnce("jar:" + jarKey, () -> pack(classes, jar));
+        }
+        cleanupIfNecessary();
+        return new String[]{jar.getAbsolutePath()};
+    }
+
+    public static String key(UDF udf) {
+        return key(udf, environment());
+    }
+
+    private static String key(UDF udf, String environment) {
+        return SecureUtil.sha256(StrUtil.join("|", environment, udf.getFunctionLanguage(), udf.getClassName(),
+                udf.getCode()));
+    }
+
+    /**
+     * 运行时动态加入的 jar 不在 java.class.path 中，按文件路径、大小与修改时间计入哈希
+     *
+     * @return 编译环境哈希
+     */
+    private static String environment() {
+        List<String> jars = new ArrayList<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        for (; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if (!"file".equals(url.getProtocol())) {
+                        jars.add(url.toString());
+                        continue;
+                    }
+                    File file = FileUtil.file(url);
+                    jars.add(StrUtil.join(":", file.getAbsolutePath(), file.length(), file.lastModified()));
+                }
+            }
+        }
+        if (jars.isEmpty()) {
+            return ENVIRONMENT;
+        }
+        return SecureUtil.sha256(ENVIRONMENT + "|" + String.join(",", jars));
+    }
+
+    /**
+     * 命中缓存的 UDF 从磁盘读取字节码；其余 Java UDF 一次批量编译，Scala UDF 并行编译。
+     * 其他线程正在编译的相同内容等待其结果。
+     *
+     * @return 每个 UDF 的 jar 条目名与字节码
+     */
+    private static List<Map<String, byte[]>> compile(List<UDF> udfList, List<String> keys) {
+        List<Map<String, byte[]>> result = new ArrayList<>(Collections.nCopies(udfList.size(), null));
+        Map<Integer, CompletableFuture<File>> owned = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<File>> waiting = new LinkedHashMap<>();
+        for (int i = 0; i < udfList.size(); i++) {
+            File dir = classDir(keys.get(i));
+            if (FileUtil.exist(new File(dir, DONE_MARKER))) {
+                touch(dir);
+                ProcessContextHolder.getProcess().info("UDF class cache hit: " + udfList.get(i).getClassName());
+                result.set(i, readClasses(udfList.get(i), dir));
+                continue;
+            }
+            CompletableFuture<File> future = new CompletableFuture<>();
+            CompletableFuture<File> running = BUILDING.putIfAbsent("class:" + keys.get(i), future);
+            if (running == null) {
+                owned.put(i, future);
+            } else {
+                waiting.put(i, running);
+            }
+        }
+        try {
+            List<Integer> javaIndexes = owned.keySet().stream()
+                    .filter(i -> udfList.get(i).getFunctionLanguage() == FunctionLanguage.JAVA)
+                    .collect(Collectors.toList());
+            List<Integer> scalaIndexes = owned.keySet().stream()
+                    .filter(i -> udfList.get(i).getFunctionLanguage() == FunctionLanguage.SCALA)
+                    .collect(Collectors.toList());
+            List<CompletableFuture<Void>> scalaFutures = new ArrayList<>();
+            ProcessEntity process = ProcessContextHolder.getProcess();
+            for (Integer i : scalaIndexes) {
+                scalaFutures.add(CompletableFuture.runAsync(() -> {
+                    ProcessContextHolder.setProcess(process);
+                    try {
+                        result.set(i, compileScala(udfList.get(i), keys.get(i)));
+                        owned.get(i).complete(classDir(keys.get(i)));
+                    } finally {
+                        ProcessContextHolder.clear();
+                    }
+                }, SCALA_COMPILER));
+            }
+            if (!javaIndexes.isEmpty()) {
+                List<UDF> javaList = javaIndexes.stream().map(udfList::get).collect(Collectors.toList());
+                List<Map<String, byte[]>> javaClasses = compileJava(javaList);
+                for (int j = 0; j < javaIndexes.size(); j++) {
+                    int i = javaIndexes.get(j);
+                    persist(javaClasses.get(j), keys.get(i));
+                    result.set(i, javaClasses.get(j));
+                    owned.get(i).complete(classDir(keys.get(i)));
+                }
+            }
+            CompletableFuture.allOf(scalaFutures.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            RuntimeException cause = e instanceof CompletionException && e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : e;
+            owned.values().forEach(future -> future.completeExceptionally(cause));
+            throw cause;
+        } finally {
+            owned.forEach((i, future) -> BUILDING.remove("class:" + keys.get(i), future));
+        }
+        waiting.forEach((i, future) -> result.set(i, readClasses(udfList.get(i), future.join())));
+        return result;
+    }
+
+    private static List<Map<String, byte[]>> compileJava(List<UDF> udfList) {
+        ProcessEntity process = ProcessContextHolder.getProcess();
+        process.info(StrUtil.format("正在批量编译 {} 个 java UDF", udfList.size()));
+        BatchJavaCompiler compiler = new BatchJavaCompiler(
+                udfList.stream().map(UDF::getCode).collect(Collectors.toList()));
+        if (!compiler.compiler()) {
+            log.error("class编译失败:{}", compiler.getFailedClassNames());
+            process.error("class编译失败:" + compiler.getFailedClassNames());
+            process.error(compiler.getCompilerMessage());
+            throw new UDFCompilerException(StrUtil.format("codeLanguage:JAVA , className:{} 编译失败",
+                    compiler.getFailedClassNames()));
+        }
+        process.info("compilerTakeTime：" + compiler.getCompilerTakeTime());
+        Map<String, byte[]> classBytes = compiler.getClassBytes();
+        List<Map<String, byte[]>> result = new ArrayList<>();
+        for (UDF udf : udfList) {
+            Map<String, byte[]> classes = new TreeMap<>();
+            classBytes.forEach((className, bytes) -> {
+                if (className.equals(udf.getClassName()) || className.startsWith(udf.getClassName() + "$")) {
+                    classes.put(StrUtil.replace(className, ".", "/") + ".class", bytes);
+                }
+            });
+            if (classes.isEmpty()) {
+                throw new UDFCompilerException("class not found after compile: " + udf.getClassName());
+            }
+            result.add(classes);
+        }
+        return result;
+    }
+
+    private static Map<String, byte[]> compileScala(UDF udf, String key) {
+        File tmp = FileUtil.file(CLASS_PATH, key + "." + IdUtil.fastSimpleUUID());
+        if (!Singleton.get(ScalaCompiler.class).compiler(udf, tmp.getAbsolutePath() + File.separator)) {
+            FileUtil.del(tmp);
+            throw new UDFCompilerException(StrUtil.format("codeLanguage:{} , className:{} 编译失败",
+                    udf.getFunctionLanguage(), udf.getClassName()));
+        }
+        Map<String, byte[]> classes = readClasses(udf, tmp);
+        FileUtil.touch(new File(tmp, DONE_MARKER));
+        publish(tmp, classDir(key));
+        return classes;
+    }
+
+    private static void persist(Map<String, byte[]> classes, String key) {
+        File tmp = FileUtil.file(CLASS_PATH, key + "." + IdUtil.fastSimpleUUID());
+        classes.forEach((path, bytes) -> FileUtil.writeBytes(bytes, FileUtil.file(tmp, path)));
+        FileUtil.touch(new File(tmp, DONE_MARKER));
+        publish(tmp, classDir(key));
+    }
+
+    private static Map<String, byte[]> readClasses(UDF udf, File dir) {
+        String classPath = StrUtil.replace(udf.getClassName(), ".", "/");
+        File packageDir = FileUtil.file(dir, classPath).getParentFile();
+        String simpleName = FileUtil.getName(classPath);
+        File[] classFiles = packageDir.listFiles((d, name) -> name.equals(simpleName + ".class")
+                || name.startsWith(simpleName + "$") && name.endsWith(".class"));
+        if (classFiles == null || classFiles.length == 0) {
+            throw new UDFCompilerException("class not found after compile: " + udf.getClassName());
+        }
+        String packagePath = classPath.contains("/") ? StrUtil.subBefore(classPath, "/", true) + "/" : "";
+        Map<String, byte[]> classes = new TreeMap<>();
+        for (File classFile : classFiles) {
+            classes.put(packagePath + classFile.getName(), FileUtil.readBytes(classFile));
+        }
+        return classes;
+    }
+
+    private static File pack(List<Map<String, byte[]>> classes, File jar) {
+        File tmp = FileUtil.file(JAR_PATH, jar.getName() + "." + IdUtil.fastSimpleUUID());
+        Set<String> written = new HashSet<>();
+        try (ZipOutputStream zip = new ZipOutputStream(FileUtil.getOutputStream(tmp))) {
+            for (Map<String, byte[]> entries : classes) {
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    if (written.add(entry.getKey())) {
+                        zip.putNextEntry(new ZipEntry(entry.getKey()));
+                        zip.write(entry.getValue());
+                        zip.closeEntry();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            FileUtil.del(tmp);
+            throw new UDFCompilerException("Failed to package udf jar: " + e.getMessage());
+        }
+        return publish(tmp, jar);
+    }
+
+    private static File classDir(String key) {
+        return FileUtil.file(CLASS_PATH, key);
+    }
+
+    /**
+     * 先写临时文件再重命名，其他进程已发布相同内容时使用已有结果
+     */
+    private static File publish(File tmp, File target) {
+        if (target.exists() && target.isDirectory() && !new File(target, DONE_MARKER).exists()) {
+            FileUtil.del(target);
+        }
+        if (!tmp.renameTo(target)) {
+            FileUtil.del(tmp);
+            if (!target.exists()) {
+                throw new UDFCompilerException("Failed to publish udf cache: " + target.getAbsolutePath());
+            }
+        }
+        return target;
+    }
+
+    private static File buildOnce(String key, Supplier<File> builder) {
+        CompletableFuture<File> future = new CompletableFuture<>();
+        CompletableFuture<File> running = BUILDING.putIfAbsent(key, future);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            File file = builder.get();
+            future.complete(file);
+            return file;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            BUILDING.remove(key, future);
+        }
+    }
+
+    private static void touch(File file) {
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            log.debug("Failed to touch udf cache: {}", file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 缓存总量超过上限时，按最近使用时间删除一小时前的条目
+     */
+    private static void cleanupIfNecessary() {
+        long now = System.currentTimeMillis();
+        long last = LAST_CLEANUP.get();
+        if (now - last < CLEANUP_INTERVAL_MILLIS || !LAST_CLEANUP.compareAndSet(last, now)) {
+            return;
+        }
+        List<File> entries = new ArrayList<>();
+        for (String path : Arrays.asList(CLASS_PATH, JAR_PATH)) {
+            File[] files = FileUtil.file(path).listFiles();
+            if (files != null) {
+                entries.addAll(Arrays.asList(files));
+            }
+        }
+        long total = entries.stream().mapToLong(FileUtil::size).sum();
+        if (total <= MAX_CACHE_BYTES) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(File::lastModified));
+        for (File entry : entries) {
+            if (total <= MAX_CACHE_BYTES || now - entry.lastModified() < MIN_RETAIN_MILLIS) {
+                break;
+            }
+            long size = FileUtil.size(entry);
+            if (FileUtil.del(entry)) {
+                total -= size;
+                log.info("Evict udf cache: {}", entry.getName());
+            }
+        }
+    }
+}
@@ -66,6 +66,10 @@ public class PathConstant {
      * udf jar tmp路径
      */
     public static final String UDF_JAR_TMP_PATH = UDF_PATH + UDF_JAR_TMP_NAME;
+    /**
+     * udf 编译与打包缓存路径，按内容哈希命名，所有任务共享
+     */
+    public static final String UDF_CACHE_PATH = UDF_PATH + "cache" + File.separator;
 
     public static String getPath(Object... path) {
         return StrUtil.join(File.separator, path) + File.separator;
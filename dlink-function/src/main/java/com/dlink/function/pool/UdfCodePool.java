@@ -25,6 +25,7 @@ import com.dlink.process.exception.DinkyException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import cn.hutool.core.util.StrUtil;
@@ -42,13 +43,24 @@ public class UdfCodePool {
      */
     private static final Map<String, UDF> CODE_POOL = new ConcurrentHashMap<>();
 
+    /**
+     * udf code version, increase on every change of the pool
+     */
+    private static final AtomicLong VERSION = new AtomicLong();
+
     public static void registerPool(List<UDF> udfList) {
         CODE_POOL.clear();
         CODE_POOL.putAll(udfList.stream().collect(Collectors.toMap(UDF::getClassName, udf -> udf)));
+        VERSION.incrementAndGet();
     }
 
     public static void addOrUpdate(UDF udf) {
         CODE_POOL.put(udf.getClassName(), udf);
+        VERSION.incrementAndGet();
+    }
+
+    public static long getVersion() {
+        return VERSION.get();
     }
 
     public static UDF getUDF(String className) {
@@ -201,7 +201,7 @@ public class UDFUtil {
                 }
             } else if (udf.getFunctionLanguage() == FunctionLanguage.SCALA) {
                 String className = udf.getClassName();
-                if (CustomStringScalaCompiler.getInterpreter(null).compileString(udf.getCode())) {
+                if (CustomStringScalaCompiler.getInterpreter((Integer) null).compileString(udf.getCode())) {
                     log.info("scala class编译成功:{}" + className);
                     ClassPool.push(ClassEntity.build(className, udf.getCode()));
                     successList.add(className);
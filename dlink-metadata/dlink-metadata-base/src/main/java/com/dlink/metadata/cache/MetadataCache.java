@@ -0,0 +1,160 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.metadata.cache;
+
+import com.dlink.model.Column;
+import com.dlink.model.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * MetadataCache
+ * <p>
+ * 数据源元数据缓存，按数据源维度维护版本号，显式失效后版本号递增，失效前发起的加载结果不会回填到新版本中。
+ * 字段信息按 schema 整库加载，同一 schema 的并发请求只会触发一次加载。
+ * 缓存超过有效期后整体重新加载，数据源与 schema 数量超过上限时淘汰，避免外部 DDL 变更长期不可见。
+ **/
+public class MetadataCache {
+
+    private static final long DEFAULT_EXPIRE_MILLIS = 10 * 60 * 1000L;
+    private static final int MAX_ENTRY_NUM = 128;
+    private static final int MAX_SCHEMA_NUM = 256;
+
+    private static volatile long expireMillis = DEFAULT_EXPIRE_MILLIS;
+
+    private static final Map<String, Entry> entryMap = new ConcurrentHashMap<>();
+
+    private static final AtomicLong versionGenerator = new AtomicLong();
+
+    public static List<Schema> getSchemas(String key, Supplier<List<Schema>> loader) {
+        return load(getEntry(key).schemas, "", s -> loader.get());
+    }
+
+    public static Map<String, List<Column>> getColumns(String key, String schemaName,
+            Function<String, Map<String, List<Column>>> loader) {
+        return load(getEntry(key).columns, schemaName, loader);
+    }
+
+    public static List<Column> getColumns(String key, String schemaName, String tableName,
+            Function<String, Map<String, List<Column>>> loader) {
+        return getColumns(key, schemaName, loader).getOrDefault(tableName, new ArrayList<>());
+    }
+
+    public static long getVersion(String key) {
+        return getEntry(key).version;
+    }
+
+    /**
+     * 使数据源的全部元数据失效，返回新的版本号
+     */
+    public static long invalidate(String key) {
+        entryMap.remove(key);
+        return getVersion(key);
+    }
+
+    /**
+     * 使数据源指定 schema 的字段信息失效
+     */
+    public static void invalidate(String key, String schemaName) {
+        Entry entry = entryMap.get(key);
+        if (entry != null) {
+            entry.columns.remove(schemaName);
+        }
+    }
+
+    static void setExpireMillis(long millis) {
+        expireMillis = millis;
+    }
+
+    private static Entry getEntry(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry = entryMap.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return entry;
+        }
+        if (entry == null && entryMap.size() >= MAX_ENTRY_NUM) {
+            evictEldest();
+        }
+        return entryMap.compute(key,
+                (k, old) -> old == null || old.isExpired(now)
+                        ? new Entry(versionGenerator.incrementAndGet(), now)
+                        : old);
+    }
+
+    private static void evictEldest() {
+        String eldestKey = null;
+        long eldestTime = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> item : entryMap.entrySet()) {
+            if (item.getValue().createTime < eldestTime) {
+                eldestKey = item.getKey();
+                eldestTime = item.getValue().createTime;
+            }
+        }
+        if (eldestKey != null) {
+            entryMap.remove(eldestKey);
+        }
+    }
+
+    private static <T> T load(Map<String, CompletableFuture<T>> futureMap, String name, Function<String, T> loader) {
+        CompletableFuture<T> future = futureMap.get(name);
+        if (future == null) {
+            if (futureMap.size() >= MAX_SCHEMA_NUM) {
+                futureMap.clear();
+            }
+            CompletableFuture<T> created = new CompletableFuture<>();
+            future = futureMap.putIfAbsent(name, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(loader.apply(name));
+                } catch (RuntimeException e) {
+                    futureMap.remove(name, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return future.join();
+    }
+
+    private static class Entry {
+
+        private final long version;
+        private final long createTime;
+        private final Map<String, CompletableFuture<List<Schema>>> schemas = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<Map<String, List<Column>>>> columns = new ConcurrentHashMap<>();
+
+        private Entry(long version, long createTime) {
+            this.version = version;
+            this.createTime = createTime;
+        }
+
+        private boolean isExpired(long now) {
+            return now - createTime >= expireMillis;
+        }
+    }
+}
@@ -42,41 +42,62 @@ public interface ITypeConvert {
 
     String convertToDB(ColumnType columnType);
 
+    /**
+     * 按列名读取，每次调用都会重新解析类型，批量读取时请使用 {@link #getValueReader(String)}
+     */
     default Object convertValue(ResultSet results, String columnName, String javaType) throws SQLException {
+        int columnIndex = results.findColumn(columnName);
+        return getValueReader(javaType).read(results, columnIndex);
+    }
+
+    default Object convertValue(ResultSet results, int columnIndex, String javaType) throws SQLException {
+        return getValueReader(javaType).read(results, columnIndex);
+    }
+
+    /**
+     * 预先解析列类型对应的读取方式，按列下标读取
+     */
+    default ValueReader getValueReader(String javaType) {
         if (Asserts.isNull(javaType)) {
-            return results.getString(columnName);
+            return ResultSet::getString;
         }
         switch (javaType.toLowerCase()) {
             case "string":
-                return results.getString(columnName);
+                return ResultSet::getString;
             case "double":
-                return results.getDouble(columnName);
+                return ResultSet::getDouble;
             case "int":
-                return results.getInt(columnName);
+                return ResultSet::getInt;
             case "float":
-                return results.getFloat(columnName);
+                return ResultSet::getFloat;
             case "bigint":
-                return results.getLong(columnName);
+                return ResultSet::getLong;
             case "decimal":
-                return results.getBigDecimal(columnName);
+                return ResultSet::getBigDecimal;
             case "date":
             case "localdate":
-                return results.getDate(columnName);
+                return ResultSet::getDate;
             case "time":
             case "localtime":
-                return results.getTime(columnName);
+                return ResultSet::getTime;
             case "timestamp":
-                return results.getTimestamp(columnName);
+                return ResultSet::getTimestamp;
             case "blob":
-                return results.getBlob(columnName);
+                return ResultSet::getBlob;
             case "boolean":
-                return results.getBoolean(columnName);
+                return ResultSet::getBoolean;
             case "byte":
-                return results.getByte(columnName);
+                return ResultSet::getByte;
             case "bytes":
-                return results.getBytes(columnName);
+                return ResultSet::getBytes;
             default:
-                return results.getString(columnName);
+                return ResultSet::getString;
         }
     }
+
+    @FunctionalInterface
+    interface ValueReader {
+
+        Object read(ResultSet results, int columnIndex) throws SQLException;
+    }
 }
@@ -26,6 +26,8 @@ import com.dlink.model.Column;
 import com.dlink.model.Schema;
 import com.dlink.model.Table;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -58,11 +60,24 @@ public abstract class AbstractDriver implements Driver {
     }
 
     public List<Schema> getSchemasAndTables() {
-        return listSchemas().stream().peek(schema -> schema.setTables(listTables(schema.getName()))).sorted().collect(Collectors.toList());
+        return listSchemas().stream().peek(schema -> schema.setTables(listTables(schema.getName()))).sorted()
+                .collect(Collectors.toList());
     }
 
     public List<Table> getTablesAndColumns(String schema) {
-        return listTables(schema).stream().peek(table -> table.setColumns(listColumns(schema, table.getName()))).sorted().collect(Collectors.toList());
+        Map<String, List<Column>> columnMap = listColumnsBySchema(schema);
+        return listTables(schema).stream()
+                .peek(table -> table.setColumns(columnMap.getOrDefault(table.getName(), new ArrayList<>()))).sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, List<Column>> listColumnsBySchema(String schemaName) {
+        Map<String, List<Column>> columnMap = new LinkedHashMap<>();
+        for (Table table : listTables(schemaName)) {
+            columnMap.put(table.getName(), listColumns(schemaName, table.getName()));
+        }
+        return columnMap;
     }
 
     @Override
@@ -82,7 +97,8 @@ public abstract class AbstractDriver implements Driver {
 
     @Override
     public boolean existTable(Table table) {
-        return listTables(table.getSchema()).stream().anyMatch(tableItem -> Asserts.isEquals(tableItem.getName(), table.getName()));
+        return listTables(table.getSchema()).stream()
+                .anyMatch(tableItem -> Asserts.isEquals(tableItem.getName(), table.getName()));
     }
 
     @Override
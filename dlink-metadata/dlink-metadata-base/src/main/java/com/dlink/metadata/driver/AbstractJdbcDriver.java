@@ -19,12 +19,9 @@
 
 package com.dlink.metadata.driver;
 
-import static com.dlink.utils.SplitUtil.contains;
-import static com.dlink.utils.SplitUtil.getReValue;
-import static com.dlink.utils.SplitUtil.isSplit;
-
 import com.dlink.assertion.Asserts;
 import com.dlink.constant.CommonConstant;
+import com.dlink.metadata.convert.ITypeConvert;
 import com.dlink.metadata.query.IDBQuery;
 import com.dlink.metadata.result.JdbcSelectResult;
 import com.dlink.model.Column;
@@ -36,6 +33,8 @@ import com.dlink.process.context.ProcessContextHolder;
 import com.dlink.process.model.ProcessEntity;
 import com.dlink.result.SqlExplainResult;
 import com.dlink.utils.LogUtil;
+import com.dlink.utils.SplitRouter;
+import com.dlink.utils.SplitUtil;
 import com.dlink.utils.TextUtil;
 
 import java.sql.Connection;
@@ -48,7 +47,6 @@ import java.sql.Statement;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -56,7 +54,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -81,7 +86,28 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
 
     protected ThreadLocal<Connection> conn = new ThreadLocal<>();
 
-    private DruidDataSource dataSource;
+    private volatile DruidDataSource dataSource;
+
+    public static final int DEFAULT_INITIAL_SIZE = 1;
+    public static final int DEFAULT_MIN_IDLE = 1;
+    public static final int DEFAULT_MAX_ACTIVE = 8;
+    public static final int DEFAULT_MAX_WAIT_MILLIS = 60000;
+    public static final int DEFAULT_REMOVE_ABANDONED_SECONDS = 1800;
+
+    private static final int QUERY_FETCH_SIZE = 1000;
+
+    private static final AtomicInteger METADATA_LOADER_ID = new AtomicInteger();
+
+    private static final ThreadPoolExecutor METADATA_LOADER = new ThreadPoolExecutor(16, 16, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "MetadataLoader-" + METADATA_LOADER_ID.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        METADATA_LOADER.allowCoreThreadTimeOut(true);
+    }
 
     abstract String getDriverClass();
 
@@ -104,6 +130,7 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
                 if (null == dataSource) {
                     DruidDataSource ds = new DruidDataSource();
                     createDataSource(ds, config);
+                    applyPoolConfig(ds, config);
                     ds.init();
                     this.dataSource = ds;
                 }
@@ -112,14 +139,13 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         return dataSource;
     }
 
+    public DruidDataSource getDataSource() {
+        return dataSource;
+    }
+
     @Override
     public Driver setDriverConfig(DriverConfig config) {
         this.config = config;
-        try {
-            this.dataSource = createDataSource();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
         return this;
     }
 
@@ -133,14 +159,26 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         ds.setTestWhileIdle(true);
         ds.setBreakAfterAcquireFailure(true);
         ds.setFailFast(true);
-        ds.setInitialSize(1);
-        ds.setMaxActive(8);
-        ds.setMinIdle(5);
+    }
+
+    /**
+     * 按数据源的连接池配置设置连接池大小，并回收超时未归还的连接以免泄漏
+     */
+    protected void applyPoolConfig(DruidDataSource ds, DriverConfig config) {
+        int maxActive = Math.max(1, config.getPoolOption("maxActive", DEFAULT_MAX_ACTIVE));
+        ds.setMaxActive(maxActive);
+        ds.setInitialSize(Math.min(config.getPoolOption("initialSize", DEFAULT_INITIAL_SIZE), maxActive));
+        ds.setMinIdle(Math.min(config.getPoolOption("minIdle", DEFAULT_MIN_IDLE), maxActive));
+        ds.setMaxWait(config.getPoolOption("maxWait", DEFAULT_MAX_WAIT_MILLIS));
+        ds.setRemoveAbandoned(true);
+        ds.setRemoveAbandonedTimeout(
+                config.getPoolOption("removeAbandonedTimeout", DEFAULT_REMOVE_ABANDONED_SECONDS));
+        ds.setLogAbandoned(true);
     }
 
     @Override
     public Driver connect() {
-        if (Asserts.isNull(conn.get())) {
+        if (!isHealth()) {
             try {
                 Class.forName(getDriverClass());
                 DruidPooledConnection connection = createDataSource().getConnection();
@@ -170,10 +208,19 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         try {
             if (Asserts.isNotNull(conn.get())) {
                 conn.get().close();
-                conn.remove();
             }
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            conn.remove();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        close();
+        if (Asserts.isNotNull(dataSource)) {
+            dataSource.close();
         }
     }
 
@@ -302,80 +349,9 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         try {
             preparedStatement = conn.get().prepareStatement(tableFieldsSql);
             results = preparedStatement.executeQuery();
-            ResultSetMetaData metaData = results.getMetaData();
-            List<String> columnList = new ArrayList<>();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                columnList.add(metaData.getColumnLabel(i));
-            }
+            Set<String> columnList = getColumnLabels(results);
             while (results.next()) {
-                Column field = new Column();
-                String columnName = results.getString(dbQuery.columnName());
-                if (columnList.contains(dbQuery.columnKey())) {
-                    String key = results.getString(dbQuery.columnKey());
-                    field.setKeyFlag(Asserts.isNotNullString(key) && Asserts.isEqualsIgnoreCase(dbQuery.isPK(), key));
-                }
-                field.setName(columnName);
-                if (columnList.contains(dbQuery.columnType())) {
-                    String columnType = results.getString(dbQuery.columnType());
-                    if (columnType.contains("(")) {
-                        String type = columnType.replaceAll("\\(.*\\)", "");
-                        if (!columnType.contains(",")) {
-                            Integer length = Integer.valueOf(columnType.replaceAll("\\D", ""));
-                            field.setLength(length);
-                        } else {
-                            // some database does not have precision
-                            if (dbQuery.precision() != null) {
-                                // 例如浮点类型的长度和精度是一样的，decimal(10,2)
-                                field.setLength(results.getInt(dbQuery.precision()));
-                            }
-                        }
-                        field.setType(type);
-                    } else {
-                        field.setType(columnType);
-                    }
-                }
-                if (columnList.contains(dbQuery.columnComment())
-                        && Asserts.isNotNull(results.getString(dbQuery.columnComment()))) {
-                    String columnComment = results.getString(dbQuery.columnComment()).replaceAll("\"|'", "");
-                    field.setComment(columnComment);
-                }
-                if (columnList.contains(dbQuery.columnLength())) {
-                    int length = results.getInt(dbQuery.columnLength());
-                    if (!results.wasNull()) {
-                        field.setLength(length);
-                    }
-                }
-                if (columnList.contains(dbQuery.isNullable())) {
-                    field.setNullable(Asserts.isEqualsIgnoreCase(results.getString(dbQuery.isNullable()),
-                            dbQuery.nullableValue()));
-                }
-                if (columnList.contains(dbQuery.characterSet())) {
-                    field.setCharacterSet(results.getString(dbQuery.characterSet()));
-                }
-                if (columnList.contains(dbQuery.collation())) {
-                    field.setCollation(results.getString(dbQuery.collation()));
-                }
-                if (columnList.contains(dbQuery.columnPosition())) {
-                    field.setPosition(results.getInt(dbQuery.columnPosition()));
-                }
-                if (columnList.contains(dbQuery.precision())) {
-                    field.setPrecision(results.getInt(dbQuery.precision()));
-                }
-                if (columnList.contains(dbQuery.scale())) {
-                    field.setScale(results.getInt(dbQuery.scale()));
-                }
-                if (columnList.contains(dbQuery.defaultValue())) {
-                    field.setDefaultValue(results.getString(dbQuery.defaultValue()));
-                }
-                if (columnList.contains(dbQuery.autoIncrement())) {
-                    field.setAutoIncrement(
-                            Asserts.isEqualsIgnoreCase(results.getString(dbQuery.autoIncrement()), "auto_increment"));
-                }
-                if (columnList.contains(dbQuery.defaultValue())) {
-                    field.setDefaultValue(results.getString(dbQuery.defaultValue()));
-                }
-                field.setJavaType(getTypeConvert().convert(field));
-                columns.add(field);
+                columns.add(buildColumn(results, dbQuery, columnList));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -385,6 +361,172 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         return columns;
     }
 
+    /**
+     * 获取整个 schema 下所有表的字段，key 为表名。
+     * 数据源提供整库字段查询 SQL 时一次查询完成，否则按表分组后借助连接池并发查询。
+     */
+    @Override
+    public Map<String, List<Column>> listColumnsBySchema(String schemaName) {
+        String sql = getDBQuery().columnsBySchemaSql(schemaName);
+        if (Asserts.isNotNullString(sql)) {
+            try {
+                return listColumnsBySql(sql);
+            } catch (SQLException e) {
+                logger.warn("整库字段查询失败，退化为按表并发查询：" + e.getMessage());
+            }
+        }
+        List<String> tableNames = listTables(schemaName).stream().map(Table::getName).collect(Collectors.toList());
+        return listColumns(schemaName, tableNames);
+    }
+
+    private Map<String, List<Column>> listColumnsBySql(String sql) throws SQLException {
+        Map<String, List<Column>> columnMap = new LinkedHashMap<>();
+        IDBQuery dbQuery = getDBQuery();
+        try (PreparedStatement preparedStatement = conn.get().prepareStatement(sql);
+                ResultSet results = preparedStatement.executeQuery()) {
+            Set<String> columnList = getColumnLabels(results);
+            while (results.next()) {
+                String tableName = results.getString(dbQuery.columnTableName());
+                columnMap.computeIfAbsent(tableName, k -> new ArrayList<>())
+                        .add(buildColumn(results, dbQuery, columnList));
+            }
+        }
+        return columnMap;
+    }
+
+    /**
+     * 并发获取多张表的字段，每个任务从 Druid 连接池中借用独立连接，并发度不超过连接池容量。
+     */
+    public Map<String, List<Column>> listColumns(String schemaName, List<String> tableNames) {
+        Map<String, List<Column>> columnMap = new LinkedHashMap<>();
+        int parallelism;
+        try {
+            // 当前线程已占用一个连接
+            parallelism = Math.min(createDataSource().getMaxActive() - 1, tableNames.size());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (parallelism <= 1) {
+            for (String tableName : tableNames) {
+                columnMap.put(tableName, listColumns(schemaName, tableName));
+            }
+            return columnMap;
+        }
+        Map<String, List<Column>> loaded = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            final int offset = i;
+            final int step = parallelism;
+            futures.add(METADATA_LOADER.submit(() -> {
+                connect();
+                try {
+                    for (int j = offset; j < tableNames.size(); j += step) {
+                        String tableName = tableNames.get(j);
+                        loaded.put(tableName, listColumns(schemaName, tableName));
+                    }
+                } finally {
+                    close();
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException(e.getCause());
+        }
+        for (String tableName : tableNames) {
+            columnMap.put(tableName, loaded.get(tableName));
+        }
+        return columnMap;
+    }
+
+    private Set<String> getColumnLabels(ResultSet results) throws SQLException {
+        ResultSetMetaData metaData = results.getMetaData();
+        Set<String> columnList = new HashSet<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnList.add(metaData.getColumnLabel(i));
+        }
+        return columnList;
+    }
+
+    private Column buildColumn(ResultSet results, IDBQuery dbQuery, Set<String> columnList) throws SQLException {
+        Column field = new Column();
+        String columnName = results.getString(dbQuery.columnName());
+        if (columnList.contains(dbQuery.columnKey())) {
+            String key = results.getString(dbQuery.columnKey());
+            field.setKeyFlag(Asserts.isNotNullString(key) && Asserts.isEqualsIgnoreCase(dbQuery.isPK(), key));
+        }
+        field.setName(columnName);
+        if (columnList.contains(dbQuery.columnType())) {
+            String columnType = results.getString(dbQuery.columnType());
+            if (columnType.contains("(")) {
+                String type = columnType.replaceAll("\\(.*\\)", "");
+                if (!columnType.contains(",")) {
+                    Integer length = Integer.valueOf(columnType.replaceAll("\\D", ""));
+                    field.setLength(length);
+                } else {
+                    // some database does not have precision
+                    if (dbQuery.precision() != null) {
+                        // 例如浮点类型的长度和精度是一样的，decimal(10,2)
+                        field.setLength(results.getInt(dbQuery.precision()));
+                    }
+                }
+                field.setType(type);
+            } else {
+                field.setType(columnType);
+            }
+        }
+        if (columnList.contains(dbQuery.columnComment())
+                && Asserts.isNotNull(results.getString(dbQuery.columnComment()))) {
+            String columnComment = results.getString(dbQuery.columnComment()).replaceAll("\"|'", "");
+            field.setComment(columnComment);
+        }
+        if (columnList.contains(dbQuery.columnLength())) {
+            int length = results.getInt(dbQuery.columnLength());
+            if (!results.wasNull()) {
+                field.setLength(length);
+            }
+        }
+        if (columnList.contains(dbQuery.isNullable())) {
+            field.setNullable(Asserts.isEqualsIgnoreCase(results.getString(dbQuery.isNullable()),
+                    dbQuery.nullableValue()));
+        }
+        if (columnList.contains(dbQuery.characterSet())) {
+            field.setCharacterSet(results.getString(dbQuery.characterSet()));
+        }
+        if (columnList.contains(dbQuery.collation())) {
+            field.setCollation(results.getString(dbQuery.collation()));
+        }
+        if (columnList.contains(dbQuery.columnPosition())) {
+            field.setPosition(results.getInt(dbQuery.columnPosition()));
+        }
+        if (columnList.contains(dbQuery.precision())) {
+            field.setPrecision(results.getInt(dbQuery.precision()));
+        }
+        if (columnList.contains(dbQuery.scale())) {
+            field.setScale(results.getInt(dbQuery.scale()));
+        }
+        if (columnList.contains(dbQuery.defaultValue())) {
+            field.setDefaultValue(results.getString(dbQuery.defaultValue()));
+        }
+        if (columnList.contains(dbQuery.autoIncrement())) {
+            field.setAutoIncrement(
+                    Asserts.isEqualsIgnoreCase(results.getString(dbQuery.autoIncrement()), "auto_increment"));
+        }
+        if (columnList.contains(dbQuery.defaultValue())) {
+            field.setDefaultValue(results.getString(dbQuery.defaultValue()));
+        }
+        field.setJavaType(getTypeConvert().convert(field));
+        return field;
+    }
+
     @Override
     public List<Column> listColumnsSortByPK(String schemaName, String tableName) {
         List<Column> columnList = listColumns(schemaName, tableName);
@@ -559,39 +701,40 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
             limit = 100;
         }
         JdbcSelectResult result = new JdbcSelectResult();
-        List<LinkedHashMap<String, Object>> datas = new ArrayList<>();
-        List<Column> columns = new ArrayList<>();
+        List<List<Object>> columnData = new ArrayList<>();
         List<String> columnNameList = new ArrayList<>();
         PreparedStatement preparedStatement = null;
         ResultSet results = null;
         int count = 0;
+        // 以查询 id 登记执行中的语句，页面可据此取消查询
+        String statementKey = RunningStatementPool.getQueryId();
+        result.setQueryId(statementKey);
         try {
             preparedStatement = conn.get().prepareStatement(sql);
+            if (limit > 0) {
+                // 由服务端限制返回行数，并分批拉取，避免预览大表时将整个结果集加载到内存
+                preparedStatement.setMaxRows(limit);
+                preparedStatement.setFetchSize(Math.min(limit, QUERY_FETCH_SIZE));
+            }
+            RunningStatementPool.push(statementKey, preparedStatement);
             results = preparedStatement.executeQuery();
             if (Asserts.isNull(results)) {
                 result.setSuccess(true);
-                close(preparedStatement, results);
                 return result;
             }
             ResultSetMetaData metaData = results.getMetaData();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            int columnCount = metaData.getColumnCount();
+            ITypeConvert.ValueReader[] readers = new ITypeConvert.ValueReader[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
                 columnNameList.add(metaData.getColumnLabel(i));
-                Column column = new Column();
-                column.setName(metaData.getColumnLabel(i));
-                column.setType(metaData.getColumnTypeName(i));
-                column.setAutoIncrement(metaData.isAutoIncrement(i));
-                column.setNullable(metaData.isNullable(i) == 0 ? false : true);
-                column.setJavaType(getTypeConvert().convert(column));
-                columns.add(column);
+                readers[i - 1] = getTypeConvert().getValueReader(metaData.getColumnTypeName(i));
+                columnData.add(new ArrayList<>(Math.max(Math.min(limit, QUERY_FETCH_SIZE), 0)));
             }
             result.setColumns(columnNameList);
             while (results.next()) {
-                LinkedHashMap<String, Object> data = new LinkedHashMap<>();
-                for (int i = 0; i < columns.size(); i++) {
-                    data.put(columns.get(i).getName(),
-                            getTypeConvert().convertValue(results, columns.get(i).getName(), columns.get(i).getType()));
+                for (int i = 0; i < columnCount; i++) {
+                    columnData.get(i).add(readers[i].read(results, i + 1));
                 }
-                datas.add(data);
                 count++;
                 if (count >= limit) {
                     break;
@@ -603,10 +746,11 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
             result.setSuccess(false);
             process.error(e.getMessage());
         } finally {
+            RunningStatementPool.remove(statementKey);
             close(preparedStatement, results);
-            result.setRowData(datas);
-            return result;
+            result.setColumnData(columnData, count);
         }
+        return result;
     }
 
     /**
@@ -727,67 +871,50 @@ public abstract class AbstractJdbcDriver extends AbstractDriver {
         Set<Table> set = new HashSet<>();
         List<Map<String, String>> schemaList = getSplitSchemaList();
         IDBQuery dbQuery = getDBQuery();
+        SplitRouter splitRouter = SplitUtil.getRouter(splitConfig);
 
         for (String table : tableRegList) {
             String[] split = table.split("\\\\.");
-            String database = split[0];
-            String tableName = split[1];
-            // 匹配对应的表
-            List<Map<String, String>> mapList = schemaList.stream()
-                    // 过滤不匹配的表
-                    .filter(x -> contains(database, x.get(dbQuery.schemaName()))
-                            && contains(tableName, x.get(dbQuery.tableName())))
-                    .collect(Collectors.toList());
-            List<Table> tableList = mapList.stream()
-                    // 去重
-                    .collect(Collectors.collectingAndThen(Collectors.toCollection(
-                            () -> new TreeSet<>(
-                                    Comparator.comparing(x -> getReValue(x.get(dbQuery.schemaName()), splitConfig) + "."
-                                            + getReValue(x.get(dbQuery.tableName()), splitConfig)))),
-                            ArrayList::new))
-                    .stream().map(x -> {
-                        Table tableInfo = new Table();
-                        tableInfo.setName(getReValue(x.get(dbQuery.tableName()), splitConfig));
-                        tableInfo.setComment(x.get(dbQuery.tableComment()));
-                        tableInfo.setSchema(getReValue(x.get(dbQuery.schemaName()), splitConfig));
-                        tableInfo.setType(x.get(dbQuery.tableType()));
-                        tableInfo.setCatalog(x.get(dbQuery.catalogName()));
-                        tableInfo.setEngine(x.get(dbQuery.engine()));
-                        tableInfo.setOptions(x.get(dbQuery.options()));
-                        tableInfo.setRows(Long.valueOf(x.get(dbQuery.rows())));
-                        try {
-                            tableInfo.setCreateTime(
-                                    SimpleDateFormat.getDateInstance().parse(x.get(dbQuery.createTime())));
-                            String updateTime = x.get(dbQuery.updateTime());
-                            if (Asserts.isNotNullString(updateTime)) {
-                                tableInfo.setUpdateTime(SimpleDateFormat.getDateInstance().parse(updateTime));
-                            }
-                        } catch (ParseException ignored) {
-                            logger.warn("set date fail");
-
-                        }
-                        TableType tableType = TableType.type(isSplit(x.get(dbQuery.schemaName()), splitConfig),
-                                isSplit(x.get(dbQuery.tableName()), splitConfig));
-                        tableInfo.setTableType(tableType);
-
-                        if (tableType != TableType.SINGLE_DATABASE_AND_TABLE) {
-                            String currentSchemaName = getReValue(x.get(dbQuery.schemaName()), splitConfig) + "."
-                                    + getReValue(x.get(dbQuery.tableName()), splitConfig);
-                            List<String> schemaTableNameList = mapList.stream()
-                                    .filter(y -> (getReValue(y.get(dbQuery.schemaName()), splitConfig) + "."
-                                            + getReValue(y.get(dbQuery.tableName()), splitConfig))
-                                                    .equals(currentSchemaName))
-                                    .map(y -> y.get(dbQuery.schemaName()) + "." + y.get(dbQuery.tableName()))
-                                    .collect(Collectors.toList());
-                            tableInfo.setSchemaTableNameList(schemaTableNameList);
-                        } else {
-                            tableInfo.setSchemaTableNameList(Collections
-                                    .singletonList(x.get(dbQuery.schemaName()) + "." + x.get(dbQuery.tableName())));
-                        }
-                        return tableInfo;
-                    }).collect(Collectors.toList());
-            set.addAll(tableList);
+            Pattern databasePattern = Pattern.compile(split[0]);
+            Pattern tablePattern = Pattern.compile(split[1]);
+            // 匹配对应的表，并按逻辑库表名分组去重
+            Map<String, List<Map<String, String>>> groupMap = new LinkedHashMap<>();
+            for (Map<String, String> x : schemaList) {
+                String schemaName = x.get(dbQuery.schemaName());
+                String tableName = x.get(dbQuery.tableName());
+                if (databasePattern.matcher(schemaName).matches() && tablePattern.matcher(tableName).matches()) {
+                    groupMap.computeIfAbsent(splitRouter.route(schemaName, tableName), k -> new ArrayList<>()).add(x);
+                }
+            }
+            for (List<Map<String, String>> group : groupMap.values()) {
+                Map<String, String> x = group.get(0);
+                Table tableInfo = new Table();
+                tableInfo.setName(splitRouter.getReValue(x.get(dbQuery.tableName())));
+                tableInfo.setComment(x.get(dbQuery.tableComment()));
+                tableInfo.setSchema(splitRouter.getReValue(x.get(dbQuery.schemaName())));
+                tableInfo.setType(x.get(dbQuery.tableType()));
+                tableInfo.setCatalog(x.get(dbQuery.catalogName()));
+                tableInfo.setEngine(x.get(dbQuery.engine()));
+                tableInfo.setOptions(x.get(dbQuery.options()));
+                tableInfo.setRows(Long.valueOf(x.get(dbQuery.rows())));
+                try {
+                    tableInfo.setCreateTime(SimpleDateFormat.getDateInstance().parse(x.get(dbQuery.createTime())));
+                    String updateTime = x.get(dbQuery.updateTime());
+                    if (Asserts.isNotNullString(updateTime)) {
+                        tableInfo.setUpdateTime(SimpleDateFormat.getDateInstance().parse(updateTime));
+                    }
+                } catch (ParseException ignored) {
+                    logger.warn("set date fail");
 
+                }
+                TableType tableType = TableType.type(splitRouter.isSplit(x.get(dbQuery.schemaName())),
+                        splitRouter.isSplit(x.get(dbQuery.tableName())));
+                tableInfo.setTableType(tableType);
+                tableInfo.setSchemaTableNameList(group.stream()
+                        .map(y -> y.get(dbQuery.schemaName()) + "." + y.get(dbQuery.tableName()))
+                        .collect(Collectors.toList()));
+                set.add(tableInfo);
+            }
         }
         return set;
     }
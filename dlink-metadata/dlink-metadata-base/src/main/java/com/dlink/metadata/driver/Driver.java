@@ -32,7 +32,6 @@ import com.dlink.result.SqlExplainResult;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.Set;
 
 /**
@@ -45,26 +44,32 @@ public interface Driver extends AutoCloseable {
 
     static Optional<Driver> get(DriverConfig config) {
         Asserts.checkNotNull(config, "数据源配置不能为空");
-        ServiceLoader<Driver> drivers = ServiceLoader.load(Driver.class);
-        for (Driver driver : drivers) {
-            if (driver.canHandle(config.getType())) {
-                return Optional.of(driver.setDriverConfig(config));
-            }
+        return DriverPool.newDriver(config.getType()).map(driver -> driver.setDriverConfig(config));
+    }
+
+    /**
+     * 创建不进入连接池注册表的 Driver，用于连接测试等一次性操作
+     */
+    static Driver getDriver(DriverConfig config) {
+        Optional<Driver> optionalDriver = Driver.get(config);
+        if (!optionalDriver.isPresent()) {
+            throw new MetaDataException("缺少数据源类型【" + config.getType() + "】的依赖，请在 lib 下添加对应的扩展依赖");
         }
-        return Optional.empty();
+        return optionalDriver.get();
     }
 
     static Driver build(DriverConfig config) {
-        String key = config.getName();
-        if (DriverPool.exist(key)) {
-            return getHealthDriver(key);
+        String key = config.getFingerprint();
+        Driver driver = getHealthDriver(key);
+        if (Asserts.isNotNull(driver)) {
+            return driver;
         }
-        synchronized (Driver.class) {
-            Optional<Driver> optionalDriver = Driver.get(config);
-            if (!optionalDriver.isPresent()) {
-                throw new MetaDataException("缺少数据源类型【" + config.getType() + "】的依赖，请在 lib 下添加对应的扩展依赖");
+        synchronized (DriverPool.lockOf(key)) {
+            driver = getHealthDriver(key);
+            if (Asserts.isNotNull(driver)) {
+                return driver;
             }
-            Driver driver = optionalDriver.get().connect();
+            driver = getDriver(config).connect();
             DriverPool.push(key, driver);
             return driver;
         }
@@ -72,7 +77,7 @@ public interface Driver extends AutoCloseable {
 
     static Driver getHealthDriver(String key) {
         Driver driver = DriverPool.get(key);
-        if (driver.isHealth()) {
+        if (Asserts.isNull(driver) || driver.isHealth()) {
             return driver;
         } else {
             return driver.connect();
@@ -125,6 +130,13 @@ public interface Driver extends AutoCloseable {
 
     void close();
 
+    /**
+     * 释放 Driver 持有的全部资源（如连接池），之后不可再使用
+     */
+    default void destroy() {
+        close();
+    }
+
     List<Schema> listSchemas();
 
     boolean existSchema(String schemaName);
@@ -139,6 +151,8 @@ public interface Driver extends AutoCloseable {
 
     List<Column> listColumnsSortByPK(String schemaName, String tableName);
 
+    Map<String, List<Column>> listColumnsBySchema(String schemaName);
+
     List<Schema> getSchemasAndTables();
 
     List<Table> getTablesAndColumns(String schemaName);
@@ -165,13 +179,15 @@ public interface Driver extends AutoCloseable {
 
     String generateCreateTableSql(Table table);
 
-    /* boolean insert(Table table, JsonNode data);
-
-    boolean update(Table table, JsonNode data);
-
-    boolean delete(Table table, JsonNode data);
-
-    SelectResult select(String sql);*/
+    /*
+     * boolean insert(Table table, JsonNode data);
+     * 
+     * boolean update(Table table, JsonNode data);
+     * 
+     * boolean delete(Table table, JsonNode data);
+     * 
+     * SelectResult select(String sql);
+     */
 
     boolean execute(String sql) throws Exception;
 
@@ -21,8 +21,11 @@ package com.dlink.metadata.driver;
 
 import com.dlink.assertion.Asserts;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.SecureUtil;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -36,6 +39,8 @@ import lombok.Setter;
 @Setter
 public class DriverConfig {
 
+    private static final String FINGERPRINT_SALT = IdUtil.fastSimpleUUID();
+
     private String name;
     private String type;
     private String ip;
@@ -43,6 +48,10 @@ public class DriverConfig {
     private String url;
     private String username;
     private String password;
+    /**
+     * 连接池配置，每行一个 key=value，如 maxActive=16
+     */
+    private String poolConfig;
 
     public DriverConfig() {
     }
@@ -55,9 +64,50 @@ public class DriverConfig {
         this.password = password;
     }
 
+    public DriverConfig(String name, String type, String url, String username, String password,
+            String poolConfig) {
+        this(name, type, url, username, password);
+        this.poolConfig = poolConfig;
+    }
+
     public static DriverConfig build(Map<String, String> confMap) {
         Asserts.checkNull(confMap, "数据源配置不能为空");
         return new DriverConfig(confMap.get("name"), confMap.get("type"), confMap.get("url"), confMap.get("username"),
-                confMap.get("password"));
+                confMap.get("password"), confMap.get("poolConfig"));
+    }
+
+    public Map<String, String> getPoolOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        if (Asserts.isNullString(poolConfig)) {
+            return options;
+        }
+        for (String line : poolConfig.split("[\\r\\n;]+")) {
+            int index = line.indexOf('=');
+            if (index > 0) {
+                options.put(line.substring(0, index).trim(), line.substring(index + 1).trim());
+            }
+        }
+        return options;
+    }
+
+    public int getPoolOption(String key, int defaultValue) {
+        String value = getPoolOptions().get(key);
+        if (Asserts.isNullString(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 连接指纹，相同连接参数与连接池配置的数据源共享同一个连接池。
+     * 指纹只用于进程内的连接池 key，加入进程随机盐避免被用来反推密码，不得对外暴露。
+     */
+    public String getFingerprint() {
+        return SecureUtil.sha256(FINGERPRINT_SALT + "\n" + type + "\n" + url + "\n" + username + "\n" + password
+                + "\n" + getPoolOptions());
     }
 }
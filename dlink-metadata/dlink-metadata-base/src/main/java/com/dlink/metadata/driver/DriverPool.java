@@ -19,38 +19,220 @@
 
 package com.dlink.metadata.driver;
 
+import com.dlink.assertion.Asserts;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+import lombok.Getter;
 
 /**
  * DriverPool
+ * <p>
+ * 以连接指纹为 key 的数据源注册表，长时间无人使用且没有活跃连接的连接池会被整体关闭。
  *
  * @author wenmo
  * @since 2022/2/17 15:29
  **/
 public class DriverPool {
 
-    private static volatile Map<String, Driver> driverMap = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    public static final long POOL_IDLE_MINUTES = 30;
+
+    private static final Map<String, DriverHolder> driverMap = new ConcurrentHashMap<>();
+
+    private static final Map<String, Object> buildLocks = new ConcurrentHashMap<>();
+
+    private static final Map<String, Class<? extends Driver>> driverClassMap = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "DriverPoolEvictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(() -> {
+            try {
+                evictIdle(TimeUnit.MINUTES.toMillis(POOL_IDLE_MINUTES));
+            } catch (Exception e) {
+                logger.warn("Evict idle driver pool failed: {}", e.getMessage());
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+    }
 
     public static boolean exist(String key) {
-        if (driverMap.containsKey(key)) {
-            return true;
-        }
-        return false;
+        return driverMap.containsKey(key);
     }
 
     public static Integer push(String key, Driver gainer) {
-        driverMap.put(key, gainer);
+        DriverHolder old = driverMap.put(key, new DriverHolder(gainer));
+        if (Asserts.isNotNull(old) && old.driver != gainer) {
+            old.driver.destroy();
+        }
         return driverMap.size();
     }
 
     public static Integer remove(String key) {
-        driverMap.remove(key);
+        DriverHolder holder = driverMap.remove(key);
+        if (Asserts.isNotNull(holder)) {
+            holder.driver.destroy();
+        }
+        return driverMap.size();
+    }
+
+    /**
+     * 关闭并移除指定数据源名称下的全部连接池，用于数据源配置变更后
+     */
+    public static Integer removeByName(String name) {
+        for (Map.Entry<String, DriverHolder> entry : driverMap.entrySet()) {
+            DriverConfig config = entry.getValue().config;
+            if (Asserts.isNotNull(config) && Asserts.isEquals(config.getName(), name)
+                    && driverMap.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().driver.destroy();
+            }
+        }
         return driverMap.size();
     }
 
+    /**
+     * 按连接指纹获取创建 Driver 时使用的锁，不同数据源建立连接时互不阻塞
+     */
+    public static Object lockOf(String key) {
+        return buildLocks.computeIfAbsent(key, k -> new Object());
+    }
+
     public static Driver get(String key) {
-        return driverMap.get(key);
+        DriverHolder holder = driverMap.get(key);
+        if (Asserts.isNull(holder)) {
+            return null;
+        }
+        holder.lastUseTime = System.currentTimeMillis();
+        return holder.driver;
     }
 
+    /**
+     * 按类型创建 Driver 实例，ServiceLoader 只在遇到未知类型时扫描
+     */
+    public static Optional<Driver> newDriver(String type) {
+        String key = String.valueOf(type).toLowerCase();
+        Class<? extends Driver> driverClass = driverClassMap.get(key);
+        if (Asserts.isNull(driverClass)) {
+            synchronized (driverClassMap) {
+                driverClass = driverClassMap.get(key);
+                if (Asserts.isNull(driverClass)) {
+                    for (Driver driver : ServiceLoader.load(Driver.class)) {
+                        driverClassMap.putIfAbsent(String.valueOf(driver.getType()).toLowerCase(),
+                                driver.getClass());
+                        if (Asserts.isNull(driverClass) && driver.canHandle(type)) {
+                            driverClass = driver.getClass();
+                        }
+                    }
+                    if (Asserts.isNull(driverClass)) {
+                        return Optional.empty();
+                    }
+                    driverClassMap.put(key, driverClass);
+                }
+            }
+        }
+        try {
+            return Optional.of(driverClass.newInstance());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 关闭超过 idleMillis 未被使用且没有活跃连接的连接池，返回关闭数量
+     */
+    public static int evictIdle(long idleMillis) {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Map.Entry<String, DriverHolder> entry : driverMap.entrySet()) {
+            DriverHolder holder = entry.getValue();
+            DruidDataSource dataSource = holder.getDataSource();
+            boolean active = Asserts.isNotNull(dataSource) && dataSource.getActiveCount() > 0;
+            if (now - holder.lastUseTime > idleMillis && !active
+                    && driverMap.remove(entry.getKey(), holder)) {
+                holder.driver.destroy();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 按数据源名称输出连接池指标，不包含连接指纹与 url 等可能携带凭据的信息
+     */
+    public static List<Metrics> metrics() {
+        long now = System.currentTimeMillis();
+        List<Metrics> metrics = new ArrayList<>();
+        for (DriverHolder holder : driverMap.values()) {
+            metrics.add(new Metrics(holder, now));
+        }
+        metrics.sort(Comparator.comparing(Metrics::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Metrics::getIdleSeconds));
+        return metrics;
+    }
+
+    private static class DriverHolder {
+
+        private final Driver driver;
+        private final DriverConfig config;
+        private volatile long lastUseTime = System.currentTimeMillis();
+
+        DriverHolder(Driver driver) {
+            this.driver = driver;
+            this.config = driver instanceof AbstractDriver ? ((AbstractDriver) driver).config : null;
+        }
+
+        DruidDataSource getDataSource() {
+            return driver instanceof AbstractJdbcDriver ? ((AbstractJdbcDriver) driver).getDataSource() : null;
+        }
+    }
+
+    @Getter
+    public static class Metrics {
+
+        private final String name;
+        private final String type;
+        private final long idleSeconds;
+        private int activeCount;
+        private int idleCount;
+        private int maxActive;
+        private int waitThreadCount;
+        private long waitCount;
+        private long waitMillis;
+        private long removeAbandonedCount;
+
+        Metrics(DriverHolder holder, long now) {
+            this.name = Asserts.isNull(holder.config) ? null : holder.config.getName();
+            this.type = holder.driver.getType();
+            this.idleSeconds = (now - holder.lastUseTime) / 1000;
+            DruidDataSource dataSource = holder.getDataSource();
+            if (Asserts.isNotNull(dataSource)) {
+                this.activeCount = dataSource.getActiveCount();
+                this.idleCount = dataSource.getPoolingCount();
+                this.maxActive = dataSource.getMaxActive();
+                this.waitThreadCount = dataSource.getWaitThreadCount();
+                this.waitCount = dataSource.getNotEmptyWaitCount();
+                this.waitMillis = dataSource.getNotEmptyWaitMillis();
+                this.removeAbandonedCount = dataSource.getRemoveAbandonedCount();
+            }
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.metadata.driver;
+
+import com.dlink.assertion.Asserts;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RunningStatementPool
+ * <p>
+ * 记录正在执行的查询语句，按查询 id 登记，支持从页面通过 Statement.cancel 取消。
+ * 查询 id 由页面在发起查询前生成并通过 {@link #bindQueryId} 绑定到当前线程，未绑定时由驱动自动生成。
+ **/
+public class RunningStatementPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunningStatementPool.class);
+
+    private static final Map<String, Statement> statementMap = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<String> queryIdHolder = new ThreadLocal<>();
+
+    public static void bindQueryId(String queryId) {
+        queryIdHolder.set(queryId);
+    }
+
+    public static void unbindQueryId() {
+        queryIdHolder.remove();
+    }
+
+    /**
+     * 返回当前线程绑定的查询 id，未绑定时生成一个新的 id
+     */
+    public static String getQueryId() {
+        String queryId = queryIdHolder.get();
+        return Asserts.isNotNullString(queryId) ? queryId : UUID.randomUUID().toString();
+    }
+
+    public static void push(String key, Statement statement) {
+        if (Asserts.isNotNullString(key)) {
+            statementMap.put(key, statement);
+        }
+    }
+
+    public static void remove(String key) {
+        if (Asserts.isNotNullString(key)) {
+            statementMap.remove(key);
+        }
+    }
+
+    public static boolean exist(String key) {
+        return statementMap.containsKey(key);
+    }
+
+    public static boolean cancel(String key) {
+        Statement statement = statementMap.remove(key);
+        if (Asserts.isNull(statement)) {
+            return false;
+        }
+        try {
+            statement.cancel();
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Cancel query {} failed.", key, e);
+            return false;
+        }
+    }
+}
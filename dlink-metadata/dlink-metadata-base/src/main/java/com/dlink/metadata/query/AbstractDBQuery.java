@@ -27,6 +27,16 @@ package com.dlink.metadata.query;
  **/
 public abstract class AbstractDBQuery implements IDBQuery {
 
+    @Override
+    public String columnsBySchemaSql(String schemaName) {
+        return null;
+    }
+
+    @Override
+    public String columnTableName() {
+        return "TABLE_NAME";
+    }
+
     @Override
     public String createTableSql(String schemaName, String tableName) {
         return "show create table " + schemaName + "." + tableName;
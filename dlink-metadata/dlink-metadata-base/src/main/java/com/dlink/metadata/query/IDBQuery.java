@@ -42,6 +42,17 @@ public interface IDBQuery {
      */
     String columnsSql(String schemaName, String tableName);
 
+    /**
+     * 整库表字段信息查询 SQL，一次查询返回 schema 下所有表的字段，需包含 {@link #columnTableName()} 列；
+     * 返回 null 表示该数据源不支持，将退化为按表并发查询
+     */
+    String columnsBySchemaSql(String schemaName);
+
+    /**
+     * 整库表字段查询结果中的表名列名
+     */
+    String columnTableName();
+
     /**
      * 建表 SQL
      */
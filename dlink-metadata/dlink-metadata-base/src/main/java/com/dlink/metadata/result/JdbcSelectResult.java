@@ -19,14 +19,18 @@
 
 package com.dlink.metadata.result;
 
+import com.dlink.assertion.Asserts;
 import com.dlink.result.AbstractResult;
 import com.dlink.result.IResult;
 
 import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * SelectResult
  *
@@ -34,14 +38,23 @@ import java.util.List;
  * @since 2021/7/19 23:31
  */
 public class JdbcSelectResult extends AbstractResult implements IResult {
+
     private List<String> columns;
     private List<LinkedHashMap<String, Object>> rowData;
+    /**
+     * 列式存储的查询结果，rowData 为空时按需逐行转换，避免为每行创建 Map
+     */
+    private List<List<Object>> columnData;
+    private RowDataView rowDataView;
+    private int rowCount;
+    private String queryId;
     private Integer total;
     private Integer page;
     private Integer limit;
 
     private static final String STATUS = "status";
     private static final List<String> STATUS_COLUMN = new ArrayList<String>() {
+
         {
             add("status");
         }
@@ -82,6 +95,12 @@ public class JdbcSelectResult extends AbstractResult implements IResult {
     }
 
     public List<LinkedHashMap<String, Object>> getRowData() {
+        if (Asserts.isNull(rowData) && Asserts.isNotNull(columnData)) {
+            if (Asserts.isNull(rowDataView)) {
+                rowDataView = new RowDataView();
+            }
+            return rowDataView;
+        }
         return rowData;
     }
 
@@ -89,6 +108,26 @@ public class JdbcSelectResult extends AbstractResult implements IResult {
         this.rowData = rowData;
     }
 
+    @JsonIgnore
+    public List<List<Object>> getColumnData() {
+        return columnData;
+    }
+
+    public void setColumnData(List<List<Object>> columnData, int rowCount) {
+        this.columnData = columnData;
+        this.rowCount = rowCount;
+        this.rowData = null;
+        this.rowDataView = null;
+    }
+
+    public String getQueryId() {
+        return queryId;
+    }
+
+    public void setQueryId(String queryId) {
+        this.queryId = queryId;
+    }
+
     public Integer getTotal() {
         return total;
     }
@@ -112,4 +151,30 @@ public class JdbcSelectResult extends AbstractResult implements IResult {
     public void setLimit(Integer limit) {
         this.limit = limit;
     }
+
+    /**
+     * 按需将列式结果转换为行，每行只转换一次
+     */
+    private class RowDataView extends AbstractList<LinkedHashMap<String, Object>> {
+
+        private final LinkedHashMap<String, Object>[] rows = new LinkedHashMap[rowCount];
+
+        @Override
+        public LinkedHashMap<String, Object> get(int index) {
+            LinkedHashMap<String, Object> row = rows[index];
+            if (row == null) {
+                row = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), columnData.get(i).get(index));
+                }
+                rows[index] = row;
+            }
+            return row;
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.metadata.cache;
+
+import com.dlink.model.Column;
+import com.dlink.model.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * MetadataCacheTest
+ **/
+public class MetadataCacheTest {
+
+    private Map<String, List<Column>> buildColumns(AtomicInteger loadCount) {
+        loadCount.incrementAndGet();
+        Map<String, List<Column>> columnMap = new HashMap<>();
+        Column column = new Column();
+        column.setName("id");
+        columnMap.put("user", Collections.singletonList(column));
+        return columnMap;
+    }
+
+    @Test
+    public void testColumnsLoadedOncePerSchema() {
+        AtomicInteger loadCount = new AtomicInteger();
+        List<Column> user = MetadataCache.getColumns("1", "db", "user", s -> buildColumns(loadCount));
+        List<Column> order = MetadataCache.getColumns("1", "db", "order", s -> buildColumns(loadCount));
+        Assert.assertEquals(1, user.size());
+        Assert.assertTrue(order.isEmpty());
+        Assert.assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        AtomicInteger loadCount = new AtomicInteger();
+        List<Schema> schemas = new ArrayList<>();
+        schemas.add(Schema.build("db"));
+        long version = MetadataCache.getVersion("2");
+        MetadataCache.getSchemas("2", () -> {
+            loadCount.incrementAndGet();
+            return schemas;
+        });
+        long newVersion = MetadataCache.invalidate("2");
+        Assert.assertTrue(newVersion > version);
+        MetadataCache.getSchemas("2", () -> {
+            loadCount.incrementAndGet();
+            return schemas;
+        });
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testLoadFailureNotCached() {
+        AtomicInteger loadCount = new AtomicInteger();
+        try {
+            MetadataCache.getColumns("3", "db", "user", s -> {
+                throw new RuntimeException("connect failed");
+            });
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals("connect failed", e.getMessage());
+        }
+        Assert.assertEquals(1, MetadataCache.getColumns("3", "db", "user", s -> buildColumns(loadCount)).size());
+    }
+
+    @Test
+    public void testExpire() {
+        AtomicInteger loadCount = new AtomicInteger();
+        MetadataCache.getColumns("4", "db", "user", s -> buildColumns(loadCount));
+        long version = MetadataCache.getVersion("4");
+        MetadataCache.setExpireMillis(0);
+        try {
+            MetadataCache.getColumns("4", "db", "user", s -> buildColumns(loadCount));
+            Assert.assertTrue(MetadataCache.getVersion("4") > version);
+        } finally {
+            MetadataCache.setExpireMillis(10 * 60 * 1000L);
+        }
+        Assert.assertEquals(2, loadCount.get());
+    }
+}
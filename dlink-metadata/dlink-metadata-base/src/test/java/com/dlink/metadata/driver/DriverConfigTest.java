@@ -0,0 +1,55 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.metadata.driver;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * DriverConfigTest
+ **/
+public class DriverConfigTest {
+
+    @Test
+    public void poolOptionTest() {
+        DriverConfig config = new DriverConfig("mysql", "MySql", "jdbc:mysql://127.0.0.1:3306/dlink", "root",
+                "123456", "maxActive = 16\nminIdle=2;maxWait=abc\n");
+        Map<String, String> options = config.getPoolOptions();
+        Assert.assertEquals("16", options.get("maxActive"));
+        Assert.assertEquals(16, config.getPoolOption("maxActive", 8));
+        Assert.assertEquals(2, config.getPoolOption("minIdle", 1));
+        Assert.assertEquals(60000, config.getPoolOption("maxWait", 60000));
+        Assert.assertEquals(1800, config.getPoolOption("removeAbandonedTimeout", 1800));
+    }
+
+    @Test
+    public void fingerprintTest() {
+        DriverConfig config = new DriverConfig("a", "MySql", "jdbc:mysql://127.0.0.1:3306/dlink", "root", "1");
+        DriverConfig renamed = new DriverConfig("b", "MySql", "jdbc:mysql://127.0.0.1:3306/dlink", "root", "1");
+        DriverConfig resized = new DriverConfig("a", "MySql", "jdbc:mysql://127.0.0.1:3306/dlink", "root", "1",
+                "maxActive=16");
+        Assert.assertEquals(config.getFingerprint(), renamed.getFingerprint());
+        Assert.assertNotEquals(config.getFingerprint(), resized.getFingerprint());
+        DriverConfig changed = new DriverConfig("a", "MySql", "jdbc:mysql://127.0.0.1:3306/dlink", "root", "2");
+        Assert.assertNotEquals(config.getFingerprint(), changed.getFingerprint());
+    }
+}
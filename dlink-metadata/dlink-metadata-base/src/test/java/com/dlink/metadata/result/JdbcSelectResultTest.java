@@ -0,0 +1,62 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.metadata.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JdbcSelectResultTest
+ **/
+public class JdbcSelectResultTest {
+
+    @Test
+    public void testColumnDataAsRows() {
+        JdbcSelectResult result = new JdbcSelectResult();
+        result.setColumns(Arrays.asList("id", "name"));
+        List<List<Object>> columnData = new ArrayList<>();
+        columnData.add(Arrays.asList(1, 2));
+        columnData.add(Arrays.asList("a", null));
+        result.setColumnData(columnData, 2);
+
+        List<LinkedHashMap<String, Object>> rowData = result.getRowData();
+        Assert.assertEquals(2, rowData.size());
+        Assert.assertEquals(1, rowData.get(0).get("id"));
+        Assert.assertEquals("a", rowData.get(0).get("name"));
+        Assert.assertTrue(rowData.get(1).containsKey("name"));
+        Assert.assertNull(rowData.get(1).get("name"));
+        Assert.assertEquals(Arrays.asList("id", "name"), new ArrayList<>(rowData.get(1).keySet()));
+        Assert.assertSame(rowData.get(0), result.getRowData().get(0));
+    }
+
+    @Test
+    public void testRowDataPreferred() {
+        JdbcSelectResult result = new JdbcSelectResult();
+        result.setColumnData(new ArrayList<>(), 0);
+        result.setStatusList(Arrays.asList(1, 0));
+        Assert.assertEquals(2, result.getRowData().size());
+        Assert.assertEquals(1, result.getRowData().get(0).get("status"));
+    }
+}
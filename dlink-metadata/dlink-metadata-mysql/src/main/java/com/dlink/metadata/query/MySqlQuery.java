@@ -49,6 +49,15 @@ public class MySqlQuery extends AbstractDBQuery {
                 + "order by ORDINAL_POSITION";
     }
 
+    @Override
+    public String columnsBySchemaSql(String schemaName) {
+        return "select TABLE_NAME,COLUMN_NAME,COLUMN_TYPE,COLUMN_COMMENT,COLUMN_KEY,EXTRA AS AUTO_INCREMENT"
+                + ",COLUMN_DEFAULT,IS_NULLABLE,NUMERIC_PRECISION,NUMERIC_SCALE,CHARACTER_SET_NAME"
+                + ",COLLATION_NAME,ORDINAL_POSITION from INFORMATION_SCHEMA.COLUMNS "
+                + "where TABLE_SCHEMA = '" + schemaName + "' "
+                + "order by TABLE_NAME,ORDINAL_POSITION";
+    }
+
     @Override
     public String schemaName() {
         return "Database";
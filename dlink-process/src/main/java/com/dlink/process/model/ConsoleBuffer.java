@@ -0,0 +1,153 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.process.model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * ConsoleBuffer
+ * <p>
+ * 按字节上限淘汰最旧行的环形控制台缓冲，每行分配一个单调递增的行号，支持按偏移量增量读取。
+ */
+public class ConsoleBuffer {
+
+    private static final long LINE_OVERHEAD_BYTES = 32;
+    private static final String TRUNCATED_SUFFIX = " ...(truncated)";
+
+    private final long maxBytes;
+    private final ArrayDeque<Line> lines = new ArrayDeque<>();
+    private long bytes;
+    private long firstOffset;
+    private long nextOffset;
+
+    public ConsoleBuffer(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public ConsoleBuffer(long maxBytes, String title) {
+        this(maxBytes);
+        append(title);
+    }
+
+    /**
+     * 追加一行，超出字节上限时从最旧的行开始淘汰，返回该行的行号
+     */
+    public synchronized long append(Object line) {
+        if (line == null) {
+            return nextOffset;
+        }
+        long size = estimateBytes(line);
+        if (size > maxBytes) {
+            String text = line.toString();
+            int keep = (int) Math.max(0, Math.min(text.length(), maxBytes / 4));
+            line = text.substring(0, keep) + TRUNCATED_SUFFIX;
+            size = estimateBytes(line);
+        }
+        lines.addLast(new Line(line, size));
+        bytes += size;
+        while (bytes > maxBytes && lines.size() > 1) {
+            bytes -= lines.removeFirst().bytes;
+            firstOffset++;
+        }
+        return nextOffset++;
+    }
+
+    /**
+     * 读取行号 offset 之后的内容，offset 已被淘汰或超出当前范围时从最早的行开始并标记 truncated
+     */
+    public synchronized ConsoleSlice read(long offset) {
+        boolean truncated = offset < firstOffset || offset > nextOffset;
+        long start = truncated ? firstOffset : offset;
+        if (start == nextOffset) {
+            return new ConsoleSlice(start, nextOffset, truncated, "");
+        }
+        Iterator<Line> iterator = lines.iterator();
+        for (long i = firstOffset; i < start; i++) {
+            iterator.next();
+        }
+        return ConsoleSlice.of(start, nextOffset, truncated, new LineIterator(iterator), nextOffset - start);
+    }
+
+    public synchronized boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getFirstOffset() {
+        return firstOffset;
+    }
+
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    @JsonValue
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Line line : lines) {
+            sb.append(line.value);
+        }
+        return sb.toString();
+    }
+
+    private static long estimateBytes(Object line) {
+        if (line instanceof ProcessMessage) {
+            return ((ProcessMessage) line).estimateBytes();
+        }
+        return LINE_OVERHEAD_BYTES + line.toString().length() * 2L;
+    }
+
+    private static class Line {
+
+        private final Object value;
+        private final long bytes;
+
+        Line(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    private static class LineIterator implements Iterator<Object> {
+
+        private final Iterator<Line> iterator;
+
+        LineIterator(Iterator<Line> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return iterator.next().value;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.process.model;
+
+import java.util.Iterator;
+
+/**
+ * ConsoleSlice
+ * <p>
+ * 控制台按偏移量读取的结果，offset 为本次内容的起始行号，nextOffset 为下次轮询应携带的行号，
+ * truncated 表示请求的行已被环形缓冲淘汰，前端需丢弃已展示内容后重新拼接。
+ */
+public class ConsoleSlice {
+
+    private long offset;
+    private long nextOffset;
+    private boolean truncated;
+    private String content;
+
+    public ConsoleSlice() {
+    }
+
+    public ConsoleSlice(long offset, long nextOffset, boolean truncated, String content) {
+        this.offset = offset;
+        this.nextOffset = nextOffset;
+        this.truncated = truncated;
+        this.content = content;
+    }
+
+    public static ConsoleSlice empty(long offset) {
+        return new ConsoleSlice(offset, offset, false, "");
+    }
+
+    static ConsoleSlice of(long offset, long nextOffset, boolean truncated, Iterator<?> lines, long count) {
+        StringBuilder sb = new StringBuilder();
+        for (long i = 0; i < count && lines.hasNext(); i++) {
+            sb.append(lines.next());
+        }
+        return new ConsoleSlice(offset, nextOffset, truncated, sb.toString());
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
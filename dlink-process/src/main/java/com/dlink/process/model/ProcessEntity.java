@@ -27,8 +27,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import cn.hutool.core.text.CharSequenceUtil;
-
 /**
  * Process
  *
@@ -119,7 +117,7 @@ public class ProcessEntity {
             return;
         }
         steps.get(stepIndex - 1).setEndTime(LocalDateTime.now());
-        String message = CharSequenceUtil.format("\n[{}] {} INFO: {}", type.getValue(), LocalDateTime.now(), str);
+        ProcessMessage message = new ProcessMessage(type, "INFO", str);
         steps.get(stepIndex - 1).appendInfo(message);
         setStatus(ProcessStatus.FINISHED);
         setEndTime(LocalDateTime.now());
@@ -131,7 +129,7 @@ public class ProcessEntity {
         if (isNullProcess()) {
             return;
         }
-        String message = CharSequenceUtil.format("\n[{}] {} CONFIG: {}", type.getValue(), LocalDateTime.now(), str);
+        ProcessMessage message = new ProcessMessage(type, "CONFIG", str);
         steps.get(stepIndex - 1).appendInfo(message);
         ConsolePool.write(message, userId);
     }
@@ -140,7 +138,7 @@ public class ProcessEntity {
         if (isNullProcess()) {
             return;
         }
-        String message = CharSequenceUtil.format("\n[{}] {} INFO: {}", type.getValue(), LocalDateTime.now(), str);
+        ProcessMessage message = new ProcessMessage(type, "INFO", str);
         steps.get(stepIndex - 1).appendInfo(message);
         ConsolePool.write(message, userId);
     }
@@ -165,7 +163,7 @@ public class ProcessEntity {
         if (isNullProcess()) {
             return;
         }
-        String message = CharSequenceUtil.format("\n[{}] {} ERROR: {}", type.getValue(), LocalDateTime.now(), str);
+        ProcessMessage message = new ProcessMessage(type, "ERROR", str);
         steps.get(stepIndex - 1).appendInfo(message);
         steps.get(stepIndex - 1).appendError(message);
         ConsolePool.write(message, userId);
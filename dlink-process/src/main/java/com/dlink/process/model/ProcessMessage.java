@@ -0,0 +1,75 @@
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.dlink.process.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ProcessMessage
+ * <p>
+ * 控制台日志行，只记录时间戳与原始内容，在读取时才格式化，避免每次写日志都拼接字符串。
+ */
+public class ProcessMessage {
+
+    private static final int BASE_BYTES = 48;
+
+    private final ProcessType type;
+    private final String level;
+    private final long time;
+    private final String content;
+
+    public ProcessMessage(ProcessType type, String level, String content) {
+        this.type = type;
+        this.level = level;
+        this.time = System.currentTimeMillis();
+        this.content = content;
+    }
+
+    public ProcessType getType() {
+        return type;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * 估算该行占用的堆内存字节数
+     */
+    public long estimateBytes() {
+        return BASE_BYTES + (content == null ? 0 : content.length() * 2L);
+    }
+
+    @Override
+    public String toString() {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        return "\n[" + (type == null ? null : type.getValue()) + "] " + dateTime + " " + level + ": " + content;
+    }
+}
@@ -29,23 +29,27 @@ import java.time.LocalDateTime;
  */
 public class ProcessStep {
 
+    public static final long INFO_MAX_BYTES = 512 * 1024L;
+    public static final long ERROR_MAX_BYTES = 128 * 1024L;
+
     private ProcessStatus stepStatus;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private long time;
-    private StringBuilder info = new StringBuilder();
-    private StringBuilder error = new StringBuilder();
+    private ConsoleBuffer info = new ConsoleBuffer(INFO_MAX_BYTES);
+    private ConsoleBuffer error = new ConsoleBuffer(ERROR_MAX_BYTES);
     private boolean isError = false;
 
     public ProcessStep() {
     }
 
     public ProcessStep(ProcessStatus stepStatus, LocalDateTime startTime) {
-        this(stepStatus, startTime, null, 0, new StringBuilder(), new StringBuilder());
+        this(stepStatus, startTime, null, 0, new ConsoleBuffer(INFO_MAX_BYTES),
+                new ConsoleBuffer(ERROR_MAX_BYTES));
     }
 
     public ProcessStep(ProcessStatus stepStatus, LocalDateTime startTime, LocalDateTime endTime, long time,
-                       StringBuilder info, StringBuilder error) {
+            ConsoleBuffer info, ConsoleBuffer error) {
         this.stepStatus = stepStatus;
         this.startTime = startTime;
         this.endTime = endTime;
@@ -62,12 +66,12 @@ public class ProcessStep {
         return new ProcessStep(ProcessStatus.RUNNING, LocalDateTime.now());
     }
 
-    public void appendInfo(String str) {
-        info.append(str);
+    public void appendInfo(Object message) {
+        info.append(message);
     }
 
-    public void appendError(String str) {
-        error.append(str);
+    public void appendError(Object message) {
+        error.append(message);
         isError = true;
     }
 
@@ -104,19 +108,19 @@ public class ProcessStep {
         this.time = time;
     }
 
-    public StringBuilder getInfo() {
+    public ConsoleBuffer getInfo() {
         return info;
     }
 
-    public void setInfo(StringBuilder info) {
+    public void setInfo(ConsoleBuffer info) {
         this.info = info;
     }
 
-    public StringBuilder getError() {
+    public ConsoleBuffer getError() {
         return error;
     }
 
-    public void setError(StringBuilder error) {
+    public void setError(ConsoleBuffer error) {
         this.error = error;
     }
 
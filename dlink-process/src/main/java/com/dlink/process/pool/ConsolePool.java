@@ -20,19 +20,26 @@
 package com.dlink.process.pool;
 
 import com.dlink.pool.AbstractPool;
+import com.dlink.process.model.ConsoleBuffer;
+import com.dlink.process.model.ConsoleSlice;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ConsolePool
+ * <p>
+ * 每个用户一个按字节上限淘汰的控制台缓冲，前端可按行号增量拉取。
  *
  * @author wenmo
  * @since 2022/10/18 22:51
  */
-public class ConsolePool extends AbstractPool<StringBuilder> {
+public class ConsolePool extends AbstractPool<ConsoleBuffer> {
 
-    private static final Map<String, StringBuilder> consoleEntityMap = new ConcurrentHashMap<>();
+    public static final long USER_CONSOLE_MAX_BYTES = 1024 * 1024L;
+    private static final String CONSOLE_TITLE = "Dinky User Console:";
+
+    private static final Map<String, ConsoleBuffer> consoleEntityMap = new ConcurrentHashMap<>();
 
     private static final ConsolePool instance = new ConsolePool();
 
@@ -41,17 +48,26 @@ public class ConsolePool extends AbstractPool<StringBuilder> {
     }
 
     @Override
-    public Map<String, StringBuilder> getMap() {
+    public Map<String, ConsoleBuffer> getMap() {
         return consoleEntityMap;
     }
 
     @Override
-    public void refresh(StringBuilder entity) {
+    public void refresh(ConsoleBuffer entity) {
 
     }
 
-    public static void write(String str, Integer userId) {
+    public static void write(Object message, Integer userId) {
         String user = String.valueOf(userId);
-        consoleEntityMap.computeIfAbsent(user, k -> new StringBuilder("Dinky User Console:")).append(str);
+        consoleEntityMap.computeIfAbsent(user, k -> new ConsoleBuffer(USER_CONSOLE_MAX_BYTES, CONSOLE_TITLE))
+                .append(message);
+    }
+
+    public static ConsoleSlice read(Integer userId, long offset) {
+        ConsoleBuffer buffer = consoleEntityMap.get(String.valueOf(userId));
+        if (buffer == null) {
+            return ConsoleSlice.empty(0);
+        }
+        return buffer.read(offset);
     }
 }
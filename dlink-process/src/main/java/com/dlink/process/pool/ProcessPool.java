@@ -22,18 +22,29 @@ package com.dlink.process.pool;
 import com.dlink.pool.AbstractPool;
 import com.dlink.process.model.ProcessEntity;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * ProcessPool
+ * <p>
+ * 已结束的进程保留 FINISHED_TTL_MINUTES 分钟，未正常结束的进程最多保留 MAX_TTL_HOURS 小时，
+ * 过期清理在 push 时顺带进行，每分钟至多一次。
  *
  * @author wenmo
  * @since 2022/10/16 17:00
  */
 public class ProcessPool extends AbstractPool<ProcessEntity> {
 
+    public static final long FINISHED_TTL_MINUTES = 60;
+    public static final long MAX_TTL_HOURS = 24;
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     private static final Map<String, ProcessEntity> processEntityMap = new ConcurrentHashMap<>();
+    private static final AtomicLong lastSweepTime = new AtomicLong();
 
     private static final ProcessPool instance = new ProcessPool();
 
@@ -46,8 +57,46 @@ public class ProcessPool extends AbstractPool<ProcessEntity> {
         return processEntityMap;
     }
 
+    @Override
+    public int push(String key, ProcessEntity entity) {
+        long now = System.currentTimeMillis();
+        long last = lastSweepTime.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweepTime.compareAndSet(last, now)) {
+            evictExpired(LocalDateTime.now());
+        }
+        return super.push(key, entity);
+    }
+
     @Override
     public void refresh(ProcessEntity entity) {
 
     }
+
+    /**
+     * 按 pid 清理过期进程，返回清理数量
+     */
+    public int evictExpired(LocalDateTime now) {
+        LocalDateTime finishedDeadline = now.minusMinutes(FINISHED_TTL_MINUTES);
+        LocalDateTime maxDeadline = now.minusHours(MAX_TTL_HOURS);
+        int count = 0;
+        for (Map.Entry<String, ProcessEntity> entry : processEntityMap.entrySet()) {
+            if (isExpired(entry.getValue(), finishedDeadline, maxDeadline)
+                    && processEntityMap.remove(entry.getKey(), entry.getValue())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isExpired(ProcessEntity entity, LocalDateTime finishedDeadline,
+            LocalDateTime maxDeadline) {
+        if (entity.getStartTime() != null && entity.getStartTime().isBefore(maxDeadline)) {
+            return true;
+        }
+        if (entity.getStatus() != null && entity.isActiveProcess()) {
+            return false;
+        }
+        LocalDateTime endTime = entity.getEndTime() != null ? entity.getEndTime() : entity.getStartTime();
+        return endTime != null && endTime.isBefore(finishedDeadline);
+    }
 }
@@ -19,14 +19,28 @@
 
 import {StateType} from "@/pages/DataStudio/model";
 import {connect} from "umi";
-import React, {useEffect, useState} from "react";
+import React, {useEffect, useRef, useState} from "react";
 import CodeShow from "@/components/Common/CodeShow";
-import {getConsoleInfo} from "@/pages/SettingCenter/ProcessList/service";
+import {readConsoleInfo} from "@/pages/SettingCenter/ProcessList/service";
+
+// 与服务端 ConsolePool.USER_CONSOLE_MAX_BYTES 一致，服务端按每字符 2 字节估算
+const CONSOLE_MAX_BYTES = 1024 * 1024;
+const CONSOLE_MAX_LENGTH = CONSOLE_MAX_BYTES / 2;
+
+const limitConsoleInfo = (info: string) => {
+  if (info.length <= CONSOLE_MAX_LENGTH) {
+    return info;
+  }
+  const tail = info.substring(info.length - CONSOLE_MAX_LENGTH);
+  const lineStart = tail.indexOf('\n');
+  return lineStart < 0 ? tail : tail.substring(lineStart + 1);
+};
 
 const StudioMsg = (props: any) => {
 
   const {current, height, isActive} = props;
   const [consoleInfo, setConsoleInfo] = useState<string>("");
+  const offset = useRef<number>(0);
 
   useEffect(() => {
     refreshConsoleInfo();
@@ -38,9 +52,22 @@ const StudioMsg = (props: any) => {
 
   const refreshConsoleInfo = () => {
     if (isActive) {
-      const res = getConsoleInfo();
+      const res = readConsoleInfo(offset.current);
       res.then((result) => {
-        result.datas && setConsoleInfo(result.datas);
+        const slice = result.datas;
+        if (!slice) {
+          return;
+        }
+        if (slice.truncated) {
+          offset.current = slice.nextOffset;
+          setConsoleInfo(limitConsoleInfo(slice.content));
+        } else if (slice.offset === offset.current) {
+          // 轮询重叠时同一段内容可能返回两次，只追加紧接当前偏移量的内容
+          offset.current = slice.nextOffset;
+          if (slice.content) {
+            setConsoleInfo((info) => limitConsoleInfo(info + slice.content));
+          }
+        }
       });
     }
   }
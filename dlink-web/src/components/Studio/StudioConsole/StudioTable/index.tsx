@@ -21,8 +21,9 @@
 import {Button, Empty, Tag} from "antd";
 import {StateType} from "@/pages/DataStudio/model";
 import {connect} from "umi";
-import {FireOutlined, SearchOutlined} from '@ant-design/icons';
-import {showJobData} from "@/components/Studio/StudioEvent/DQL";
+import {FireOutlined, PauseCircleOutlined, SearchOutlined, SyncOutlined} from '@ant-design/icons';
+import {showJobData, subscribeJobData} from "@/components/Studio/StudioEvent/DQL";
+import {useEffect, useRef, useState} from "react";
 import {isSql} from "@/components/Studio/conf";
 import DTable from "@/components/Common/DTable";
 import {l} from "@/utils/intl";
@@ -30,6 +31,15 @@ import {l} from "@/utils/intl";
 const StudioTable = (props: any) => {
 
   const {current, dispatch} = props;
+  const [subscribed, setSubscribed] = useState<boolean>(false);
+  const unsubscribe = useRef<() => void>();
+
+  const stopSubscribe = () => {
+    unsubscribe.current && unsubscribe.current();
+    unsubscribe.current = undefined;
+  };
+
+  useEffect(() => stopSubscribe, [current?.key, current?.console?.result?.jobId]);
 
   const getColumns = (columns: []) => {
     let datas: any = [];
@@ -45,12 +55,25 @@ const StudioTable = (props: any) => {
     showJobData(current.key, current.console.result.jobId, dispatch)
   };
 
+  const toggleSubscribe = () => {
+    if (subscribed) {
+      stopSubscribe();
+      return;
+    }
+    setSubscribed(true);
+    unsubscribe.current = subscribeJobData(current.key, current.console.result.jobId, dispatch,
+      () => setSubscribed(false));
+  };
+
   const renderFlinkSQLContent = () => {
     return (<>
       {(current.console.result.jobId && (current.console.result.jobId.indexOf('unknown') === -1)) ? (<>
         <Button type="primary" onClick={showDetail} icon={<SearchOutlined/>}>
           {l('pages.datastudio.label.result.query.latest.data')}
         </Button> &nbsp;
+        <Button onClick={toggleSubscribe} icon={subscribed ? <PauseCircleOutlined/> : <SyncOutlined/>}>
+          {subscribed ? l('pages.datastudio.label.result.query.unsubscribe') : l('pages.datastudio.label.result.query.subscribe')}
+        </Button> &nbsp;
         <Tag color="blue" key={current.console.result.jobId}>
           <FireOutlined/> {current.console.result.jobId}
         </Tag></>) : undefined}
@@ -234,8 +234,13 @@ export function showTableData(id: number, schemaName: String, tableName: String,
   return postAll('api/database/queryData', {id: id, schemaName: schemaName, tableName: tableName, option: option});
 }
 /*--- 执行sql---*/
-export function execDatabaseSql(id: number, sql: String) {
-  return postAll('api/database/execSql', {id: id, sql: sql});
+export function execDatabaseSql(id: number, sql: String, queryId?: string) {
+  return postAll('api/database/execSql', {id: id, sql: sql, queryId: queryId});
+}
+
+/*--- 取消执行中的sql---*/
+export function cancelDatabaseQuery(queryId: string) {
+  return getData('api/database/cancelQuery', {queryId: queryId});
 }
 
 /*--- 刷新 Flink Jobs ---*/
@@ -18,20 +18,104 @@
  */
 
 
-import {getJobData} from "@/pages/DataStudio/service";
+import {getJobData, getJobDataIncrement, streamJobData} from "@/pages/DataStudio/service";
 
-export function showJobData(key: number,jobId: string,dispatch: any) {
-  if(!jobId){
+type JobDataCache = {
+  version: number;
+  columns: string[];
+  rowData: any[];
+};
+
+// 按 jobId 缓存已拉取的预览数据，之后只拉取增量
+const jobDataCache: Map<string, JobDataCache> = new Map();
+
+const sameRow = (a: any, b: any) => {
+  const keys = Object.keys(a);
+  return keys.length === Object.keys(b).length && keys.every((k) => a[k] === b[k]);
+};
+
+const applyIncrement = (jobId: string, increment: any) => {
+  let cache = jobDataCache.get(jobId);
+  if (!cache || increment.reset) {
+    cache = {version: 0, columns: increment.columns, rowData: []};
+  }
+  const rowData = [...cache.rowData];
+  increment.retractData?.forEach((row: any) => {
+    const index = rowData.findIndex((item) => sameRow(item, row));
+    if (index !== -1) {
+      rowData.splice(index, 1);
+    }
+  });
+  rowData.push(...(increment.appendData || []));
+  cache = {version: increment.version, columns: increment.columns, rowData};
+  jobDataCache.set(jobId, cache);
+  return {
+    jobId,
+    columns: cache.columns,
+    rowData: cache.rowData,
+    total: increment.total,
+    truncated: increment.truncated,
+    finished: increment.finished,
+    success: true,
+  };
+};
+
+const saveResult = (key: number, datas: any, dispatch: any) => {
+  dispatch && dispatch({
+    type: "Studio/saveResult",
+    payload: {
+      key,
+      datas,
+    },
+  });
+};
+
+const showFullJobData = (key: number, jobId: string, dispatch: any) => {
+  jobDataCache.delete(jobId);
+  getJobData(jobId).then((result) => {
+    saveResult(key, result.datas, dispatch);
+  });
+};
+
+export function showJobData(key: number, jobId: string, dispatch: any) {
+  if (!jobId) {
     return;
   }
-  const res = getJobData(jobId);
-  res.then((result)=>{
-    dispatch&&dispatch({
-      type: "Studio/saveResult",
-      payload: {
-        key,
-        datas: result.datas
-      },
-    });
+  const version = jobDataCache.get(jobId)?.version || 0;
+  getJobDataIncrement(jobId, version).then((result) => {
+    const increment = result.datas;
+    if (!increment || increment.destroyed) {
+      showFullJobData(key, jobId, dispatch);
+      return;
+    }
+    saveResult(key, applyIncrement(jobId, increment), dispatch);
+  });
+}
+
+/**
+ * 订阅预览数据的增量推送，返回取消订阅的函数。采集结束或结果销毁后自动关闭。
+ */
+export function subscribeJobData(key: number, jobId: string, dispatch: any, onClose?: () => void) {
+  if (!jobId) {
+    return () => {};
+  }
+  const source = streamJobData(jobId, jobDataCache.get(jobId)?.version || 0);
+  const close = () => {
+    source.close();
+    onClose && onClose();
+  };
+  source.addEventListener('data', (event: any) => {
+    const increment = JSON.parse(event.data);
+    if (increment.destroyed) {
+      close();
+      showFullJobData(key, jobId, dispatch);
+      return;
+    }
+    saveResult(key, applyIncrement(jobId, increment), dispatch);
+    if (increment.finished) {
+      close();
+    }
   });
+  source.onerror = close;
+  return close;
 }
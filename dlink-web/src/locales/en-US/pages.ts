@@ -295,6 +295,8 @@ export default {
   'pages.datastudio.label.info': 'Console',
   'pages.datastudio.label.result': 'Result',
   'pages.datastudio.label.result.query.latest.data': 'Get the latest data',
+  'pages.datastudio.label.result.query.subscribe': 'Keep refreshing',
+  'pages.datastudio.label.result.query.unsubscribe': 'Stop refreshing',
 
 
   'pages.datastudio.explain.validate.msg': 'FlinkSql Syntax and logic check',
@@ -323,6 +325,7 @@ export default {
   'pages.metadata.help.noSqlSelect': 'No Sql Select！',
   'pages.metadata.help.selectSql': 'please choose sql in editor',
   'pages.metadata.help.exec': 'exec sql',
+  'pages.metadata.help.cancel': 'cancel the running sql',
   'pages.metadata.exec.result.msg': 'Execution Time: {time} s, Row count: {rowCount}',
   'pages.metadata.exec.result.msghelp': 'row count more than 500, only show top 500',
 
@@ -709,6 +712,7 @@ export default {
   'pages.rc.db.password': 'Password',
   'pages.rc.db.flinkConfig': 'Flink Connection Config',
   'pages.rc.db.flinkTemplate': 'Flink Connection Template',
+  'pages.rc.db.poolConfig': 'Connection Pool',
   'pages.rc.db.create': 'Create DataSource',
   'pages.rc.db.modify': 'Modify DataSource',
   'pages.rc.db.delete': 'Delete DataSource',
@@ -718,6 +722,7 @@ export default {
   'pages.rc.db.urlPlaceholder': 'Please enter a properly formatted url connection!',
   'pages.rc.db.flinkConfigPlaceholder': 'Please specify the default Config of Flink With!',
   'pages.rc.db.flinkTemplatePlaceholder': 'Please specify the generated template of Flink With!',
+  'pages.rc.db.poolConfigPlaceholder': 'One key=value per line, such as maxActive=8, minIdle=1, maxWait=60000, removeAbandonedTimeout=1800',
   'pages.rc.db.copyDatabase': 'Copying!',
   'pages.rc.db.source': 'Source',
   'pages.rc.db.warehouse': 'Data WareHouse',
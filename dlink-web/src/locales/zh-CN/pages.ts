@@ -295,6 +295,7 @@ export default {
   'pages.metadata.help.noSqlSelect': '未选择任何sql！',
   'pages.metadata.help.selectSql': '请在编辑器内选择你要执行的sql',
   'pages.metadata.help.exec': '执行选中sql',
+  'pages.metadata.help.cancel': '取消执行中的sql',
   'pages.metadata.exec.result.msg': '执行时间: {time} 秒, 总行数: {rowCount}',
   'pages.metadata.exec.result.msghelp': '行数超过500，仅显示前500',
 
@@ -306,6 +307,8 @@ export default {
   'pages.datastudio.label.info': '控制台',
   'pages.datastudio.label.result': '结果',
   'pages.datastudio.label.result.query.latest.data': '获取最新数据',
+  'pages.datastudio.label.result.query.subscribe': '持续刷新',
+  'pages.datastudio.label.result.query.unsubscribe': '停止刷新',
 
   'pages.datastudio.explain.validate.msg': 'FlinkSql 语法和逻辑检查',
   'pages.datastudio.explain.validate': '正在校验中...',
@@ -711,6 +714,7 @@ export default {
   'pages.rc.db.password': '密码',
   'pages.rc.db.flinkConfig': 'Flink 连接配置',
   'pages.rc.db.flinkTemplate': 'Flink 连接模板',
+  'pages.rc.db.poolConfig': '连接池配置',
   'pages.rc.db.create': '创建数据源',
   'pages.rc.db.modify': '修改数据源',
   'pages.rc.db.delete': '删除数据源',
@@ -720,6 +724,7 @@ export default {
   'pages.rc.db.urlPlaceholder': '请输入格式正确的 url 连接!',
   'pages.rc.db.flinkConfigPlaceholder': '请指定 Flink With 的默认配置!',
   'pages.rc.db.flinkTemplatePlaceholder': '请指定 Flink With 的生成模板!',
+  'pages.rc.db.poolConfigPlaceholder': '每行一个 key=value，如 maxActive=8、minIdle=1、maxWait=60000、removeAbandonedTimeout=1800',
   'pages.rc.db.copyDatabase': '正在复制!',
   'pages.rc.db.source': '来源',
   'pages.rc.db.warehouse': '数仓',
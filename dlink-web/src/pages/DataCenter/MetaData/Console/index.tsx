@@ -21,8 +21,8 @@
 import {Alert, Col, Divider, notification, Row, Spin, Table, Tooltip} from 'antd';
 import React, {useEffect, useRef, useState} from "react";
 import MonacoEditor from "react-monaco-editor";
-import {CaretRightOutlined, InfoCircleOutlined} from "@ant-design/icons";
-import {execDatabaseSql} from "@/components/Studio/StudioEvent/DDL";
+import {CaretRightOutlined, InfoCircleOutlined, StopOutlined} from "@ant-design/icons";
+import {cancelDatabaseQuery, execDatabaseSql} from "@/components/Studio/StudioEvent/DDL";
 import {ProColumns} from "@ant-design/pro-table/lib/typing";
 import * as _monaco from "monaco-editor";
 import {l} from "@/utils/intl";
@@ -54,6 +54,8 @@ const Console = (props: any) => {
     });
     // 加载状态
     const [loading, setLoading] = useState<boolean>(false);
+    // 执行中的查询 id，用于取消查询
+    const queryIdRef = useRef<string>();
     const [errMsg, setErrMsg] = useState<{ isErr: boolean, msg: string }>({isErr: false, msg: ""});
 
     //自定义sql提示保存的数组
@@ -164,9 +166,11 @@ const Console = (props: any) => {
       }
 
       setLoading(true);
+      const queryId = `${dbId}_${Date.now()}_${Math.random().toString(36).substring(2)}`;
+      queryIdRef.current = queryId;
       let temp: { columns: ProColumns[], rowData: {}[], msg: string } = {rowData: [], columns: [], msg: ""}
 
-      await execDatabaseSql(dbId, selectSql).then(result => {
+      await execDatabaseSql(dbId, selectSql, queryId).then(result => {
         if (result.code == 1) {
           setErrMsg({isErr: true, msg: result.datas.error})
         } else {
@@ -193,10 +197,17 @@ const Console = (props: any) => {
           temp.msg = `${temp.msg} , row count more than 500, only show top 500`
         }
       })
+      queryIdRef.current = undefined;
       setableData(temp);
       setLoading(false)
     };
 
+    const cancelSql = () => {
+      if (queryIdRef.current) {
+        cancelDatabaseQuery(queryIdRef.current);
+      }
+    };
+
     return (<>
       <div>
         <Row>
@@ -221,6 +232,20 @@ const Console = (props: any) => {
                   shape={"circle"}
                 />
               </Tooltip>
+              {loading ? (
+                <Tooltip title={l('pages.metadata.help.cancel')}>
+                  <StopOutlined
+                    style={{
+                      color: '#ff4d4f',
+                      fontSize: "x-large",
+                      textAlign: "center",
+                      position: "absolute",
+                      bottom: "45px",
+                    }}
+                    onClick={cancelSql}
+                  />
+                </Tooltip>
+              ) : undefined}
             </div>
           </Col>
           <Col span={23}>
@@ -76,6 +76,20 @@ export async function getJobData(jobId: string) {
   });
 }
 
+export async function getJobDataIncrement(jobId: string, version: number) {
+  return request<API.Result>('/api/studio/getJobDataIncrement', {
+    method: 'GET',
+    params: {
+      jobId,
+      version,
+    },
+  });
+}
+
+export function streamJobData(jobId: string, version: number) {
+  return new EventSource(`/api/studio/streamJobData?jobId=${encodeURIComponent(jobId)}&version=${version}`);
+}
+
 export async function getCatalogueTreeData(params?: StudioParam) {
   return request2<API.Result>('/api/catalogue/getCatalogueTreeData', {
     method: 'POST',
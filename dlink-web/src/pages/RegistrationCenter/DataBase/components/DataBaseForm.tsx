@@ -55,6 +55,7 @@ const DataBaseForm: React.FC<ClickHouseFormProps> = (props) => {
     dbVersion: props.values.dbVersion,
     flinkConfig: props.values.flinkConfig,
     flinkTemplate: props.values.flinkTemplate,
+    poolConfig: props.values.poolConfig,
     note: props.values.note,
     enabled: props.values.enabled,
   });
@@ -149,6 +150,14 @@ const DataBaseForm: React.FC<ClickHouseFormProps> = (props) => {
                         autoSize={{minRows: 3, maxRows: 10}}/>
             </Form.Item>
           </>}
+        {type !== "Phoenix" &&
+          <Form.Item
+            name="poolConfig"
+            label={l('pages.rc.db.poolConfig')}
+          >
+            <TextArea placeholder={l('pages.rc.db.poolConfigPlaceholder')} allowClear
+                      autoSize={{minRows: 2, maxRows: 6}}/>
+          </Form.Item>}
         <Form.Item
           name="note"
           label={l('global.table.note')}
@@ -185,6 +194,7 @@ const DataBaseForm: React.FC<ClickHouseFormProps> = (props) => {
               note: formVals.note,
               flinkConfig: formVals.flinkConfig,
               flinkTemplate: formVals.flinkTemplate,
+              poolConfig: formVals.poolConfig,
               enabled: formVals.enabled,
             }}
           >
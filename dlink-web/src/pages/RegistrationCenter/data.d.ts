@@ -84,6 +84,7 @@ export type DataBaseItem = {
   note: string,
   flinkConfig: string,
   flinkTemplate: string,
+  poolConfig: string,
   dbVersion: string,
   status: boolean,
   healthTime: Date,
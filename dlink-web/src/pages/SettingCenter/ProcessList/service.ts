@@ -22,3 +22,7 @@ import {getData} from "@/components/Common/crud";
 export function getConsoleInfo() {
   return getData("api/process/getConsoleByUserId");
 }
+
+export function readConsoleInfo(offset: number) {
+  return getData("api/process/readConsole", {offset});
+}